@@ -0,0 +1,66 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.jmh;
+
+import com.espertech.esper.benchmark.jmh.support.BenchmarkData;
+import com.espertech.esper.benchmark.jmh.support.BenchmarkEvent;
+import com.espertech.esper.benchmark.jmh.support.BenchmarkRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert and expiry for the time window and length window views in steady state.
+ * Each operation advances time by one millisecond and sends one event, so that the time window
+ * expires one event per operation, same as the length window once filled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataWindowBenchmark {
+    @Param({"time", "length"})
+    private String window;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private BenchmarkRuntime runtime;
+    private BenchmarkEvent[] events;
+    private long time;
+
+    @Setup
+    public void setup() {
+        runtime = new BenchmarkRuntime(BenchmarkRuntime.makeConfiguration());
+        String view = window.equals("time") ? "#time(" + size + " msec)" : "#length(" + size + ")";
+        runtime.deploy("select count(*) as cnt, avg(price) as avgPrice from BenchmarkEvent" + view);
+        events = BenchmarkData.makeEvents(100);
+
+        // fill the window
+        for (int i = 0; i < size; i++) {
+            sendEvent();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public long sendEvent() {
+        runtime.advanceTime(++time);
+        runtime.send(events[(int) time & (BenchmarkData.NUM_EVENTS - 1)]);
+        return runtime.getOutputCount();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.jmh;
+
+import com.espertech.esper.benchmark.jmh.support.BenchmarkData;
+import com.espertech.esper.benchmark.jmh.support.BenchmarkEvent;
+import com.espertech.esper.benchmark.jmh.support.BenchmarkRuntime;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.util.FilterServiceProfile;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter evaluation per event for a varying number of filters, each filter having an equals and a range condition.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterServiceBenchmark {
+    private final static int NUM_SYMBOLS = 100;
+
+    @Param({"10", "100", "1000"})
+    private int filterCount;
+
+    @Param({"READMOSTLY", "READWRITE", "LOCKFREE"})
+    private FilterServiceProfile filterServiceProfile;
+
+    private BenchmarkRuntime runtime;
+    private BenchmarkEvent[] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Configuration configuration = BenchmarkRuntime.makeConfiguration();
+        configuration.getRuntime().getExecution().setFilterServiceProfile(filterServiceProfile);
+        runtime = new BenchmarkRuntime(configuration);
+
+        StringBuilder module = new StringBuilder();
+        for (int i = 0; i < filterCount; i++) {
+            module.append("select * from BenchmarkEvent(symbol='S").append(i % NUM_SYMBOLS).append("', price > ").append(i % 90).append(");\n");
+        }
+        runtime.deploy(module.toString());
+        events = BenchmarkData.makeEvents(NUM_SYMBOLS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public long sendEvent() {
+        runtime.send(events[index++ & (BenchmarkData.NUM_EVENTS - 1)]);
+        return runtime.getOutputCount();
+    }
+}
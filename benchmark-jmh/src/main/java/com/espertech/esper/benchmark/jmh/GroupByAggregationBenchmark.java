@@ -0,0 +1,60 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.jmh;
+
+import com.espertech.esper.benchmark.jmh.support.BenchmarkData;
+import com.espertech.esper.benchmark.jmh.support.BenchmarkEvent;
+import com.espertech.esper.benchmark.jmh.support.BenchmarkRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouped aggregation without data window, with the generated group-by aggregation service
+ * or with the reclaim-aged group-by aggregation service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupByAggregationBenchmark {
+    @Param({"100", "10000"})
+    private int groups;
+
+    @Param({"false", "true"})
+    private boolean reclaimAged;
+
+    private BenchmarkRuntime runtime;
+    private BenchmarkEvent[] events;
+    private long time;
+
+    @Setup
+    public void setup() {
+        runtime = new BenchmarkRuntime(BenchmarkRuntime.makeConfiguration());
+        String hint = reclaimAged ? "@Hint('reclaim_group_aged=60,reclaim_group_freq=30') " : "";
+        runtime.deploy(hint + "select symbol, sum(price) as total, count(*) as cnt, max(volume) as maxVolume from BenchmarkEvent group by symbol");
+        events = BenchmarkData.makeEvents(groups);
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public long sendEvent() {
+        runtime.advanceTime(++time);
+        runtime.send(events[(int) time & (BenchmarkData.NUM_EVENTS - 1)]);
+        return runtime.getOutputCount();
+    }
+}
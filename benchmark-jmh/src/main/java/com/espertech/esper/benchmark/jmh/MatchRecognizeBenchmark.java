@@ -0,0 +1,59 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.jmh;
+
+import com.espertech.esper.benchmark.jmh.support.BenchmarkData;
+import com.espertech.esper.benchmark.jmh.support.BenchmarkEvent;
+import com.espertech.esper.benchmark.jmh.support.BenchmarkRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partitioned match-recognize, keeping state per partition in the grouped partition state repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchRecognizeBenchmark {
+    @Param({"10", "1000"})
+    private int partitions;
+
+    private BenchmarkRuntime runtime;
+    private BenchmarkEvent[] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        runtime = new BenchmarkRuntime(BenchmarkRuntime.makeConfiguration());
+        runtime.deploy("select * from BenchmarkEvent\n" +
+            "match_recognize (\n" +
+            "  partition by symbol\n" +
+            "  measures A.price as aPrice, B.price as bPrice\n" +
+            "  pattern (A B)\n" +
+            "  define A as A.price < 50, B as B.price > A.price)");
+        events = BenchmarkData.makeEvents(partitions);
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public long sendEvent() {
+        runtime.send(events[index++ & (BenchmarkData.NUM_EVENTS - 1)]);
+        return runtime.getOutputCount();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.jmh;
+
+import com.espertech.esper.benchmark.jmh.support.BenchmarkData;
+import com.espertech.esper.benchmark.jmh.support.BenchmarkEvent;
+import com.espertech.esper.benchmark.jmh.support.BenchmarkRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named window on-merge keyed by symbol, updating a matched row or inserting a new row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamedWindowOnMergeBenchmark {
+    @Param({"100", "10000"})
+    private int keys;
+
+    private BenchmarkRuntime runtime;
+    private BenchmarkEvent[] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        runtime = new BenchmarkRuntime(BenchmarkRuntime.makeConfiguration());
+        runtime.deploy("create window BenchmarkWindow#unique(symbol) (symbol string, price double, volume long);\n" +
+            "on BenchmarkEvent as e merge BenchmarkWindow as w where w.symbol = e.symbol\n" +
+            "  when matched then update set price = e.price, volume = w.volume + e.volume\n" +
+            "  when not matched then insert select e.symbol as symbol, e.price as price, e.volume as volume;\n");
+        events = BenchmarkData.makeEvents(keys);
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public long sendEvent() {
+        runtime.send(events[index++ & (BenchmarkData.NUM_EVENTS - 1)]);
+        return runtime.getOutputCount();
+    }
+}
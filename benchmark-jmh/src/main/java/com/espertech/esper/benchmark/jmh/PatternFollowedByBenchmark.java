@@ -0,0 +1,65 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.jmh;
+
+import com.espertech.esper.benchmark.jmh.support.BenchmarkData;
+import com.espertech.esper.benchmark.jmh.support.BenchmarkEvent;
+import com.espertech.esper.benchmark.jmh.support.BenchmarkRuntime;
+import com.espertech.esper.common.client.configuration.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pattern followed-by with every-operator and a correlated second event, with and without a limit
+ * on pattern sub-expressions. A limit activates the pattern sub-expression pool service
+ * even when the limit is not reached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternFollowedByBenchmark {
+    @Param({"0", "1000000"})
+    private long maxSubexpressions;
+
+    @Param({"100", "10000"})
+    private int numSymbols;
+
+    private BenchmarkRuntime runtime;
+    private BenchmarkEvent[] events;
+    private long time;
+
+    @Setup
+    public void setup() {
+        Configuration configuration = BenchmarkRuntime.makeConfiguration();
+        if (maxSubexpressions > 0) {
+            configuration.getRuntime().getPatterns().setMaxSubexpressions(maxSubexpressions);
+        }
+        runtime = new BenchmarkRuntime(configuration);
+        runtime.deploy("select a.symbol as symbol from pattern [every a=BenchmarkEvent(volume < 500) -> b=BenchmarkEvent(symbol=a.symbol, volume >= 500) where timer:within(1 sec)]");
+        events = BenchmarkData.makeEvents(numSymbols);
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public long sendEvent() {
+        runtime.advanceTime(++time);
+        runtime.send(events[(int) time & (BenchmarkData.NUM_EVENTS - 1)]);
+        return runtime.getOutputCount();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.jmh;
+
+import com.espertech.esper.benchmark.jmh.support.BenchmarkData;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
+import com.espertech.esper.common.internal.schedule.ScheduleBucket;
+import com.espertech.esper.common.internal.schedule.ScheduleHandle;
+import com.espertech.esper.common.internal.schedule.ScheduleHandleCallback;
+import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceImpl;
+import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceSPI;
+import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceTimingWheelImpl;
+import com.espertech.esper.runtime.internal.timer.TimeSourceServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduling service add, advance and evaluate in steady state, comparing the sorted-map and timing-wheel profiles.
+ * Each operation advances time by one millisecond and re-schedules each triggered handle with a new delay,
+ * so that the number of outstanding schedules remains constant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulingServiceBenchmark {
+    @Param({"SORTEDMAP", "TIMINGWHEEL"})
+    private SchedulingServiceProfile profile;
+
+    @Param({"1000", "100000"})
+    private int scheduleCount;
+
+    @Param({"1000", "60000"})
+    private long maxDelay;
+
+    private SchedulingServiceSPI service;
+    private long[] delays;
+    private int delayIndex;
+    private long time;
+    private final List<ScheduleHandle> triggered = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        TimeSourceServiceImpl timeSource = new TimeSourceServiceImpl();
+        service = profile == SchedulingServiceProfile.TIMINGWHEEL ? new SchedulingServiceTimingWheelImpl(timeSource) : new SchedulingServiceImpl(timeSource);
+        service.setTime(0);
+        delays = BenchmarkData.makeDelays(maxDelay);
+        for (int i = 0; i < scheduleCount; i++) {
+            BenchmarkHandle handle = new BenchmarkHandle(i, new ScheduleBucket(i).allocateSlot());
+            service.add(nextDelay(), handle, handle.slot);
+        }
+    }
+
+    @Benchmark
+    public int advance() {
+        service.setTime(++time);
+        triggered.clear();
+        service.evaluate(triggered);
+        for (ScheduleHandle handle : triggered) {
+            BenchmarkHandle benchmarkHandle = (BenchmarkHandle) handle;
+            benchmarkHandle.scheduledTrigger();
+            service.add(nextDelay(), benchmarkHandle, benchmarkHandle.slot);
+        }
+        return triggered.size();
+    }
+
+    private long nextDelay() {
+        return delays[delayIndex++ & (BenchmarkData.NUM_EVENTS - 1)];
+    }
+
+    private static class BenchmarkHandle implements ScheduleHandle, ScheduleHandleCallback {
+        private final int statementId;
+        private final long slot;
+        private long triggerCount;
+
+        BenchmarkHandle(int statementId, long slot) {
+            this.statementId = statementId;
+            this.slot = slot;
+        }
+
+        public void scheduledTrigger() {
+            triggerCount++;
+        }
+
+        public int getStatementId() {
+            return statementId;
+        }
+
+        public int getAgentInstanceId() {
+            return -1;
+        }
+    }
+}
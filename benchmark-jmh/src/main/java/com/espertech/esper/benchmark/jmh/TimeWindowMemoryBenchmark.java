@@ -0,0 +1,95 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.jmh;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.TimeWindow;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventBean;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retained heap bytes per event of the time window, with and without remove stream support.
+ * Each operation fills a new time window to the given number of events, one event per millisecond.
+ * <p>
+ * The secondary result "bytesPerEvent" is the used heap after the fill minus the used heap before the fill,
+ * each taken after GC, divided by the number of events. The events are allocated in setup and are not counted.
+ * The used heap is the usage of the heap pools after collection, which, unlike the current usage,
+ * does not count the allocation buffer of the thread. The parallel collector reports it without region rounding.
+ * The primary time result includes the GC and only serves to run the fill.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-XX:+UseParallelGC", "-Xms2g", "-Xmx2g"})
+public class TimeWindowMemoryBenchmark {
+    @Param({"false", "true"})
+    private boolean removeStream;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private EventBean[] events;
+    private TimeWindow window;
+
+    @Setup
+    public void setup() {
+        events = new EventBean[size];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new ObjectArrayEventBean(new Object[0], null);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        window = null;
+    }
+
+    @Benchmark
+    public int fill(RetainedBytes retained) {
+        long before = usedHeapAfterGC();
+        TimeWindow filled = new TimeWindow(removeStream);
+        for (int i = 0; i < size; i++) {
+            filled.add(i, events[i]);
+        }
+        window = filled;
+        retained.bytesPerEvent = (usedHeapAfterGC() - before) / (double) size;
+        return window.size();
+    }
+
+    private static long usedHeapAfterGC() {
+        System.gc();
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if (usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Reports the retained bytes per event of the last fill.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RetainedBytes {
+        public double bytesPerEvent;
+    }
+}
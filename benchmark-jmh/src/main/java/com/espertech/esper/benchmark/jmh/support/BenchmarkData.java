@@ -0,0 +1,67 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.jmh.support;
+
+import java.util.Random;
+
+/**
+ * Generates benchmark input from a fixed seed so that every run sees the same event sequence.
+ */
+public class BenchmarkData {
+    /**
+     * Seed used for all generated data.
+     */
+    public final static long SEED = 20190401L;
+
+    /**
+     * Number of pre-generated events, a power of two so that benchmarks cycle using a mask.
+     */
+    public final static int NUM_EVENTS = 1 << 16;
+
+    /**
+     * Generates events.
+     *
+     * @param numSymbols number of distinct symbols, symbols are "S0" to "S[numSymbols-1]"
+     * @return events of length {@link #NUM_EVENTS}
+     */
+    public static BenchmarkEvent[] makeEvents(int numSymbols) {
+        String[] symbols = makeSymbols(numSymbols);
+        Random random = new Random(SEED);
+        BenchmarkEvent[] events = new BenchmarkEvent[NUM_EVENTS];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new BenchmarkEvent(symbols[random.nextInt(numSymbols)], random.nextInt(10000) / 100d, random.nextInt(1000));
+        }
+        return events;
+    }
+
+    /**
+     * Generates positive delays.
+     *
+     * @param maxDelay maximum delay
+     * @return delays of length {@link #NUM_EVENTS}
+     */
+    public static long[] makeDelays(long maxDelay) {
+        Random random = new Random(SEED);
+        long[] delays = new long[NUM_EVENTS];
+        for (int i = 0; i < delays.length; i++) {
+            delays[i] = 1 + (long) (random.nextDouble() * maxDelay);
+        }
+        return delays;
+    }
+
+    private static String[] makeSymbols(int numSymbols) {
+        String[] symbols = new String[numSymbols];
+        for (int i = 0; i < numSymbols; i++) {
+            symbols[i] = "S" + i;
+        }
+        return symbols;
+    }
+}
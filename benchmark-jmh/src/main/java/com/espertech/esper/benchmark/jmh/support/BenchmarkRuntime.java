@@ -0,0 +1,110 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark.jmh.support;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.compiler.client.CompilerArguments;
+import com.espertech.esper.compiler.client.EPCompileException;
+import com.espertech.esper.compiler.client.EPCompilerProvider;
+import com.espertech.esper.runtime.client.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runtime for a benchmark, with external clocking and a counting listener attached to all statements.
+ */
+public class BenchmarkRuntime {
+    private final static AtomicInteger RUNTIME_COUNTER = new AtomicInteger();
+
+    private final EPRuntime runtime;
+    private final EPEventService eventService;
+    private final CountingListener listener = new CountingListener();
+
+    /**
+     * Ctor.
+     *
+     * @param configuration configuration, as obtained from {@link #makeConfiguration()}
+     */
+    public BenchmarkRuntime(Configuration configuration) {
+        runtime = EPRuntimeProvider.getRuntime("benchmark-" + RUNTIME_COUNTER.incrementAndGet(), configuration);
+        eventService = runtime.getEventService();
+        eventService.clockExternal();
+        eventService.advanceTime(0);
+    }
+
+    /**
+     * Returns a configuration with the benchmark event type and external clocking.
+     *
+     * @return configuration
+     */
+    public static Configuration makeConfiguration() {
+        Configuration configuration = new Configuration();
+        configuration.getCommon().addEventType(BenchmarkEvent.class);
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        return configuration;
+    }
+
+    /**
+     * Compiles and deploys the module text and attaches the counting listener to all its statements.
+     *
+     * @param epl module text
+     */
+    public void deploy(String epl) {
+        EPCompiled compiled;
+        try {
+            compiled = EPCompilerProvider.getCompiler().compile(epl, new CompilerArguments(runtime.getConfigurationDeepCopy()));
+        } catch (EPCompileException e) {
+            throw new RuntimeException("Failed to compile: " + e.getMessage(), e);
+        }
+        EPDeployment deployment;
+        try {
+            deployment = runtime.getDeploymentService().deploy(compiled);
+        } catch (EPDeployException e) {
+            throw new RuntimeException("Failed to deploy: " + e.getMessage(), e);
+        }
+        for (EPStatement statement : deployment.getStatements()) {
+            statement.addListener(listener);
+        }
+    }
+
+    public void send(BenchmarkEvent event) {
+        eventService.sendEventBean(event, "BenchmarkEvent");
+    }
+
+    public void advanceTime(long time) {
+        eventService.advanceTime(time);
+    }
+
+    /**
+     * Returns the number of output events received by listeners.
+     *
+     * @return count
+     */
+    public long getOutputCount() {
+        return listener.count;
+    }
+
+    public void destroy() {
+        runtime.destroy();
+    }
+
+    private static class CountingListener implements UpdateListener {
+        private long count;
+
+        public void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPRuntime runtime) {
+            if (newEvents != null) {
+                count += newEvents.length;
+            }
+        }
+    }
+}
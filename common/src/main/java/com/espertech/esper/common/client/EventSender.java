@@ -28,6 +28,18 @@ public interface EventSender {
      */
     void sendEvent(Object theEvent) throws EPException;
 
+    /**
+     * Processes a batch of event objects in the order provided.
+     * <p>
+     * The runtime holds its event processing lock and thread-local state across the batch, and
+     * dispatches results to listeners and subscribers at the end of the batch.
+     * Events routed by statements, such as by insert-into, are still processed before the next event of the batch.
+     *
+     * @param events to process
+     * @throws EPException if a runtime error occured.
+     */
+    void sendEventBatch(Object[] events) throws EPException;
+
     /**
      * Route the event object back to the event stream processing runtime for internal dispatching,
      * to avoid the possibility of a stack overflow due to nested calls to sendEvent.
@@ -115,7 +115,37 @@ public enum HintEnum {
     /**
      * For use with named window to silent-delete.
      */
-    SILENT_DELETE("SILENT_DELETE", false, false, false);
+    SILENT_DELETE("SILENT_DELETE", false, false, false),
+
+    /**
+     * For use with create-table for a table with primary key columns, to lock rows using the given number of lock stripes
+     * when aggregating into the table, instead of locking the table.
+     */
+    LOCK_STRIPES("LOCK_STRIPES", true, true, false),
+
+    /**
+     * For use with SQL joins having a single parameter, to poll for multiple lookup keys using a single query
+     * with an in-list. Parameters are the name of the result column providing the key and, optionally, the maximum number of keys per query.
+     */
+    SQL_BATCH("SQL_BATCH", false, false, true),
+
+    /**
+     * For use with create-window for a named window with an object-array or map event type, to keep event property
+     * values of string, numeric, boolean and character type in direct memory and outside of the heap.
+     */
+    OFF_HEAP("OFF_HEAP", false, false, false),
+
+    /**
+     * For use with output snapshot for a fully-aggregated and grouped statement, to output only the groups that changed
+     * since the last output and to output removed groups as remove stream events.
+     */
+    SNAPSHOT_DELTA("SNAPSHOT_DELTA", false, false, false),
+
+    /**
+     * For use with create-context for a keyed segmented context, to register one filter per statement filter that is shared by
+     * all partitions and that routes events to partitions by partition key, instead of registering filters for each partition.
+     */
+    KEYED_SHARED_FILTER("KEYED_SHARED_FILTER", false, false, false);
 
     private final String value;
     private final boolean acceptsParameters;
@@ -0,0 +1,70 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.configuration.common;
+
+import java.io.Serializable;
+
+/**
+ * Concurrent cache settings: a cache bounded by the number of cached rows that admits new entries based on access frequency,
+ * with an optional maximum age and optional refresh-ahead of entries in the background.
+ */
+public class ConfigurationCommonCacheConcurrent implements ConfigurationCommonCache, Serializable {
+    private static final long serialVersionUID = -2470611373066713411L;
+    private int maxRows;
+    private double maxAgeSeconds;
+    private double refreshAheadSeconds;
+
+    /**
+     * Ctor.
+     *
+     * @param maxRows             is the maximum number of rows held by the cache, summed over all entries
+     * @param maxAgeSeconds       is the maximum number of seconds before an entry is considered stale, or zero for no maximum age
+     * @param refreshAheadSeconds is the number of seconds after which an entry that is accessed gets reloaded in the background, or zero for no refresh-ahead
+     */
+    public ConfigurationCommonCacheConcurrent(int maxRows, double maxAgeSeconds, double refreshAheadSeconds) {
+        this.maxRows = maxRows;
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.refreshAheadSeconds = refreshAheadSeconds;
+    }
+
+    /**
+     * Returns the maximum number of rows held by the cache, summed over all entries.
+     *
+     * @return max rows
+     */
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * Returns the maximum age in seconds, or zero for no maximum age.
+     *
+     * @return max age
+     */
+    public double getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    /**
+     * Returns the number of seconds after which an entry that is accessed gets reloaded in the background, or zero for no refresh-ahead.
+     *
+     * @return refresh-ahead seconds
+     */
+    public double getRefreshAheadSeconds() {
+        return refreshAheadSeconds;
+    }
+
+    public String toString() {
+        return "ConcurrentCacheDesc maxRows=" + maxRows +
+                " maxAgeSeconds=" + maxAgeSeconds +
+                " refreshAheadSeconds=" + refreshAheadSeconds;
+    }
+}
@@ -55,6 +55,18 @@ public class ConfigurationCommonMethodRef implements Serializable {
         dataCacheDesc = new ConfigurationCommonCacheExpiryTime(maxAgeSeconds, purgeIntervalSeconds, cacheReferenceType);
     }
 
+    /**
+     * Configures a concurrent cache bounded by the number of cached rows, that admits new entries based on access frequency
+     * and that can reload entries in the background before they become stale.
+     *
+     * @param maxRows             is the maximum number of rows held by the cache, summed over all entries
+     * @param maxAgeSeconds       is the maximum number of seconds before an entry is considered stale, or zero for no maximum age
+     * @param refreshAheadSeconds is the number of seconds after which an entry that is accessed gets reloaded in the background, or zero for no refresh-ahead
+     */
+    public void setConcurrentCache(int maxRows, double maxAgeSeconds, double refreshAheadSeconds) {
+        dataCacheDesc = new ConfigurationCommonCacheConcurrent(maxRows, maxAgeSeconds, refreshAheadSeconds);
+    }
+
     /**
      * Return a method invocation result data cache descriptor.
      *
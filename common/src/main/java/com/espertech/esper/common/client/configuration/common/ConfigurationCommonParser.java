@@ -221,10 +221,26 @@ public class ConfigurationCommonParser {
             } else if (subElement.getNodeName().equals("lru-cache")) {
                 String size = getRequiredAttribute(subElement, "size");
                 configDBRef.setLRUCache(Integer.parseInt(size));
+            } else if (subElement.getNodeName().equals("concurrent-cache")) {
+                ConfigurationCommonCacheConcurrent cache = parseConcurrentCache(subElement);
+                configDBRef.setConcurrentCache(cache.getMaxRows(), cache.getMaxAgeSeconds(), cache.getRefreshAheadSeconds());
             }
         }
     }
 
+    private static ConfigurationCommonCacheConcurrent parseConcurrentCache(Element element) {
+        String maxRows = getRequiredAttribute(element, "max-rows");
+        double maxAge = 0;
+        if (element.getAttributes().getNamedItem("max-age-seconds") != null) {
+            maxAge = Double.parseDouble(element.getAttributes().getNamedItem("max-age-seconds").getTextContent());
+        }
+        double refreshAhead = 0;
+        if (element.getAttributes().getNamedItem("refresh-ahead-seconds") != null) {
+            refreshAhead = Double.parseDouble(element.getAttributes().getNamedItem("refresh-ahead-seconds").getTextContent());
+        }
+        return new ConfigurationCommonCacheConcurrent(Integer.parseInt(maxRows), maxAge, refreshAhead);
+    }
+
     private static void handleVariable(ConfigurationCommon configuration, Element element) {
         String variableName = getRequiredAttribute(element, "name");
         String type = getRequiredAttribute(element, "type");
@@ -517,6 +533,9 @@ public class ConfigurationCommonParser {
             } else if (subElement.getNodeName().equals("lru-cache")) {
                 String size = getRequiredAttribute(subElement, "size");
                 configMethodRef.setLRUCache(Integer.parseInt(size));
+            } else if (subElement.getNodeName().equals("concurrent-cache")) {
+                ConfigurationCommonCacheConcurrent cache = parseConcurrentCache(subElement);
+                configMethodRef.setConcurrentCache(cache.getMaxRows(), cache.getMaxAgeSeconds(), cache.getRefreshAheadSeconds());
             }
         }
     }
@@ -37,6 +37,7 @@ public class ConfigurationCompilerByteCode implements Serializable {
     private EventTypeBusModifier busModifierEventType = EventTypeBusModifier.NONBUS;
     private int threadPoolCompilerNumThreads = 8;
     private Integer threadPoolCompilerCapacity = null;
+    private String classCacheDirectory = null;
 
     /**
      * Set all access modifiers to public.
@@ -379,6 +380,33 @@ public class ConfigurationCompilerByteCode implements Serializable {
         this.threadPoolCompilerCapacity = threadPoolCompilerCapacity;
     }
 
+    /**
+     * Returns the directory of the persistent compiled-class cache, or null if the cache is disabled (the default).
+     * <p>
+     * The compiler stores the byte code of each generated class in this directory, keyed by a hash of the
+     * generated source code and the compiler version, and reuses it when compiling the same source again.
+     * </p>
+     *
+     * @return directory or null if disabled
+     */
+    public String getClassCacheDirectory() {
+        return classCacheDirectory;
+    }
+
+    /**
+     * Sets the directory of the persistent compiled-class cache, or null to disable the cache (the default).
+     * <p>
+     * Since generated class names derive from the module name, modules should be assigned a name
+     * for their classes to be found in the cache when compiled again.
+     * The cache must be cleared when application classes that statements refer to change.
+     * </p>
+     *
+     * @param classCacheDirectory directory or null if disabled
+     */
+    public void setClassCacheDirectory(String classCacheDirectory) {
+        this.classCacheDirectory = classCacheDirectory;
+    }
+
     private void checkModifier(NameAccessModifier modifier) {
         if (!modifier.isModuleProvidedAccessModifier()) {
             throw new ConfigurationException("Access modifier configuration allows private, protected or public");
@@ -193,6 +193,10 @@ public class ConfigurationCompilerParser {
         parseOptionalBoolean(element, "allow-subscriber", codegen::setAllowSubscriber);
         parseOptionalInteger(element, "threadpool-compiler-num-threads", codegen::setThreadPoolCompilerNumThreads);
         parseOptionalInteger(element, "threadpool-compiler-capacity", codegen::setThreadPoolCompilerCapacity);
+        String classCacheDir = getOptionalAttribute(element, "class-cache-dir");
+        if (classCacheDir != null) {
+            codegen.setClassCacheDirectory(classCacheDir);
+        }
 
         parseOptionalAccessMod(element, "access-modifier-context", codegen::setAccessModifierContext);
         parseOptionalAccessMod(element, "access-modifier-event-type", codegen::setAccessModifierEventType);
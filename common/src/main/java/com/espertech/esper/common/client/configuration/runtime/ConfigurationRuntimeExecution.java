@@ -11,6 +11,7 @@
 package com.espertech.esper.common.client.configuration.runtime;
 
 import com.espertech.esper.common.client.util.FilterServiceProfile;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 
 import java.io.Serializable;
 
@@ -23,6 +24,8 @@ public class ConfigurationRuntimeExecution implements Serializable {
     private boolean disableLocking;
     private FilterServiceProfile filterServiceProfile = FilterServiceProfile.READMOSTLY;
     private int declaredExprValueCacheSize = 1;
+    private SchedulingServiceProfile schedulingServiceProfile = SchedulingServiceProfile.SORTEDMAP;
+    private long filterIndexRebalanceInterval;
 
     /**
      * Ctor - sets up defaults.
@@ -126,4 +129,45 @@ public class ConfigurationRuntimeExecution implements Serializable {
     public void setDeclaredExprValueCacheSize(int declaredExprValueCacheSize) {
         this.declaredExprValueCacheSize = declaredExprValueCacheSize;
     }
+
+    /**
+     * Returns the scheduling service profile for tuning time-based operations.
+     *
+     * @return scheduling service profile
+     */
+    public SchedulingServiceProfile getSchedulingServiceProfile() {
+        return schedulingServiceProfile;
+    }
+
+    /**
+     * Set the scheduling service profile for tuning time-based operations.
+     *
+     * @param schedulingServiceProfile scheduling service profile
+     */
+    public void setSchedulingServiceProfile(SchedulingServiceProfile schedulingServiceProfile) {
+        this.schedulingServiceProfile = schedulingServiceProfile;
+    }
+
+    /**
+     * Returns the interval in milliseconds at which the filter service reorders filter indexes by observed
+     * selectivity, or zero when disabled (the default).
+     *
+     * @return interval in milliseconds
+     */
+    public long getFilterIndexRebalanceInterval() {
+        return filterIndexRebalanceInterval;
+    }
+
+    /**
+     * Sets the interval in milliseconds at which the filter service reorders filter indexes by observed
+     * selectivity, rebuilding the filter index tree of an event type aside from event processing.
+     * The interval is checked when runtime time advances and the rebalance is performed by a background thread
+     * of the filter service, without blocking filter additions and removals.
+     * Set to zero to disable (the default).
+     *
+     * @param filterIndexRebalanceInterval interval in milliseconds
+     */
+    public void setFilterIndexRebalanceInterval(long filterIndexRebalanceInterval) {
+        this.filterIndexRebalanceInterval = filterIndexRebalanceInterval;
+    }
 }
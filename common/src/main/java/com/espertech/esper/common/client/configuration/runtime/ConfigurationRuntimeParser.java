@@ -12,6 +12,9 @@ package com.espertech.esper.common.client.configuration.runtime;
 
 import com.espertech.esper.common.client.configuration.ConfigurationException;
 import com.espertech.esper.common.client.util.FilterServiceProfile;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
+import com.espertech.esper.common.client.util.ThreadPoolQueueType;
+import com.espertech.esper.common.client.util.ThreadPoolWaitStrategy;
 import com.espertech.esper.common.client.util.Locking;
 import com.espertech.esper.common.client.util.TimeSourceType;
 import com.espertech.esper.common.client.util.UndeployRethrowPolicy;
@@ -89,6 +92,17 @@ public class ConfigurationRuntimeParser {
         if (declExprValueCacheSizeStr != null) {
             runtime.getExecution().setDeclaredExprValueCacheSize(Integer.parseInt(declExprValueCacheSizeStr));
         }
+
+        String schedulingServiceProfileStr = getOptionalAttribute(parentElement, "scheduling-service-profile");
+        if (schedulingServiceProfileStr != null) {
+            SchedulingServiceProfile profile = SchedulingServiceProfile.valueOf(schedulingServiceProfileStr.toUpperCase(Locale.ENGLISH));
+            runtime.getExecution().setSchedulingServiceProfile(profile);
+        }
+
+        String filterIndexRebalanceIntervalStr = getOptionalAttribute(parentElement, "filter-index-rebalance-interval");
+        if (filterIndexRebalanceIntervalStr != null) {
+            runtime.getExecution().setFilterIndexRebalanceInterval(Long.parseLong(filterIndexRebalanceIntervalStr));
+        }
     }
 
     private static void handleExpression(ConfigurationRuntime runtime, Element element) {
@@ -260,6 +274,16 @@ public class ConfigurationRuntimeParser {
     private static void handleThreading(ConfigurationRuntime runtime, Element element) {
         parseOptionalBoolean(element, "runtime-fairlock", b -> runtime.getThreading().setRuntimeFairlock(b));
 
+        String threadPoolQueueStr = getOptionalAttribute(element, "threadpool-queue");
+        if (threadPoolQueueStr != null) {
+            runtime.getThreading().setThreadPoolQueueType(ThreadPoolQueueType.valueOf(threadPoolQueueStr.toUpperCase(Locale.ENGLISH)));
+        }
+
+        String threadPoolWaitStrategyStr = getOptionalAttribute(element, "threadpool-wait-strategy");
+        if (threadPoolWaitStrategyStr != null) {
+            runtime.getThreading().setThreadPoolWaitStrategy(ThreadPoolWaitStrategy.valueOf(threadPoolWaitStrategyStr.toUpperCase(Locale.ENGLISH)));
+        }
+
         DOMElementIterator nodeIterator = new DOMElementIterator(element.getChildNodes());
         while (nodeIterator.hasNext()) {
             Element subElement = nodeIterator.next();
@@ -346,6 +370,18 @@ public class ConfigurationRuntimeParser {
                 runtime.getThreading().setThreadPoolRouteExecNumThreads(result.getNumThreads());
                 runtime.getThreading().setThreadPoolRouteExecCapacity(result.getCapacity());
             }
+            if (subElement.getNodeName().equals("threadpool-namedwindowdispatch")) {
+                ThreadPoolConfig result = parseThreadPoolConfig(subElement);
+                runtime.getThreading().setThreadPoolNamedWindowDispatch(result.isEnabled());
+                runtime.getThreading().setThreadPoolNamedWindowDispatchNumThreads(result.getNumThreads());
+                runtime.getThreading().setThreadPoolNamedWindowDispatchCapacity(result.getCapacity());
+            }
+            if (subElement.getNodeName().equals("threadpool-contextpartitionexec")) {
+                ThreadPoolConfig result = parseThreadPoolConfig(subElement);
+                runtime.getThreading().setThreadPoolContextPartitionExec(result.isEnabled());
+                runtime.getThreading().setThreadPoolContextPartitionExecNumThreads(result.getNumThreads());
+                runtime.getThreading().setThreadPoolContextPartitionExecCapacity(result.getCapacity());
+            }
         }
     }
 
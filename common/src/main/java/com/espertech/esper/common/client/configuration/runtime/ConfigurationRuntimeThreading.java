@@ -11,6 +11,8 @@
 package com.espertech.esper.common.client.configuration.runtime;
 
 import com.espertech.esper.common.client.util.Locking;
+import com.espertech.esper.common.client.util.ThreadPoolQueueType;
+import com.espertech.esper.common.client.util.ThreadPoolWaitStrategy;
 
 import java.io.Serializable;
 
@@ -39,14 +41,23 @@ public class ConfigurationRuntimeThreading implements Serializable {
     private boolean isThreadPoolInbound;
     private boolean isThreadPoolRouteExec;
     private boolean isThreadPoolOutbound;
+    private boolean isThreadPoolNamedWindowDispatch;
+    private boolean isThreadPoolContextPartitionExec;
     private int threadPoolTimerExecNumThreads;
     private int threadPoolInboundNumThreads;
     private int threadPoolRouteExecNumThreads;
     private int threadPoolOutboundNumThreads;
+    private int threadPoolNamedWindowDispatchNumThreads;
+    private int threadPoolContextPartitionExecNumThreads;
     private Integer threadPoolTimerExecCapacity;
     private Integer threadPoolInboundCapacity;
     private Integer threadPoolRouteExecCapacity;
     private Integer threadPoolOutboundCapacity;
+    private Integer threadPoolNamedWindowDispatchCapacity;
+    private Integer threadPoolContextPartitionExecCapacity;
+
+    private ThreadPoolQueueType threadPoolQueueType;
+    private ThreadPoolWaitStrategy threadPoolWaitStrategy;
 
     private boolean runtimeFairlock;
 
@@ -73,11 +84,18 @@ public class ConfigurationRuntimeThreading implements Serializable {
         isThreadPoolOutbound = false;
         isThreadPoolRouteExec = false;
         isThreadPoolTimerExec = false;
+        isThreadPoolNamedWindowDispatch = false;
+        isThreadPoolContextPartitionExec = false;
 
         threadPoolTimerExecNumThreads = 2;
         threadPoolInboundNumThreads = 2;
         threadPoolRouteExecNumThreads = 2;
         threadPoolOutboundNumThreads = 2;
+        threadPoolNamedWindowDispatchNumThreads = 2;
+        threadPoolContextPartitionExecNumThreads = 2;
+
+        threadPoolQueueType = ThreadPoolQueueType.BLOCKING;
+        threadPoolWaitStrategy = ThreadPoolWaitStrategy.PARK;
     }
 
     /**
@@ -463,6 +481,166 @@ public class ConfigurationRuntimeThreading implements Serializable {
         this.threadPoolOutboundCapacity = capacity;
     }
 
+    /**
+     * Returns true for parallel dispatch of named window results to consuming statements, the default is false for not enabled.
+     *
+     * @return indicator whether named window dispatch threading is enabled
+     */
+    public boolean isThreadPoolNamedWindowDispatch() {
+        return isThreadPoolNamedWindowDispatch;
+    }
+
+    /**
+     * Set to true for parallel dispatch of named window results to consuming statements, the default is false for not enabled.
+     * <p>
+     * When enabled the runtime hands the named window results for each consuming statement to the named window dispatch thread pool
+     * and waits for all consuming statements to complete. The results for any single consuming statement are processed in order.
+     * Listeners of consuming statements receive results on the thread that sends the event, in consuming statement order.
+     * When the runtime executes prioritized, statements of higher priority complete before statements of lower priority start.
+     * With metrics reporting enabled, the runtime metric reports the number of fan-outs and their wall time.
+     * </p>
+     *
+     * @param threadPoolNamedWindowDispatch indicator whether named window dispatch threading is enabled
+     */
+    public void setThreadPoolNamedWindowDispatch(boolean threadPoolNamedWindowDispatch) {
+        isThreadPoolNamedWindowDispatch = threadPoolNamedWindowDispatch;
+    }
+
+    /**
+     * Returns the number of thread in the named window dispatch threading pool.
+     *
+     * @return number of threads
+     */
+    public int getThreadPoolNamedWindowDispatchNumThreads() {
+        return threadPoolNamedWindowDispatchNumThreads;
+    }
+
+    /**
+     * Sets the number of threads in the thread pool for named window dispatch threading.
+     *
+     * @param num number of threads
+     */
+    public void setThreadPoolNamedWindowDispatchNumThreads(int num) {
+        this.threadPoolNamedWindowDispatchNumThreads = num;
+    }
+
+    /**
+     * Returns the capacity of the named window dispatch queue, or null if none defined (the unbounded case, default).
+     *
+     * @return capacity or null if none defined
+     */
+    public Integer getThreadPoolNamedWindowDispatchCapacity() {
+        return threadPoolNamedWindowDispatchCapacity;
+    }
+
+    /**
+     * Sets the capacity of the named window dispatch queue, or null if none defined (the unbounded case, default).
+     *
+     * @param capacity capacity or null if none defined
+     */
+    public void setThreadPoolNamedWindowDispatchCapacity(Integer capacity) {
+        this.threadPoolNamedWindowDispatchCapacity = capacity;
+    }
+
+    /**
+     * Returns true for context partition execution threading enabled, the default is false for not enabled.
+     * <p>
+     * When enabled, the runtime executes matching context partitions of hash-segmented and keyed-segmented contexts
+     * on a pool of threads, assigning each context partition to a fixed thread so that the events for
+     * a given context partition are processed in the order received. Keyed-segmented contexts that have
+     * initiated-by or terminated-by conditions execute on the sending thread.
+     *
+     * @return indicator whether context partition execution threading is enabled
+     */
+    public boolean isThreadPoolContextPartitionExec() {
+        return isThreadPoolContextPartitionExec;
+    }
+
+    /**
+     * Set to true for context partition execution threading enabled, the default is false for not enabled.
+     *
+     * @param threadPoolContextPartitionExec indicator whether context partition execution threading is enabled
+     */
+    public void setThreadPoolContextPartitionExec(boolean threadPoolContextPartitionExec) {
+        isThreadPoolContextPartitionExec = threadPoolContextPartitionExec;
+    }
+
+    /**
+     * Returns the number of thread in the context partition execution thread pool.
+     *
+     * @return number of threads
+     */
+    public int getThreadPoolContextPartitionExecNumThreads() {
+        return threadPoolContextPartitionExecNumThreads;
+    }
+
+    /**
+     * Sets the number of threads in the thread pool for context partition execution threading.
+     *
+     * @param num number of threads
+     */
+    public void setThreadPoolContextPartitionExecNumThreads(int num) {
+        this.threadPoolContextPartitionExecNumThreads = num;
+    }
+
+    /**
+     * Returns the capacity of the queue of each context partition execution thread, or null if none defined (the unbounded case, default).
+     *
+     * @return capacity or null if none defined
+     */
+    public Integer getThreadPoolContextPartitionExecCapacity() {
+        return threadPoolContextPartitionExecCapacity;
+    }
+
+    /**
+     * Sets the capacity of the queue of each context partition execution thread, or null if none defined (the unbounded case, default).
+     *
+     * @param capacity capacity or null if none defined
+     */
+    public void setThreadPoolContextPartitionExecCapacity(Integer capacity) {
+        this.threadPoolContextPartitionExecCapacity = capacity;
+    }
+
+    /**
+     * Returns the type of queue for the inbound, outbound, timer and route thread pools (default is blocking).
+     *
+     * @return queue type
+     */
+    public ThreadPoolQueueType getThreadPoolQueueType() {
+        return threadPoolQueueType;
+    }
+
+    /**
+     * Sets the type of queue for the inbound, outbound, timer and route thread pools (default is blocking).
+     * <p>
+     * Ring buffer queues are bounded: when no capacity is set for a thread pool a default capacity applies,
+     * and any capacity is rounded up to the next power of two.
+     *
+     * @param threadPoolQueueType queue type
+     */
+    public void setThreadPoolQueueType(ThreadPoolQueueType threadPoolQueueType) {
+        this.threadPoolQueueType = threadPoolQueueType;
+    }
+
+    /**
+     * Returns the wait strategy of threads waiting on ring buffer queues (default is park).
+     *
+     * @return wait strategy
+     */
+    public ThreadPoolWaitStrategy getThreadPoolWaitStrategy() {
+        return threadPoolWaitStrategy;
+    }
+
+    /**
+     * Sets the wait strategy of threads waiting on ring buffer queues (default is park), applicable
+     * only when the thread pool queue type is ring buffer.
+     *
+     * @param threadPoolWaitStrategy wait strategy
+     */
+    public void setThreadPoolWaitStrategy(ThreadPoolWaitStrategy threadPoolWaitStrategy) {
+        this.threadPoolWaitStrategy = threadPoolWaitStrategy;
+    }
+
     /**
      * Returns true if the runtime-level lock is configured as a fair lock (default is false).
      * <p>
@@ -18,6 +18,9 @@ public class RuntimeMetric extends MetricEvent {
     private final long inputCount;
     private final long inputCountDelta;
     private final long scheduleDepth;
+    private final long namedWindowFanOutCount;
+    private final long namedWindowFanOutWallTotal;
+    private final long namedWindowFanOutWallMax;
 
     /**
      * Ctor.
@@ -29,11 +32,31 @@ public class RuntimeMetric extends MetricEvent {
      * @param scheduleDepth   schedule depth
      */
     public RuntimeMetric(String runtimeURI, long timestamp, long inputCount, long inputCountDelta, long scheduleDepth) {
+        this(runtimeURI, timestamp, inputCount, inputCountDelta, scheduleDepth, 0, 0, 0);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param runtimeURI                 runtime URI
+     * @param timestamp                  runtime timestamp
+     * @param inputCount                 number of input events
+     * @param inputCountDelta            number of input events since last
+     * @param scheduleDepth              schedule depth
+     * @param namedWindowFanOutCount     number of parallel named window dispatch fan-outs
+     * @param namedWindowFanOutWallTotal total wall time of parallel named window dispatch fan-outs in nanoseconds
+     * @param namedWindowFanOutWallMax   maximum wall time of a parallel named window dispatch fan-out in nanoseconds
+     */
+    public RuntimeMetric(String runtimeURI, long timestamp, long inputCount, long inputCountDelta, long scheduleDepth,
+                         long namedWindowFanOutCount, long namedWindowFanOutWallTotal, long namedWindowFanOutWallMax) {
         super(runtimeURI);
         this.timestamp = timestamp;
         this.inputCount = inputCount;
         this.inputCountDelta = inputCountDelta;
         this.scheduleDepth = scheduleDepth;
+        this.namedWindowFanOutCount = namedWindowFanOutCount;
+        this.namedWindowFanOutWallTotal = namedWindowFanOutWallTotal;
+        this.namedWindowFanOutWallMax = namedWindowFanOutWallMax;
     }
 
     /**
@@ -71,4 +94,31 @@ public class RuntimeMetric extends MetricEvent {
     public long getInputCountDelta() {
         return inputCountDelta;
     }
+
+    /**
+     * Returns the number of parallel named window dispatch fan-outs since runtime initialization, cumulative.
+     *
+     * @return fan-out count
+     */
+    public long getNamedWindowFanOutCount() {
+        return namedWindowFanOutCount;
+    }
+
+    /**
+     * Returns the total wall time in nanoseconds of parallel named window dispatch fan-outs since runtime initialization, cumulative.
+     *
+     * @return total wall time
+     */
+    public long getNamedWindowFanOutWallTotal() {
+        return namedWindowFanOutWallTotal;
+    }
+
+    /**
+     * Returns the maximum wall time in nanoseconds of a single parallel named window dispatch fan-out since runtime initialization.
+     *
+     * @return maximum wall time
+     */
+    public long getNamedWindowFanOutWallMax() {
+        return namedWindowFanOutWallMax;
+    }
 }
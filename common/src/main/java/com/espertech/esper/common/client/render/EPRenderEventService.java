@@ -13,6 +13,8 @@ package com.espertech.esper.common.client.render;
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventType;
 
+import java.io.IOException;
+
 /**
  * Provider for rendering services of {@link EventBean} events.
  */
@@ -59,6 +61,24 @@ public interface EPRenderEventService {
      */
     String renderJSON(String title, EventBean theEvent, JSONRenderingOptions options);
 
+    /**
+     * Quick-access method to render a given event in the JSON format, appending the text to the output provided.
+     * <p>
+     * Use the #getJSONRenderer to obtain a renderer instance that allows repeated rendering of the same type of event,
+     * and that can also write to an {@link java.io.OutputStream} or {@link java.nio.ByteBuffer}.
+     * The default implementation appends the text returned by #renderJSON.
+     *
+     * @param title    the JSON root title
+     * @param theEvent the event to render
+     * @param out      output to append to
+     * @throws IOException when the output fails
+     */
+    default void renderJSON(String title, EventBean theEvent, Appendable out) throws IOException {
+        if (theEvent != null) {
+            out.append(renderJSON(title, theEvent));
+        }
+    }
+
     /**
      * Returns a render for the XML format, valid only for the given event type and its subtypes.
      *
@@ -100,4 +120,22 @@ public interface EPRenderEventService {
      * @return XML formatted text
      */
     String renderXML(String rootElementName, EventBean theEvent, XMLRenderingOptions options);
+
+    /**
+     * Quick-access method to render a given event in the XML format, appending the text to the output provided.
+     * <p>
+     * Use the #getXMLRenderer to obtain a renderer instance that allows repeated rendering of the same type of event,
+     * and that can also write to an {@link java.io.OutputStream} or {@link java.nio.ByteBuffer}.
+     * The default implementation appends the text returned by #renderXML.
+     *
+     * @param rootElementName the root element name that may also include namespace information
+     * @param theEvent        the event to render
+     * @param out             output to append to
+     * @throws IOException when the output fails
+     */
+    default void renderXML(String rootElementName, EventBean theEvent, Appendable out) throws IOException {
+        if (theEvent != null) {
+            out.append(renderXML(rootElementName, theEvent));
+        }
+    }
 }
@@ -12,6 +12,11 @@ package com.espertech.esper.common.client.render;
 
 import com.espertech.esper.common.client.EventBean;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Renderer for an event into the XML textual format.
  * <p>
@@ -28,4 +33,45 @@ public interface XMLEventRenderer {
      * @return XML formatted text
      */
     public String render(String rootElementName, EventBean theEvent);
+
+    /**
+     * Render a given event in the XML format, appending the text to the output provided.
+     * <p>
+     * The default implementation appends the rendered string. The runtime-provided renderer uses a per-thread buffer
+     * and does not allocate a string for the event, and writes directly to a {@link StringBuilder} output.
+     * </p>
+     *
+     * @param rootElementName the name of the root element, may include namespace information
+     * @param theEvent        the event to render
+     * @param out             output to append to
+     * @throws IOException when the output fails
+     */
+    default void render(String rootElementName, EventBean theEvent, Appendable out) throws IOException {
+        out.append(render(rootElementName, theEvent));
+    }
+
+    /**
+     * Render a given event in the XML format, writing the UTF-8 encoded text to the stream provided.
+     *
+     * @param rootElementName the name of the root element, may include namespace information
+     * @param theEvent        the event to render
+     * @param out             stream to write to
+     * @throws IOException when the stream fails
+     */
+    default void render(String rootElementName, EventBean theEvent, OutputStream out) throws IOException {
+        out.write(render(rootElementName, theEvent).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Render a given event in the XML format, putting the UTF-8 encoded text into the buffer provided
+     * starting at the buffer's position.
+     *
+     * @param rootElementName the name of the root element, may include namespace information
+     * @param theEvent        the event to render
+     * @param out             buffer to put to
+     * @throws java.nio.BufferOverflowException when the buffer has insufficient space remaining, in which case the buffer position is unchanged
+     */
+    default void render(String rootElementName, EventBean theEvent, ByteBuffer out) {
+        out.put(render(rootElementName, theEvent).getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -22,5 +22,11 @@ public enum FilterServiceProfile {
     /**
      * For very dynamic filters that come and go in a highly threaded environment.
      */
-    READWRITE
+    READWRITE,
+
+    /**
+     * For many event-sending threads and filters that change less frequently:
+     * event evaluation takes no locks and filter changes update concurrent or copy-on-write structures.
+     */
+    LOCKFREE
 }
@@ -0,0 +1,26 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.util;
+
+/**
+ * Enumeration of queue types for runtime thread pools.
+ */
+public enum ThreadPoolQueueType {
+    /**
+     * Linked or array-backed blocking queues from the JDK, the default.
+     */
+    BLOCKING,
+
+    /**
+     * Bounded lock-free ring buffers with pre-allocated slots, that wait according to the configured {@link ThreadPoolWaitStrategy}.
+     */
+    RINGBUFFER
+}
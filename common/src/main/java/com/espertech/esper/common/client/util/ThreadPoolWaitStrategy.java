@@ -0,0 +1,31 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.util;
+
+/**
+ * Enumeration of wait strategies for threads waiting on a ring buffer thread pool queue.
+ */
+public enum ThreadPoolWaitStrategy {
+    /**
+     * Spin without releasing the processor, for the lowest latency when there are spare cores.
+     */
+    BUSYSPIN,
+
+    /**
+     * Yield the processor between attempts.
+     */
+    YIELD,
+
+    /**
+     * Park the thread briefly between attempts, the default, for the least processor use.
+     */
+    PARK
+}
@@ -0,0 +1,111 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent map that, unlike {@link ConcurrentHashMap}, allows a null key, by storing the null key under a sentinel.
+ * Null values are not allowed. Iterators are weakly consistent same as for {@link ConcurrentHashMap}.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class ConcurrentHashMapNullKey<K, V> extends AbstractMap<K, V> {
+    private final static Object NULL_KEY = new Object();
+
+    private final ConcurrentHashMap<Object, V> map = new ConcurrentHashMap<>();
+    private EntrySet entrySet;
+
+    public V get(Object key) {
+        return map.get(key == null ? NULL_KEY : key);
+    }
+
+    public boolean containsKey(Object key) {
+        return map.containsKey(key == null ? NULL_KEY : key);
+    }
+
+    public V put(K key, V value) {
+        return map.put(key == null ? NULL_KEY : key, value);
+    }
+
+    /**
+     * Associates the value with the key unless a value is already associated.
+     *
+     * @param key   key
+     * @param value value
+     * @return previous value or null if none
+     */
+    public V putIfAbsent(K key, V value) {
+        return map.putIfAbsent(key == null ? NULL_KEY : key, value);
+    }
+
+    public V remove(Object key) {
+        return map.remove(key == null ? NULL_KEY : key);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    public Collection<V> values() {
+        return map.values();
+    }
+
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private static Object unmask(Object key) {
+        return key == NULL_KEY ? null : key;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+        public Iterator<Entry<K, V>> iterator() {
+            final Iterator<Map.Entry<Object, V>> it = map.entrySet().iterator();
+            return new Iterator<Entry<K, V>>() {
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                public Entry<K, V> next() {
+                    Map.Entry<Object, V> entry = it.next();
+                    return new SimpleImmutableEntry<>((K) unmask(entry.getKey()), entry.getValue());
+                }
+
+                public void remove() {
+                    it.remove();
+                }
+            };
+        }
+
+        public int size() {
+            return map.size();
+        }
+    }
+}
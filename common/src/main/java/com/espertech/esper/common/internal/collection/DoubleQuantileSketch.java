@@ -0,0 +1,270 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Quantile sketch for double values with bounded relative error, for use by approximate percentile.
+ * <p>
+ * Values are counted in logarithmically-sized buckets so that any quantile returned is within the relative accuracy
+ * of the exact value of the same rank. Memory depends on the range of values and not on the number of values.
+ * Unlike most sketches, values can also be removed. NaN values are ignored.
+ */
+public class DoubleQuantileSketch {
+    /**
+     * Default relative accuracy.
+     */
+    public final static double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final double minIndexable;
+    private final Buckets positive = new Buckets();
+    private final Buckets negative = new Buckets();
+    private long zeroCount;
+    private long count;
+
+    /**
+     * Ctor.
+     *
+     * @param relativeAccuracy relative accuracy, between zero and one exclusive
+     */
+    public DoubleQuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be between zero and one");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.minIndexable = Double.MIN_NORMAL * gamma;
+    }
+
+    /**
+     * Ctor using the default relative accuracy.
+     */
+    public DoubleQuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Returns the relative accuracy.
+     *
+     * @return relative accuracy
+     */
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return count
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Add a value.
+     *
+     * @param value value
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (value > minIndexable) {
+            positive.add(index(value), 1);
+        } else if (value < -minIndexable) {
+            negative.add(index(-value), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+    }
+
+    /**
+     * Remove a value, if the bucket of the value is not empty.
+     *
+     * @param value value
+     */
+    public void remove(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        boolean removed;
+        if (value > minIndexable) {
+            removed = positive.remove(index(value));
+        } else if (value < -minIndexable) {
+            removed = negative.remove(index(-value));
+        } else {
+            removed = zeroCount > 0;
+            if (removed) {
+                zeroCount--;
+            }
+        }
+        if (removed) {
+            count--;
+        }
+    }
+
+    /**
+     * Clear all values.
+     */
+    public void clear() {
+        positive.clear();
+        negative.clear();
+        zeroCount = 0;
+        count = 0;
+    }
+
+    /**
+     * Returns the approximate value at the quantile.
+     *
+     * @param quantile quantile between zero and one
+     * @return value or null when there are no values
+     */
+    public Double getQuantile(double quantile) {
+        if (count == 0) {
+            return null;
+        }
+        long rank = (long) (quantile * (count - 1));
+        long seen = 0;
+        if (negative.counts != null) {
+            for (int i = negative.counts.length - 1; i >= 0; i--) {
+                seen += negative.counts[i];
+                if (seen > rank) {
+                    return -value(negative.offset + i);
+                }
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return 0d;
+        }
+        if (positive.counts != null) {
+            for (int i = 0; i < positive.counts.length; i++) {
+                seen += positive.counts[i];
+                if (seen > rank) {
+                    return value(positive.offset + i);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Write the sketch.
+     *
+     * @param output output
+     * @throws IOException when an io error occurs
+     */
+    public void write(DataOutput output) throws IOException {
+        output.writeDouble(relativeAccuracy);
+        output.writeLong(zeroCount);
+        positive.write(output);
+        negative.write(output);
+    }
+
+    /**
+     * Read a sketch.
+     *
+     * @param input input
+     * @return sketch
+     * @throws IOException when an io error occurs
+     */
+    public static DoubleQuantileSketch read(DataInput input) throws IOException {
+        DoubleQuantileSketch sketch = new DoubleQuantileSketch(input.readDouble());
+        sketch.zeroCount = input.readLong();
+        sketch.count = sketch.zeroCount + sketch.positive.read(input) + sketch.negative.read(input);
+        return sketch;
+    }
+
+    private int index(double positiveValue) {
+        return (int) Math.ceil(Math.log(positiveValue) / logGamma);
+    }
+
+    private double value(int index) {
+        return 2 * Math.exp(index * logGamma) / (gamma + 1);
+    }
+
+    private static class Buckets {
+        private long[] counts;
+        private int offset;
+
+        void add(int index, long amount) {
+            if (counts == null) {
+                counts = new long[16];
+                offset = index - 8;
+            } else if (index < offset) {
+                int shift = Math.max(offset - index, counts.length >> 1);
+                long[] grown = new long[counts.length + shift];
+                System.arraycopy(counts, 0, grown, shift, counts.length);
+                counts = grown;
+                offset -= shift;
+            } else if (index - offset >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(index - offset + 1, counts.length + (counts.length >> 1)));
+            }
+            counts[index - offset] += amount;
+        }
+
+        boolean remove(int index) {
+            if (counts == null || index < offset || index - offset >= counts.length || counts[index - offset] == 0) {
+                return false;
+            }
+            counts[index - offset]--;
+            return true;
+        }
+
+        void clear() {
+            counts = null;
+            offset = 0;
+        }
+
+        void write(DataOutput output) throws IOException {
+            int nonEmpty = 0;
+            if (counts != null) {
+                for (long bucket : counts) {
+                    if (bucket != 0) {
+                        nonEmpty++;
+                    }
+                }
+            }
+            output.writeInt(nonEmpty);
+            if (counts == null) {
+                return;
+            }
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    output.writeInt(offset + i);
+                    output.writeLong(counts[i]);
+                }
+            }
+        }
+
+        long read(DataInput input) throws IOException {
+            int nonEmpty = input.readInt();
+            long total = 0;
+            for (int i = 0; i < nonEmpty; i++) {
+                int index = input.readInt();
+                long amount = input.readLong();
+                add(index, amount);
+                total += amount;
+            }
+            return total;
+        }
+    }
+}
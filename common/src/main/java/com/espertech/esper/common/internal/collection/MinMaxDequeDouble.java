@@ -0,0 +1,151 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Monotonic deque of double values for maintaining the minimum or maximum over values that are removed
+ * in the same order that they were added, such as the contents of a length or time window.
+ * <p>
+ * The deque retains only those values that can still become the minimum or maximum, in arrival order,
+ * so that the current minimum or maximum is always at the front. Add and remove are amortized constant time.
+ * Values are ordered as by {@link Double#compare(double, double)}.
+ * The removed value must be the oldest value still in the window.
+ */
+public final class MinMaxDequeDouble {
+    private final static int MIN_CAPACITY = 8;
+
+    private final boolean max;
+    private double[] values;
+    private int head;
+    private int size;
+
+    /**
+     * Ctor.
+     *
+     * @param max true to keep the maximum, false to keep the minimum
+     */
+    public MinMaxDequeDouble(boolean max) {
+        this.max = max;
+        this.values = new double[MIN_CAPACITY];
+    }
+
+    /**
+     * Adds a value that entered the window.
+     *
+     * @param value to add
+     */
+    public void add(double value) {
+        // discard values at the tail that are dominated by the new value as they can no longer become min/max
+        while (size > 0 && isDominated(values[(head + size - 1) & (values.length - 1)], value)) {
+            size--;
+        }
+        if (size == values.length) {
+            grow();
+        }
+        values[(head + size) & (values.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * Removes a value that left the window, the value must be the oldest value in the window.
+     *
+     * @param value to remove
+     */
+    public void remove(double value) {
+        if (size > 0 && Double.compare(values[head], value) == 0) {
+            head = (head + 1) & (values.length - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Returns the current minimum or maximum.
+     *
+     * @return min/max value, only valid when not empty
+     */
+    public double getValue() {
+        return values[head];
+    }
+
+    /**
+     * Returns true when there is no value.
+     *
+     * @return empty indicator
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of values retained, which is less than or equal to the number of values in the window.
+     *
+     * @return number of retained values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Clear out the collection.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Write the retained values.
+     *
+     * @param output output
+     * @throws IOException when an io error occurs
+     */
+    public void write(DataOutput output) throws IOException {
+        output.writeBoolean(max);
+        output.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            output.writeDouble(values[(head + i) & (values.length - 1)]);
+        }
+    }
+
+    /**
+     * Read the retained values.
+     *
+     * @param input input
+     * @return deque
+     * @throws IOException when an io error occurs
+     */
+    public static MinMaxDequeDouble read(DataInput input) throws IOException {
+        MinMaxDequeDouble deque = new MinMaxDequeDouble(input.readBoolean());
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            deque.add(input.readDouble());
+        }
+        return deque;
+    }
+
+    private boolean isDominated(double retained, double value) {
+        int compared = Double.compare(retained, value);
+        return max ? compared < 0 : compared > 0;
+    }
+
+    private void grow() {
+        double[] larger = new double[values.length << 1];
+        for (int i = 0; i < size; i++) {
+            larger[i] = values[(head + i) & (values.length - 1)];
+        }
+        values = larger;
+        head = 0;
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.util.Arrays;
+
+/**
+ * Sorted multiset of double values that allows selecting a value by rank, for use by median and percentile.
+ * <p>
+ * Randomized balanced search tree (treap) that keeps distinct values in nodes with a per-node count and subtree size.
+ * Nodes are held in parallel primitive arrays, so that no object is allocated for values and add, remove
+ * and select by rank take O(log n) expected time. NaN values are ignored, same as {@link SortedDoubleVector}.
+ */
+public class OrderStatisticDoubleTree {
+    private final static int MIN_CAPACITY = 8;
+    private final static int NIL = 0;
+
+    private double[] values;
+    private int[] counts;
+    private int[] sizes;
+    private int[] left;
+    private int[] right;
+    private int[] priorities;
+    private int root = NIL;
+    private int nextUnused = 1;
+    private int freeHead = NIL;
+    private int seed = 0x2545F491;
+
+    /**
+     * Ctor.
+     */
+    public OrderStatisticDoubleTree() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Clear out the collection.
+     */
+    public void clear() {
+        if (values.length > MIN_CAPACITY) {
+            allocate(MIN_CAPACITY);
+        } else {
+            Arrays.fill(sizes, 0);
+        }
+        root = NIL;
+        nextUnused = 1;
+        freeHead = NIL;
+    }
+
+    /**
+     * Returns the number of values in the collection, counting duplicates.
+     *
+     * @return size
+     */
+    public int size() {
+        return sizes[root];
+    }
+
+    /**
+     * Add a value to the collection.
+     *
+     * @param value is the double-type value to add
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        root = insert(root, value);
+    }
+
+    /**
+     * Remove a value from the collection, if present.
+     *
+     * @param value to remove
+     */
+    public void remove(double value) {
+        if (Double.isNaN(value) || !contains(value)) {
+            return;
+        }
+        root = delete(root, value);
+    }
+
+    /**
+     * Returns true if the collection contains the value.
+     *
+     * @param value value
+     * @return indicator
+     */
+    public boolean contains(double value) {
+        int node = root;
+        while (node != NIL) {
+            int compare = Double.compare(value, values[node]);
+            if (compare == 0) {
+                return true;
+            }
+            node = compare < 0 ? left[node] : right[node];
+        }
+        return false;
+    }
+
+    /**
+     * Returns the value at a given rank in ascending order.
+     *
+     * @param index rank starting at zero, counting duplicates
+     * @return value at index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public double getValue(int index) {
+        if (index < 0 || index >= sizes[root]) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range for size " + sizes[root]);
+        }
+        int node = root;
+        while (true) {
+            int leftSize = sizes[left[node]];
+            if (index < leftSize) {
+                node = left[node];
+                continue;
+            }
+            index -= leftSize;
+            if (index < counts[node]) {
+                return values[node];
+            }
+            index -= counts[node];
+            node = right[node];
+        }
+    }
+
+    /**
+     * Returns all values in ascending order, including duplicates.
+     *
+     * @return values
+     */
+    public double[] toArray() {
+        double[] result = new double[sizes[root]];
+        int[] stack = new int[64];
+        int depth = 0;
+        int count = 0;
+        int node = root;
+        while (node != NIL || depth > 0) {
+            while (node != NIL) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth << 1);
+                }
+                stack[depth++] = node;
+                node = left[node];
+            }
+            node = stack[--depth];
+            for (int i = 0; i < counts[node]; i++) {
+                result[count++] = values[node];
+            }
+            node = right[node];
+        }
+        return result;
+    }
+
+    private int insert(int node, double value) {
+        if (node == NIL) {
+            return newNode(value);
+        }
+        int compare = Double.compare(value, values[node]);
+        if (compare == 0) {
+            counts[node]++;
+            sizes[node]++;
+            return node;
+        }
+        // arrays may grow when inserting, assign child after the recursive call
+        if (compare < 0) {
+            int child = insert(left[node], value);
+            left[node] = child;
+            if (priorities[left[node]] > priorities[node]) {
+                node = rotateRight(node);
+            }
+        } else {
+            int child = insert(right[node], value);
+            right[node] = child;
+            if (priorities[right[node]] > priorities[node]) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private int delete(int node, double value) {
+        int compare = Double.compare(value, values[node]);
+        if (compare < 0) {
+            left[node] = delete(left[node], value);
+        } else if (compare > 0) {
+            right[node] = delete(right[node], value);
+        } else {
+            if (counts[node] > 1) {
+                counts[node]--;
+                sizes[node]--;
+                return node;
+            }
+            int merged = merge(left[node], right[node]);
+            freeNode(node);
+            return merged;
+        }
+        sizes[node]--;
+        return node;
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        update(node);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        update(node);
+        return pivot;
+    }
+
+    private void update(int node) {
+        sizes[node] = sizes[left[node]] + sizes[right[node]] + counts[node];
+    }
+
+    private int newNode(double value) {
+        int node;
+        if (freeHead != NIL) {
+            node = freeHead;
+            freeHead = left[node];
+        } else {
+            if (nextUnused == values.length) {
+                grow();
+            }
+            node = nextUnused++;
+        }
+        values[node] = value;
+        counts[node] = 1;
+        sizes[node] = 1;
+        left[node] = NIL;
+        right[node] = NIL;
+        priorities[node] = nextPriority();
+        return node;
+    }
+
+    private void freeNode(int node) {
+        counts[node] = 0;
+        sizes[node] = 0;
+        right[node] = NIL;
+        left[node] = freeHead;
+        freeHead = node;
+    }
+
+    private int nextPriority() {
+        // xorshift, priorities only need to be well-distributed
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        seed = x;
+        return x;
+    }
+
+    private void grow() {
+        int capacity = values.length << 1;
+        values = Arrays.copyOf(values, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+    }
+
+    private void allocate(int capacity) {
+        values = new double[capacity];
+        counts = new int[capacity];
+        sizes = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        priorities = new int[capacity];
+    }
+}
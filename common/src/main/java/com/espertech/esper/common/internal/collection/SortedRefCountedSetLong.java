@@ -0,0 +1,352 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Sorted, reference-counting set of primitive long keys, for maintaining the minimum or maximum over values that
+ * may be removed in any order. This is the primitive counterpart of {@link SortedRefCountedSet}.
+ * <p>
+ * Backed by an AVL tree held in parallel arrays so that no boxed key or tree entry is allocated per value.
+ * Add and remove are logarithmic in the number of distinct keys. Double values are kept as
+ * {@link #toSortableLong(double)} keys, which order the same as {@link Double#compare(double, double)}.
+ */
+public final class SortedRefCountedSetLong {
+    private final static int MIN_CAPACITY = 8;
+    private final static int NIL = -1;
+
+    private long[] keys;
+    private int[] counts;
+    private int[] left;
+    private int[] right;
+    private byte[] heights;
+    private int root = NIL;
+    private int free = NIL;
+    private int allocated;
+    private int size;
+
+    /**
+     * Ctor.
+     */
+    public SortedRefCountedSetLong() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Add a key to the set. Add with a reference count of one if the key didn't exist in the set.
+     * Increase the reference count by one if the key already exists.
+     *
+     * @param key to add
+     */
+    public void add(long key) {
+        root = insert(root, key, 1);
+    }
+
+    /**
+     * Remove a key from the set. Removes the key if the reference count is one.
+     * Decreases the reference count by one if the reference count is more then one.
+     * Keys that are not in the set are ignored.
+     *
+     * @param key to remove
+     */
+    public void remove(long key) {
+        root = delete(root, key);
+    }
+
+    /**
+     * Returns the largest key.
+     *
+     * @return largest key, only valid when not empty
+     */
+    public long maxValue() {
+        int node = root;
+        while (right[node] != NIL) {
+            node = right[node];
+        }
+        return keys[node];
+    }
+
+    /**
+     * Returns the smallest key.
+     *
+     * @return smallest key, only valid when not empty
+     */
+    public long minValue() {
+        int node = root;
+        while (left[node] != NIL) {
+            node = left[node];
+        }
+        return keys[node];
+    }
+
+    /**
+     * Returns true when there is no key.
+     *
+     * @return empty indicator
+     */
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    /**
+     * Returns the number of distinct keys.
+     *
+     * @return number of distinct keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the reference count of a key.
+     *
+     * @param key key
+     * @return reference count, or zero when the key is not in the set
+     */
+    public int getCount(long key) {
+        int node = root;
+        while (node != NIL) {
+            if (key < keys[node]) {
+                node = left[node];
+            } else if (key > keys[node]) {
+                node = right[node];
+            } else {
+                return counts[node];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Clear out the collection.
+     */
+    public void clear() {
+        if (keys.length > MIN_CAPACITY) {
+            allocate(MIN_CAPACITY);
+        }
+        root = NIL;
+        free = NIL;
+        allocated = 0;
+        size = 0;
+    }
+
+    /**
+     * Write the keys and reference counts.
+     *
+     * @param output output
+     * @throws IOException when an io error occurs
+     */
+    public void write(DataOutput output) throws IOException {
+        output.writeInt(size);
+        write(root, output);
+    }
+
+    /**
+     * Read the keys and reference counts.
+     *
+     * @param input input
+     * @return set
+     * @throws IOException when an io error occurs
+     */
+    public static SortedRefCountedSetLong read(DataInput input) throws IOException {
+        SortedRefCountedSetLong set = new SortedRefCountedSetLong();
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            long key = input.readLong();
+            set.root = set.insert(set.root, key, input.readInt());
+        }
+        return set;
+    }
+
+    /**
+     * Returns a long key for a double value that orders the same as {@link Double#compare(double, double)}.
+     *
+     * @param value value
+     * @return key
+     */
+    public static long toSortableLong(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & 0x7fffffffffffffffL);
+    }
+
+    /**
+     * Returns the double value for a key obtained from {@link #toSortableLong(double)}.
+     *
+     * @param key key
+     * @return value
+     */
+    public static double fromSortableLong(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & 0x7fffffffffffffffL));
+    }
+
+    private int insert(int node, long key, int count) {
+        if (node == NIL) {
+            return newNode(key, count);
+        }
+        // assign after the recursive call returns, as the call may replace the arrays when growing
+        if (key < keys[node]) {
+            int child = insert(left[node], key, count);
+            left[node] = child;
+        } else if (key > keys[node]) {
+            int child = insert(right[node], key, count);
+            right[node] = child;
+        } else {
+            counts[node] += count;
+            return node;
+        }
+        return balance(node);
+    }
+
+    private int delete(int node, long key) {
+        if (node == NIL) {
+            return NIL;
+        }
+        if (key < keys[node]) {
+            left[node] = delete(left[node], key);
+        } else if (key > keys[node]) {
+            right[node] = delete(right[node], key);
+        } else {
+            if (counts[node] > 1) {
+                counts[node]--;
+                return node;
+            }
+            if (left[node] == NIL || right[node] == NIL) {
+                int child = left[node] == NIL ? right[node] : left[node];
+                release(node);
+                return child;
+            }
+            // replace by the successor, which is the smallest key of the right subtree
+            int successor = right[node];
+            while (left[successor] != NIL) {
+                successor = left[successor];
+            }
+            keys[node] = keys[successor];
+            counts[node] = counts[successor];
+            right[node] = deleteMin(right[node]);
+        }
+        return balance(node);
+    }
+
+    private int deleteMin(int node) {
+        if (left[node] == NIL) {
+            int child = right[node];
+            release(node);
+            return child;
+        }
+        left[node] = deleteMin(left[node]);
+        return balance(node);
+    }
+
+    private int balance(int node) {
+        int leftHeight = height(left[node]);
+        int rightHeight = height(right[node]);
+        if (leftHeight - rightHeight > 1) {
+            int child = left[node];
+            if (height(left[child]) < height(right[child])) {
+                left[node] = rotateLeft(child);
+            }
+            return rotateRight(node);
+        }
+        if (rightHeight - leftHeight > 1) {
+            int child = right[node];
+            if (height(right[child]) < height(left[child])) {
+                right[node] = rotateRight(child);
+            }
+            return rotateLeft(node);
+        }
+        heights[node] = (byte) (Math.max(leftHeight, rightHeight) + 1);
+        return node;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    private void updateHeight(int node) {
+        heights[node] = (byte) (Math.max(height(left[node]), height(right[node])) + 1);
+    }
+
+    private int height(int node) {
+        return node == NIL ? 0 : heights[node];
+    }
+
+    private int newNode(long key, int count) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = left[node];
+        } else {
+            if (allocated == keys.length) {
+                grow();
+            }
+            node = allocated++;
+        }
+        keys[node] = key;
+        counts[node] = count;
+        left[node] = NIL;
+        right[node] = NIL;
+        heights[node] = 1;
+        size++;
+        return node;
+    }
+
+    private void release(int node) {
+        // released nodes form a free list linked through the left array
+        left[node] = free;
+        free = node;
+        size--;
+    }
+
+    private void write(int node, DataOutput output) throws IOException {
+        if (node == NIL) {
+            return;
+        }
+        write(left[node], output);
+        output.writeLong(keys[node]);
+        output.writeInt(counts[node]);
+        write(right[node], output);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        counts = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        heights = new byte[capacity];
+    }
+
+    private void grow() {
+        int capacity = keys.length << 1;
+        keys = Arrays.copyOf(keys, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+    }
+}
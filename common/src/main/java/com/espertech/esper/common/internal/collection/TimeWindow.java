@@ -14,7 +14,10 @@ import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.internal.view.core.DataWindowViewFactory;
 import com.espertech.esper.common.internal.view.core.ViewDataVisitor;
 
-import java.util.*;
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * Container for events per time slot. The time is provided as long milliseconds by client classes.
@@ -24,11 +27,20 @@ import java.util.*;
  * The window allows iteration through its contents.
  * <p>
  * It is assumed that the timestamp passed to the add method is ascending. The window is backed by a
- * collection reflecting the timestamp order rather then any sorted map or linked hash map for performance reasons.
+ * ring of primitive timestamps and a parallel ring of events, addressed by an ever-increasing sequence number,
+ * so that retaining an event does not allocate any per-event object. Removed events leave an empty
+ * slot that is reclaimed upon expiry. When removal is supported, a {@link TimeWindowReverseIndex}
+ * maps each event to its sequence number.
  */
 public final class TimeWindow implements Iterable {
-    private ArrayDeque<TimeWindowPair> window;
-    private Map<EventBean, TimeWindowPair> reverseIndex;
+    private final static int MIN_CAPACITY = 16;
+
+    private long[] timestamps;
+    private EventBean[] events;
+    private int mask;
+    private long headSequence;
+    private long tailSequence;
+    private TimeWindowReverseIndex reverseIndex;
     private int size;
 
     /**
@@ -38,10 +50,10 @@ public final class TimeWindow implements Iterable {
      *                              in the window based on the remove stream events received, or false to not accomodate removal at all
      */
     public TimeWindow(boolean isSupportRemoveStream) {
-        this.window = new ArrayDeque<TimeWindowPair>();
+        allocate(MIN_CAPACITY);
 
         if (isSupportRemoveStream) {
-            reverseIndex = new HashMap<EventBean, TimeWindowPair>();
+            reverseIndex = new TimeWindowReverseIndex();
         }
     }
 
@@ -51,8 +63,8 @@ public final class TimeWindow implements Iterable {
      * @param delta delta to adjust for
      */
     public void adjust(long delta) {
-        for (TimeWindowPair data : window) {
-            data.setTimestamp(data.getTimestamp() + delta);
+        for (long sequence = headSequence; sequence < tailSequence; sequence++) {
+            timestamps[(int) sequence & mask] += delta;
         }
     }
 
@@ -63,47 +75,16 @@ public final class TimeWindow implements Iterable {
      * @param bean      - event to add
      */
     public final void add(long timestamp, EventBean bean) {
-        // Empty window
-        if (window.isEmpty()) {
-            TimeWindowPair pair = new TimeWindowPair(timestamp, bean);
-            window.add(pair);
-
-            if (reverseIndex != null) {
-                reverseIndex.put(bean, pair);
-            }
-            size = 1;
-            return;
+        if (tailSequence - headSequence == events.length) {
+            resize(events.length << 1);
         }
-
-        TimeWindowPair lastPair = window.getLast();
-
-        // Windows last timestamp matches the one supplied
-        if (lastPair.getTimestamp() == timestamp) {
-            if (lastPair.getEventHolder() instanceof List) {
-                List<EventBean> list = (List<EventBean>) lastPair.getEventHolder();
-                list.add(bean);
-            } else if (lastPair.getEventHolder() == null) {
-                lastPair.setEventHolder(bean);
-            } else {
-                EventBean existing = (EventBean) lastPair.getEventHolder();
-                List<EventBean> list = new ArrayList<EventBean>(4);
-                list.add(existing);
-                list.add(bean);
-                lastPair.setEventHolder(list);
-            }
-            if (reverseIndex != null) {
-                reverseIndex.put(bean, lastPair);
-            }
-            size++;
-            return;
-        }
-
-        // Append to window
-        TimeWindowPair pair = new TimeWindowPair(timestamp, bean);
+        int index = (int) tailSequence & mask;
+        timestamps[index] = timestamp;
+        events[index] = bean;
         if (reverseIndex != null) {
-            reverseIndex.put(bean, pair);
+            reverseIndex.put(bean, tailSequence);
         }
-        window.add(pair);
+        tailSequence++;
         size++;
     }
 
@@ -116,19 +97,22 @@ public final class TimeWindow implements Iterable {
         if (reverseIndex == null) {
             throw new UnsupportedOperationException("Time window does not accept event removal");
         }
-        TimeWindowPair pair = reverseIndex.get(theEvent);
-        if (pair != null) {
-            if (pair.getEventHolder() != null && pair.getEventHolder().equals(theEvent)) {
-                pair.setEventHolder(null);
-                size--;
-            } else if (pair.getEventHolder() != null) {
-                List<EventBean> list = (List<EventBean>) pair.getEventHolder();
-                boolean removed = list.remove(theEvent);
-                if (removed) {
-                    size--;
-                }
+        long sequence = reverseIndex.remove(theEvent);
+        if (sequence == TimeWindowReverseIndex.NOT_FOUND || sequence < headSequence) {
+            return;
+        }
+        int index = (int) sequence & mask;
+        if (events[index] == null) {
+            return;
+        }
+        events[index] = null;
+        size--;
+
+        // reclaim empty slots at the head right away, the head timestamp is not needed for an empty slot at the head
+        if (sequence == headSequence) {
+            while (headSequence < tailSequence && events[(int) headSequence & mask] == null) {
+                headSequence++;
             }
-            reverseIndex.remove(theEvent);
         }
     }
 
@@ -140,14 +124,8 @@ public final class TimeWindow implements Iterable {
      * @return a list of events expired and removed from the window, or null if none expired
      */
     public final ArrayDeque<EventBean> expireEvents(long expireBefore) {
-        if (window.isEmpty()) {
-            return null;
-        }
-
-        TimeWindowPair pair = window.getFirst();
-
-        // If the first entry's timestamp is after the expiry date, nothing to expire
-        if (pair.getTimestamp() >= expireBefore) {
+        // If the window is empty or the first entry's timestamp is after the expiry date, nothing to expire
+        if (headSequence == tailSequence || timestamps[(int) headSequence & mask] >= expireBefore) {
             return null;
         }
 
@@ -155,31 +133,29 @@ public final class TimeWindow implements Iterable {
 
         // Repeat until the window is empty or the timestamp is above the expiry time
         do {
-            if (pair.getEventHolder() != null) {
-                if (pair.getEventHolder() instanceof EventBean) {
-                    resultBeans.add((EventBean) pair.getEventHolder());
-                } else {
-                    resultBeans.addAll((List<EventBean>) pair.getEventHolder());
+            int index = (int) headSequence & mask;
+            EventBean bean = events[index];
+            if (bean != null) {
+                resultBeans.add(bean);
+                events[index] = null;
+                if (reverseIndex != null) {
+                    reverseIndex.remove(bean);
                 }
             }
+            headSequence++;
+        }
+        while (headSequence < tailSequence && timestamps[(int) headSequence & mask] < expireBefore);
 
-            window.removeFirst();
-
-            if (window.isEmpty()) {
-                break;
-            }
+        size -= resultBeans.size();
 
-            pair = window.getFirst();
+        int used = (int) (tailSequence - headSequence);
+        int capacity = events.length;
+        while (capacity > MIN_CAPACITY && used < (capacity >> 2)) {
+            capacity >>= 1;
         }
-        while (pair.getTimestamp() < expireBefore);
-
-        if (reverseIndex != null) {
-            for (EventBean expired : resultBeans) {
-                reverseIndex.remove(expired);
-            }
+        if (capacity != events.length) {
+            resize(capacity);
         }
-
-        size -= resultBeans.size();
         return resultBeans;
     }
 
@@ -189,25 +165,27 @@ public final class TimeWindow implements Iterable {
      * @return iterator over events currently in window
      */
     public final Iterator<EventBean> iterator() {
-        return new TimeWindowIterator(window);
+        return new TimeWindowRingIterator();
     }
 
     /**
      * Returns the oldest timestamp in the collection if there is at least one entry,
      * else it returns null if the window is empty.
+     * <p>
+     * This is the timestamp of the oldest event remaining in the window. Events removed via {@link #remove(EventBean)}
+     * do not count, so that removing all events of the oldest timestamp moves the oldest timestamp forward and
+     * removing all events leaves the window empty.
      *
      * @return null if empty, oldest timestamp if not empty
      */
     public final Long getOldestTimestamp() {
-        if (window.isEmpty()) {
+        if (size == 0) {
             return null;
         }
-        if (window.getFirst().getEventHolder() != null) {
-            return window.getFirst().getTimestamp();
-        }
-        for (TimeWindowPair pair : window) {
-            if (pair.getEventHolder() != null) {
-                return pair.getTimestamp();
+        for (long sequence = headSequence; sequence < tailSequence; sequence++) {
+            int index = (int) sequence & mask;
+            if (events[index] != null) {
+                return timestamps[index];
             }
         }
         return null;
@@ -219,7 +197,25 @@ public final class TimeWindow implements Iterable {
      * @return true if empty, false if not
      */
     public final boolean isEmpty() {
-        return getOldestTimestamp() == null;
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of events in the window.
+     *
+     * @return number of events
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ring capacity, for testing purposes.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return events.length;
     }
 
     /**
@@ -227,24 +223,69 @@ public final class TimeWindow implements Iterable {
      *
      * @return reverse index
      */
-    public Map<EventBean, TimeWindowPair> getReverseIndex() {
+    public TimeWindowReverseIndex getReverseIndex() {
         return reverseIndex;
     }
 
-    public ArrayDeque<TimeWindowPair> getWindow() {
-        return window;
+    public void visitView(ViewDataVisitor viewDataVisitor, DataWindowViewFactory viewFactory) {
+        viewDataVisitor.visitPrimary(new TimeWindowCollection(), true, viewFactory.getViewName(), size);
     }
 
-    public void setWindow(ArrayDeque<TimeWindowPair> window, int size) {
-        this.window = window;
-        this.size = size;
+    private void resize(int capacity) {
+        long[] newTimestamps = new long[capacity];
+        EventBean[] newEvents = new EventBean[capacity];
+        int newMask = capacity - 1;
+        for (long sequence = headSequence; sequence < tailSequence; sequence++) {
+            int index = (int) sequence & mask;
+            int newIndex = (int) sequence & newMask;
+            newTimestamps[newIndex] = timestamps[index];
+            newEvents[newIndex] = events[index];
+        }
+        timestamps = newTimestamps;
+        events = newEvents;
+        mask = newMask;
     }
 
-    public void setReverseIndex(Map<EventBean, TimeWindowPair> reverseIndex) {
-        this.reverseIndex = reverseIndex;
+    private void allocate(int capacity) {
+        timestamps = new long[capacity];
+        events = new EventBean[capacity];
+        mask = capacity - 1;
     }
 
-    public void visitView(ViewDataVisitor viewDataVisitor, DataWindowViewFactory viewFactory) {
-        viewDataVisitor.visitPrimary(window, false, viewFactory.getViewName(), size);
+    private class TimeWindowRingIterator implements Iterator<EventBean> {
+        private long sequence = headSequence;
+
+        public boolean hasNext() {
+            while (sequence < tailSequence) {
+                if (events[(int) sequence & mask] != null) {
+                    return true;
+                }
+                sequence++;
+            }
+            return false;
+        }
+
+        public EventBean next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            EventBean bean = events[(int) sequence & mask];
+            sequence++;
+            return bean;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private class TimeWindowCollection extends AbstractCollection<EventBean> {
+        public Iterator<EventBean> iterator() {
+            return new TimeWindowRingIterator();
+        }
+
+        public int size() {
+            return size;
+        }
     }
 }
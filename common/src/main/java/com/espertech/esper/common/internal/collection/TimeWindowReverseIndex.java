@@ -0,0 +1,180 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import com.espertech.esper.common.client.EventBean;
+
+/**
+ * Reverse index for {@link TimeWindow} mapping an event to its sequence number in the window.
+ * <p>
+ * Open-addressing hash table with linear probing and backward-shift deletion, using parallel key and
+ * sequence arrays so that no entry object is allocated per event. Keys are compared using equals-semantics
+ * same as a {@link java.util.HashMap}.
+ */
+public final class TimeWindowReverseIndex {
+    /**
+     * Value returned when the event is not found.
+     */
+    public final static long NOT_FOUND = -1;
+
+    private final static int MIN_CAPACITY = 16;
+
+    private EventBean[] keys;
+    private long[] sequences;
+    private int mask;
+    private int size;
+
+    /**
+     * Ctor.
+     */
+    public TimeWindowReverseIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Associates the event with the sequence number, replacing any previous association.
+     *
+     * @param theEvent event
+     * @param sequence sequence number, non-negative
+     */
+    public void put(EventBean theEvent, long sequence) {
+        int index = hash(theEvent) & mask;
+        while (true) {
+            EventBean key = keys[index];
+            if (key == null) {
+                keys[index] = theEvent;
+                sequences[index] = sequence;
+                size++;
+                if (size > (keys.length >> 1)) {
+                    rehash(keys.length << 1);
+                }
+                return;
+            }
+            if (key == theEvent || key.equals(theEvent)) {
+                sequences[index] = sequence;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the sequence number for the event.
+     *
+     * @param theEvent event
+     * @return sequence number or {@link #NOT_FOUND}
+     */
+    public long get(EventBean theEvent) {
+        int index = find(theEvent);
+        return index == -1 ? NOT_FOUND : sequences[index];
+    }
+
+    /**
+     * Removes the event.
+     *
+     * @param theEvent event
+     * @return sequence number that was associated or {@link #NOT_FOUND}
+     */
+    public long remove(EventBean theEvent) {
+        int index = find(theEvent);
+        if (index == -1) {
+            return NOT_FOUND;
+        }
+        long sequence = sequences[index];
+        deleteAt(index);
+        size--;
+        if (keys.length > MIN_CAPACITY && size < (keys.length >> 3)) {
+            rehash(keys.length >> 1);
+        }
+        return sequence;
+    }
+
+    /**
+     * Returns the number of events.
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if empty.
+     *
+     * @return empty indicator
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int find(EventBean theEvent) {
+        int index = hash(theEvent) & mask;
+        while (true) {
+            EventBean key = keys[index];
+            if (key == null) {
+                return -1;
+            }
+            if (key == theEvent || key.equals(theEvent)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void deleteAt(int index) {
+        // backward-shift following entries of the probe sequence so that lookups need no tombstones
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (true) {
+            EventBean key = keys[next];
+            if (key == null) {
+                break;
+            }
+            int home = hash(key) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = key;
+                sequences[gap] = sequences[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        EventBean[] oldKeys = keys;
+        long[] oldSequences = sequences;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            EventBean key = oldKeys[i];
+            if (key == null) {
+                continue;
+            }
+            int index = hash(key) & mask;
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            sequences[index] = oldSequences[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new EventBean[capacity];
+        sequences = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(EventBean theEvent) {
+        int h = theEvent.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -28,6 +28,7 @@ public class ContextSpecKeyed implements ContextSpec {
     private final List<ContextSpecKeyedItem> items;
     private List<ContextSpecConditionFilter> optionalInit;
     private ContextSpecCondition optionalTermination;
+    private boolean sharedFilter;
 
     public ContextSpecKeyed(List<ContextSpecKeyedItem> items, List<ContextSpecConditionFilter> optionalInit, ContextSpecCondition optionalTermination) {
         this.items = items;
@@ -51,6 +52,14 @@ public class ContextSpecKeyed implements ContextSpec {
         return optionalInit;
     }
 
+    public boolean isSharedFilter() {
+        return sharedFilter;
+    }
+
+    public void setSharedFilter(boolean sharedFilter) {
+        this.sharedFilter = sharedFilter;
+    }
+
     public CodegenExpression makeCodegen(CodegenMethodScope parent, SAIFFInitializeSymbol symbols, CodegenClassScope classScope) {
         CodegenMethod method = parent.makeChild(ContextControllerDetailKeyed.class, this.getClass(), classScope);
 
@@ -75,6 +84,10 @@ public class ContextSpecKeyed implements ContextSpec {
             method.getBlock().exprDotMethod(ref("detail"), "setOptionalTermination", optionalTermination.make(method, symbols, classScope));
         }
 
+        if (sharedFilter) {
+            method.getBlock().exprDotMethod(ref("detail"), "setSharedFilter", constantTrue());
+        }
+
         method.getBlock().expression(exprDotMethodChain(symbols.getAddInitSvc(method)).add("addReadyCallback", ref("detail")))
                 .methodReturn(ref("detail"));
         return localMethod(method);
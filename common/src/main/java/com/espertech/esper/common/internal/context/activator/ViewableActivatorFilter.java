@@ -13,6 +13,7 @@ package com.espertech.esper.common.internal.context.activator;
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.context.util.AgentInstanceFilterShared;
 import com.espertech.esper.common.internal.context.util.EPStatementHandleCallbackFilter;
 import com.espertech.esper.common.internal.filterspec.FilterSpecActivatable;
 import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
@@ -55,12 +56,6 @@ public class ViewableActivatorFilter implements ViewableActivator {
 
     public ViewableActivationResult activate(final AgentInstanceContext agentInstanceContext, boolean isSubselect, boolean isRecoveringResilient) {
 
-        FilterValueSetParam[][] addendum = null;
-        if (agentInstanceContext.getAgentInstanceFilterProxy() != null) {
-            addendum = agentInstanceContext.getAgentInstanceFilterProxy().getAddendumFilters(filterSpec, agentInstanceContext);
-        }
-        FilterValueSetParam[][] filterValues = filterSpec.getValueSet(null, addendum, agentInstanceContext, agentInstanceContext.getStatementContextFilterEvalEnv());
-
         EventStream theStream;
         if (!agentInstanceContext.getAuditProvider().activated() && !agentInstanceContext.getInstrumentationProvider().activated()) {
             theStream = canIterate ? new ZeroDepthStreamIterable(filterSpec.getResultEventType()) : new ZeroDepthStreamNoIterate(filterSpec.getResultEventType());
@@ -106,8 +101,25 @@ public class ViewableActivatorFilter implements ViewableActivator {
         }
 
         EPStatementHandleCallbackFilter filterHandle = new EPStatementHandleCallbackFilter(agentInstanceContext.getEpStatementAgentInstanceHandle(), filterCallback);
-        agentInstanceContext.getStatementContext().getStatementContextRuntimeServices().getFilterService().add(filterSpec.getFilterForEventType(), filterValues, filterHandle);
-        ViewableActivatorFilterStopCallback stopCallback = new ViewableActivatorFilterStopCallback(filterHandle, filterSpec);
+
+        // when the context shares filters between partitions, register with the shared filter
+        AgentInstanceFilterShared sharedFilter = null;
+        if (agentInstanceContext.getAgentInstanceFilterProxy() != null) {
+            sharedFilter = agentInstanceContext.getAgentInstanceFilterProxy().getSharedFilter();
+            if (sharedFilter != null && !sharedFilter.add(filterSpec, filterHandle, agentInstanceContext)) {
+                sharedFilter = null;
+            }
+        }
+
+        if (sharedFilter == null) {
+            FilterValueSetParam[][] addendum = null;
+            if (agentInstanceContext.getAgentInstanceFilterProxy() != null) {
+                addendum = agentInstanceContext.getAgentInstanceFilterProxy().getAddendumFilters(filterSpec, agentInstanceContext);
+            }
+            FilterValueSetParam[][] filterValues = filterSpec.getValueSet(null, addendum, agentInstanceContext, agentInstanceContext.getStatementContextFilterEvalEnv());
+            agentInstanceContext.getStatementContext().getStatementContextRuntimeServices().getFilterService().add(filterSpec.getFilterForEventType(), filterValues, filterHandle);
+        }
+        ViewableActivatorFilterStopCallback stopCallback = new ViewableActivatorFilterStopCallback(filterHandle, filterSpec, sharedFilter);
         return new ViewableActivationResult(theStream, stopCallback, null, false, false, null, null);
     }
 }
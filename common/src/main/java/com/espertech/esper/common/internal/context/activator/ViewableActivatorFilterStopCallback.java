@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.context.activator;
 
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.context.util.AgentInstanceFilterShared;
 import com.espertech.esper.common.internal.context.util.AgentInstanceStopCallback;
 import com.espertech.esper.common.internal.context.util.AgentInstanceStopServices;
 import com.espertech.esper.common.internal.filterspec.FilterSpecActivatable;
@@ -21,14 +22,22 @@ public class ViewableActivatorFilterStopCallback implements AgentInstanceStopCal
 
     private FilterHandle filterHandle;
     private FilterSpecActivatable filterSpecActivatable;
+    private AgentInstanceFilterShared sharedFilter;
 
     public ViewableActivatorFilterStopCallback(FilterHandle filterHandle, FilterSpecActivatable filterSpecActivatable) {
+        this(filterHandle, filterSpecActivatable, null);
+    }
+
+    public ViewableActivatorFilterStopCallback(FilterHandle filterHandle, FilterSpecActivatable filterSpecActivatable, AgentInstanceFilterShared sharedFilter) {
         this.filterHandle = filterHandle;
         this.filterSpecActivatable = filterSpecActivatable;
+        this.sharedFilter = sharedFilter;
     }
 
     public synchronized void stop(AgentInstanceStopServices services) {
-        if (filterHandle != null) {
+        if (filterHandle != null && sharedFilter != null) {
+            sharedFilter.remove(filterSpecActivatable, filterHandle, services.getAgentInstanceContext());
+        } else if (filterHandle != null) {
             FilterValueSetParam[][] addendum = null;
             AgentInstanceContext agentInstanceContext = services.getAgentInstanceContext();
             if (agentInstanceContext.getAgentInstanceFilterProxy() != null) {
@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.context.aifactory.createcontext;
 
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.annotation.HintEnum;
 import com.espertech.esper.common.client.meta.EventTypeApplicationType;
 import com.espertech.esper.common.client.meta.EventTypeIdPair;
 import com.espertech.esper.common.client.meta.EventTypeMetadata;
@@ -79,6 +80,12 @@ public class StmtForgeMethodCreateContext implements StmtForgeMethod {
         // compile filter specs, if any
         CreateContextValidationEnv validationEnv = new CreateContextValidationEnv(context.getContextName(), base.getStatementRawInfo(), services, filterSpecCompileds, scheduleHandleCallbackProviders, filterBooleanExpressions);
         validateContextDetail(context.getContextDetail(), 0, validationEnv);
+        if (HintEnum.KEYED_SHARED_FILTER.getHint(statementSpec.getAnnotations()) != null) {
+            if (!(context.getContextDetail() instanceof ContextSpecKeyed)) {
+                throw new ExprValidationException("Hint '" + HintEnum.KEYED_SHARED_FILTER.getValue() + "' requires a keyed segmented context that is not nested");
+            }
+            ((ContextSpecKeyed) context.getContextDetail()).setSharedFilter(true);
+        }
 
         // get controller factory forges
         ContextControllerFactoryForge[] controllerFactoryForges = getForges(context.getContextName(), context.getContextDetail());
@@ -79,6 +79,9 @@ public class StmtForgeMethodCreateIndex implements StmtForgeMethod {
             if (!table.isKeyed()) {
                 throw new ExprValidationException("Tables without primary key column(s) do not allow creating an index");
             }
+            if (table.getLockStripes() > 0) {
+                throw new ExprValidationException("Tables that use lock stripes do not allow creating an index");
+            }
         }
         EPLValidationUtil.validateContextName(namedWindow == null, infraName, infraContextName, base.getStatementSpec().getRaw().getOptionalContextName(), true);
 
@@ -11,6 +11,8 @@
 package com.espertech.esper.common.internal.context.aifactory.createtable;
 
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.annotation.Hint;
+import com.espertech.esper.common.client.annotation.HintEnum;
 import com.espertech.esper.common.client.meta.EventTypeApplicationType;
 import com.espertech.esper.common.client.meta.EventTypeIdPair;
 import com.espertech.esper.common.client.meta.EventTypeMetadata;
@@ -104,6 +106,7 @@ public class StmtForgeMethodCreateTable implements StmtForgeMethod {
 
         // add table
         TableMetaData tableMetaData = new TableMetaData(tableName, base.getModuleName(), visibility, contextName, contextVisibility, contextModuleName, plan.getInternalEventType(), plan.getPublicEventType(), plan.getPrimaryKeyColumns(), plan.getPrimaryKeyTypes(), plan.getPrimaryKeyColNums(), plan.getTableColumns(), plan.getColsAggMethod().length);
+        tableMetaData.setLockStripes(determineLockStripes(tableMetaData));
         services.getTableCompileTimeRegistry().newTable(tableMetaData);
 
         String aiFactoryProviderClassName = CodeGenerationIDGenerator.generateClassNameSimple(StatementAIFactoryProvider.class, classPostfix);
@@ -128,6 +131,27 @@ public class StmtForgeMethodCreateTable implements StmtForgeMethod {
         return new StmtForgeMethodResult(forgables, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
     }
 
+    private int determineLockStripes(TableMetaData tableMetaData) throws ExprValidationException {
+        Hint hint = HintEnum.LOCK_STRIPES.getHint(base.getStatementSpec().getAnnotations());
+        if (hint == null) {
+            return 0;
+        }
+        if (!tableMetaData.isKeyed()) {
+            throw new ExprValidationException("Hint '" + HintEnum.LOCK_STRIPES + "' requires a table with primary key column(s)");
+        }
+        String value = HintEnum.LOCK_STRIPES.getHintAssignedValue(hint);
+        int stripes;
+        try {
+            stripes = Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            stripes = 0;
+        }
+        if (stripes <= 0) {
+            throw new ExprValidationException("Hint '" + HintEnum.LOCK_STRIPES + "' requires a positive number of lock stripes but received '" + value + "'");
+        }
+        return stripes;
+    }
+
     private void validateKeyTypes(List<CreateTableColumn> columns, ClasspathImportServiceCompileTime classpathImportService)
             throws ExprValidationException {
         for (CreateTableColumn col : columns) {
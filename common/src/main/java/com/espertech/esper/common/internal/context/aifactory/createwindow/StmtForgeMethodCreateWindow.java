@@ -37,6 +37,8 @@ import com.espertech.esper.common.internal.epl.resultset.select.core.SelectSubsc
 import com.espertech.esper.common.internal.epl.streamtype.StreamTypeService;
 import com.espertech.esper.common.internal.epl.streamtype.StreamTypeServiceImpl;
 import com.espertech.esper.common.internal.epl.virtualdw.VirtualDWViewFactoryForge;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
+import com.espertech.esper.common.internal.event.map.MapEventType;
 import com.espertech.esper.common.internal.schedule.ScheduleHandleCallbackProvider;
 import com.espertech.esper.common.internal.view.core.*;
 
@@ -130,7 +132,11 @@ public class StmtForgeMethodCreateWindow implements StmtForgeMethod {
         boolean isBatchingDataWindow = determineBatchingDataWindow(viewForges);
         boolean virtualDataWindow = viewForges.get(0) instanceof VirtualDWViewFactoryForge;
         boolean isEnableIndexShare = virtualDataWindow || HintEnum.ENABLE_WINDOW_SUBQUERY_INDEXSHARE.getHint(base.getStatementSpec().getAnnotations()) != null;
-        NamedWindowMetaData metaData = new NamedWindowMetaData(namedWindowType, base.getModuleName(), base.getContextName(), uniqueKeyProArray, isBatchingDataWindow, isEnableIndexShare, compileResult.getAsEventType(), virtualDataWindow);
+        boolean offHeap = HintEnum.OFF_HEAP.getHint(base.getStatementSpec().getAnnotations()) != null;
+        if (offHeap && (virtualDataWindow || !(namedWindowType instanceof ObjectArrayEventType || namedWindowType instanceof MapEventType))) {
+            throw new ExprValidationException("Hint '" + HintEnum.OFF_HEAP + "' requires a named window with an object-array or map event type and that is not a virtual data window");
+        }
+        NamedWindowMetaData metaData = new NamedWindowMetaData(namedWindowType, base.getModuleName(), base.getContextName(), uniqueKeyProArray, isBatchingDataWindow, isEnableIndexShare, compileResult.getAsEventType(), virtualDataWindow, offHeap);
         services.getNamedWindowCompileTimeRegistry().newNamedWindow(metaData);
 
         // build forge list
@@ -21,6 +21,10 @@ import com.espertech.esper.common.internal.epl.namedwindow.path.NamedWindowMetaD
 import com.espertech.esper.common.internal.type.OuterJoinType;
 import com.espertech.esper.common.internal.view.core.ViewFactoryForge;
 import com.espertech.esper.common.internal.view.core.ViewFactoryForgeUtil;
+import com.espertech.esper.common.internal.view.length.LengthWindowViewForge;
+import com.espertech.esper.common.internal.view.lengthbatch.LengthBatchViewForge;
+import com.espertech.esper.common.internal.view.timebatch.TimeBatchViewForge;
+import com.espertech.esper.common.internal.view.timewin.TimeWindowViewForge;
 
 import java.util.List;
 
@@ -37,6 +41,19 @@ public class StatementForgeMethodSelectUtil {
         return result;
     }
 
+    protected static boolean[] getRemoveInArrivalOrder(boolean[] isNamedWindow, List<ViewFactoryForge>[] views) {
+        boolean[] result = new boolean[views.length];
+        for (int i = 0; i < views.length; i++) {
+            if (isNamedWindow[i] || views[i].size() != 1) {
+                continue;
+            }
+            ViewFactoryForge view = views[i].get(0);
+            result[i] = view instanceof LengthWindowViewForge || view instanceof TimeWindowViewForge ||
+                view instanceof LengthBatchViewForge || view instanceof TimeBatchViewForge;
+        }
+        return result;
+    }
+
     static String[] determineStreamNames(StreamSpecCompiled[] streams) {
         String[] streamNames = new String[streams.length];
         for (int i = 0; i < streams.length; i++) {
@@ -58,7 +58,6 @@ import com.espertech.esper.common.internal.epl.resultset.core.ResultSetSpec;
 import com.espertech.esper.common.internal.epl.rowrecog.core.RowRecogDescForge;
 import com.espertech.esper.common.internal.epl.rowrecog.core.RowRecogNFAViewFactoryForge;
 import com.espertech.esper.common.internal.epl.rowrecog.core.RowRecogNFAViewPlanUtil;
-import com.espertech.esper.common.internal.epl.streamtype.StreamTypeService;
 import com.espertech.esper.common.internal.epl.streamtype.StreamTypeServiceImpl;
 import com.espertech.esper.common.internal.epl.subselect.SubSelectActivationPlan;
 import com.espertech.esper.common.internal.epl.subselect.SubSelectFactoryForge;
@@ -248,7 +247,8 @@ public class StmtForgeMethodSelectUtil {
 
         boolean[] hasIStreamOnly = getHasIStreamOnly(isNamedWindow, viewForges);
         boolean optionalStreamsIfAny = OuterJoinAnalyzer.optionalStreamsIfAny(statementSpec.getRaw().getOuterJoinDescList());
-        StreamTypeService typeService = new StreamTypeServiceImpl(streamEventTypes, streamNames, hasIStreamOnly, false, optionalStreamsIfAny);
+        StreamTypeServiceImpl typeService = new StreamTypeServiceImpl(streamEventTypes, streamNames, hasIStreamOnly, false, optionalStreamsIfAny);
+        typeService.setRemoveInArrivalOrder(getRemoveInArrivalOrder(isNamedWindow, viewForges));
 
         // Validate views that require validation, specifically streams that don't have
         // sub-views such as DB SQL joins
@@ -29,6 +29,7 @@ public class ContextControllerDetailKeyed implements ContextControllerDetail, St
 
     private List<FilterSpecActivatable> filterSpecActivatables;
     private boolean hasAsName;
+    private boolean sharedFilter;
 
     public void setItems(ContextControllerDetailKeyedItem[] items) {
         this.items = items;
@@ -85,4 +86,12 @@ public class ContextControllerDetailKeyed implements ContextControllerDetail, St
     public boolean isHasAsName() {
         return hasAsName;
     }
+
+    public boolean isSharedFilter() {
+        return sharedFilter;
+    }
+
+    public void setSharedFilter(boolean sharedFilter) {
+        this.sharedFilter = sharedFilter;
+    }
 }
@@ -11,18 +11,28 @@
 package com.espertech.esper.common.internal.context.controller.keyed;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.util.StatementType;
 import com.espertech.esper.common.internal.collection.IntSeqKey;
 import com.espertech.esper.common.internal.context.controller.condition.*;
 import com.espertech.esper.common.internal.context.controller.core.ContextControllerFilterEntry;
+import com.espertech.esper.common.internal.context.mgr.ContextControllerStatementDesc;
 import com.espertech.esper.common.internal.context.mgr.ContextManagerRealization;
 import com.espertech.esper.common.internal.context.mgr.ContextPartitionInstantiationResult;
 import com.espertech.esper.common.internal.context.util.AgentInstance;
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.context.util.AgentInstanceFilterShared;
 import com.espertech.esper.common.internal.context.util.AgentInstanceUtil;
 import com.espertech.esper.common.internal.context.util.FilterFaultHandler;
+import com.espertech.esper.common.internal.event.core.EventTypeUtility;
+import com.espertech.esper.common.internal.filterspec.FilterOperator;
+import com.espertech.esper.common.internal.filterspec.FilterSpecActivatable;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
 import com.espertech.esper.common.internal.filterspec.MatchedEventMap;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 import com.espertech.esper.common.internal.util.CollectionUtil;
 
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -30,6 +40,7 @@ import java.util.function.BiConsumer;
 public class ContextControllerKeyedImpl extends ContextControllerKeyed {
 
     protected final ContextControllerKeyedSvc keyedSvc;
+    private final Map<FilterSpecActivatable, ContextControllerKeyedSharedFilter> sharedFilters = new IdentityHashMap<>();
 
     public ContextControllerKeyedImpl(ContextControllerKeyedFactory factory, ContextManagerRealization realization) {
         super(realization, factory);
@@ -122,6 +133,83 @@ public class ContextControllerKeyedImpl extends ContextControllerKeyed {
         keyedSvc.destroy();
     }
 
+    /**
+     * Returns the shared filter for the statement and partition, or null when the context does not share filters
+     * between partitions.
+     *
+     * @param statementDesc statement
+     * @param partitionKey  partition key
+     * @return shared filter or null
+     */
+    public AgentInstanceFilterShared getSharedFilter(ContextControllerStatementDesc statementDesc, Object partitionKey) {
+        if (!factory.getKeyedSpec().isSharedFilter() || statementDesc.getLightweight().getStatementContext().getStatementInformationals().getStatementType() == StatementType.CREATE_WINDOW) {
+            return null;
+        }
+        Object getterKey = factory.getGetterKey(partitionKey);
+        return new AgentInstanceFilterShared() {
+            public boolean add(FilterSpecActivatable filterSpec, FilterHandle filterHandle, AgentInstanceContext agentInstanceContext) {
+                return addSharedFilter(filterSpec, getterKey, filterHandle, agentInstanceContext);
+            }
+
+            public void remove(FilterSpecActivatable filterSpec, FilterHandle filterHandle, AgentInstanceContext agentInstanceContext) {
+                removeSharedFilter(filterSpec, getterKey, filterHandle, agentInstanceContext);
+            }
+        };
+    }
+
+    private synchronized boolean addSharedFilter(FilterSpecActivatable filterSpec, Object getterKey, FilterHandle filterHandle, AgentInstanceContext agentInstanceContext) {
+        ContextControllerDetailKeyedItem foundPartition = null;
+        for (ContextControllerDetailKeyedItem partitionItem : factory.getKeyedSpec().getItems()) {
+            if (EventTypeUtility.isTypeOrSubTypeOf(filterSpec.getFilterForEventType(), partitionItem.getFilterSpecActivatable().getFilterForEventType())) {
+                foundPartition = partitionItem;
+                break;
+            }
+        }
+        if (foundPartition == null) {
+            return false;
+        }
+
+        // the shared filter has the partition filters but not the partition key
+        FilterValueSetParam[][] partitionFilters = foundPartition.getFilterSpecActivatable().getValueSet(null, null, agentInstanceContext, agentInstanceContext.getStatementContextFilterEvalEnv());
+        if (partitionFilters != null && partitionFilters.length == 0) {
+            partitionFilters = null;
+        }
+        FilterValueSetParam[][] filterValues = filterSpec.getValueSet(null, partitionFilters, agentInstanceContext, agentInstanceContext.getStatementContextFilterEvalEnv());
+        for (FilterValueSetParam[] path : filterValues) {
+            for (FilterValueSetParam param : path) {
+                if (param.getFilterOperator() == FilterOperator.BOOLEAN_EXPRESSION) {
+                    return false;
+                }
+            }
+        }
+
+        ContextControllerKeyedSharedFilter sharedFilter = sharedFilters.get(filterSpec);
+        if (sharedFilter == null) {
+            sharedFilter = new ContextControllerKeyedSharedFilter(agentInstanceContext.getStatementId(), foundPartition, filterSpec.getFilterForEventType(), filterValues);
+            sharedFilter.add(getterKey, filterHandle);
+            sharedFilters.put(filterSpec, sharedFilter);
+            agentInstanceContext.getFilterService().add(sharedFilter.getFilterForEventType(), sharedFilter.getFilterValues(), sharedFilter);
+            return true;
+        }
+
+        // filters that depend on the partition cannot be shared
+        if (!sharedFilter.isSameFilter(filterValues)) {
+            return false;
+        }
+        return sharedFilter.add(getterKey, filterHandle);
+    }
+
+    private synchronized void removeSharedFilter(FilterSpecActivatable filterSpec, Object getterKey, FilterHandle filterHandle, AgentInstanceContext agentInstanceContext) {
+        ContextControllerKeyedSharedFilter sharedFilter = sharedFilters.get(filterSpec);
+        if (sharedFilter == null || !sharedFilter.remove(getterKey, filterHandle)) {
+            return;
+        }
+        if (sharedFilter.isEmpty()) {
+            agentInstanceContext.getFilterService().remove(sharedFilter, sharedFilter.getFilterForEventType(), sharedFilter.getFilterValues());
+            sharedFilters.remove(filterSpec);
+        }
+    }
+
     private ContextControllerConditionNonHA activateTermination(EventBean triggeringEvent, Object[] parentPartitionKeys, Object partitionKey, IntSeqKey conditionPath, String optionalInitCondAsName) {
         ContextControllerConditionCallback callback = new ContextControllerConditionCallback() {
             public void rangeNotification(IntSeqKey conditionPath, ContextControllerConditionNonHA originEndpoint, EventBean optionalTriggeringEvent, Map<String, Object> optionalTriggeringPattern, EventBean optionalTriggeringEventPattern, Map<String, Object> optionalPatternForInclusiveEval) {
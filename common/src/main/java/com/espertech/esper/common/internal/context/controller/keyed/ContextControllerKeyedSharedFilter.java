@@ -0,0 +1,117 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.context.controller.keyed;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.common.internal.filtersvc.FilterHandleRouter;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filter of a statement that is shared by all partitions of a keyed context, routing a matching event
+ * to the filter handle of the partition by the partition key of the event.
+ */
+public class ContextControllerKeyedSharedFilter implements FilterHandleRouter {
+    private static final Object NULL_KEY = new Object();
+
+    private final int statementId;
+    private final ContextControllerDetailKeyedItem item;
+    private final EventType filterForEventType;
+    private final FilterValueSetParam[][] filterValues;
+    private final Map<Object, FilterHandle> handles = new ConcurrentHashMap<>();
+
+    public ContextControllerKeyedSharedFilter(int statementId, ContextControllerDetailKeyedItem item, EventType filterForEventType, FilterValueSetParam[][] filterValues) {
+        this.statementId = statementId;
+        this.item = item;
+        this.filterForEventType = filterForEventType;
+        this.filterValues = filterValues;
+    }
+
+    public FilterHandle route(EventBean theEvent) {
+        Object key = item.getGetter().get(theEvent);
+        return handles.get(key == null ? NULL_KEY : key);
+    }
+
+    public int getStatementId() {
+        return statementId;
+    }
+
+    public int getAgentInstanceId() {
+        return -1;
+    }
+
+    public EventType getFilterForEventType() {
+        return filterForEventType;
+    }
+
+    public FilterValueSetParam[][] getFilterValues() {
+        return filterValues;
+    }
+
+    /**
+     * Adds a partition.
+     *
+     * @param getterKey    partition key
+     * @param filterHandle filter handle of the partition
+     * @return indicator whether added, false if the partition key is already taken
+     */
+    public boolean add(Object getterKey, FilterHandle filterHandle) {
+        return handles.putIfAbsent(getterKey == null ? NULL_KEY : getterKey, filterHandle) == null;
+    }
+
+    /**
+     * Removes a partition.
+     *
+     * @param getterKey    partition key
+     * @param filterHandle filter handle of the partition
+     * @return indicator whether removed
+     */
+    public boolean remove(Object getterKey, FilterHandle filterHandle) {
+        return handles.remove(getterKey == null ? NULL_KEY : getterKey, filterHandle);
+    }
+
+    public boolean isEmpty() {
+        return handles.isEmpty();
+    }
+
+    /**
+     * Returns indicator whether the filter values are the same as the filter values of the shared filter,
+     * which is not the case when filter values depend on the partition.
+     *
+     * @param other filter values of a partition
+     * @return indicator
+     */
+    public boolean isSameFilter(FilterValueSetParam[][] other) {
+        if (filterValues.length != other.length) {
+            return false;
+        }
+        for (int i = 0; i < filterValues.length; i++) {
+            if (filterValues[i].length != other[i].length) {
+                return false;
+            }
+            for (int j = 0; j < filterValues[i].length; j++) {
+                FilterValueSetParam mine = filterValues[i][j];
+                FilterValueSetParam theirs = other[i][j];
+                if (mine.getFilterOperator() != theirs.getFilterOperator() ||
+                        !mine.getLookupable().getExpression().equals(theirs.getLookupable().getExpression()) ||
+                        !Objects.deepEquals(mine.getFilterForValue(), theirs.getFilterForValue())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -18,6 +18,9 @@ import com.espertech.esper.common.internal.context.controller.core.ContextContro
 import com.espertech.esper.common.internal.context.controller.core.ContextControllerFactory;
 import com.espertech.esper.common.internal.context.controller.core.ContextControllerFactoryEnv;
 import com.espertech.esper.common.internal.context.controller.core.ContextControllerLifecycleCallback;
+import com.espertech.esper.common.internal.context.controller.hash.ContextControllerHashImpl;
+import com.espertech.esper.common.internal.context.controller.keyed.ContextControllerDetailKeyed;
+import com.espertech.esper.common.internal.context.controller.keyed.ContextControllerKeyedImpl;
 import com.espertech.esper.common.internal.context.util.*;
 import com.espertech.esper.common.internal.event.core.MappedEventBean;
 import com.espertech.esper.common.internal.filterspec.FilterSpecActivatable;
@@ -33,6 +36,7 @@ public class ContextManagerRealization implements ContextControllerLifecycleCall
     private final ContextManagerResident contextManager;
     private final AgentInstanceContext agentInstanceContextCreate;
     private final ContextController[] contextControllers;
+    private final boolean parallelPartitions;
 
     public ContextManagerRealization(ContextManagerResident contextManager, AgentInstanceContext agentInstanceContextCreate) {
         this.contextManager = contextManager;
@@ -45,6 +49,23 @@ public class ContextManagerRealization implements ContextControllerLifecycleCall
             ContextControllerFactory contextControllerFactory = controllerFactories[i];
             contextControllers[i] = contextControllerFactory.create(this);
         }
+
+        // partitions of hash and keyed segmented contexts are independent of each other, unless the controller
+        // allocates and terminates partitions by condition as the controller then processes on the sending thread
+        boolean parallel = true;
+        for (ContextController controller : contextControllers) {
+            if (controller instanceof ContextControllerKeyedImpl) {
+                ContextControllerDetailKeyed keyedSpec = ((ContextControllerKeyedImpl) controller).getFactory().getKeyedSpec();
+                if (keyedSpec.getOptionalInit() != null || keyedSpec.getOptionalTermination() != null) {
+                    parallel = false;
+                    break;
+                }
+            } else if (!(controller instanceof ContextControllerHashImpl)) {
+                parallel = false;
+                break;
+            }
+        }
+        parallelPartitions = parallel;
     }
 
     public ContextController[] getContextControllers() {
@@ -116,11 +137,9 @@ public class ContextManagerRealization implements ContextControllerLifecycleCall
         for (Map.Entry<Integer, ContextControllerStatementDesc> statementEntry : contextManager.getStatements().entrySet()) {
             ContextControllerStatementDesc statementDesc = statementEntry.getValue();
 
-            Function<AgentInstanceContext, IdentityHashMap<FilterSpecActivatable, FilterValueSetParam[][]>> generator = agentInstanceContext ->
-                    ContextManagerUtil.computeAddendumForStatement(statementDesc, contextManager.getContextDefinition().getControllerFactories(), allPartitionKeys, agentInstanceContext);
-            AgentInstanceFilterProxy proxy = new AgentInstanceFilterProxyImpl(generator);
+            AgentInstanceFilterProxy proxy = makeFilterProxy(statementDesc, allPartitionKeys);
 
-            AgentInstance agentInstance = AgentInstanceUtil.startStatement(contextManager.getStatementContextCreate().getStatementContextRuntimeServices(), assignedContextId, statementDesc, contextBean, proxy);
+            AgentInstance agentInstance = startStatement(assignedContextId, statementDesc, contextBean, proxy);
             startedInstances.add(agentInstance);
         }
 
@@ -186,13 +205,29 @@ public class ContextManagerRealization implements ContextControllerLifecycleCall
             MappedEventBean contextBean = ContextManagerUtil.buildContextProperties(cpid, partitionKeys, contextManager.getContextDefinition(), agentInstanceContextCreate.getStatementContext());
 
             // create filter proxies
-            Function<AgentInstanceContext, IdentityHashMap<FilterSpecActivatable, FilterValueSetParam[][]>> generator = agentInstanceContext ->
-                    ContextManagerUtil.computeAddendumForStatement(statement, contextManager.getContextDefinition().getControllerFactories(), partitionKeys, agentInstanceContext);
-            AgentInstanceFilterProxy proxy = new AgentInstanceFilterProxyImpl(generator);
+            AgentInstanceFilterProxy proxy = makeFilterProxy(statement, partitionKeys);
 
             // start
-            AgentInstanceUtil.startStatement(contextManager.getStatementContextCreate().getStatementContextRuntimeServices(), cpid, statement, contextBean, proxy);
+            startStatement(cpid, statement, contextBean, proxy);
+        }
+    }
+
+    private AgentInstance startStatement(int assignedContextId, ContextControllerStatementDesc statementDesc, MappedEventBean contextBean, AgentInstanceFilterProxy proxy) {
+        AgentInstance agentInstance = AgentInstanceUtil.startStatement(contextManager.getStatementContextCreate().getStatementContextRuntimeServices(), assignedContextId, statementDesc, contextBean, proxy);
+        if (parallelPartitions) {
+            agentInstance.getAgentInstanceContext().getEpStatementAgentInstanceHandle().setParallelPartition(true);
+        }
+        return agentInstance;
+    }
+
+    private AgentInstanceFilterProxy makeFilterProxy(ContextControllerStatementDesc statementDesc, Object[] allPartitionKeys) {
+        Function<AgentInstanceContext, IdentityHashMap<FilterSpecActivatable, FilterValueSetParam[][]>> generator = agentInstanceContext ->
+                ContextManagerUtil.computeAddendumForStatement(statementDesc, contextManager.getContextDefinition().getControllerFactories(), allPartitionKeys, agentInstanceContext);
+        AgentInstanceFilterShared sharedFilter = null;
+        if (contextControllers.length == 1 && contextControllers[0] instanceof ContextControllerKeyedImpl) {
+            sharedFilter = ((ContextControllerKeyedImpl) contextControllers[0]).getSharedFilter(statementDesc, allPartitionKeys[0]);
         }
+        return new AgentInstanceFilterProxyImpl(generator, sharedFilter);
     }
 
     public AgentInstanceContext getAgentInstanceContextCreate() {
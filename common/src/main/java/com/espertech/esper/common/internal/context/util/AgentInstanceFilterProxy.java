@@ -15,4 +15,6 @@ import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
 
 public interface AgentInstanceFilterProxy {
     FilterValueSetParam[][] getAddendumFilters(FilterSpecActivatable filterSpec, AgentInstanceContext agentInstanceContext);
+
+    AgentInstanceFilterShared getSharedFilter();
 }
@@ -19,10 +19,16 @@ import java.util.function.Function;
 public class AgentInstanceFilterProxyImpl implements AgentInstanceFilterProxy {
 
     private final Function<AgentInstanceContext, IdentityHashMap<FilterSpecActivatable, FilterValueSetParam[][]>> generator;
+    private final AgentInstanceFilterShared sharedFilter;
     private IdentityHashMap<FilterSpecActivatable, FilterValueSetParam[][]> addendumMap;
 
     public AgentInstanceFilterProxyImpl(Function<AgentInstanceContext, IdentityHashMap<FilterSpecActivatable, FilterValueSetParam[][]>> generator) {
+        this(generator, null);
+    }
+
+    public AgentInstanceFilterProxyImpl(Function<AgentInstanceContext, IdentityHashMap<FilterSpecActivatable, FilterValueSetParam[][]>> generator, AgentInstanceFilterShared sharedFilter) {
         this.generator = generator;
+        this.sharedFilter = sharedFilter;
     }
 
     public FilterValueSetParam[][] getAddendumFilters(FilterSpecActivatable filterSpec, AgentInstanceContext agentInstanceContext) {
@@ -31,4 +37,8 @@ public class AgentInstanceFilterProxyImpl implements AgentInstanceFilterProxy {
         }
         return addendumMap.get(filterSpec);
     }
+
+    public AgentInstanceFilterShared getSharedFilter() {
+        return sharedFilter;
+    }
 }
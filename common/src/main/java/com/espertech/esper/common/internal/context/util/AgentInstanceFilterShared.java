@@ -0,0 +1,39 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.context.util;
+
+import com.espertech.esper.common.internal.filterspec.FilterSpecActivatable;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+/**
+ * Filter registration that is shared between the agent instances of a statement, for use in place of
+ * registering a filter for each agent instance.
+ */
+public interface AgentInstanceFilterShared {
+    /**
+     * Adds the filter handle of the agent instance.
+     *
+     * @param filterSpec           filter specification
+     * @param filterHandle         filter handle of the agent instance
+     * @param agentInstanceContext agent instance context
+     * @return false if the filter cannot be shared and must be registered for the agent instance
+     */
+    boolean add(FilterSpecActivatable filterSpec, FilterHandle filterHandle, AgentInstanceContext agentInstanceContext);
+
+    /**
+     * Removes the filter handle of the agent instance.
+     *
+     * @param filterSpec           filter specification
+     * @param filterHandle         filter handle of the agent instance
+     * @param agentInstanceContext agent instance context
+     */
+    void remove(FilterSpecActivatable filterSpec, FilterHandle filterHandle, AgentInstanceContext agentInstanceContext);
+}
@@ -21,6 +21,7 @@ public class EPStatementAgentInstanceHandle {
     private EPStatementDispatch optionalDispatchable;
     private boolean destroyed;
     private FilterFaultHandler filterFaultHandler;
+    private boolean parallelPartition;
 
     public EPStatementAgentInstanceHandle(EPStatementHandle statementHandle, int agentInstanceId, StatementAgentInstanceLock statementAgentInstanceLock) {
         this.statementHandle = statementHandle;
@@ -136,6 +137,20 @@ public class EPStatementAgentInstanceHandle {
         this.filterFaultHandler = filterFaultHandler;
     }
 
+    /**
+     * Returns indicator whether the handle is for a context partition that the runtime may execute
+     * independently of other context partitions, i.e. a partition of a hash-segmented or keyed-segmented context without initiated-by and terminated-by conditions.
+     *
+     * @return indicator
+     */
+    public boolean isParallelPartition() {
+        return parallelPartition;
+    }
+
+    public void setParallelPartition(boolean parallelPartition) {
+        this.parallelPartition = parallelPartition;
+    }
+
     public int getStatementId() {
         return statementHandle.getStatementId();
     }
@@ -40,8 +40,13 @@ public class EPStatementHandle implements Serializable {
     private final StatementMetricHandle metricsHandle;
     private final InsertIntoLatchFactory insertIntoFrontLatchFactory;
     private final InsertIntoLatchFactory insertIntoBackLatchFactory;
+    private final boolean canRetainEvents;
 
     public EPStatementHandle(String statementName, String deploymentId, int statementId, String optionalStatementEPL, int priority, boolean preemptive, boolean canSelfJoin, MultiMatchHandler multiMatchHandler, boolean hasVariables, boolean hasTableAccess, StatementMetricHandle metricsHandle, InsertIntoLatchFactory insertIntoFrontLatchFactory, InsertIntoLatchFactory insertIntoBackLatchFactory) {
+        this(statementName, deploymentId, statementId, optionalStatementEPL, priority, preemptive, canSelfJoin, multiMatchHandler, hasVariables, hasTableAccess, metricsHandle, insertIntoFrontLatchFactory, insertIntoBackLatchFactory, true);
+    }
+
+    public EPStatementHandle(String statementName, String deploymentId, int statementId, String optionalStatementEPL, int priority, boolean preemptive, boolean canSelfJoin, MultiMatchHandler multiMatchHandler, boolean hasVariables, boolean hasTableAccess, StatementMetricHandle metricsHandle, InsertIntoLatchFactory insertIntoFrontLatchFactory, InsertIntoLatchFactory insertIntoBackLatchFactory, boolean canRetainEvents) {
         this.statementName = statementName;
         this.deploymentId = deploymentId;
         this.statementId = statementId;
@@ -55,6 +60,7 @@ public class EPStatementHandle implements Serializable {
         this.metricsHandle = metricsHandle;
         this.insertIntoFrontLatchFactory = insertIntoFrontLatchFactory;
         this.insertIntoBackLatchFactory = insertIntoBackLatchFactory;
+        this.canRetainEvents = canRetainEvents;
     }
 
     /**
@@ -151,4 +157,14 @@ public class EPStatementHandle implements Serializable {
     public InsertIntoLatchFactory getInsertIntoBackLatchFactory() {
         return insertIntoBackLatchFactory;
     }
+
+    /**
+     * Returns false if the statement is known to not keep a reference to any event it processes
+     * after processing completes, such as a stateless filter-and-select statement, allowing the event bean to be reused.
+     *
+     * @return true if the statement may retain events (most statements)
+     */
+    public boolean isCanRetainEvents() {
+        return canRetainEvents;
+    }
 }
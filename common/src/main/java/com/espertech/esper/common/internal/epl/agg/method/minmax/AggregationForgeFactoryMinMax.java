@@ -22,17 +22,24 @@ import com.espertech.esper.common.internal.epl.expression.agg.method.ExprMethodA
 import com.espertech.esper.common.internal.epl.expression.agg.method.ExprMinMaxAggrNode;
 import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
 import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
 
 public class AggregationForgeFactoryMinMax extends AggregationForgeFactoryBase {
     protected final ExprMinMaxAggrNode parent;
     protected final Class type;
     protected final boolean hasDataWindows;
+    protected final boolean removeInArrivalOrder;
     private AggregatorMethod aggregator;
 
     public AggregationForgeFactoryMinMax(ExprMinMaxAggrNode parent, Class type, boolean hasDataWindows) {
+        this(parent, type, hasDataWindows, false);
+    }
+
+    public AggregationForgeFactoryMinMax(ExprMinMaxAggrNode parent, Class type, boolean hasDataWindows, boolean removeInArrivalOrder) {
         this.parent = parent;
         this.type = type;
         this.hasDataWindows = hasDataWindows;
+        this.removeInArrivalOrder = removeInArrivalOrder;
     }
 
     public Class getResultType() {
@@ -47,6 +54,10 @@ public class AggregationForgeFactoryMinMax extends AggregationForgeFactoryBase {
         Class distinctType = !parent.isDistinct() ? null : type;
         if (!hasDataWindows) {
             aggregator = new AggregatorMinMaxEver(this, col, rowCtor, membersColumnized, classScope, distinctType, parent.isHasFilter(), parent.getOptionalFilter());
+        } else if (removeInArrivalOrder) {
+            aggregator = new AggregatorMinMaxDeque(this, col, rowCtor, membersColumnized, classScope, parent.isHasFilter(), parent.getOptionalFilter());
+        } else if (JavaClassHelper.isNumericNonFP(type) || JavaClassHelper.isFloatingPointClass(type)) {
+            aggregator = new AggregatorMinMaxTree(this, col, rowCtor, membersColumnized, classScope, distinctType, parent.isHasFilter(), parent.getOptionalFilter());
         } else {
             aggregator = new AggregatorMinMax(this, col, rowCtor, membersColumnized, classScope, distinctType, parent.isHasFilter(), parent.getOptionalFilter());
         }
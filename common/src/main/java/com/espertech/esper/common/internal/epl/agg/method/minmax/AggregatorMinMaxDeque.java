@@ -0,0 +1,94 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.minmax;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMemberCol;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
+import com.espertech.esper.common.internal.collection.MinMaxDequeDouble;
+import com.espertech.esper.common.internal.collection.MinMaxDequeLong;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregatorMethodWDistinctWFilterWValueBase;
+import com.espertech.esper.common.internal.epl.expression.codegen.ExprForgeCodegenSymbol;
+import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.expression.core.MinMaxTypeEnum;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+import com.espertech.esper.common.internal.util.SimpleNumberCoercerFactory;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
+import static com.espertech.esper.common.internal.epl.agg.method.core.AggregatorCodegenUtil.rowDotRef;
+
+/**
+ * Min/max aggregator for numeric values of a stream whose data window removes events in arrival order,
+ * keeping a monotonic deque of primitive values instead of a sorted set.
+ */
+public class AggregatorMinMaxDeque extends AggregatorMethodWDistinctWFilterWValueBase {
+    private final AggregationForgeFactoryMinMax factory;
+    private final boolean floatingPoint;
+    private final Class dequeType;
+    private final CodegenExpressionRef deque;
+
+    public AggregatorMinMaxDeque(AggregationForgeFactoryMinMax factory, int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope, boolean hasFilter, ExprNode optionalFilter) {
+        super(factory, col, rowCtor, membersColumnized, classScope, null, hasFilter, optionalFilter);
+        this.factory = factory;
+        this.floatingPoint = JavaClassHelper.isFloatingPointClass(factory.type);
+        this.dequeType = floatingPoint ? MinMaxDequeDouble.class : MinMaxDequeLong.class;
+        this.deque = membersColumnized.addMember(col, dequeType, "deque");
+        rowCtor.getBlock().assignRef(deque, newInstance(dequeType, constant(factory.getParent().getMinMaxTypeEnum() == MinMaxTypeEnum.MAX)));
+    }
+
+    protected void applyEvalEnterNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(deque, "add", coerce(value, valueType));
+    }
+
+    protected void applyTableEnterNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(deque, "add", coerce(cast(Number.class, value), Number.class));
+    }
+
+    protected void applyEvalLeaveNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(deque, "remove", coerce(value, valueType));
+    }
+
+    protected void applyTableLeaveNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(deque, "remove", coerce(cast(Number.class, value), Number.class));
+    }
+
+    protected void clearWODistinct(CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(deque, "clear");
+    }
+
+    public void getValueCodegen(CodegenMethod method, CodegenClassScope classScope) {
+        Class primitive = JavaClassHelper.getPrimitiveType(factory.type);
+        Class boxed = JavaClassHelper.getBoxedType(factory.type);
+        method.getBlock()
+            .ifCondition(exprDotMethod(deque, "isEmpty"))
+            .blockReturn(constantNull())
+            .methodReturn(staticMethod(boxed, "valueOf", cast(primitive, exprDotMethod(deque, "getValue"))));
+    }
+
+    protected void writeWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef output, CodegenExpressionRef unitKey, CodegenExpressionRef writer, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(rowDotRef(row, deque), "write", output);
+    }
+
+    protected void readWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef input, CodegenExpressionRef unitKey, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().assignRef(rowDotRef(row, deque), staticMethod(dequeType, "read", input));
+    }
+
+    private CodegenExpression coerce(CodegenExpression value, Class valueType) {
+        if (floatingPoint) {
+            return SimpleNumberCoercerFactory.SimpleNumberCoercerDouble.codegenDouble(value, valueType);
+        }
+        return SimpleNumberCoercerFactory.SimpleNumberCoercerLong.codegenLong(value, valueType);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.minmax;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMemberCol;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
+import com.espertech.esper.common.internal.collection.SortedRefCountedSetLong;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregatorMethodWDistinctWFilterWValueBase;
+import com.espertech.esper.common.internal.epl.expression.codegen.ExprForgeCodegenSymbol;
+import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.expression.core.MinMaxTypeEnum;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+import com.espertech.esper.common.internal.util.SimpleNumberCoercerFactory;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
+import static com.espertech.esper.common.internal.epl.agg.method.core.AggregatorCodegenUtil.rowDotRef;
+
+/**
+ * Min/max aggregator for numeric values that may leave in any order, keeping a sorted reference-counting set
+ * of primitive keys instead of a sorted set of boxed values.
+ */
+public class AggregatorMinMaxTree extends AggregatorMethodWDistinctWFilterWValueBase {
+    private final AggregationForgeFactoryMinMax factory;
+    private final boolean floatingPoint;
+    private final CodegenExpressionRef tree;
+
+    public AggregatorMinMaxTree(AggregationForgeFactoryMinMax factory, int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope, Class optionalDistinctValueType, boolean hasFilter, ExprNode optionalFilter) {
+        super(factory, col, rowCtor, membersColumnized, classScope, optionalDistinctValueType, hasFilter, optionalFilter);
+        this.factory = factory;
+        this.floatingPoint = JavaClassHelper.isFloatingPointClass(factory.type);
+        this.tree = membersColumnized.addMember(col, SortedRefCountedSetLong.class, "tree");
+        rowCtor.getBlock().assignRef(tree, newInstance(SortedRefCountedSetLong.class));
+    }
+
+    protected void applyEvalEnterNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(tree, "add", key(value, valueType));
+    }
+
+    protected void applyTableEnterNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(tree, "add", key(cast(Number.class, value), Number.class));
+    }
+
+    protected void applyEvalLeaveNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(tree, "remove", key(value, valueType));
+    }
+
+    protected void applyTableLeaveNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(tree, "remove", key(cast(Number.class, value), Number.class));
+    }
+
+    protected void clearWODistinct(CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(tree, "clear");
+    }
+
+    public void getValueCodegen(CodegenMethod method, CodegenClassScope classScope) {
+        Class primitive = JavaClassHelper.getPrimitiveType(factory.type);
+        Class boxed = JavaClassHelper.getBoxedType(factory.type);
+        CodegenExpression key = exprDotMethod(tree, factory.getParent().getMinMaxTypeEnum() == MinMaxTypeEnum.MAX ? "maxValue" : "minValue");
+        CodegenExpression value = floatingPoint ? staticMethod(SortedRefCountedSetLong.class, "fromSortableLong", key) : key;
+        method.getBlock()
+            .ifCondition(exprDotMethod(tree, "isEmpty"))
+            .blockReturn(constantNull())
+            .methodReturn(staticMethod(boxed, "valueOf", cast(primitive, value)));
+    }
+
+    protected void writeWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef output, CodegenExpressionRef unitKey, CodegenExpressionRef writer, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(rowDotRef(row, tree), "write", output);
+    }
+
+    protected void readWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef input, CodegenExpressionRef unitKey, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().assignRef(rowDotRef(row, tree), staticMethod(SortedRefCountedSetLong.class, "read", input));
+    }
+
+    private CodegenExpression key(CodegenExpression value, Class valueType) {
+        if (floatingPoint) {
+            return staticMethod(SortedRefCountedSetLong.class, "toSortableLong", SimpleNumberCoercerFactory.SimpleNumberCoercerDouble.codegenDouble(value, valueType));
+        }
+        return SimpleNumberCoercerFactory.SimpleNumberCoercerLong.codegenLong(value, valueType);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.percentile;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMemberCol;
+import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidation;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregationForgeFactoryBase;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregatorMethod;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNodeBase;
+import com.espertech.esper.common.internal.epl.expression.agg.method.ExprMethodAggUtil;
+import com.espertech.esper.common.internal.epl.expression.agg.method.ExprPercentileAggNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+
+public class AggregationForgeFactoryPercentile extends AggregationForgeFactoryBase {
+    protected final ExprPercentileAggNode parent;
+    protected final Class aggregatedValueType;
+    protected final double percentile;
+    private AggregatorMethod aggregator;
+
+    public AggregationForgeFactoryPercentile(ExprPercentileAggNode parent, Class aggregatedValueType, double percentile) {
+        this.parent = parent;
+        this.aggregatedValueType = aggregatedValueType;
+        this.percentile = percentile;
+    }
+
+    public Class getResultType() {
+        return Double.class;
+    }
+
+    public void initMethodForge(int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope) {
+        Class distinctType = !parent.isDistinct() ? null : aggregatedValueType;
+        if (parent.isApproximate()) {
+            aggregator = new AggregatorPercentileApprox(this, col, rowCtor, membersColumnized, classScope, distinctType, false, parent.getOptionalFilter());
+        } else {
+            aggregator = new AggregatorPercentile(this, col, rowCtor, membersColumnized, classScope, distinctType, false, parent.getOptionalFilter());
+        }
+    }
+
+    public AggregatorMethod getAggregator() {
+        return aggregator;
+    }
+
+    public ExprAggregateNodeBase getAggregationExpression() {
+        return parent;
+    }
+
+    public ExprForge[] getMethodAggregationForge(boolean join, EventType[] typesPerStream) throws ExprValidationException {
+        return ExprMethodAggUtil.getDefaultForges(parent.getPositionalParams(), join, typesPerStream);
+    }
+
+    public AggregationPortableValidation getAggregationPortableValidation() {
+        return new AggregationPortableValidationPercentile(parent.isDistinct(), parent.getOptionalFilter() != null, aggregatedValueType, percentile, parent.isApproximate());
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+}
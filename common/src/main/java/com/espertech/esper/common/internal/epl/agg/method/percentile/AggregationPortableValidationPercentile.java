@@ -0,0 +1,69 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.percentile;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
+import com.espertech.esper.common.internal.context.aifactory.core.ModuleTableInitializeSymbol;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidation;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidationWFilterWInputType;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.constant;
+
+public class AggregationPortableValidationPercentile extends AggregationPortableValidationWFilterWInputType {
+
+    private double percentile;
+    private boolean approximate;
+
+    public AggregationPortableValidationPercentile(boolean distinct, boolean hasFilter, Class inputValueType, double percentile, boolean approximate) {
+        super(distinct, hasFilter, inputValueType);
+        this.percentile = percentile;
+        this.approximate = approximate;
+    }
+
+    public AggregationPortableValidationPercentile() {
+    }
+
+    protected Class typeOf() {
+        return AggregationPortableValidationPercentile.class;
+    }
+
+    protected void codegenInlineSetWFilterWInputType(CodegenExpressionRef ref, CodegenMethod method, ModuleTableInitializeSymbol symbols, CodegenClassScope classScope) {
+        method.getBlock()
+                .exprDotMethod(ref, "setPercentile", constant(percentile))
+                .exprDotMethod(ref, "setApproximate", constant(approximate));
+    }
+
+    protected void validateIntoTableWFilterWInputType(String tableExpression, AggregationPortableValidation intoTableAgg, String intoExpression, AggregationForgeFactory factory) throws ExprValidationException {
+        AggregationPortableValidationPercentile that = (AggregationPortableValidationPercentile) intoTableAgg;
+        if (approximate != that.approximate) {
+            throw new ExprValidationException("The aggregation is " + (approximate ? "approximate" : "exact") +
+                    " and provided is " + (that.approximate ? "approximate" : "exact"));
+        }
+        if (percentile != that.percentile) {
+            throw new ExprValidationException("The percentile is " +
+                    percentile +
+                    " and provided is " +
+                    that.percentile);
+        }
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public void setApproximate(boolean approximate) {
+        this.approximate = approximate;
+    }
+}
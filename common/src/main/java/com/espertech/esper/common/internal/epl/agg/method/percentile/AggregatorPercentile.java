@@ -0,0 +1,98 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.percentile;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMemberCol;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
+import com.espertech.esper.common.internal.collection.OrderStatisticDoubleTree;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregatorMethodWDistinctWFilterWValueBase;
+import com.espertech.esper.common.internal.epl.agg.method.median.AggregatorMedian;
+import com.espertech.esper.common.internal.epl.expression.codegen.ExprForgeCodegenSymbol;
+import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.util.SimpleNumberCoercerFactory;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
+import static com.espertech.esper.common.internal.epl.agg.method.core.AggregatorCodegenUtil.rowDotRef;
+
+public class AggregatorPercentile extends AggregatorMethodWDistinctWFilterWValueBase {
+    private final AggregationForgeFactoryPercentile factory;
+    private final CodegenExpressionRef tree;
+
+    public AggregatorPercentile(AggregationForgeFactoryPercentile factory, int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope, Class optionalDistinctValueType, boolean hasFilter, ExprNode optionalFilter) {
+        super(factory, col, rowCtor, membersColumnized, classScope, optionalDistinctValueType, hasFilter, optionalFilter);
+        this.factory = factory;
+        tree = membersColumnized.addMember(col, OrderStatisticDoubleTree.class, "tree");
+        rowCtor.getBlock().assignRef(tree, newInstance(OrderStatisticDoubleTree.class));
+    }
+
+    protected void applyEvalEnterNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(tree, "add", SimpleNumberCoercerFactory.SimpleNumberCoercerDouble.codegenDouble(value, valueType));
+    }
+
+    protected void applyEvalLeaveNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(tree, "remove", SimpleNumberCoercerFactory.SimpleNumberCoercerDouble.codegenDouble(value, valueType));
+    }
+
+    protected void applyTableEnterNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(tree, "add", exprDotMethod(cast(Number.class, value), "doubleValue"));
+    }
+
+    protected void applyTableLeaveNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(tree, "remove", exprDotMethod(cast(Number.class, value), "doubleValue"));
+    }
+
+    protected void clearWODistinct(CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(tree, "clear");
+    }
+
+    public void getValueCodegen(CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().methodReturn(staticMethod(AggregatorPercentile.class, "percentileCompute", tree, constant(factory.getPercentile())));
+    }
+
+    protected void writeWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef output, CodegenExpressionRef unitKey, CodegenExpressionRef writer, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock()
+                .staticMethod(AggregatorMedian.class, "writePoints", output, rowDotRef(row, tree));
+    }
+
+    protected void readWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef input, CodegenExpressionRef unitKey, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock()
+                .assignRef(rowDotRef(row, tree), staticMethod(AggregatorMedian.class, "readPoints", input));
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     * <p>
+     * Computes the percentile using linear interpolation between the closest ranks, so that the 50th percentile is the median.
+     *
+     * @param tree       values
+     * @param percentile percentile between 0 and 100
+     * @return value
+     */
+    public static Double percentileCompute(OrderStatisticDoubleTree tree, double percentile) {
+        int size = tree.size();
+        if (size == 0) {
+            return null;
+        }
+        double rank = percentile / 100d * (size - 1);
+        int lower = (int) rank;
+        double valueLower = tree.getValue(lower);
+        double fraction = rank - lower;
+        if (fraction == 0 || lower + 1 >= size) {
+            return valueLower;
+        }
+        double valueUpper = tree.getValue(lower + 1);
+        return valueLower + (valueUpper - valueLower) * fraction;
+    }
+}
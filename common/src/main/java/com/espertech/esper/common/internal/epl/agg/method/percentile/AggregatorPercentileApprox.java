@@ -0,0 +1,70 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.percentile;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMemberCol;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
+import com.espertech.esper.common.internal.collection.DoubleQuantileSketch;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregatorMethodWDistinctWFilterWValueBase;
+import com.espertech.esper.common.internal.epl.expression.codegen.ExprForgeCodegenSymbol;
+import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.util.SimpleNumberCoercerFactory;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
+import static com.espertech.esper.common.internal.epl.agg.method.core.AggregatorCodegenUtil.rowDotRef;
+
+public class AggregatorPercentileApprox extends AggregatorMethodWDistinctWFilterWValueBase {
+    private final AggregationForgeFactoryPercentile factory;
+    private final CodegenExpressionRef sketch;
+
+    public AggregatorPercentileApprox(AggregationForgeFactoryPercentile factory, int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope, Class optionalDistinctValueType, boolean hasFilter, ExprNode optionalFilter) {
+        super(factory, col, rowCtor, membersColumnized, classScope, optionalDistinctValueType, hasFilter, optionalFilter);
+        this.factory = factory;
+        sketch = membersColumnized.addMember(col, DoubleQuantileSketch.class, "sketch");
+        rowCtor.getBlock().assignRef(sketch, newInstance(DoubleQuantileSketch.class));
+    }
+
+    protected void applyEvalEnterNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(sketch, "add", SimpleNumberCoercerFactory.SimpleNumberCoercerDouble.codegenDouble(value, valueType));
+    }
+
+    protected void applyEvalLeaveNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(sketch, "remove", SimpleNumberCoercerFactory.SimpleNumberCoercerDouble.codegenDouble(value, valueType));
+    }
+
+    protected void applyTableEnterNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(sketch, "add", exprDotMethod(cast(Number.class, value), "doubleValue"));
+    }
+
+    protected void applyTableLeaveNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(sketch, "remove", exprDotMethod(cast(Number.class, value), "doubleValue"));
+    }
+
+    protected void clearWODistinct(CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(sketch, "clear");
+    }
+
+    public void getValueCodegen(CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().methodReturn(exprDotMethod(sketch, "getQuantile", constant(factory.getPercentile() / 100d)));
+    }
+
+    protected void writeWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef output, CodegenExpressionRef unitKey, CodegenExpressionRef writer, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(rowDotRef(row, sketch), "write", output);
+    }
+
+    protected void readWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef input, CodegenExpressionRef unitKey, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().assignRef(rowDotRef(row, sketch), staticMethod(DoubleQuantileSketch.class, "read", input));
+    }
+}
@@ -12,6 +12,7 @@ package com.espertech.esper.common.internal.epl.agg.table;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.hook.aggmultifunc.AggregationMultiFunctionAgent;
+import com.espertech.esper.common.internal.context.util.StatementAgentInstanceLockNoLockImpl;
 import com.espertech.esper.common.internal.epl.agg.core.*;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.common.internal.epl.table.core.TableColumnMethodPairEval;
@@ -22,6 +23,7 @@ import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean
 import com.espertech.esper.common.internal.metrics.instrumentation.InstrumentationCommon;
 
 import java.util.Collection;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Implementation for handling aggregation with grouping by group-keys.
@@ -31,15 +33,18 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService, Agg
     protected final TableColumnMethodPairEval[] methodPairs;
     private final AggregationMultiFunctionAgent[] accessAgents;
     private final int[] accessColumnsZeroOffset;
+    private final Object[] methodPairValues;
 
     protected AggregationRow currentAggregationRow;
     protected Object currentGroupKey;
+    protected Lock currentRowLock;
 
     public AggSvcGroupByWTableBase(TableInstanceGrouped tableInstance, TableColumnMethodPairEval[] methodPairs, AggregationMultiFunctionAgent[] accessAgents, int[] accessColumnsZeroOffset) {
         this.tableInstance = tableInstance;
         this.methodPairs = methodPairs;
         this.accessAgents = accessAgents;
         this.accessColumnsZeroOffset = accessColumnsZeroOffset;
+        this.methodPairValues = new Object[methodPairs.length];
     }
 
     public abstract void applyEnterInternal(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext);
@@ -47,18 +52,26 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService, Agg
     public abstract void applyLeaveInternal(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext);
 
     public void applyEnter(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
-        // acquire tableInstance-level write lock
-        TableEvalLockUtil.obtainLockUnless(tableInstance.getTableLevelRWLock().writeLock(), exprEvaluatorContext);
+        // acquire tableInstance-level write lock unless locking rows
+        if (!isRowLocking(exprEvaluatorContext)) {
+            TableEvalLockUtil.obtainLockUnless(tableInstance.getTableLevelRWLock().writeLock(), exprEvaluatorContext);
+        }
         applyEnterInternal(eventsPerStream, groupByKey, exprEvaluatorContext);
     }
 
     public void applyLeave(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
-        // acquire tableInstance-level write lock
-        TableEvalLockUtil.obtainLockUnless(tableInstance.getTableLevelRWLock().writeLock(), exprEvaluatorContext);
+        // acquire tableInstance-level write lock unless locking rows
+        if (!isRowLocking(exprEvaluatorContext)) {
+            TableEvalLockUtil.obtainLockUnless(tableInstance.getTableLevelRWLock().writeLock(), exprEvaluatorContext);
+        }
         applyLeaveInternal(eventsPerStream, groupByKey, exprEvaluatorContext);
     }
 
     protected void applyEnterGroupKey(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
+        if (isRowLocking(exprEvaluatorContext)) {
+            applyGroupKeyRowLocked(true, eventsPerStream, groupByKey, exprEvaluatorContext);
+            return;
+        }
         ObjectArrayBackedEventBean bean = tableInstance.getCreateRowIntoTable(groupByKey, exprEvaluatorContext);
         currentAggregationRow = (AggregationRow) bean.getProperties()[0];
 
@@ -85,6 +98,10 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService, Agg
     }
 
     protected void applyLeaveGroupKey(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
+        if (isRowLocking(exprEvaluatorContext)) {
+            applyGroupKeyRowLocked(false, eventsPerStream, groupByKey, exprEvaluatorContext);
+            return;
+        }
         ObjectArrayBackedEventBean bean = tableInstance.getCreateRowIntoTable(groupByKey, exprEvaluatorContext);
         currentAggregationRow = (AggregationRow) bean.getProperties()[0];
 
@@ -110,7 +127,46 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService, Agg
         instrumentationCommon.aAggregationGroupedApplyEnterLeave(false);
     }
 
+    private boolean isRowLocking(ExprEvaluatorContext exprEvaluatorContext) {
+        // access aggregations evaluate while applying, and statements without lock share the current row, both require the table lock
+        return accessAgents.length == 0 && tableInstance.isRowLocking() && !(exprEvaluatorContext.getAgentInstanceLock() instanceof StatementAgentInstanceLockNoLockImpl);
+    }
+
+    private void applyGroupKeyRowLocked(boolean enter, EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
+        // evaluate before locking as the evaluation may itself lock tables
+        for (int i = 0; i < methodPairs.length; i++) {
+            methodPairValues[i] = methodPairs[i].getEvaluator().evaluate(eventsPerStream, enter, exprEvaluatorContext);
+        }
+
+        Lock tableLock = tableInstance.getTableLevelRWLock().readLock();
+        Lock rowLock = tableInstance.getRowLock(groupByKey).writeLock();
+        tableLock.lock();
+        rowLock.lock();
+        try {
+            ObjectArrayBackedEventBean bean = tableInstance.getCreateRowIntoTable(groupByKey, exprEvaluatorContext);
+            currentAggregationRow = (AggregationRow) bean.getProperties()[0];
+
+            InstrumentationCommon instrumentationCommon = exprEvaluatorContext.getInstrumentationProvider();
+            instrumentationCommon.qAggregationGroupedApplyEnterLeave(enter, methodPairs.length, 0, groupByKey);
+            for (int i = 0; i < methodPairs.length; i++) {
+                instrumentationCommon.qAggNoAccessEnterLeave(enter, i, null, null);
+                if (enter) {
+                    currentAggregationRow.enterAgg(methodPairs[i].getColumn(), methodPairValues[i]);
+                } else {
+                    currentAggregationRow.leaveAgg(methodPairs[i].getColumn(), methodPairValues[i]);
+                }
+                instrumentationCommon.aAggNoAccessEnterLeave(enter, i, null);
+            }
+            tableInstance.handleRowUpdated(bean);
+            instrumentationCommon.aAggregationGroupedApplyEnterLeave(enter);
+        } finally {
+            rowLock.unlock();
+            tableLock.unlock();
+        }
+    }
+
     public void setCurrentAccess(Object groupByKey, int agentInstanceId, AggregationGroupByRollupLevel rollupLevel) {
+        currentRowLock = tableInstance.isRowLocking() ? tableInstance.getRowLock(groupByKey).readLock() : null;
         ObjectArrayBackedEventBean bean = tableInstance.getRowForGroupKey(groupByKey);
         if (bean != null) {
             currentAggregationRow = (AggregationRow) bean.getProperties()[0];
@@ -121,19 +177,51 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService, Agg
     }
 
     public Object getValue(int column, int agentInstanceId, EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
-        return currentAggregationRow.getValue(column, eventsPerStream, isNewData, exprEvaluatorContext);
+        if (currentRowLock == null) {
+            return currentAggregationRow.getValue(column, eventsPerStream, isNewData, exprEvaluatorContext);
+        }
+        currentRowLock.lock();
+        try {
+            return currentAggregationRow.getValue(column, eventsPerStream, isNewData, exprEvaluatorContext);
+        } finally {
+            currentRowLock.unlock();
+        }
     }
 
     public Collection<EventBean> getCollectionOfEvents(int column, EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        return currentAggregationRow.getCollectionOfEvents(column, eventsPerStream, isNewData, context);
+        if (currentRowLock == null) {
+            return currentAggregationRow.getCollectionOfEvents(column, eventsPerStream, isNewData, context);
+        }
+        currentRowLock.lock();
+        try {
+            return currentAggregationRow.getCollectionOfEvents(column, eventsPerStream, isNewData, context);
+        } finally {
+            currentRowLock.unlock();
+        }
     }
 
     public Collection<Object> getCollectionScalar(int column, EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        return currentAggregationRow.getCollectionScalar(column, eventsPerStream, isNewData, context);
+        if (currentRowLock == null) {
+            return currentAggregationRow.getCollectionScalar(column, eventsPerStream, isNewData, context);
+        }
+        currentRowLock.lock();
+        try {
+            return currentAggregationRow.getCollectionScalar(column, eventsPerStream, isNewData, context);
+        } finally {
+            currentRowLock.unlock();
+        }
     }
 
     public EventBean getEventBean(int column, EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        return currentAggregationRow.getEventBean(column, eventsPerStream, isNewData, context);
+        if (currentRowLock == null) {
+            return currentAggregationRow.getEventBean(column, eventsPerStream, isNewData, context);
+        }
+        currentRowLock.lock();
+        try {
+            return currentAggregationRow.getEventBean(column, eventsPerStream, isNewData, context);
+        } finally {
+            currentRowLock.unlock();
+        }
     }
 
     public void setRemovedCallback(AggregationRowRemovedCallback callback) {
@@ -56,6 +56,7 @@ public class AggSvcGroupByWTableRollupMultiKeyImpl extends AggSvcGroupByWTableBa
     @Override
     public void setCurrentAccess(Object groupByKey, int agentInstanceId, AggregationGroupByRollupLevel rollupLevel) {
         HashableMultiKey key = rollupLevel.computeMultiKey(groupByKey, numKeys);
+        currentRowLock = tableInstance.isRowLocking() ? tableInstance.getRowLock(key).readLock() : null;
         ObjectArrayBackedEventBean bean = tableInstance.getRowForGroupKey(key);
 
         if (bean != null) {
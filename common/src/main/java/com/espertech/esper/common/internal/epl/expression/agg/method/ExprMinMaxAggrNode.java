@@ -16,6 +16,8 @@ import com.espertech.esper.common.internal.epl.agg.method.minmax.AggregationForg
 import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNode;
 import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNodeBase;
 import com.espertech.esper.common.internal.epl.expression.core.*;
+import com.espertech.esper.common.internal.epl.streamtype.StreamTypeService;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
 
 /**
  * Represents the min/max(distinct? ...) aggregate function is an expression tree.
@@ -63,7 +65,18 @@ public class ExprMinMaxAggrNode extends ExprAggregateNodeBase {
             optionalFilter = positionalParams[1];
         }
 
-        return new AggregationForgeFactoryMinMax(this, child.getForge().getEvaluationType(), hasDataWindows);
+        Class childType = child.getForge().getEvaluationType();
+        boolean removeInArrivalOrder = hasDataWindows && validationContext.getStatementType() != StatementType.CREATE_TABLE &&
+            isRemoveInArrivalOrder(validationContext.getStreamTypeService(), childType);
+        return new AggregationForgeFactoryMinMax(this, childType, hasDataWindows, removeInArrivalOrder);
+    }
+
+    private boolean isRemoveInArrivalOrder(StreamTypeService streamTypeService, Class childType) {
+        // distinct values leave when their last occurrence leaves, which is not in arrival order
+        if (isDistinct() || streamTypeService.getEventTypes().length != 1 || !streamTypeService.getRemoveInArrivalOrder()[0]) {
+            return false;
+        }
+        return JavaClassHelper.isNumericNonFP(childType) || JavaClassHelper.isFloatingPointClass(childType);
     }
 
     public final boolean equalsNodeAggregateMethodOnly(ExprAggregateNode node) {
@@ -80,7 +80,7 @@ public class FireAndForgetInstanceTable extends FireAndForgetInstance {
     }
 
     public Collection<EventBean> snapshotBestEffort(QueryGraph queryGraph, Annotation[] annotations) {
-        TableEvalLockUtil.obtainLockUnless(instance.getTableLevelRWLock().readLock(), instance.getAgentInstanceContext());
+        TableEvalLockUtil.obtainLockUnless(instance.getTableLevelReadLock(), instance.getAgentInstanceContext());
         Collection<EventBean> events = snapshotNullWhenNoIndex(queryGraph, annotations, null, null);
         if (events != null) {
             return events;
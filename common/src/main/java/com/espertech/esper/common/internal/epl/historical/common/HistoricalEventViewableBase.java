@@ -18,26 +18,31 @@ import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
 import com.espertech.esper.common.internal.context.util.AgentInstanceStopServices;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.common.internal.epl.historical.datacache.HistoricalDataCache;
+import com.espertech.esper.common.internal.epl.historical.datacache.HistoricalDataCacheConcurrentImpl;
+import com.espertech.esper.common.internal.epl.historical.datacache.HistoricalDataCacheLoader;
 import com.espertech.esper.common.internal.epl.historical.execstrategy.PollExecStrategy;
+import com.espertech.esper.common.internal.epl.historical.execstrategy.PollExecStrategyBatch;
 import com.espertech.esper.common.internal.epl.historical.indexingstrategy.PollResultIndexingStrategy;
 import com.espertech.esper.common.internal.epl.historical.indexingstrategy.UnindexedEventTableList;
 import com.espertech.esper.common.internal.epl.index.base.EventTable;
 import com.espertech.esper.common.internal.view.core.View;
 import com.espertech.esper.common.internal.view.core.Viewable;
 
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
 
 /**
  * Implements a poller viewable that uses a polling strategy, a cache and
  * some input parameters extracted from event streams to perform the polling.
  */
-public abstract class HistoricalEventViewableBase implements Viewable, HistoricalEventViewable {
+public abstract class HistoricalEventViewableBase implements Viewable, HistoricalEventViewable, HistoricalDataCacheLoader {
     protected final HistoricalEventViewableFactoryBase factory;
     protected final PollExecStrategy pollExecStrategy;
     protected final AgentInstanceContext agentInstanceContext;
     protected HistoricalDataCache dataCache;
     protected View child;
+    private HistoricalDataCacheConcurrentImpl concurrentDataCache;
+    private PollExecStrategy refreshPollExecStrategy;
+    private boolean stopped;
 
     protected static final EventBean[][] NULL_ROWS;
 
@@ -55,6 +60,49 @@ public abstract class HistoricalEventViewableBase implements Viewable, Historica
     public void stop(AgentInstanceStopServices services) {
         pollExecStrategy.destroy();
         dataCache.destroy();
+        synchronized (this) {
+            stopped = true;
+            if (refreshPollExecStrategy != null) {
+                refreshPollExecStrategy.destroy();
+                refreshPollExecStrategy = null;
+            }
+        }
+    }
+
+    /**
+     * Polls using a polling strategy of its own, for use by the concurrent data cache to reload entries outside of event processing.
+     *
+     * @param lookupValue      lookup key
+     * @param indexingStrategy indexing strategy
+     * @return indexed rows
+     */
+    public synchronized EventTable[] load(Object lookupValue, PollResultIndexingStrategy indexingStrategy) {
+        if (stopped) {
+            return null;
+        }
+        if (refreshPollExecStrategy == null) {
+            refreshPollExecStrategy = factory.makePollExecStrategy(agentInstanceContext);
+        }
+        refreshPollExecStrategy.start();
+        try {
+            List<EventBean> pollResult = refreshPollExecStrategy.poll(lookupValue, agentInstanceContext);
+            return indexingStrategy.index(pollResult, true, agentInstanceContext);
+        } finally {
+            refreshPollExecStrategy.done();
+        }
+    }
+
+    /**
+     * Assigns the data cache.
+     *
+     * @param dataCache data cache
+     */
+    protected void setDataCache(HistoricalDataCache dataCache) {
+        this.dataCache = dataCache;
+        if (dataCache instanceof HistoricalDataCacheConcurrentImpl) {
+            concurrentDataCache = (HistoricalDataCacheConcurrentImpl) dataCache;
+            concurrentDataCache.setLoader(this);
+        }
     }
 
     public void setChild(View view) {
@@ -76,6 +124,9 @@ public abstract class HistoricalEventViewableBase implements Viewable, Historica
     };
 
     public EventTable[][] poll(EventBean[][] lookupEventsPerStream, PollResultIndexingStrategy indexingStrategy, ExprEvaluatorContext exprEvaluatorContext) {
+        if (lookupEventsPerStream.length > 1 && pollExecStrategy instanceof PollExecStrategyBatch) {
+            return pollBatch(lookupEventsPerStream, indexingStrategy, exprEvaluatorContext, (PollExecStrategyBatch) pollExecStrategy);
+        }
         HistoricalDataCache localDataCache = factory.getDataCacheThreadLocal().get();
         boolean strategyStarted = false;
 
@@ -104,9 +155,19 @@ public abstract class HistoricalEventViewableBase implements Viewable, Historica
                     if (localDataCache != null) {
                         localDataCache.put(lookupValue, multi);
                     }
+                    if (concurrentDataCache != null) {
+                        concurrentDataCache.refreshIfDue(lookupValue, indexingStrategy);
+                    }
                 }
             }
 
+            // wait for a load of the same key by another thread, if any, else load
+            boolean loading = false;
+            if (result == null && concurrentDataCache != null) {
+                result = concurrentDataCache.awaitOrBeginLoad(lookupValue);
+                loading = result == null;
+            }
+
             // use the result from cache
             if (result != null) {
                 // found in cache
@@ -134,11 +195,19 @@ public abstract class HistoricalEventViewableBase implements Viewable, Historica
                     if (localDataCache != null) {
                         localDataCache.put(lookupValue, indexTable);
                     }
+                    if (loading) {
+                        concurrentDataCache.endLoad(lookupValue, indexTable);
+                        loading = false;
+                    }
                 } catch (EPException ex) {
                     if (strategyStarted) {
                         pollExecStrategy.done();
                     }
                     throw ex;
+                } finally {
+                    if (loading) {
+                        concurrentDataCache.endLoad(lookupValue, null);
+                    }
                 }
             }
         }
@@ -150,6 +219,80 @@ public abstract class HistoricalEventViewableBase implements Viewable, Historica
         return resultPerInputRow;
     }
 
+    /**
+     * Polls by first collecting the distinct lookup keys not found in a cache and then polling for these keys
+     * in batches, as the polling strategy provides. Loads are not coalesced with those of other threads.
+     */
+    private EventTable[][] pollBatch(EventBean[][] lookupEventsPerStream, PollResultIndexingStrategy indexingStrategy, ExprEvaluatorContext exprEvaluatorContext, PollExecStrategyBatch batchStrategy) {
+        HistoricalDataCache localDataCache = factory.getDataCacheThreadLocal().get();
+        EventTable[][] resultPerInputRow = new EventTable[lookupEventsPerStream.length][];
+        Object[] lookupValues = new Object[lookupEventsPerStream.length];
+        Set<Object> missing = null;
+
+        // Get input parameters for each row and try the caches
+        for (int row = 0; row < lookupEventsPerStream.length; row++) {
+            Object lookupValue = factory.evaluator.evaluate(lookupEventsPerStream[row], true, exprEvaluatorContext);
+            lookupValues[row] = lookupValue;
+
+            EventTable[] result = null;
+            if (localDataCache != null) {
+                result = localDataCache.getCached(lookupValue);
+            }
+            if (result == null) {
+                result = dataCache.getCached(lookupValue);
+                if (result != null) {
+                    if (localDataCache != null) {
+                        localDataCache.put(lookupValue, result);
+                    }
+                    if (concurrentDataCache != null) {
+                        concurrentDataCache.refreshIfDue(lookupValue, indexingStrategy);
+                    }
+                }
+            }
+
+            if (result != null) {
+                resultPerInputRow[row] = result;
+            } else {
+                if (missing == null) {
+                    missing = new LinkedHashSet<>();
+                }
+                missing.add(lookupValue);
+            }
+        }
+
+        if (missing == null) {
+            return resultPerInputRow;
+        }
+
+        // Poll for the distinct missing keys in batches
+        Map<Object, EventTable[]> polled = new HashMap<>();
+        List<Object> batch = new ArrayList<>(Math.min(missing.size(), batchStrategy.getBatchSize()));
+        Iterator<Object> it = missing.iterator();
+        while (it.hasNext()) {
+            batch.add(it.next());
+            if (batch.size() < batchStrategy.getBatchSize() && it.hasNext()) {
+                continue;
+            }
+            Map<Object, List<EventBean>> pollResult = batchStrategy.pollBatch(batch, agentInstanceContext);
+            for (Map.Entry<Object, List<EventBean>> entry : pollResult.entrySet()) {
+                EventTable[] indexTable = indexingStrategy.index(entry.getValue(), dataCache.isActive(), agentInstanceContext);
+                polled.put(entry.getKey(), indexTable);
+                dataCache.put(entry.getKey(), indexTable);
+                if (localDataCache != null) {
+                    localDataCache.put(entry.getKey(), indexTable);
+                }
+            }
+            batch.clear();
+        }
+
+        for (int row = 0; row < lookupEventsPerStream.length; row++) {
+            if (resultPerInputRow[row] == null) {
+                resultPerInputRow[row] = polled.get(lookupValues[row]);
+            }
+        }
+        return resultPerInputRow;
+    }
+
     public EventType getEventType() {
         return factory.getEventType();
     }
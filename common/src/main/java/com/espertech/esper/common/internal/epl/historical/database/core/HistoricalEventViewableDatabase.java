@@ -21,8 +21,8 @@ public class HistoricalEventViewableDatabase extends HistoricalEventViewableBase
     public HistoricalEventViewableDatabase(HistoricalEventViewableDatabaseFactory factory, PollExecStrategy pollExecStrategy, AgentInstanceContext agentInstanceContext) {
         super(factory, pollExecStrategy, agentInstanceContext);
         try {
-            this.dataCache = agentInstanceContext.getDatabaseConfigService().getDataCache(factory.databaseName,
-                    agentInstanceContext, factory.getStreamNumber(), factory.getScheduleCallbackId());
+            setDataCache(agentInstanceContext.getDatabaseConfigService().getDataCache(factory.databaseName,
+                    agentInstanceContext, factory.getStreamNumber(), factory.getScheduleCallbackId()));
         } catch (DatabaseConfigException e) {
             throw new EPException("Failed to obtain cache: " + e.getMessage(), e);
         }
@@ -21,6 +21,7 @@ import com.espertech.esper.common.internal.epl.expression.core.ExprValidationExc
 import com.espertech.esper.common.internal.epl.historical.common.HistoricalEventViewable;
 import com.espertech.esper.common.internal.epl.historical.common.HistoricalEventViewableFactoryBase;
 import com.espertech.esper.common.internal.epl.historical.database.connection.DatabaseConfigException;
+import com.espertech.esper.common.internal.epl.historical.execstrategy.PollExecStrategy;
 import com.espertech.esper.common.internal.settings.ClasspathImportUtil;
 
 import java.util.Map;
@@ -38,16 +39,30 @@ public class HistoricalEventViewableDatabaseFactory extends HistoricalEventViewa
     protected SQLColumnTypeConversion columnTypeConversionHook;
     protected SQLOutputRowConversion outputRowConversionHook;
     protected boolean enableJDBCLogging;
+    protected String batchKeyColumn;
+    protected int batchSize;
+    protected String batchStatementText;
 
     public HistoricalEventViewable activate(AgentInstanceContext agentInstanceContext) {
+        PollExecStrategy pollExecStrategy = makePollExecStrategy(agentInstanceContext);
+        return new HistoricalEventViewableDatabase(this, pollExecStrategy, agentInstanceContext);
+    }
+
+    public PollExecStrategy makePollExecStrategy(AgentInstanceContext agentInstanceContext) {
         ConnectionCache connectionCache = null;
+        ConnectionCache batchConnectionCache = null;
         try {
             connectionCache = agentInstanceContext.getDatabaseConfigService().getConnectionCache(databaseName, preparedStatementText);
+            if (batchStatementText != null) {
+                batchConnectionCache = agentInstanceContext.getDatabaseConfigService().getConnectionCache(databaseName, batchStatementText);
+            }
         } catch (DatabaseConfigException e) {
             throw new EPException("Failed to obtain connection cache: " + e.getMessage(), e);
         }
-        PollExecStrategyDBQuery pollExecStrategy = new PollExecStrategyDBQuery(this, agentInstanceContext, connectionCache);
-        return new HistoricalEventViewableDatabase(this, pollExecStrategy, agentInstanceContext);
+        if (batchConnectionCache != null) {
+            return new PollExecStrategyDBQueryBatch(this, agentInstanceContext, connectionCache, batchConnectionCache);
+        }
+        return new PollExecStrategyDBQuery(this, agentInstanceContext, connectionCache);
     }
 
     public void setDatabaseName(String databaseName) {
@@ -66,6 +81,18 @@ public class HistoricalEventViewableDatabaseFactory extends HistoricalEventViewa
         this.outputTypes = outputTypes;
     }
 
+    public void setBatchKeyColumn(String batchKeyColumn) {
+        this.batchKeyColumn = batchKeyColumn;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setBatchStatementText(String batchStatementText) {
+        this.batchStatementText = batchStatementText;
+    }
+
     public void setColumnTypeConversionHook(SQLColumnTypeConversion columnTypeConversionHook) {
         this.columnTypeConversionHook = columnTypeConversionHook;
     }
@@ -36,6 +36,9 @@ public class HistoricalEventViewableDatabaseForge extends HistoricalEventViewabl
     private final String[] inputParameters;
     private final String preparedStatementText;
     private final Map<String, DBOutputTypeDesc> outputTypes;
+    private String batchKeyColumn;
+    private int batchSize;
+    private String batchStatementText;
 
     public HistoricalEventViewableDatabaseForge(int streamNum, EventType eventType, String databaseName, String[] inputParameters, String preparedStatementText, Map<String, DBOutputTypeDesc> outputTypes) {
         super(streamNum, eventType);
@@ -45,6 +48,19 @@ public class HistoricalEventViewableDatabaseForge extends HistoricalEventViewabl
         this.outputTypes = outputTypes;
     }
 
+    /**
+     * Sets polling for multiple lookup keys per query.
+     *
+     * @param batchKeyColumn     result column providing the lookup key of a row
+     * @param batchSize          number of keys per query
+     * @param batchStatementText prepared statement text with the in-list of parameters
+     */
+    public void setBatch(String batchKeyColumn, int batchSize, String batchStatementText) {
+        this.batchKeyColumn = batchKeyColumn;
+        this.batchSize = batchSize;
+        this.batchStatementText = batchStatementText;
+    }
+
     public void validate(StreamTypeService typeService, StatementBaseInfo base, StatementCompileTimeServices services)
             throws ExprValidationException {
 
@@ -82,6 +98,12 @@ public class HistoricalEventViewableDatabaseForge extends HistoricalEventViewabl
                 .exprDotMethod(ref, "setInputParameters", constant(inputParameters))
                 .exprDotMethod(ref, "setPreparedStatementText", constant(preparedStatementText))
                 .exprDotMethod(ref, "setOutputTypes", makeOutputTypes(method, symbols, classScope));
+        if (batchKeyColumn != null) {
+            method.getBlock()
+                    .exprDotMethod(ref, "setBatchKeyColumn", constant(batchKeyColumn))
+                    .exprDotMethod(ref, "setBatchSize", constant(batchSize))
+                    .exprDotMethod(ref, "setBatchStatementText", constant(batchStatementText));
+        }
     }
 
     private CodegenExpression makeOutputTypes(CodegenMethodScope parent, SAIFFInitializeSymbol symbols, CodegenClassScope classScope) {
@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.epl.historical.database.core;
 
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.annotation.HintEnum;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonDBRef;
 import com.espertech.esper.common.client.hook.type.SQLColumnTypeContext;
 import com.espertech.esper.common.client.hook.type.SQLColumnTypeConversion;
@@ -47,6 +48,11 @@ public class HistoricalEventViewableDatabaseForgeFactory {
      */
     public static final String SAMPLE_WHERECLAUSE_PLACEHOLDER = "$ESPER-SAMPLE-WHERE";
 
+    /**
+     * Default maximum number of lookup keys per query when polling in batches.
+     */
+    public static final int SQL_BATCH_DEFAULT_SIZE = 100;
+
     public static HistoricalEventViewableDatabaseForge createDBStatementView(int streamNum, DBStatementStreamSpec sqlStreamSpec, SQLColumnTypeConversion columnTypeConversionHook, SQLOutputRowConversion outputRowConversionHook, StatementBaseInfo base, StatementCompileTimeServices services)
             throws ExprValidationException {
 
@@ -194,9 +200,94 @@ public class HistoricalEventViewableDatabaseForgeFactory {
         }
         services.getEventTypeCompileTimeRegistry().newType(eventType);
 
-        return new HistoricalEventViewableDatabaseForge(streamNum, eventType, databaseName,
+        HistoricalEventViewableDatabaseForge forge = new HistoricalEventViewableDatabaseForge(streamNum, eventType, databaseName,
                 queryMetaData.getInputParameters().toArray(new String[queryMetaData.getInputParameters().size()]),
                 preparedStatementText, queryMetaData.getOutputParameters());
+
+        // Determine batch polling, if requested by hint
+        List<String> batchHints = HintEnum.SQL_BATCH.getHintAssignedValues(base.getStatementSpec().getAnnotations());
+        if (batchHints != null && !batchHints.isEmpty()) {
+            configureBatch(forge, batchHints.get(0), sqlFragments, queryMetaData.getOutputParameters());
+        }
+        return forge;
+    }
+
+    private static void configureBatch(HistoricalEventViewableDatabaseForge forge, String hintValue, List<PlaceholderParser.Fragment> sqlFragments, Map<String, DBOutputTypeDesc> outputTypes)
+            throws ExprValidationException {
+        String[] params = hintValue.split(",");
+        String column = params[0].trim();
+        int batchSize = SQL_BATCH_DEFAULT_SIZE;
+        if (params.length > 2 || column.isEmpty()) {
+            throw new ExprValidationException("Hint '" + HintEnum.SQL_BATCH + "' requires a key column name and an optional maximum number of keys");
+        }
+        if (params.length == 2) {
+            try {
+                batchSize = Integer.parseInt(params[1].trim());
+            } catch (NumberFormatException ex) {
+                batchSize = -1;
+            }
+            if (batchSize < 1) {
+                throw new ExprValidationException("Hint '" + HintEnum.SQL_BATCH + "' requires a positive maximum number of keys but received '" + params[1].trim() + "'");
+            }
+        }
+
+        // the result column provides the key that assigns rows to lookup values
+        String keyColumn = null;
+        for (String name : outputTypes.keySet()) {
+            if (name.equalsIgnoreCase(column)) {
+                keyColumn = name;
+                break;
+            }
+        }
+        if (keyColumn == null) {
+            throw new ExprValidationException("Hint '" + HintEnum.SQL_BATCH + "' key column '" + column + "' is not a column of the SQL result");
+        }
+
+        forge.setBatch(keyColumn, batchSize, createBatchPreparedStatement(sqlFragments, batchSize));
+    }
+
+    protected static String createBatchPreparedStatement(List<PlaceholderParser.Fragment> parseFragements, int batchSize)
+            throws ExprValidationException {
+        int numParameters = 0;
+        for (PlaceholderParser.Fragment fragment : parseFragements) {
+            if (fragment.isParameter() && !fragment.getValue().equals(SAMPLE_WHERECLAUSE_PLACEHOLDER)) {
+                numParameters++;
+            }
+        }
+        if (numParameters != 1) {
+            throw new ExprValidationException("Hint '" + HintEnum.SQL_BATCH + "' requires an SQL statement with a single parameter");
+        }
+
+        StringBuilder buffer = new StringBuilder();
+        for (PlaceholderParser.Fragment fragment : parseFragements) {
+            if (!fragment.isParameter()) {
+                buffer.append(fragment.getValue());
+                continue;
+            }
+            if (fragment.getValue().equals(SAMPLE_WHERECLAUSE_PLACEHOLDER)) {
+                continue;
+            }
+
+            // replace the equals-comparison with the parameter by an in-list of parameters
+            int end = buffer.length();
+            while (end > 0 && Character.isWhitespace(buffer.charAt(end - 1))) {
+                end--;
+            }
+            if (end == 0 || buffer.charAt(end - 1) != '=' || (end > 1 && "<>!".indexOf(buffer.charAt(end - 2)) != -1)) {
+                throw new ExprValidationException("Hint '" + HintEnum.SQL_BATCH + "' requires the SQL parameter to be the right-hand side of an equals-comparison");
+            }
+            end--;
+            while (end > 0 && Character.isWhitespace(buffer.charAt(end - 1))) {
+                end--;
+            }
+            buffer.setLength(end);
+            buffer.append(" in (");
+            for (int i = 0; i < batchSize; i++) {
+                buffer.append(i == 0 ? "?" : ",?");
+            }
+            buffer.append(")");
+        }
+        return buffer.toString();
     }
 
     private static QueryMetaData getExampleQueryMetaData(Connection connection, String[] parameters, String sampleSQL, ColumnSettings metadataSetting, boolean isUsingMetadataSQL)
@@ -33,11 +33,11 @@ import java.util.Date;
  * Viewable providing historical data from a database.
  */
 public class PollExecStrategyDBQuery implements PollExecStrategy {
-    private static final Logger JDBC_PERF_LOG = LoggerFactory.getLogger(AuditPath.JDBC_LOG);
+    protected static final Logger JDBC_PERF_LOG = LoggerFactory.getLogger(AuditPath.JDBC_LOG);
     private static final Logger log = LoggerFactory.getLogger(PollExecStrategyDBQuery.class);
 
-    private final HistoricalEventViewableDatabaseFactory factory;
-    private final AgentInstanceContext agentInstanceContext;
+    protected final HistoricalEventViewableDatabaseFactory factory;
+    protected final AgentInstanceContext agentInstanceContext;
     private final ConnectionCache connectionCache;
     private Pair<Connection, PreparedStatement> resources;
 
@@ -81,39 +81,63 @@ public class PollExecStrategyDBQuery implements PollExecStrategy {
             inputParameterContext = new SQLInputParameterContext();
         }
 
-        int count = 1;
         Object[] parameters = null;
         if (hasJDBCLogging) {
             parameters = new Object[factory.inputParameters.length];
         }
         HashableMultiKey mk = factory.inputParameters.length == 1 ? null : (HashableMultiKey) lookupValuePerStream;
         for (int i = 0; i < factory.inputParameters.length; i++) {
-            try {
-                Object parameter;
-                if (mk == null) {
-                    parameter = lookupValuePerStream;
-                } else {
-                    parameter = mk.getKeys()[i];
-                }
+            Object parameter;
+            if (mk == null) {
+                parameter = lookupValuePerStream;
+            } else {
+                parameter = mk.getKeys()[i];
+            }
+            parameter = setParameter(preparedStatement, i + 1, i + 1, parameter, inputParameterContext);
+            if (parameters != null) {
+                parameters[i] = parameter;
+            }
+        }
 
-                if (factory.columnTypeConversionHook != null) {
-                    inputParameterContext.setParameterNumber(i + 1);
-                    inputParameterContext.setParameterValue(parameter);
-                    parameter = factory.columnTypeConversionHook.getParameterValue(inputParameterContext);
-                }
+        ResultSet resultSet = executeQuery(preparedStatement, factory.preparedStatementText, hasJDBCLogging, parameters);
+        return readRows(resultSet, factory.preparedStatementText, null, null);
+    }
 
-                setObject(preparedStatement, count, parameter);
-                if (parameters != null) {
-                    parameters[i] = parameter;
-                }
-            } catch (SQLException ex) {
-                throw new EPException("Error setting parameter " + count, ex);
+    /**
+     * Sets a parameter of the prepared statement applying the column type conversion hook, if any.
+     *
+     * @param preparedStatement     statement
+     * @param count                 statement parameter index starting at 1
+     * @param parameterNumber       number of the SQL parameter starting at 1, as provided to the conversion hook
+     * @param parameter             parameter value
+     * @param inputParameterContext context for the conversion hook or null if there is no hook
+     * @return parameter value as set
+     */
+    protected Object setParameter(PreparedStatement preparedStatement, int count, int parameterNumber, Object parameter, SQLInputParameterContext inputParameterContext) {
+        try {
+            if (factory.columnTypeConversionHook != null) {
+                inputParameterContext.setParameterNumber(parameterNumber);
+                inputParameterContext.setParameterValue(parameter);
+                parameter = factory.columnTypeConversionHook.getParameterValue(inputParameterContext);
             }
 
-            count++;
+            setObject(preparedStatement, count, parameter);
+        } catch (SQLException ex) {
+            throw new EPException("Error setting parameter " + count, ex);
         }
+        return parameter;
+    }
 
-        // execute
+    /**
+     * Executes the prepared statement.
+     *
+     * @param preparedStatement statement
+     * @param statementText     statement text for logging
+     * @param hasJDBCLogging    indicator whether to log
+     * @param parameters        parameters for logging
+     * @return result set
+     */
+    protected ResultSet executeQuery(PreparedStatement preparedStatement, String statementText, boolean hasJDBCLogging, Object[] parameters) {
         ResultSet resultSet;
         if (hasJDBCLogging) {
             long startTimeNS = System.nanoTime();
@@ -121,21 +145,33 @@ public class PollExecStrategyDBQuery implements PollExecStrategy {
             try {
                 resultSet = preparedStatement.executeQuery();
             } catch (SQLException ex) {
-                throw new EPException("Error executing statement '" + factory.preparedStatementText + '\'', ex);
+                throw new EPException("Error executing statement '" + statementText + '\'', ex);
             }
             long endTimeNS = System.nanoTime();
             long endTimeMS = System.currentTimeMillis();
-            JDBC_PERF_LOG.info("Statement '" + factory.preparedStatementText + "' delta nanosec " + (endTimeNS - startTimeNS) +
+            JDBC_PERF_LOG.info("Statement '" + statementText + "' delta nanosec " + (endTimeNS - startTimeNS) +
                     " delta msec " + (endTimeMS - startTimeMS) +
                     " parameters " + Arrays.toString(parameters));
         } else {
             try {
                 resultSet = preparedStatement.executeQuery();
             } catch (SQLException ex) {
-                throw new EPException("Error executing statement '" + factory.preparedStatementText + '\'', ex);
+                throw new EPException("Error executing statement '" + statementText + '\'', ex);
             }
         }
+        return resultSet;
+    }
 
+    /**
+     * Generates events for the result set and closes the result set.
+     *
+     * @param resultSet     result set
+     * @param statementText statement text for logging
+     * @param keyColumn     column providing the lookup key per row, or null if not collecting keys
+     * @param keys          collects the key value per row, or null if not collecting keys
+     * @return events
+     */
+    protected List<EventBean> readRows(ResultSet resultSet, String statementText, String keyColumn, List<Object> keys) {
         // generate events for result set
         List<EventBean> rows = new LinkedList<EventBean>();
         try {
@@ -191,21 +227,24 @@ public class PollExecStrategyDBQuery implements PollExecStrategy {
 
                 if (eventBeanRow != null) {
                     rows.add(eventBeanRow);
+                    if (keys != null) {
+                        keys.add(row.get(keyColumn));
+                    }
                     rowNum++;
                 }
             }
         } catch (SQLException ex) {
-            throw new EPException("Error reading results for statement '" + factory.preparedStatementText + '\'', ex);
+            throw new EPException("Error reading results for statement '" + statementText + '\'', ex);
         }
 
         if (factory.enableJDBCLogging && JDBC_PERF_LOG.isInfoEnabled()) {
-            JDBC_PERF_LOG.info("Statement '" + factory.preparedStatementText + "' " + rows.size() + " rows");
+            JDBC_PERF_LOG.info("Statement '" + statementText + "' " + rows.size() + " rows");
         }
 
         try {
             resultSet.close();
         } catch (SQLException ex) {
-            throw new EPException("Error closing statement '" + factory.preparedStatementText + '\'', ex);
+            throw new EPException("Error closing statement '" + statementText + '\'', ex);
         }
 
         return rows;
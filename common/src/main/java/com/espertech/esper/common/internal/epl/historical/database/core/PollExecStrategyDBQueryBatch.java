@@ -0,0 +1,181 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.historical.database.core;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.hook.type.SQLInputParameterContext;
+import com.espertech.esper.common.internal.collection.Pair;
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.epl.historical.execstrategy.PollExecStrategyBatch;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.*;
+
+/**
+ * Polls a database for multiple lookup keys using a single query with an in-list of parameters,
+ * assigning each row to its lookup key using the value of the key column.
+ * <p>
+ * The statement always has the same number of parameters so that the statement is prepared only once.
+ * Unused parameters repeat the first key.
+ * <p>
+ * The database may compare keys differently than by value, for example case-insensitive or with padding.
+ * Rows with a key column value that does not equal any lookup key are dropped, and when there are such rows
+ * the lookup keys that received no rows are polled individually.
+ */
+public class PollExecStrategyDBQueryBatch extends PollExecStrategyDBQuery implements PollExecStrategyBatch {
+    private final ConnectionCache batchConnectionCache;
+
+    public PollExecStrategyDBQueryBatch(HistoricalEventViewableDatabaseFactory factory, AgentInstanceContext agentInstanceContext, ConnectionCache connectionCache, ConnectionCache batchConnectionCache) {
+        super(factory, agentInstanceContext, connectionCache);
+        this.batchConnectionCache = batchConnectionCache;
+    }
+
+    public int getBatchSize() {
+        return factory.batchSize;
+    }
+
+    public Map<Object, List<EventBean>> pollBatch(Collection<Object> lookupValues, AgentInstanceContext agentInstanceContext) {
+        if (lookupValues.isEmpty() || lookupValues.size() > factory.batchSize) {
+            throw new IllegalArgumentException("Invalid number of keys " + lookupValues.size() + " for batch size " + factory.batchSize);
+        }
+        Pair<Connection, PreparedStatement> resources = batchConnectionCache.getConnection();
+        Map<Object, List<EventBean>> result;
+        List<Object> unmatched = new ArrayList<>(0);
+        try {
+            result = executeBatch(resources.getSecond(), lookupValues, unmatched);
+        } finally {
+            batchConnectionCache.doneWith(resources);
+        }
+        if (unmatched.isEmpty()) {
+            return result;
+        }
+
+        start();
+        try {
+            for (Object lookupValue : unmatched) {
+                result.put(lookupValue, poll(lookupValue, agentInstanceContext));
+            }
+        } finally {
+            done();
+        }
+        return result;
+    }
+
+    public void destroy() {
+        super.destroy();
+        batchConnectionCache.destroy();
+    }
+
+    private synchronized Map<Object, List<EventBean>> executeBatch(PreparedStatement preparedStatement, Collection<Object> lookupValues, List<Object> unmatched) {
+        boolean hasJDBCLogging = factory.enableJDBCLogging && JDBC_PERF_LOG.isInfoEnabled();
+
+        SQLInputParameterContext inputParameterContext = null;
+        if (factory.columnTypeConversionHook != null) {
+            inputParameterContext = new SQLInputParameterContext();
+        }
+
+        // set parameters, repeating the first key for unused parameters
+        Object[] parameters = null;
+        if (hasJDBCLogging) {
+            parameters = new Object[factory.batchSize];
+        }
+        Map<Object, List<EventBean>> result = new LinkedHashMap<>();
+        Map<Object, Object> keysNormalized = new HashMap<>();
+        Object first = null;
+        int count = 1;
+        for (Object lookupValue : lookupValues) {
+            if (count == 1) {
+                first = lookupValue;
+            }
+            result.put(lookupValue, new ArrayList<>(2));
+            keysNormalized.put(normalizeKey(lookupValue), lookupValue);
+            Object parameter = setParameter(preparedStatement, count, 1, lookupValue, inputParameterContext);
+            if (parameters != null) {
+                parameters[count - 1] = parameter;
+            }
+            count++;
+        }
+        for (; count <= factory.batchSize; count++) {
+            Object parameter = setParameter(preparedStatement, count, 1, first, inputParameterContext);
+            if (parameters != null) {
+                parameters[count - 1] = parameter;
+            }
+        }
+
+        ResultSet resultSet = executeQuery(preparedStatement, factory.batchStatementText, hasJDBCLogging, parameters);
+        List<Object> keys = new ArrayList<>();
+        List<EventBean> rows = readRows(resultSet, factory.batchStatementText, factory.batchKeyColumn, keys);
+
+        // assign rows to lookup keys, dropping rows that don't equal any lookup key
+        boolean dropped = false;
+        Iterator<Object> keyIt = keys.iterator();
+        for (EventBean row : rows) {
+            Object key = keyIt.next();
+            if (key == null) {
+                continue;
+            }
+            Object normalized = normalizeKey(key);
+            if (!keysNormalized.containsKey(normalized)) {
+                dropped = true;
+                continue;
+            }
+            result.get(keysNormalized.get(normalized)).add(row);
+        }
+
+        // the database may have matched dropped rows to the lookup keys that have no rows
+        if (dropped) {
+            for (Map.Entry<Object, List<EventBean>> entry : result.entrySet()) {
+                if (entry.getValue().isEmpty()) {
+                    unmatched.add(entry.getKey());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a key for comparing lookup values to column values such that numbers of different types compare by value.
+     *
+     * @param key key
+     * @return normalized key
+     */
+    protected static Object normalizeKey(Object key) {
+        if (!(key instanceof Number)) {
+            return key;
+        }
+        if (key instanceof Integer || key instanceof Long || key instanceof Short || key instanceof Byte) {
+            return ((Number) key).longValue();
+        }
+        if (key instanceof Double || key instanceof Float) {
+            double value = ((Number) key).doubleValue();
+            if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < Long.MAX_VALUE) {
+                return (long) value;
+            }
+            return value;
+        }
+        if (key instanceof BigInteger) {
+            BigInteger value = (BigInteger) key;
+            return value.bitLength() < 64 ? (Object) value.longValue() : value;
+        }
+        if (key instanceof BigDecimal) {
+            BigDecimal value = ((BigDecimal) key).stripTrailingZeros();
+            if (value.scale() <= 0 && value.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) <= 0 && value.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) >= 0) {
+                return value.longValue();
+            }
+            return value.doubleValue();
+        }
+        return key;
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.historical.datacache;
+
+import com.espertech.esper.common.internal.epl.historical.indexingstrategy.PollResultIndexingStrategy;
+import com.espertech.esper.common.internal.epl.index.base.EventTable;
+import com.espertech.esper.common.internal.schedule.TimeProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe query result data cache that is bounded by the number of cached rows.
+ * <p>
+ * New entries enter a small window segment that is evicted in least-recently-used order. Entries leaving the window
+ * are admitted to the main segment only if their estimated access frequency is higher than that of the main segment's
+ * least-recently-used entry, so that one-time lookups do not displace frequently used entries.
+ * Lookups do not block: access order and frequency are recorded only when the policy lock is available.
+ * </p>
+ * <p>
+ * Entries older than the refresh-ahead time that are accessed get reloaded using the executor, while the current rows
+ * remain in use. Concurrent loads for the same key are coalesced so that only one query is issued.
+ * </p>
+ */
+public class HistoricalDataCacheConcurrentImpl implements HistoricalDataCache {
+    private static final Logger log = LoggerFactory.getLogger(HistoricalDataCacheConcurrentImpl.class);
+    private static final Object NULL_KEY = new Object();
+
+    private final int maxRows;
+    private final int maxWindowRows;
+    private final long maxAge;
+    private final long refreshAhead;
+    private final TimeProvider timeProvider;
+    private final Executor refreshExecutor;
+    private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, CompletableFuture<EventTable[]>> loads = new ConcurrentHashMap<>();
+
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final LinkedHashMap<Object, Entry> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Object, Entry> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final HistoricalDataCacheFrequencySketch sketch;
+    private int windowRows;
+    private int mainRows;
+
+    private volatile HistoricalDataCacheLoader loader;
+    private volatile boolean destroyed;
+
+    /**
+     * Ctor.
+     *
+     * @param maxRows         maximum number of rows held by the cache, summed over all entries
+     * @param maxAge          maximum age in runtime time units, or zero for no maximum age
+     * @param refreshAhead    age in runtime time units after which an accessed entry gets reloaded, or zero for no refresh-ahead
+     * @param timeProvider    runtime time
+     * @param refreshExecutor executor for reloading entries
+     */
+    public HistoricalDataCacheConcurrentImpl(int maxRows, long maxAge, long refreshAhead, TimeProvider timeProvider, Executor refreshExecutor) {
+        this.maxRows = Math.max(1, maxRows);
+        this.maxWindowRows = Math.max(1, this.maxRows / 100);
+        this.maxAge = maxAge;
+        this.refreshAhead = refreshAhead;
+        this.timeProvider = timeProvider;
+        this.refreshExecutor = refreshExecutor;
+        this.sketch = new HistoricalDataCacheFrequencySketch(this.maxRows);
+    }
+
+    /**
+     * Sets the loader that reloads entries for refresh-ahead.
+     *
+     * @param loader loader
+     */
+    public void setLoader(HistoricalDataCacheLoader loader) {
+        this.loader = loader;
+    }
+
+    public EventTable[] getCached(Object methodParams) {
+        Object key = methodParams == null ? NULL_KEY : methodParams;
+        Entry entry = entries.get(key);
+        recordAccess(key, entry);
+        if (entry == null) {
+            return null;
+        }
+        if (maxAge > 0 && timeProvider.getTime() - entry.time > maxAge) {
+            remove(entry);
+            return null;
+        }
+        return entry.rows;
+    }
+
+    public void put(Object methodParams, EventTable[] rows) {
+        Object key = methodParams == null ? NULL_KEY : methodParams;
+        int weight = weigh(rows);
+        if (weight > maxRows || destroyed) {
+            return;
+        }
+        Entry entry = new Entry(key, rows, timeProvider.getTime(), weight);
+
+        policyLock.lock();
+        try {
+            Entry existing = entries.put(key, entry);
+            if (existing != null) {
+                removePolicy(existing);
+            }
+            window.put(key, entry);
+            windowRows += weight;
+
+            // entries leaving the window compete with the main segment's least-recently-used entry
+            while ((windowRows > maxWindowRows || windowRows + mainRows > maxRows) && !window.isEmpty()) {
+                Iterator<Entry> it = window.values().iterator();
+                Entry candidate = it.next();
+                it.remove();
+                windowRows -= candidate.weight;
+                admit(candidate);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Reloads the entry for the key using the executor if the entry is older than the refresh-ahead time, and
+     * if the entry is not already reloading. The current rows remain in the cache until the reload completes.
+     *
+     * @param methodParams     lookup key
+     * @param indexingStrategy indexing strategy for the reloaded rows
+     */
+    public void refreshIfDue(Object methodParams, PollResultIndexingStrategy indexingStrategy) {
+        HistoricalDataCacheLoader refreshLoader = loader;
+        if (refreshAhead <= 0 || refreshLoader == null || destroyed) {
+            return;
+        }
+        Object key = methodParams == null ? NULL_KEY : methodParams;
+        Entry entry = entries.get(key);
+        if (entry == null || timeProvider.getTime() - entry.time < refreshAhead || !entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture<EventTable[]> load = new CompletableFuture<>();
+        if (loads.putIfAbsent(key, load) != null) {
+            entry.refreshing.set(false);
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                EventTable[] rows = null;
+                try {
+                    if (!destroyed) {
+                        rows = refreshLoader.load(methodParams, indexingStrategy);
+                        replace(entry, rows);
+                    }
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to refresh historical data cache entry: " + ex.getMessage(), ex);
+                } finally {
+                    entry.refreshing.set(false);
+                    endLoad(key, load, rows);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            entry.refreshing.set(false);
+            endLoad(key, load, null);
+        }
+    }
+
+    /**
+     * Waits for a load for the same key that is in progress and returns its rows, or registers a load by the caller
+     * and returns null. A caller receiving null must call {@link #endLoad(Object, EventTable[])}.
+     *
+     * @param methodParams lookup key
+     * @return rows of a concurrent load, or null when the caller must load
+     */
+    public EventTable[] awaitOrBeginLoad(Object methodParams) {
+        Object key = methodParams == null ? NULL_KEY : methodParams;
+        while (true) {
+            CompletableFuture<EventTable[]> load = new CompletableFuture<>();
+            CompletableFuture<EventTable[]> existing = loads.putIfAbsent(key, load);
+            if (existing == null) {
+                return null;
+            }
+            EventTable[] rows = await(existing);
+            if (rows != null) {
+                return rows;
+            }
+        }
+    }
+
+    /**
+     * Completes the load registered by the caller.
+     *
+     * @param methodParams lookup key
+     * @param rows         loaded rows or null if the load failed
+     */
+    public void endLoad(Object methodParams, EventTable[] rows) {
+        Object key = methodParams == null ? NULL_KEY : methodParams;
+        CompletableFuture<EventTable[]> load = loads.get(key);
+        if (load != null) {
+            endLoad(key, load, rows);
+        }
+    }
+
+    public boolean isActive() {
+        return true;
+    }
+
+    public void destroy() {
+        destroyed = true;
+        loader = null;
+        policyLock.lock();
+        try {
+            entries.clear();
+            window.clear();
+            main.clear();
+            windowRows = 0;
+            mainRows = 0;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of cached rows.
+     *
+     * @return rows
+     */
+    public int getRows() {
+        policyLock.lock();
+        try {
+            return windowRows + mainRows;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void recordAccess(Object key, Entry entry) {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(key);
+            if (entry != null) {
+                // reorders the access-ordered segment
+                if (window.get(key) == null) {
+                    main.get(key);
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void admit(Entry candidate) {
+        while (windowRows + mainRows + candidate.weight > maxRows) {
+            Iterator<Entry> it = main.values().iterator();
+            if (!it.hasNext()) {
+                entries.remove(candidate.key, candidate);
+                return;
+            }
+            Entry victim = it.next();
+            if (sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                entries.remove(candidate.key, candidate);
+                return;
+            }
+            it.remove();
+            mainRows -= victim.weight;
+            entries.remove(victim.key, victim);
+        }
+        main.put(candidate.key, candidate);
+        mainRows += candidate.weight;
+    }
+
+    private void replace(Entry entry, EventTable[] rows) {
+        int weight = weigh(rows);
+        policyLock.lock();
+        try {
+            if (entries.get(entry.key) != entry) {
+                return;
+            }
+            if (weight > maxRows) {
+                remove(entry);
+                return;
+            }
+            boolean inWindow = window.containsKey(entry.key);
+            if (inWindow) {
+                windowRows += weight - entry.weight;
+            } else {
+                mainRows += weight - entry.weight;
+            }
+            entry.weight = weight;
+            entry.rows = rows;
+            entry.time = timeProvider.getTime();
+
+            // a reload may have grown the entry, evict least-recently-used entries other than the reloaded entry
+            evictOverflow(main, entry, false);
+            evictOverflow(window, entry, true);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void evictOverflow(LinkedHashMap<Object, Entry> segment, Entry retain, boolean isWindow) {
+        Iterator<Entry> it = segment.values().iterator();
+        while (windowRows + mainRows > maxRows && it.hasNext()) {
+            Entry victim = it.next();
+            if (victim == retain) {
+                continue;
+            }
+            it.remove();
+            if (isWindow) {
+                windowRows -= victim.weight;
+            } else {
+                mainRows -= victim.weight;
+            }
+            entries.remove(victim.key, victim);
+        }
+    }
+
+    private void remove(Entry entry) {
+        policyLock.lock();
+        try {
+            if (entries.remove(entry.key, entry)) {
+                removePolicy(entry);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void removePolicy(Entry entry) {
+        if (window.get(entry.key) == entry) {
+            window.remove(entry.key);
+            windowRows -= entry.weight;
+        } else if (main.get(entry.key) == entry) {
+            main.remove(entry.key);
+            mainRows -= entry.weight;
+        }
+    }
+
+    private void endLoad(Object key, CompletableFuture<EventTable[]> load, EventTable[] rows) {
+        loads.remove(key, load);
+        load.complete(rows);
+    }
+
+    private static EventTable[] await(CompletableFuture<EventTable[]> load) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return load.get();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    return null;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static int weigh(EventTable[] rows) {
+        if (rows == null || rows.length == 0 || rows[0] == null) {
+            return 1;
+        }
+        Integer numEvents = rows[0].getNumberOfEvents();
+        return numEvents == null ? 1 : Math.max(1, numEvents);
+    }
+
+    private static class Entry {
+        private final Object key;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile EventTable[] rows;
+        private volatile long time;
+        private int weight;
+
+        Entry(Object key, EventTable[] rows, long time, int weight) {
+            this.key = key;
+            this.rows = rows;
+            this.time = time;
+            this.weight = weight;
+        }
+    }
+}
@@ -11,14 +11,24 @@
 package com.espertech.esper.common.internal.epl.historical.datacache;
 
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonCache;
+import com.espertech.esper.common.client.configuration.common.ConfigurationCommonCacheConcurrent;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonCacheExpiryTime;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonCacheLRU;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.epl.expression.time.abacus.TimeAbacus;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Factory for data caches for use caching database query results and method invocation results.
  */
 public class HistoricalDataCacheFactory {
+    private final static int REFRESH_NUM_THREADS = 2;
+
+    private volatile ThreadPoolExecutor refreshExecutor;
 
     /**
      * Creates a cache implementation for the strategy as defined by the cache descriptor.
@@ -47,9 +57,42 @@ public class HistoricalDataCacheFactory {
             return makeTimeCache(expCache, agentInstanceContext, streamNum, scheduleCallbackId);
         }
 
+        if (cacheDesc instanceof ConfigurationCommonCacheConcurrent) {
+            ConfigurationCommonCacheConcurrent concurrentCache = (ConfigurationCommonCacheConcurrent) cacheDesc;
+            TimeAbacus timeAbacus = agentInstanceContext.getClasspathImportServiceRuntime().getTimeAbacus();
+            long maxAge = concurrentCache.getMaxAgeSeconds() > 0 ? timeAbacus.deltaForSecondsDouble(concurrentCache.getMaxAgeSeconds()) : 0;
+            long refreshAhead = concurrentCache.getRefreshAheadSeconds() > 0 ? timeAbacus.deltaForSecondsDouble(concurrentCache.getRefreshAheadSeconds()) : 0;
+            return new HistoricalDataCacheConcurrentImpl(concurrentCache.getMaxRows(), maxAge, refreshAhead, agentInstanceContext.getSchedulingService(), getRefreshExecutor());
+        }
+
         throw new IllegalStateException("Cache implementation class not configured");
     }
 
+    /**
+     * Returns the executor that reloads cache entries for refresh-ahead, allocating the executor upon first use.
+     * The executor threads are daemon threads that terminate when idle.
+     *
+     * @return executor
+     */
+    protected Executor getRefreshExecutor() {
+        ThreadPoolExecutor executor = refreshExecutor;
+        if (executor != null) {
+            return executor;
+        }
+        synchronized (this) {
+            if (refreshExecutor == null) {
+                ThreadPoolExecutor pool = new ThreadPoolExecutor(REFRESH_NUM_THREADS, REFRESH_NUM_THREADS, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "com.espertech.esper.HistoricalDataCacheRefresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                pool.allowCoreThreadTimeOut(true);
+                refreshExecutor = pool;
+            }
+            return refreshExecutor;
+        }
+    }
+
     protected HistoricalDataCache makeTimeCache(ConfigurationCommonCacheExpiryTime expCache, AgentInstanceContext agentInstanceContext, int streamNum, int scheduleCallbackId) {
         return new HistoricalDataCacheExpiringImpl(expCache.getMaxAgeSeconds(), expCache.getPurgeIntervalSeconds(), expCache.getCacheReferenceType(),
                 agentInstanceContext, agentInstanceContext.getScheduleBucket().allocateSlot());
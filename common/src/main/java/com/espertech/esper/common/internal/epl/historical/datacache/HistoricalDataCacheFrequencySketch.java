@@ -0,0 +1,110 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.historical.datacache;
+
+/**
+ * Count-min sketch of 4-bit counters that estimates the access frequency of cache keys, for use in admission of new
+ * entries to a cache. Counters are halved periodically so that the estimate follows changes in the access pattern.
+ * <p>
+ * Not thread-safe.
+ */
+public class HistoricalDataCacheFrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    /**
+     * Ctor.
+     *
+     * @param maximumSize the expected maximum number of keys
+     */
+    public HistoricalDataCacheFrequencySketch(int maximumSize) {
+        int capacity = 16;
+        int desired = Math.max(maximumSize, 1);
+        while (capacity < desired && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        this.table = new long[capacity];
+        this.tableMask = capacity - 1;
+        this.sampleSize = (int) Math.min(10L * desired, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated number of accesses of the key, between zero and fifteen.
+     *
+     * @param key key
+     * @return frequency
+     */
+    public int frequency(Object key) {
+        long hash = spread(key);
+        int frequency = 15;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long indexHash = indexHash(hash, i);
+            int offset = counterOffset(indexHash);
+            int count = (int) ((table[tableIndex(indexHash)] >>> offset) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Increments the access count of the key.
+     *
+     * @param key key
+     */
+    public void increment(Object key) {
+        long hash = spread(key);
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long indexHash = indexHash(hash, i);
+            int index = tableIndex(indexHash);
+            int offset = counterOffset(indexHash);
+            long mask = 0xfL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = size >>> 1;
+    }
+
+    private int tableIndex(long indexHash) {
+        return (int) indexHash & tableMask;
+    }
+
+    private static int counterOffset(long indexHash) {
+        return ((int) (indexHash >>> 60)) << 2;
+    }
+
+    private static long indexHash(long hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        return h ^ (h >>> 32);
+    }
+
+    private static long spread(Object key) {
+        long h = key == null ? 0 : key.hashCode();
+        h *= 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.historical.datacache;
+
+import com.espertech.esper.common.internal.epl.historical.indexingstrategy.PollResultIndexingStrategy;
+import com.espertech.esper.common.internal.epl.index.base.EventTable;
+
+/**
+ * Loads the rows for a lookup key, for use in refreshing cache entries outside of event processing.
+ */
+public interface HistoricalDataCacheLoader {
+    /**
+     * Polls and indexes the rows for the lookup key.
+     *
+     * @param lookupValue      lookup key
+     * @param indexingStrategy indexing strategy
+     * @return indexed rows
+     */
+    EventTable[] load(Object lookupValue, PollResultIndexingStrategy indexingStrategy);
+}
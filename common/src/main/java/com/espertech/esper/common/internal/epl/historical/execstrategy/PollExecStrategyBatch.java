@@ -0,0 +1,40 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.historical.execstrategy;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Polling strategy that can poll for multiple lookup keys at once.
+ */
+public interface PollExecStrategyBatch extends PollExecStrategy {
+    /**
+     * Returns the maximum number of keys per batch poll.
+     *
+     * @return batch size
+     */
+    public int getBatchSize();
+
+    /**
+     * Poll events for multiple keys, not more keys than the batch size.
+     * Acquires and releases its resources independent of {@link #start()} and {@link #done()}.
+     *
+     * @param lookupValues         distinct keys
+     * @param agentInstanceContext context
+     * @return events per key, with an entry for each key provided
+     */
+    public Map<Object, List<EventBean>> pollBatch(Collection<Object> lookupValues, AgentInstanceContext agentInstanceContext);
+}
@@ -25,7 +25,7 @@ public class HistoricalEventViewableMethod extends HistoricalEventViewableBase {
         try {
             ConfigurationCommonMethodRef configCache = agentInstanceContext.getClasspathImportServiceRuntime().getConfigurationMethodRef(factory.getConfigurationName());
             ConfigurationCommonCache dataCacheDesc = configCache != null ? configCache.getDataCacheDesc() : null;
-            this.dataCache = agentInstanceContext.getHistoricalDataCacheFactory().getDataCache(dataCacheDesc, agentInstanceContext, factory.getStreamNumber(), factory.getScheduleCallbackId());
+            setDataCache(agentInstanceContext.getHistoricalDataCacheFactory().getDataCache(dataCacheDesc, agentInstanceContext, factory.getStreamNumber(), factory.getScheduleCallbackId()));
         } catch (Throwable t) {
             throw new EPException("Failed to obtain cache: " + t.getMessage(), t);
         }
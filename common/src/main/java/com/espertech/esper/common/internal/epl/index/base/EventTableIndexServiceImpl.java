@@ -30,7 +30,7 @@ public class EventTableIndexServiceImpl implements EventTableIndexService {
     }
 
     public EventTableFactory createHashedOnly(int indexedStreamNum, EventType eventType, String[] indexProps, Class[] indexTypes, boolean unique, String optionalIndexName, EventPropertyValueGetter getter, Object optionalSerde, boolean isFireAndForget, StatementContext statementContext) {
-        return new PropertyHashedEventTableFactory(indexedStreamNum, indexProps, unique, optionalIndexName, getter);
+        return new PropertyHashedEventTableFactory(indexedStreamNum, indexProps, indexTypes, unique, optionalIndexName, getter);
     }
 
     public EventTableFactory createUnindexed(int indexedStreamNum, EventType eventType, Object optionalSerde, boolean isFireAndForget, StatementContext statementContext) {
@@ -0,0 +1,128 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.client.EventBean;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+
+/**
+ * Set of events for a single key of a hash index, keeping up to {@link #INLINE_MAX} events in an inline array
+ * and changing over to a linked hash set for larger buckets. Iteration order is insertion order.
+ */
+public final class PropertyHashedEventTableBucket extends AbstractSet<EventBean> {
+    /**
+     * Number of events kept inline.
+     */
+    public final static int INLINE_MAX = 4;
+
+    private EventBean[] inline;
+    private int inlineCount;
+    private LinkedHashSet<EventBean> overflow;
+
+    /**
+     * Ctor.
+     *
+     * @param first first event
+     */
+    public PropertyHashedEventTableBucket(EventBean first) {
+        inline = new EventBean[INLINE_MAX];
+        inline[0] = first;
+        inlineCount = 1;
+    }
+
+    public boolean add(EventBean theEvent) {
+        if (overflow != null) {
+            return overflow.add(theEvent);
+        }
+        if (indexOf(theEvent) != -1) {
+            return false;
+        }
+        if (inlineCount < INLINE_MAX) {
+            inline[inlineCount++] = theEvent;
+            return true;
+        }
+        overflow = new LinkedHashSet<EventBean>();
+        for (int i = 0; i < inlineCount; i++) {
+            overflow.add(inline[i]);
+        }
+        overflow.add(theEvent);
+        inline = null;
+        inlineCount = 0;
+        return true;
+    }
+
+    public boolean remove(Object theEvent) {
+        if (overflow != null) {
+            return overflow.remove(theEvent);
+        }
+        int index = indexOf(theEvent);
+        if (index == -1) {
+            return false;
+        }
+        System.arraycopy(inline, index + 1, inline, index, inlineCount - index - 1);
+        inline[--inlineCount] = null;
+        return true;
+    }
+
+    public boolean contains(Object theEvent) {
+        if (overflow != null) {
+            return overflow.contains(theEvent);
+        }
+        return indexOf(theEvent) != -1;
+    }
+
+    public int size() {
+        return overflow != null ? overflow.size() : inlineCount;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public Iterator<EventBean> iterator() {
+        if (overflow != null) {
+            return overflow.iterator();
+        }
+        return new InlineIterator();
+    }
+
+    private int indexOf(Object theEvent) {
+        for (int i = 0; i < inlineCount; i++) {
+            if (inline[i] == theEvent || inline[i].equals(theEvent)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private class InlineIterator implements Iterator<EventBean> {
+        private int position;
+
+        public boolean hasNext() {
+            return position < inlineCount;
+        }
+
+        public EventBean next() {
+            if (position >= inlineCount) {
+                throw new NoSuchElementException();
+            }
+            return inline[position++];
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -16,6 +16,7 @@ import com.espertech.esper.common.internal.epl.index.base.EventTable;
 import com.espertech.esper.common.internal.epl.index.base.EventTableFactory;
 import com.espertech.esper.common.internal.epl.index.base.EventTableOrganization;
 import com.espertech.esper.common.internal.epl.index.base.EventTableOrganizationType;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
 
 import java.util.Arrays;
 
@@ -25,8 +26,23 @@ public class PropertyHashedEventTableFactory implements EventTableFactory {
     protected final boolean unique;
     protected final String optionalIndexName;
     protected final EventPropertyValueGetter propertyGetter;
+    protected final Class primitiveKeyClass;
 
     public PropertyHashedEventTableFactory(int streamNum, String[] propertyNames, boolean unique, String optionalIndexName, EventPropertyValueGetter propertyGetter) {
+        this(streamNum, propertyNames, null, unique, optionalIndexName, propertyGetter);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param streamNum         stream number
+     * @param propertyNames     indexed property names
+     * @param propertyTypes     indexed property types after any coercion, or null when not known
+     * @param unique            unique flag
+     * @param optionalIndexName index name
+     * @param propertyGetter    key getter
+     */
+    public PropertyHashedEventTableFactory(int streamNum, String[] propertyNames, Class[] propertyTypes, boolean unique, String optionalIndexName, EventPropertyValueGetter propertyGetter) {
         this.streamNum = streamNum;
         this.propertyNames = propertyNames;
         this.unique = unique;
@@ -36,11 +52,14 @@ public class PropertyHashedEventTableFactory implements EventTableFactory {
         if (propertyGetter == null) {
             throw new IllegalArgumentException("Property-getter is null");
         }
+        this.primitiveKeyClass = unique ? null : getPrimitiveKeyClass(propertyTypes);
     }
 
     public EventTable[] makeEventTables(AgentInstanceContext agentInstanceContext, Integer subqueryNumber) {
         if (unique) {
             return new EventTable[]{new PropertyHashedEventTableUnique(this)};
+        } else if (primitiveKeyClass != null) {
+            return new EventTable[]{new PropertyHashedEventTableUnadornedLong(this, primitiveKeyClass)};
         } else {
             return new EventTable[]{new PropertyHashedEventTableUnadorned(this)};
         }
@@ -49,6 +68,8 @@ public class PropertyHashedEventTableFactory implements EventTableFactory {
     public Class getEventTableClass() {
         if (unique) {
             return PropertyHashedEventTableUnique.class;
+        } else if (primitiveKeyClass != null) {
+            return PropertyHashedEventTableUnadornedLong.class;
         } else {
             return PropertyHashedEventTableUnadorned.class;
         }
@@ -64,4 +85,15 @@ public class PropertyHashedEventTableFactory implements EventTableFactory {
     public EventTableOrganization getOrganization() {
         return new EventTableOrganization(optionalIndexName, unique, false, streamNum, propertyNames, EventTableOrganizationType.HASH);
     }
+
+    private static Class getPrimitiveKeyClass(Class[] propertyTypes) {
+        if (propertyTypes == null || propertyTypes.length != 1 || propertyTypes[0] == null) {
+            return null;
+        }
+        Class boxed = JavaClassHelper.getBoxedType(propertyTypes[0]);
+        if (boxed == Integer.class || boxed == Long.class) {
+            return boxed;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,320 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Non-unique hash index for a single key of type int or long.
+ * <p>
+ * Keys are kept unboxed in an open-addressing table with linear probing and backward-shift deletion.
+ * Each key maps to a {@link PropertyHashedEventTableBucket} that holds small buckets inline.
+ * Keys that are not of the index key type, such as from a map event providing a different value type,
+ * are kept in a regular hash map and are only found by a lookup key of the same type, same as
+ * for {@link PropertyHashedEventTableUnadorned}.
+ */
+public class PropertyHashedEventTableUnadornedLong extends PropertyHashedEventTable {
+    private final static int MIN_CAPACITY = 16;
+
+    private final Class keyClass;
+    private long[] keys;
+    private PropertyHashedEventTableBucket[] buckets;
+    private int mask;
+    private int numKeys;
+    private PropertyHashedEventTableBucket nullKeyBucket;
+    private Map<Object, Set<EventBean>> otherKeys;
+
+    /**
+     * Ctor.
+     *
+     * @param factory  factory
+     * @param keyClass either {@link Integer} or {@link Long}
+     */
+    public PropertyHashedEventTableUnadornedLong(PropertyHashedEventTableFactory factory, Class keyClass) {
+        super(factory);
+        this.keyClass = keyClass;
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Returns the set of events that have the same property value as the given event.
+     *
+     * @param key to compare against
+     * @return set of events with property value, or null if none found (never returns zero-sized set)
+     */
+    public Set<EventBean> lookup(Object key) {
+        if (key == null) {
+            return nullKeyBucket;
+        }
+        if (key.getClass() != keyClass) {
+            return otherKeys == null ? null : otherKeys.get(key);
+        }
+        return lookupLong(((Number) key).longValue());
+    }
+
+    /**
+     * Returns the set of events for the unboxed key.
+     *
+     * @param key to compare against
+     * @return set of events with property value, or null if none found (never returns zero-sized set)
+     */
+    public Set<EventBean> lookupLong(long key) {
+        int index = find(key);
+        return index == -1 ? null : buckets[index];
+    }
+
+    public void add(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
+        Object key = getKey(theEvent);
+        if (key == null) {
+            if (nullKeyBucket == null) {
+                nullKeyBucket = new PropertyHashedEventTableBucket(theEvent);
+            } else {
+                nullKeyBucket.add(theEvent);
+            }
+            return;
+        }
+        if (key.getClass() != keyClass) {
+            addOther(key, theEvent);
+            return;
+        }
+
+        long value = ((Number) key).longValue();
+        int index = hash(value) & mask;
+        while (true) {
+            PropertyHashedEventTableBucket bucket = buckets[index];
+            if (bucket == null) {
+                keys[index] = value;
+                buckets[index] = new PropertyHashedEventTableBucket(theEvent);
+                numKeys++;
+                if (numKeys > (keys.length >> 1)) {
+                    rehash(keys.length << 1);
+                }
+                return;
+            }
+            if (keys[index] == value) {
+                bucket.add(theEvent);
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
+        Object key = getKey(theEvent);
+        if (key == null) {
+            if (nullKeyBucket != null && nullKeyBucket.remove(theEvent) && nullKeyBucket.isEmpty()) {
+                nullKeyBucket = null;
+            }
+            return;
+        }
+        if (key.getClass() != keyClass) {
+            removeOther(key, theEvent);
+            return;
+        }
+
+        int index = find(((Number) key).longValue());
+        if (index == -1) {
+            return;
+        }
+
+        // Not an error if not found, its possible that an old-data event is artificial (such as for statistics) and
+        // thus did not correspond to a new-data event raised earlier.
+        PropertyHashedEventTableBucket bucket = buckets[index];
+        if (bucket.remove(theEvent) && bucket.isEmpty()) {
+            deleteAt(index);
+            numKeys--;
+            if (keys.length > MIN_CAPACITY && numKeys < (keys.length >> 3)) {
+                rehash(keys.length >> 1);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return numKeys == 0 && nullKeyBucket == null && otherKeys == null;
+    }
+
+    public Iterator<EventBean> iterator() {
+        return new BucketIterator();
+    }
+
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        numKeys = 0;
+        nullKeyBucket = null;
+        otherKeys = null;
+    }
+
+    public void destroy() {
+        clear();
+    }
+
+    public Integer getNumberOfEvents() {
+        return null;
+    }
+
+    public int getNumKeys() {
+        return numKeys + (nullKeyBucket == null ? 0 : 1) + (otherKeys == null ? 0 : otherKeys.size());
+    }
+
+    public Object getIndex() {
+        return this;
+    }
+
+    public Class getProviderClass() {
+        return PropertyHashedEventTable.class;
+    }
+
+    private void addOther(Object key, EventBean theEvent) {
+        if (otherKeys == null) {
+            otherKeys = new HashMap<Object, Set<EventBean>>();
+        }
+        Set<EventBean> events = otherKeys.get(key);
+        if (events == null) {
+            events = new LinkedHashSet<EventBean>();
+            otherKeys.put(key, events);
+        }
+        events.add(theEvent);
+    }
+
+    private void removeOther(Object key, EventBean theEvent) {
+        if (otherKeys == null) {
+            return;
+        }
+        Set<EventBean> events = otherKeys.get(key);
+        if (events == null || !events.remove(theEvent)) {
+            return;
+        }
+        if (events.isEmpty()) {
+            otherKeys.remove(key);
+            if (otherKeys.isEmpty()) {
+                otherKeys = null;
+            }
+        }
+    }
+
+    private int find(long key) {
+        int index = hash(key) & mask;
+        while (true) {
+            if (buckets[index] == null) {
+                return -1;
+            }
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void deleteAt(int index) {
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (buckets[next] != null) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                buckets[gap] = buckets[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        buckets[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        PropertyHashedEventTableBucket[] oldBuckets = buckets;
+        allocate(capacity);
+        for (int i = 0; i < oldBuckets.length; i++) {
+            if (oldBuckets[i] == null) {
+                continue;
+            }
+            int index = hash(oldKeys[i]) & mask;
+            while (buckets[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = oldKeys[i];
+            buckets[index] = oldBuckets[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        buckets = new PropertyHashedEventTableBucket[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private class BucketIterator implements Iterator<EventBean> {
+        private int slot;
+        private boolean nullKeyDone;
+        private Iterator<Set<EventBean>> otherIterator;
+        private Iterator<EventBean> current;
+
+        public boolean hasNext() {
+            while (current == null || !current.hasNext()) {
+                if (!advance()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public EventBean next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private boolean advance() {
+            while (slot < buckets.length) {
+                PropertyHashedEventTableBucket bucket = buckets[slot++];
+                if (bucket != null) {
+                    current = bucket.iterator();
+                    return true;
+                }
+            }
+            if (!nullKeyDone) {
+                nullKeyDone = true;
+                if (nullKeyBucket != null) {
+                    current = nullKeyBucket.iterator();
+                    return true;
+                }
+            }
+            if (otherKeys != null) {
+                if (otherIterator == null) {
+                    otherIterator = otherKeys.values().iterator();
+                }
+                if (otherIterator.hasNext()) {
+                    current = otherIterator.next().iterator();
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
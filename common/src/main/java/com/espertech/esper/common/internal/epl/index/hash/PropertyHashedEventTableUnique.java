@@ -24,8 +24,12 @@ public class PropertyHashedEventTableUnique extends PropertyHashedEventTable imp
     private final Map<Object, EventBean> propertyIndex;
 
     public PropertyHashedEventTableUnique(PropertyHashedEventTableFactory factory) {
+        this(factory, new HashMap<>());
+    }
+
+    public PropertyHashedEventTableUnique(PropertyHashedEventTableFactory factory, Map<Object, EventBean> propertyIndex) {
         super(factory);
-        propertyIndex = new HashMap<>();
+        this.propertyIndex = propertyIndex;
     }
 
     public Set<EventBean> lookup(Object key) {
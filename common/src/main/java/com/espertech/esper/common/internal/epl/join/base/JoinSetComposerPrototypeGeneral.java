@@ -97,7 +97,7 @@ public class JoinSetComposerPrototypeGeneral extends JoinSetComposerPrototypeBas
                 indexesPerStream[streamNo].put(new TableLookupIndexReqKey(table.getName(), null, table.getName()), index);
                 hasTable = true;
                 tableSecondaryIndexLocks[streamNo] = agentInstanceContext.getStatementContext().getStatementInformationals().isWritesToTables() ?
-                        state.getTableLevelRWLock().writeLock() : state.getTableLevelRWLock().readLock();
+                        state.getTableLevelRWLock().writeLock() : state.getTableLevelReadLock();
             } else {
                 // build tables for implicit indexes
                 for (Map.Entry<TableLookupIndexReqKey, QueryPlanIndexItem> entry : items.entrySet()) {
@@ -26,6 +26,7 @@ import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexM
 import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexRepository;
 import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexRepositoryEntry;
 import com.espertech.esper.common.internal.epl.virtualdw.VirtualDWView;
+import com.espertech.esper.common.internal.event.offheap.OffHeapEventStore;
 import com.espertech.esper.common.internal.util.CollectionUtil;
 import com.espertech.esper.common.internal.view.core.ViewSupport;
 import com.espertech.esper.common.internal.view.core.Viewable;
@@ -47,12 +48,14 @@ public class NamedWindowRootViewInstance extends ViewSupport {
     private final EventTableIndexRepository indexRepository;
 
     private Iterable<EventBean> dataWindowContents;
+    private final OffHeapEventStore offHeapEventStore;
 
     public NamedWindowRootViewInstance(NamedWindowRootView rootView, AgentInstanceContext agentInstanceContext, EventTableIndexMetadata eventTableIndexMetadata) {
         this.rootView = rootView;
         this.agentInstanceContext = agentInstanceContext;
 
         this.indexRepository = new EventTableIndexRepository(eventTableIndexMetadata);
+        this.offHeapEventStore = rootView.isOffHeap() ? new OffHeapEventStore(OffHeapEventStore.DEFAULT_CHUNK_SIZE) : null;
         for (Map.Entry<IndexMultiKey, EventTableIndexMetadataEntry> entry : eventTableIndexMetadata.getIndexes().entrySet()) {
             if (entry.getValue().getOptionalQueryPlanIndexItem() != null) {
                 EventTable index = EventTableUtil.buildIndex(agentInstanceContext, 0, entry.getValue().getOptionalQueryPlanIndexItem(), rootView.getEventType(), true, entry.getKey().isUnique(), entry.getValue().getOptionalIndexName(), null, false);
@@ -93,6 +96,25 @@ public class NamedWindowRootViewInstance extends ViewSupport {
         }
     }
 
+    /**
+     * Called by tail view to indicate the events that the data window retains and no longer retains,
+     * for freeing off-heap storage of events that left the data window.
+     *
+     * @param newData new events
+     * @param oldData old events
+     */
+    public void updateOffHeap(EventBean[] newData, EventBean[] oldData) {
+        if (offHeapEventStore == null) {
+            return;
+        }
+        if (newData != null) {
+            offHeapEventStore.retain(newData);
+        }
+        if (oldData != null) {
+            offHeapEventStore.release(oldData);
+        }
+    }
+
     /**
      * Called by tail view to indicate that the data window view has new events that must be added to index tables.
      *
@@ -106,6 +128,15 @@ public class NamedWindowRootViewInstance extends ViewSupport {
 
     // Called by deletion strategy and also the insert-into for new events only
     public void update(EventBean[] newData, EventBean[] oldData) {
+        // Replace new events by events that keep their values off-heap, if so configured
+        if (offHeapEventStore != null && newData != null) {
+            EventBean[] stored = new EventBean[newData.length];
+            for (int i = 0; i < newData.length; i++) {
+                stored[i] = offHeapEventStore.store(newData[i]);
+            }
+            newData = stored;
+        }
+
         // Update indexes for fast deletion, if there are any
         if (rootView.isChildBatching()) {
             for (EventTable table : indexRepository.getTables()) {
@@ -125,6 +156,15 @@ public class NamedWindowRootViewInstance extends ViewSupport {
         return rootView.getEventType();
     }
 
+    /**
+     * Returns the store for off-heap event values, if the named window keeps values off-heap.
+     *
+     * @return store or null
+     */
+    public OffHeapEventStore getOffHeapEventStore() {
+        return offHeapEventStore;
+    }
+
     public Iterator<EventBean> iterator() {
         return null;
     }
@@ -134,6 +174,9 @@ public class NamedWindowRootViewInstance extends ViewSupport {
      */
     public void destroy() {
         indexRepository.destroy();
+        if (offHeapEventStore != null) {
+            offHeapEventStore.destroy();
+        }
         if (isVirtualDataWindow()) {
             getVirtualDataWindow().handleDestroy(agentInstanceContext.getAgentInstanceId());
         }
@@ -37,8 +37,9 @@ public class NamedWindowMetaData implements Copyable<NamedWindowMetaData> {
     private final EventType optionalEventTypeAs;
     private final boolean virtualDataWindow;
     private final EventTableIndexMetadata indexMetadata;
+    private final boolean offHeap;
 
-    public NamedWindowMetaData(EventType eventType, String namedWindowModuleName, String contextName, String[] uniqueness, boolean isChildBatching, boolean isEnableIndexShare, EventType optionalEventTypeAs, boolean virtualDataWindow) {
+    public NamedWindowMetaData(EventType eventType, String namedWindowModuleName, String contextName, String[] uniqueness, boolean isChildBatching, boolean isEnableIndexShare, EventType optionalEventTypeAs, boolean virtualDataWindow, boolean offHeap) {
         this.eventType = eventType;
         this.namedWindowModuleName = namedWindowModuleName;
         this.contextName = contextName;
@@ -48,9 +49,10 @@ public class NamedWindowMetaData implements Copyable<NamedWindowMetaData> {
         this.optionalEventTypeAs = optionalEventTypeAs;
         this.indexMetadata = new EventTableIndexMetadata();
         this.virtualDataWindow = virtualDataWindow;
+        this.offHeap = offHeap;
     }
 
-    public NamedWindowMetaData(EventType eventType, String namedWindowModuleName, String contextName, String[] uniqueness, boolean isChildBatching, boolean isEnableIndexShare, EventType optionalEventTypeAs, boolean virtualDataWindow, EventTableIndexMetadata indexMetadata) {
+    public NamedWindowMetaData(EventType eventType, String namedWindowModuleName, String contextName, String[] uniqueness, boolean isChildBatching, boolean isEnableIndexShare, EventType optionalEventTypeAs, boolean virtualDataWindow, boolean offHeap, EventTableIndexMetadata indexMetadata) {
         this.eventType = eventType;
         this.namedWindowModuleName = namedWindowModuleName;
         this.contextName = contextName;
@@ -59,11 +61,12 @@ public class NamedWindowMetaData implements Copyable<NamedWindowMetaData> {
         this.isEnableIndexShare = isEnableIndexShare;
         this.optionalEventTypeAs = optionalEventTypeAs;
         this.virtualDataWindow = virtualDataWindow;
+        this.offHeap = offHeap;
         this.indexMetadata = indexMetadata;
     }
 
     public NamedWindowMetaData copy() {
-        return new NamedWindowMetaData(eventType, namedWindowModuleName, contextName, uniqueness, isChildBatching, isEnableIndexShare, optionalEventTypeAs, virtualDataWindow, indexMetadata.copy());
+        return new NamedWindowMetaData(eventType, namedWindowModuleName, contextName, uniqueness, isChildBatching, isEnableIndexShare, optionalEventTypeAs, virtualDataWindow, offHeap, indexMetadata.copy());
     }
 
     public EventType getEventType() {
@@ -82,7 +85,7 @@ public class NamedWindowMetaData implements Copyable<NamedWindowMetaData> {
         return newInstance(NamedWindowMetaData.class, EventTypeUtility.resolveTypeCodegen(eventType, addInitSvc), constant(namedWindowModuleName), constant(contextName), constant(uniqueness),
             constant(isChildBatching), constant(isEnableIndexShare),
             optionalEventTypeAs == null ? constantNull() : EventTypeUtility.resolveTypeCodegen(optionalEventTypeAs, addInitSvc),
-            constant(virtualDataWindow));
+            constant(virtualDataWindow), constant(offHeap));
     }
 
     public Set<String> getUniquenessAsSet() {
@@ -116,6 +119,10 @@ public class NamedWindowMetaData implements Copyable<NamedWindowMetaData> {
         return virtualDataWindow;
     }
 
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
     public String getNamedWindowModuleName() {
         return namedWindowModuleName;
     }
@@ -23,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
+import java.util.concurrent.locks.Lock;
 
 public abstract class OnExprViewTableBase extends ViewSupport implements StopCallback {
     private static final Logger log = LoggerFactory.getLogger(OnExprViewTableBase.class);
@@ -58,11 +59,12 @@ public abstract class OnExprViewTableBase extends ViewSupport implements StopCal
                 tableInstance.getTableLevelRWLock().writeLock().unlock();
             }
         } else {
-            tableInstance.getTableLevelRWLock().readLock().lock();
+            Lock readLock = tableInstance.getTableLevelReadLock();
+            readLock.lock();
             try {
                 processLocked(newData);
             } finally {
-                tableInstance.getTableLevelRWLock().readLock().unlock();
+                readLock.unlock();
             }
         }
     }
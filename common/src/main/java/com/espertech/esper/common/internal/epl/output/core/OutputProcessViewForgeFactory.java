@@ -12,6 +12,7 @@ package com.espertech.esper.common.internal.epl.output.core;
 
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.annotation.AuditEnum;
+import com.espertech.esper.common.client.annotation.HintEnum;
 import com.espertech.esper.common.internal.compile.stage1.spec.*;
 import com.espertech.esper.common.internal.compile.stage2.StatementRawInfo;
 import com.espertech.esper.common.internal.compile.stage2.StatementSpecCompiled;
@@ -91,8 +92,13 @@ public class OutputProcessViewForgeFactory {
                 boolean hasOptHint = ResultSetProcessorOutputConditionType.getOutputLimitOpt(statementSpec.getAnnotations(), services.getConfiguration(), hasOrderBy);
                 ResultSetProcessorOutputConditionType conditionType = ResultSetProcessorOutputConditionType.getConditionType(outputLimitSpec.getDisplayLimit(), resultSetProcessorType.isAggregated(), hasOrderBy, hasOptHint, resultSetProcessorType.isGrouped());
 
+                boolean snapshotDelta = HintEnum.SNAPSHOT_DELTA.getHint(statementSpec.getAnnotations()) != null;
+                if (snapshotDelta) {
+                    validateSnapshotDelta(outputLimitSpec, resultSetProcessorType, streamCount, isDistinct, hasOrderBy, statementSpec);
+                }
+
                 boolean terminable = outputLimitSpec.getRateType() == OutputLimitRateType.TERM || outputLimitSpec.isAndAfterTerminate();
-                outputProcessViewFactoryForge = new OutputProcessViewConditionForge(outputStrategyPostProcessForge, isDistinct, outputLimitSpec.getAfterTimePeriodExpr(), outputLimitSpec.getAfterNumberOfEvents(), outputConditionFactoryForge, streamCount, conditionType, terminable, hasAfter, resultSetProcessorType.isUnaggregatedUngrouped(), selectStreamSelector, typesPerStream, resultEventType);
+                outputProcessViewFactoryForge = new OutputProcessViewConditionForge(outputStrategyPostProcessForge, isDistinct, outputLimitSpec.getAfterTimePeriodExpr(), outputLimitSpec.getAfterNumberOfEvents(), outputConditionFactoryForge, streamCount, conditionType, terminable, hasAfter, resultSetProcessorType.isUnaggregatedUngrouped(), selectStreamSelector, typesPerStream, resultEventType, snapshotDelta);
             } catch (Exception ex) {
                 throw new ExprValidationException("Error in the output rate limiting clause: " + ex.getMessage(), ex);
             }
@@ -104,6 +110,19 @@ public class OutputProcessViewForgeFactory {
         return null;
     }
 
+    private static void validateSnapshotDelta(OutputLimitSpec outputLimitSpec, ResultSetProcessorType resultSetProcessorType, int streamCount, boolean isDistinct, boolean hasOrderBy, StatementSpecCompiled statementSpec) throws ExprValidationException {
+        String message = "Hint '" + HintEnum.SNAPSHOT_DELTA.getValue() + "' requires ";
+        if (outputLimitSpec.getDisplayLimit() != OutputLimitLimitType.SNAPSHOT) {
+            throw new ExprValidationException(message + "output snapshot");
+        }
+        if (resultSetProcessorType != ResultSetProcessorType.FULLYAGGREGATED_GROUPED) {
+            throw new ExprValidationException(message + "a fully-aggregated and grouped select-clause without rollup");
+        }
+        if (streamCount != 1 || isDistinct || hasOrderBy || statementSpec.getRaw().getRowLimitSpec() != null) {
+            throw new ExprValidationException(message + "a single stream and does not allow join, distinct, order-by or row limit");
+        }
+    }
+
     private static boolean hasOnlyTables(StreamSpecCompiled[] streamSpecs) {
         if (streamSpecs.length == 0) {
             return false;
@@ -33,6 +33,7 @@ public class OutputProcessViewConditionFactory extends OutputProcessViewDirectDi
     private final boolean isUnaggregatedUngrouped;
     private final SelectClauseStreamSelectorEnum selectClauseStreamSelectorEnum;
     private final EventType[] eventTypes;
+    private final boolean snapshotDelta;
 
     public OutputProcessViewConditionFactory(OutputProcessViewConditionSpec spec) {
         super(spec.getPostProcessFactory(), spec.isDistinct(), spec.getAfterTimePeriod(), spec.getAfterConditionNumberOfEvents(), spec.getResultEventType());
@@ -44,6 +45,7 @@ public class OutputProcessViewConditionFactory extends OutputProcessViewDirectDi
         this.isUnaggregatedUngrouped = spec.isUnaggregatedUngrouped();
         this.selectClauseStreamSelectorEnum = spec.getSelectClauseStreamSelector();
         this.eventTypes = spec.getEventTypes();
+        this.snapshotDelta = spec.isSnapshotDelta();
     }
 
     @Override
@@ -61,7 +63,13 @@ public class OutputProcessViewConditionFactory extends OutputProcessViewDirectDi
             afterConditionTime = time + delta;
         }
 
-        if (conditionType == ResultSetProcessorOutputConditionType.SNAPSHOT) {
+        if (conditionType == ResultSetProcessorOutputConditionType.SNAPSHOT && snapshotDelta) {
+            if (super.postProcessFactory == null) {
+                return new OutputProcessViewConditionSnapshotDelta(resultSetProcessor, afterConditionTime, afterConditionNumberOfEvents, isAfterConditionSatisfied, this, agentInstanceContext);
+            }
+            OutputStrategyPostProcess postProcess = postProcessFactory.make(agentInstanceContext);
+            return new OutputProcessViewConditionSnapshotDeltaPostProcess(resultSetProcessor, afterConditionTime, afterConditionNumberOfEvents, isAfterConditionSatisfied, this, agentInstanceContext, postProcess);
+        } else if (conditionType == ResultSetProcessorOutputConditionType.SNAPSHOT) {
             if (super.postProcessFactory == null) {
                 return new OutputProcessViewConditionSnapshot(resultSetProcessor, afterConditionTime, afterConditionNumberOfEvents, isAfterConditionSatisfied, this, agentInstanceContext);
             }
@@ -43,8 +43,9 @@ public class OutputProcessViewConditionForge implements OutputProcessViewFactory
     private final SelectClauseStreamSelectorEnum selectClauseStreamSelector;
     private final EventType[] eventTypes;
     private final EventType resultEventType;
+    private final boolean snapshotDelta;
 
-    public OutputProcessViewConditionForge(OutputStrategyPostProcessForge outputStrategyPostProcessForge, boolean isDistinct, ExprTimePeriod afterTimePeriodExpr, Integer afterNumberOfEvents, OutputConditionFactoryForge outputConditionFactoryForge, int streamCount, ResultSetProcessorOutputConditionType conditionType, boolean terminable, boolean hasAfter, boolean unaggregatedUngrouped, SelectClauseStreamSelectorEnum selectClauseStreamSelector, EventType[] eventTypes, EventType resultEventType) {
+    public OutputProcessViewConditionForge(OutputStrategyPostProcessForge outputStrategyPostProcessForge, boolean isDistinct, ExprTimePeriod afterTimePeriodExpr, Integer afterNumberOfEvents, OutputConditionFactoryForge outputConditionFactoryForge, int streamCount, ResultSetProcessorOutputConditionType conditionType, boolean terminable, boolean hasAfter, boolean unaggregatedUngrouped, SelectClauseStreamSelectorEnum selectClauseStreamSelector, EventType[] eventTypes, EventType resultEventType, boolean snapshotDelta) {
         this.outputStrategyPostProcessForge = outputStrategyPostProcessForge;
         this.isDistinct = isDistinct;
         this.afterTimePeriodExpr = afterTimePeriodExpr;
@@ -58,6 +59,7 @@ public class OutputProcessViewConditionForge implements OutputProcessViewFactory
         this.selectClauseStreamSelector = selectClauseStreamSelector;
         this.eventTypes = eventTypes;
         this.resultEventType = resultEventType;
+        this.snapshotDelta = snapshotDelta;
     }
 
     public boolean isCodeGenerated() {
@@ -81,6 +83,7 @@ public class OutputProcessViewConditionForge implements OutputProcessViewFactory
                 .exprDotMethod(spec, "setAfterConditionNumberOfEvents", constant(afterNumberOfEvents))
                 .exprDotMethod(spec, "setUnaggregatedUngrouped", constant(unaggregatedUngrouped))
                 .exprDotMethod(spec, "setEventTypes", EventTypeUtility.resolveTypeArrayCodegen(eventTypes, EPStatementInitServices.REF))
+                .exprDotMethod(spec, "setSnapshotDelta", constant(snapshotDelta))
                 .methodReturn(newInstance(OutputProcessViewConditionFactory.class, spec));
     }
 
@@ -0,0 +1,133 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.output.view;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.UniformPair;
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationService;
+import com.espertech.esper.common.internal.epl.output.core.OutputProcessViewConditionSnapshot;
+import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessor;
+import com.espertech.esper.common.internal.epl.resultset.rowpergroup.ResultSetProcessorRowPerGroup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A view that handles the "output snapshot" keyword in output rate stabilizing for a fully-aggregated and grouped
+ * result set with the SNAPSHOT_DELTA hint.
+ * <p>
+ * Tracks the group keys that changed since the last output and, when the output condition is met, outputs only the rows
+ * for changed groups rather than the complete snapshot. Groups that no longer have events, or that no longer pass
+ * the having-clause, are output as remove stream events, provided the statement selects the remove stream.
+ */
+public class OutputProcessViewConditionSnapshotDelta extends OutputProcessViewConditionSnapshot {
+    private final ResultSetProcessorRowPerGroup groupProcessor;
+    private final EventBean[] eventsPerStream = new EventBean[1];
+    private final Map<Object, GroupState> groups = new HashMap<>();
+    private final Set<Object> dirtyKeys = new LinkedHashSet<>();
+
+    public OutputProcessViewConditionSnapshotDelta(ResultSetProcessor resultSetProcessor, Long afterConditionTime, Integer afterConditionNumberOfEvents, boolean afterConditionSatisfied, OutputProcessViewConditionFactory parent, AgentInstanceContext agentInstanceContext) {
+        super(resultSetProcessor, afterConditionTime, afterConditionNumberOfEvents, afterConditionSatisfied, parent, agentInstanceContext);
+        this.groupProcessor = (ResultSetProcessorRowPerGroup) resultSetProcessor;
+    }
+
+    @Override
+    public void update(EventBean[] newData, EventBean[] oldData) {
+        if (newData != null) {
+            for (EventBean theEvent : newData) {
+                eventsPerStream[0] = theEvent;
+                Object groupKey = groupProcessor.generateGroupKeySingle(eventsPerStream, true);
+                GroupState state = groups.get(groupKey);
+                if (state == null) {
+                    state = new GroupState();
+                    groups.put(groupKey, state);
+                }
+                state.count++;
+                state.representative = theEvent;
+                dirtyKeys.add(groupKey);
+            }
+        }
+        if (oldData != null) {
+            for (EventBean theEvent : oldData) {
+                eventsPerStream[0] = theEvent;
+                Object groupKey = groupProcessor.generateGroupKeySingle(eventsPerStream, false);
+                GroupState state = groups.get(groupKey);
+                if (state != null) {
+                    state.count--;
+                    dirtyKeys.add(groupKey);
+                }
+            }
+        }
+        eventsPerStream[0] = null;
+        super.update(newData, oldData);
+    }
+
+    @Override
+    protected void continueOutputProcessingView(boolean doOutput, boolean forceUpdate) {
+        if (dirtyKeys.isEmpty()) {
+            if (doOutput) {
+                output(forceUpdate, new UniformPair<>(null, null));
+            }
+            return;
+        }
+
+        AggregationService aggregationService = groupProcessor.getAggregationService();
+        int agentInstanceId = agentInstanceContext.getAgentInstanceId();
+        boolean selectRStream = groupProcessor.isSelectRStream();
+        List<EventBean> changed = new ArrayList<>(dirtyKeys.size());
+        List<EventBean> removed = selectRStream ? new ArrayList<>(4) : null;
+
+        for (Object groupKey : dirtyKeys) {
+            GroupState state = groups.get(groupKey);
+            EventBean row = null;
+            if (state.count > 0) {
+                eventsPerStream[0] = state.representative;
+                aggregationService.setCurrentAccess(groupKey, agentInstanceId, null);
+                if (!groupProcessor.hasHavingClause() || groupProcessor.evaluateHavingClause(eventsPerStream, true, agentInstanceContext)) {
+                    row = groupProcessor.getSelectExprProcessor().process(eventsPerStream, true, true, agentInstanceContext);
+                }
+            } else {
+                groups.remove(groupKey);
+            }
+
+            if (row != null) {
+                changed.add(row);
+            } else if (state.lastOutput != null && removed != null) {
+                removed.add(state.lastOutput);
+            }
+            state.lastOutput = row;
+        }
+        dirtyKeys.clear();
+        eventsPerStream[0] = null;
+
+        if (doOutput) {
+            EventBean[] newEvents = changed.isEmpty() ? null : changed.toArray(new EventBean[changed.size()]);
+            EventBean[] oldEvents = removed == null || removed.isEmpty() ? null : removed.toArray(new EventBean[removed.size()]);
+            output(forceUpdate, new UniformPair<>(newEvents, oldEvents));
+        }
+    }
+
+    @Override
+    public int getNumChangesetRows() {
+        return dirtyKeys.size();
+    }
+
+    private static class GroupState {
+        private int count;
+        private EventBean representative;
+        private EventBean lastOutput;
+    }
+}
@@ -33,6 +33,7 @@ public class OutputProcessViewConditionSpec {
     private TimePeriodCompute afterTimePeriod;
     private Integer afterConditionNumberOfEvents;
     private EventType[] eventTypes;
+    private boolean snapshotDelta;
 
     public OutputConditionFactory getOutputConditionFactory() {
         return outputConditionFactory;
@@ -137,4 +138,12 @@ public class OutputProcessViewConditionSpec {
     public void setEventTypes(EventType[] eventTypes) {
         this.eventTypes = eventTypes;
     }
+
+    public boolean isSnapshotDelta() {
+        return snapshotDelta;
+    }
+
+    public void setSnapshotDelta(boolean snapshotDelta) {
+        this.snapshotDelta = snapshotDelta;
+    }
 }
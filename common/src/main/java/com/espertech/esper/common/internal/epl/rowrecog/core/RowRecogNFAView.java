@@ -649,8 +649,11 @@ public class RowRecogNFAView extends ViewSupport implements AgentInstanceStopCal
                 poolSvc.getStmtHandler().decreaseCount();
             }
 
+            // the event arrays may be shared with other entries, and a shared array is only copied when this entry matches
             EventBean[] eventsPerStream = currentState.getEventsPerStream();
+            boolean shared = currentState.isShared();
             int currentStateStreamNum = currentState.getState().getStreamNum();
+            EventBean priorEvent = eventsPerStream[currentStateStreamNum];
             eventsPerStream[currentStateStreamNum] = theEvent;
             if (rowRecogDesc.isDefineAsksMultimatches()) {
                 eventsPerStream[rowRecogDesc.getNumEventsEventsPerStreamDefine() - 1] = getMultimatchState(currentState);
@@ -661,37 +664,43 @@ public class RowRecogNFAView extends ViewSupport implements AgentInstanceStopCal
                     this.windowMatchedEventset.add(theEvent);
                 }
                 RowRecogNFAState[] nextStatesFromHere = currentState.getState().getNextStates();
+                boolean greedy = (currentState.getState().isGreedy() != null) && (currentState.getState().isGreedy());
+                int[] greedyCounts = currentState.getGreedycountPerState();
+
+                if (shared) {
+                    EventBean[] eventsCopy = new EventBean[eventsPerStream.length];
+                    System.arraycopy(eventsPerStream, 0, eventsCopy, 0, eventsCopy.length);
+                    eventsPerStream[currentStateStreamNum] = priorEvent;
+                    eventsPerStream = eventsCopy;
+
+                    int[] greedyCountsCopy = new int[greedyCounts.length];
+                    System.arraycopy(greedyCounts, 0, greedyCountsCopy, 0, greedyCounts.length);
+                    greedyCounts = greedyCountsCopy;
+                }
 
-                // save state for each next state
-                boolean copy = nextStatesFromHere.length > 1;
-                for (RowRecogNFAState next : nextStatesFromHere) {
-                    EventBean[] eventsForState = eventsPerStream;
-                    RowRecogMultimatchState[] multimatches = currentState.getOptionalMultiMatches();
-                    int[] greedyCounts = currentState.getGreedycountPerState();
-
-                    if (copy) {
-                        eventsForState = new EventBean[eventsForState.length];
-                        System.arraycopy(eventsPerStream, 0, eventsForState, 0, eventsForState.length);
+                boolean multiple = rowRecogDesc.isCollectMultimatches() && (currentState.getState().isMultiple());
+                if (multiple) {
+                    eventsPerStream[currentStateStreamNum] = null; // remove event from evaluation list
+                }
 
-                        int[] greedyCountsCopy = new int[greedyCounts.length];
-                        System.arraycopy(greedyCounts, 0, greedyCountsCopy, 0, greedyCounts.length);
-                        greedyCounts = greedyCountsCopy;
+                if (greedy) {
+                    greedyCounts[currentState.getState().getNodeNumFlat()]++;
+                }
 
-                        if (rowRecogDesc.isCollectMultimatches()) {
-                            multimatches = deepCopy(multimatches);
-                        }
+                // save state for each next state, sharing the event arrays when branching
+                boolean branch = nextStatesFromHere.length > 1;
+                for (RowRecogNFAState next : nextStatesFromHere) {
+                    RowRecogMultimatchState[] multimatches = currentState.getOptionalMultiMatches();
+                    if (branch && rowRecogDesc.isCollectMultimatches()) {
+                        multimatches = deepCopy(multimatches);
                     }
 
-                    if (rowRecogDesc.isCollectMultimatches() && (currentState.getState().isMultiple())) {
+                    if (multiple) {
                         multimatches = addTag(currentState.getState().getStreamNum(), theEvent, multimatches);
-                        eventsForState[currentStateStreamNum] = null; // remove event from evaluation list
-                    }
-
-                    if ((currentState.getState().isGreedy() != null) && (currentState.getState().isGreedy())) {
-                        greedyCounts[currentState.getState().getNodeNumFlat()]++;
                     }
 
-                    RowRecogNFAStateEntry entry = new RowRecogNFAStateEntry(currentState.getMatchBeginEventSeqNo(), currentState.getMatchBeginEventTime(), currentState.getState(), eventsForState, greedyCounts, multimatches, partitionKey);
+                    RowRecogNFAStateEntry entry = new RowRecogNFAStateEntry(currentState.getMatchBeginEventSeqNo(), currentState.getMatchBeginEventTime(), currentState.getState(), eventsPerStream, greedyCounts, multimatches, partitionKey);
+                    entry.setShared(branch);
                     if (next instanceof RowRecogNFAStateEndEval) {
                         entry.setMatchEndEventSeqNo(currentEventSequenceNumber);
                         endStates.add(entry);
@@ -715,8 +724,17 @@ public class RowRecogNFAView extends ViewSupport implements AgentInstanceStopCal
                 // when not-matches
                 agentInstanceContext.getInstrumentationProvider().aRegExState(Collections.<RowRecogNFAStateEntry>emptyList(), factory.getDesc().getVariableStreams(), factory.getDesc().getMultimatchStreamNumToVariable());
 
+                if (shared) {
+                    eventsPerStream[currentStateStreamNum] = priorEvent;
+                }
+
                 // determine interval and or-terminated
                 if (rowRecogDesc.isOrTerminated()) {
+                    if (shared) {
+                        EventBean[] eventsCopy = new EventBean[eventsPerStream.length];
+                        System.arraycopy(eventsPerStream, 0, eventsCopy, 0, eventsCopy.length);
+                        eventsPerStream = eventsCopy;
+                    }
                     eventsPerStream[currentStateStreamNum] = null;  // deassign
                     RowRecogNFAState[] nextStatesFromHere = currentState.getState().getNextStates();
 
@@ -752,8 +770,23 @@ public class RowRecogNFAView extends ViewSupport implements AgentInstanceStopCal
                 }
                 RowRecogNFAState[] nextStatesFromHere = startState.getNextStates();
 
-                // save state for each next state
-                boolean copy = nextStatesFromHere.length > 1;
+                boolean multiple = rowRecogDesc.isCollectMultimatches() && (startState.isMultiple());
+                if (multiple) {
+                    eventsPerStream[currentStateStreamNum] = null; // remove event from evaluation list
+                }
+
+                int[] greedyCounts = new int[factory.getAllStates().length];
+                if ((startState.isGreedy() != null) && (startState.isGreedy())) {
+                    greedyCounts[startState.getNodeNumFlat()]++;
+                }
+
+                long time = 0;
+                if (rowRecogDesc.isHasInterval()) {
+                    time = agentInstanceContext.getStatementContext().getSchedulingService().getTime();
+                }
+
+                // save state for each next state, sharing the event arrays when branching
+                boolean branch = nextStatesFromHere.length > 1;
                 for (RowRecogNFAState next : nextStatesFromHere) {
 
                     if (factory.isTrackMaxStates() && !skipTrackMaxState) {
@@ -765,34 +798,13 @@ public class RowRecogNFAView extends ViewSupport implements AgentInstanceStopCal
                         poolSvc.getStmtHandler().increaseCount();
                     }
 
-                    EventBean[] eventsForState = eventsPerStream;
                     RowRecogMultimatchState[] multimatches = rowRecogDesc.isCollectMultimatches() ? new RowRecogMultimatchState[rowRecogDesc.getMultimatchVariablesArray().length] : null;
-                    int[] greedyCounts = new int[factory.getAllStates().length];
-
-                    if (copy) {
-                        eventsForState = new EventBean[eventsForState.length];
-                        System.arraycopy(eventsPerStream, 0, eventsForState, 0, eventsForState.length);
-
-                        int[] greedyCountsCopy = new int[greedyCounts.length];
-                        System.arraycopy(greedyCounts, 0, greedyCountsCopy, 0, greedyCounts.length);
-                        greedyCounts = greedyCountsCopy;
-                    }
-
-                    if (rowRecogDesc.isCollectMultimatches() && (startState.isMultiple())) {
+                    if (multiple) {
                         multimatches = addTag(startState.getStreamNum(), theEvent, multimatches);
-                        eventsForState[currentStateStreamNum] = null; // remove event from evaluation list
-                    }
-
-                    if ((startState.isGreedy() != null) && (startState.isGreedy())) {
-                        greedyCounts[startState.getNodeNumFlat()]++;
                     }
 
-                    long time = 0;
-                    if (rowRecogDesc.isHasInterval()) {
-                        time = agentInstanceContext.getStatementContext().getSchedulingService().getTime();
-                    }
-
-                    RowRecogNFAStateEntry entry = new RowRecogNFAStateEntry(currentEventSequenceNumber, time, startState, eventsForState, greedyCounts, multimatches, partitionKey);
+                    RowRecogNFAStateEntry entry = new RowRecogNFAStateEntry(currentEventSequenceNumber, time, startState, eventsPerStream, greedyCounts, multimatches, partitionKey);
+                    entry.setShared(branch);
                     if (next instanceof RowRecogNFAStateEndEval) {
                         entry.setMatchEndEventSeqNo(currentEventSequenceNumber);
                         endStates.add(entry);
@@ -902,6 +914,10 @@ public class RowRecogNFAView extends ViewSupport implements AgentInstanceStopCal
 
                 if (aggregationServices != null && aggregationServices[streamNum] != null) {
                     EventBean[] eventsPerStream = entry.getEventsPerStream();
+                    if (entry.isShared()) {
+                        eventsPerStream = new EventBean[eventsPerStream.length];
+                        System.arraycopy(entry.getEventsPerStream(), 0, eventsPerStream, 0, eventsPerStream.length);
+                    }
 
                     for (EventBean multimatchEvent : multimatchEvents) {
                         eventsPerStream[streamNum] = multimatchEvent;
@@ -25,6 +25,7 @@ public class RowRecogNFAStateEntry {
     private final RowRecogMultimatchState[] optionalMultiMatches;
     private final Object partitionKey;
     private int matchEndEventSeqNo;
+    private boolean shared;
 
     /**
      * Ctor.
@@ -141,4 +142,23 @@ public class RowRecogNFAStateEntry {
     public void setState(RowRecogNFAState state) {
         this.state = state;
     }
+
+    /**
+     * Returns indicator whether the events-per-stream and greedy-count arrays may be shared with other entries
+     * and must be copied before modifying.
+     *
+     * @return shared indicator
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Sets indicator whether the events-per-stream and greedy-count arrays may be shared with other entries.
+     *
+     * @param shared shared indicator
+     */
+    public void setShared(boolean shared) {
+        this.shared = shared;
+    }
 }
@@ -116,6 +116,14 @@ public interface StreamTypeService {
      */
     public boolean[] getIStreamOnly();
 
+    /**
+     * Returns true for each stream whose data window removes events in the same order that they arrived,
+     * such as a single length or time window.
+     *
+     * @return true for first-in-first-out windowed streams
+     */
+    public boolean[] getRemoveInArrivalOrder();
+
     public int getStreamNumForStreamName(String streamWildcard);
 
     public boolean isOnDemandStreams();
@@ -29,6 +29,7 @@ public class StreamTypeServiceImpl implements StreamTypeService {
     private final EventType[] eventTypes;
     private final String[] streamNames;
     private final boolean[] isIStreamOnly;
+    private boolean[] isRemoveInArrivalOrder;
     private boolean isStreamZeroUnambigous;
     private boolean requireStreamNames;
     private boolean isOnDemandStreams;
@@ -68,6 +69,7 @@ public class StreamTypeServiceImpl implements StreamTypeService {
         this.eventTypes = eventTypes;
         this.streamNames = streamNames;
         this.isIStreamOnly = isIStreamOnly;
+        this.isRemoveInArrivalOrder = new boolean[eventTypes.length];
         this.isOnDemandStreams = isOnDemandStreams;
         this.optionalStreams = optionalStreams;
 
@@ -89,6 +91,7 @@ public class StreamTypeServiceImpl implements StreamTypeService {
         this.isStreamZeroUnambigous = isStreamZeroUnambigous;
         this.requireStreamNames = requireStreamNames;
         this.isIStreamOnly = new boolean[namesAndTypes.size()];
+        this.isRemoveInArrivalOrder = new boolean[namesAndTypes.size()];
         eventTypes = new EventType[namesAndTypes.size()];
         streamNames = new String[namesAndTypes.size()];
         int count = 0;
@@ -137,6 +140,19 @@ public class StreamTypeServiceImpl implements StreamTypeService {
         return isIStreamOnly;
     }
 
+    public boolean[] getRemoveInArrivalOrder() {
+        return isRemoveInArrivalOrder;
+    }
+
+    /**
+     * Sets, for each stream, whether the stream's data window removes events in the order they arrived.
+     *
+     * @param removeInArrivalOrder true for each stream with a first-in-first-out data window
+     */
+    public void setRemoveInArrivalOrder(boolean[] removeInArrivalOrder) {
+        this.isRemoveInArrivalOrder = removeInArrivalOrder;
+    }
+
     public boolean getOptionalStreams() {
         return optionalStreams;
     }
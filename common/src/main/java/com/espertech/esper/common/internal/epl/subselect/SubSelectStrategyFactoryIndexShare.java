@@ -112,7 +112,7 @@ public class SubSelectStrategyFactoryIndexShare implements SubSelectStrategyFact
         } else {
             TableInstance instance = table.getTableInstance(agentInstanceContext.getAgentInstanceId());
             Lock lock = agentInstanceContext.getStatementContext().getStatementInformationals().isWritesToTables() ?
-                    instance.getTableLevelRWLock().writeLock() : instance.getTableLevelRWLock().readLock();
+                    instance.getTableLevelRWLock().writeLock() : instance.getTableLevelReadLock();
             if (queryPlan == null) {
                 subqueryLookup = new SubordFullTableScanTableLookupStrategy(lock, instance.getIterableTableScan());
             } else {
@@ -45,6 +45,7 @@ public class TableMetaData implements Copyable<TableMetaData> {
     private int[] keyColNums;
     private Map<String, TableMetadataColumn> columns;
     private int numMethodAggs;
+    private int lockStripes;
     private IndexMultiKey keyIndexMultiKey;
     private EventTableIndexMetadata indexMetadata = new EventTableIndexMetadata();
 
@@ -68,7 +69,7 @@ public class TableMetaData implements Copyable<TableMetaData> {
         init();
     }
 
-    private TableMetaData(String tableName, String tableModuleName, NameAccessModifier tableVisibility, String optionalContextName, NameAccessModifier optionalContextVisibility, String optionalContextModule, EventType internalEventType, EventType publicEventType, String[] keyColumns, Class[] keyTypes, int[] keyColNums, Map<String, TableMetadataColumn> columns, int numMethodAggs, IndexMultiKey keyIndexMultiKey, EventTableIndexMetadata indexMetadata) {
+    private TableMetaData(String tableName, String tableModuleName, NameAccessModifier tableVisibility, String optionalContextName, NameAccessModifier optionalContextVisibility, String optionalContextModule, EventType internalEventType, EventType publicEventType, String[] keyColumns, Class[] keyTypes, int[] keyColNums, Map<String, TableMetadataColumn> columns, int numMethodAggs, int lockStripes, IndexMultiKey keyIndexMultiKey, EventTableIndexMetadata indexMetadata) {
         this.tableName = tableName;
         this.tableModuleName = tableModuleName;
         this.tableVisibility = tableVisibility;
@@ -82,13 +83,14 @@ public class TableMetaData implements Copyable<TableMetaData> {
         this.keyColNums = keyColNums;
         this.columns = columns;
         this.numMethodAggs = numMethodAggs;
+        this.lockStripes = lockStripes;
         this.keyIndexMultiKey = keyIndexMultiKey;
         this.indexMetadata = indexMetadata;
     }
 
     public TableMetaData copy() {
         return new TableMetaData(tableName, tableModuleName, tableVisibility, optionalContextName, optionalContextVisibility, optionalContextModule,
-            internalEventType, publicEventType, keyColumns, keyTypes, keyColNums, columns, numMethodAggs, keyIndexMultiKey, indexMetadata.copy());
+            internalEventType, publicEventType, keyColumns, keyTypes, keyColNums, columns, numMethodAggs, lockStripes, keyIndexMultiKey, indexMetadata.copy());
     }
 
     public void init() {
@@ -125,6 +127,7 @@ public class TableMetaData implements Copyable<TableMetaData> {
             .exprDotMethod(ref("meta"), "setKeyColNums", constant(keyColNums))
             .exprDotMethod(ref("meta"), "setColumns", TableMetadataColumn.makeColumns(columns, method, symbols, classScope))
             .exprDotMethod(ref("meta"), "setNumMethodAggs", constant(numMethodAggs))
+            .exprDotMethod(ref("meta"), "setLockStripes", constant(lockStripes))
             .exprDotMethod(ref("meta"), "init")
             .methodReturn(ref("meta"));
         return localMethod(method);
@@ -209,6 +212,14 @@ public class TableMetaData implements Copyable<TableMetaData> {
         return numMethodAggs;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public void setKeyColumns(String[] keyColumns) {
         this.keyColumns = keyColumns;
     }
@@ -19,6 +19,7 @@ import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexR
 import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
 
 import java.util.Collection;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
 public interface TableInstance {
@@ -54,6 +55,14 @@ public interface TableInstance {
 
     ReadWriteLock getTableLevelRWLock();
 
+    /**
+     * Returns the lock for reading any rows of the table, such as for joins, subqueries, on-select and fire-and-forget queries.
+     * This is the table-level read lock unless the table locks rows individually.
+     *
+     * @return lock for reading rows
+     */
+    Lock getTableLevelReadLock();
+
     void handleRowUpdateKeyBeforeUpdate(ObjectArrayBackedEventBean updatedEvent);
 
     void handleRowUpdateKeyAfterUpdate(ObjectArrayBackedEventBean updatedEvent);
@@ -16,6 +16,7 @@ import com.espertech.esper.common.internal.epl.agg.core.AggregationRow;
 import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexRepository;
 import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
 
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -57,4 +58,8 @@ public abstract class TableInstanceBase implements TableInstance {
     public ReadWriteLock getTableLevelRWLock() {
         return tableLevelRWLock;
     }
+
+    public Lock getTableLevelReadLock() {
+        return tableLevelRWLock.readLock();
+    }
 }
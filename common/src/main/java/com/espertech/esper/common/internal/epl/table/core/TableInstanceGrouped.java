@@ -14,6 +14,7 @@ import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorCont
 import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
 
 import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
 
 public interface TableInstanceGrouped extends TableInstance {
     ObjectArrayBackedEventBean getRowForGroupKey(Object groupKey);
@@ -25,4 +26,21 @@ public interface TableInstanceGrouped extends TableInstance {
     Set<Object> getGroupKeys();
 
     Table getTable();
+
+    /**
+     * Returns true when aggregating into the table locks the affected rows individually,
+     * under the shared table-level read lock, instead of obtaining the table-level write lock.
+     *
+     * @return row locking indicator
+     */
+    boolean isRowLocking();
+
+    /**
+     * Returns the lock for the row of the group key, applicable only when row locking:
+     * aggregating into the row takes the write lock and reading the row takes the read lock.
+     *
+     * @param groupKey group key
+     * @return row lock
+     */
+    ReadWriteLock getRowLock(Object groupKey);
 }
@@ -24,15 +24,19 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
 
 public class TableInstanceGroupedImpl extends TableInstanceGroupedBase implements TableInstanceGrouped {
 
     private final Map<Object, ObjectArrayBackedEventBean> rows;
 
     public TableInstanceGroupedImpl(Table table, AgentInstanceContext agentInstanceContext) {
+        this(table, agentInstanceContext, (PropertyHashedEventTableUnique) table.getPrimaryIndexFactory().makeEventTables(agentInstanceContext, null)[0]);
+    }
+
+    protected TableInstanceGroupedImpl(Table table, AgentInstanceContext agentInstanceContext, PropertyHashedEventTableUnique eventTable) {
         super(table, agentInstanceContext);
 
-        PropertyHashedEventTableUnique eventTable = (PropertyHashedEventTableUnique) table.getPrimaryIndexFactory().makeEventTables(agentInstanceContext, null)[0];
         rows = (Map<Object, ObjectArrayBackedEventBean>) (Map) eventTable.getPropertyIndex();
         indexRepository.addIndex(table.getMetaData().getKeyIndexMultiKey(), new EventTableIndexRepositoryEntry(table.getMetaData().getTableName(), table.getMetaData().getTableModuleName(), eventTable));
     }
@@ -98,6 +102,14 @@ public class TableInstanceGroupedImpl extends TableInstanceGroupedBase implement
         return rows.keySet();
     }
 
+    public boolean isRowLocking() {
+        return false;
+    }
+
+    public ReadWriteLock getRowLock(Object groupKey) {
+        return null;
+    }
+
     public void handleRowUpdated(ObjectArrayBackedEventBean updatedEvent) {
         if (agentInstanceContext.getInstrumentationProvider().activated()) {
             agentInstanceContext.getInstrumentationProvider().qTableUpdatedEvent(updatedEvent);
@@ -0,0 +1,111 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.table.core;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.ConcurrentHashMapNullKey;
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.epl.index.hash.PropertyHashedEventTableUnique;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Grouped table instance for tables declared with lock stripes: rows are kept in a concurrent map
+ * and aggregating into the table write-locks the stripe of the row's group key, so that distinct keys can be updated in parallel.
+ * <p>
+ * Rows are only locked individually while the primary key index is the only index of the table,
+ * since other indexes are not safe for concurrent update.
+ * <p>
+ * Since aggregating into a row holds only the table-level read lock and the row's stripe write lock, readers of individual rows
+ * read-lock the row's stripe while reading the row. Readers of any rows, such as joins and subqueries, obtain
+ * the table-level read lock and the read locks of all stripes, in stripe order, so that readers do not exclude each other
+ * and no reader needs to upgrade to the table-level write lock.
+ */
+public class TableInstanceGroupedStripedImpl extends TableInstanceGroupedImpl {
+    private final ReadWriteLock[] stripes;
+    private final int mask;
+    private final Lock readLockAllRows = new ReadLockAllRows();
+
+    public TableInstanceGroupedStripedImpl(Table table, AgentInstanceContext agentInstanceContext, int numStripes) {
+        super(table, agentInstanceContext, new PropertyHashedEventTableUnique(table.getPrimaryIndexFactory(), new ConcurrentHashMapNullKey<Object, EventBean>()));
+        int size = 1;
+        while (size < numStripes) {
+            size <<= 1;
+        }
+        stripes = new ReadWriteLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+        mask = size - 1;
+    }
+
+    public boolean isRowLocking() {
+        return indexRepository.getTables().size() == 1;
+    }
+
+    public ReadWriteLock getRowLock(Object groupKey) {
+        if (groupKey == null) {
+            return stripes[0];
+        }
+        int hash = groupKey.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & mask];
+    }
+
+    public Lock getTableLevelReadLock() {
+        return readLockAllRows;
+    }
+
+    /**
+     * Returns the number of lock stripes.
+     *
+     * @return stripe count
+     */
+    public int getNumStripes() {
+        return stripes.length;
+    }
+
+    private class ReadLockAllRows implements Lock {
+        public void lock() {
+            getTableLevelRWLock().readLock().lock();
+            for (ReadWriteLock stripe : stripes) {
+                stripe.readLock().lock();
+            }
+        }
+
+        public void unlock() {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].readLock().unlock();
+            }
+            getTableLevelRWLock().readLock().unlock();
+        }
+
+        public void lockInterruptibly() {
+            throw new UnsupportedOperationException();
+        }
+
+        public boolean tryLock() {
+            throw new UnsupportedOperationException();
+        }
+
+        public boolean tryLock(long time, TimeUnit unit) {
+            throw new UnsupportedOperationException();
+        }
+
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -33,6 +33,9 @@ public class TableManagementServiceImpl extends TableManagementServiceBase {
         if (!table.getMetaData().isKeyed()) {
             return new TableInstanceUngroupedImpl(table, agentInstanceContext);
         }
+        if (table.getMetaData().getLockStripes() > 0) {
+            return new TableInstanceGroupedStripedImpl(table, agentInstanceContext, table.getMetaData().getLockStripes());
+        }
         return new TableInstanceGroupedImpl(table, agentInstanceContext);
     }
 }
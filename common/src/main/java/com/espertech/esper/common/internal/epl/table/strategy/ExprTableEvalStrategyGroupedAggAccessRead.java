@@ -11,10 +11,11 @@
 package com.espertech.esper.common.internal.epl.table.strategy;
 
 import com.espertech.esper.common.client.EventBean;
-import com.espertech.esper.common.internal.epl.agg.core.AggregationRow;
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 
 import java.util.Collection;
+import java.util.concurrent.locks.Lock;
 
 public class ExprTableEvalStrategyGroupedAggAccessRead extends ExprTableEvalStrategyGroupedBase {
 
@@ -23,23 +24,59 @@ public class ExprTableEvalStrategyGroupedAggAccessRead extends ExprTableEvalStra
     }
 
     public Object evaluate(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
-        AggregationRow aggs = getRow(eventsPerStream, isNewData, exprEvaluatorContext);
-        return aggs == null ? null : factory.getAggregationMethod().getValue(factory.getAggColumnNum(), aggs, eventsPerStream, isNewData, exprEvaluatorContext);
+        Object groupKey = getGroupKey(eventsPerStream, isNewData, exprEvaluatorContext);
+        ObjectArrayBackedEventBean row = lockTableReadAndGet(groupKey, exprEvaluatorContext);
+        if (row == null) {
+            return null;
+        }
+        Lock rowLock = lockRow(groupKey);
+        try {
+            return factory.getAggregationMethod().getValue(factory.getAggColumnNum(), ExprTableEvalStrategyUtil.getRow(row), eventsPerStream, isNewData, exprEvaluatorContext);
+        } finally {
+            unlockRow(rowLock);
+        }
     }
 
     public Collection<EventBean> evaluateGetROCollectionEvents(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        AggregationRow aggs = getRow(eventsPerStream, isNewData, context);
-        return aggs == null ? null : factory.getAggregationMethod().getValueCollectionEvents(factory.getAggColumnNum(), aggs, eventsPerStream, isNewData, context);
+        Object groupKey = getGroupKey(eventsPerStream, isNewData, context);
+        ObjectArrayBackedEventBean row = lockTableReadAndGet(groupKey, context);
+        if (row == null) {
+            return null;
+        }
+        Lock rowLock = lockRow(groupKey);
+        try {
+            return factory.getAggregationMethod().getValueCollectionEvents(factory.getAggColumnNum(), ExprTableEvalStrategyUtil.getRow(row), eventsPerStream, isNewData, context);
+        } finally {
+            unlockRow(rowLock);
+        }
     }
 
     public EventBean evaluateGetEventBean(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        AggregationRow aggs = getRow(eventsPerStream, isNewData, context);
-        return aggs == null ? null : factory.getAggregationMethod().getValueEventBean(factory.getAggColumnNum(), aggs, eventsPerStream, isNewData, context);
+        Object groupKey = getGroupKey(eventsPerStream, isNewData, context);
+        ObjectArrayBackedEventBean row = lockTableReadAndGet(groupKey, context);
+        if (row == null) {
+            return null;
+        }
+        Lock rowLock = lockRow(groupKey);
+        try {
+            return factory.getAggregationMethod().getValueEventBean(factory.getAggColumnNum(), ExprTableEvalStrategyUtil.getRow(row), eventsPerStream, isNewData, context);
+        } finally {
+            unlockRow(rowLock);
+        }
     }
 
     public Collection evaluateGetROCollectionScalar(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        AggregationRow aggs = getRow(eventsPerStream, isNewData, context);
-        return aggs == null ? null : factory.getAggregationMethod().getValueCollectionScalar(factory.getAggColumnNum(), aggs, eventsPerStream, isNewData, context);
+        Object groupKey = getGroupKey(eventsPerStream, isNewData, context);
+        ObjectArrayBackedEventBean row = lockTableReadAndGet(groupKey, context);
+        if (row == null) {
+            return null;
+        }
+        Lock rowLock = lockRow(groupKey);
+        try {
+            return factory.getAggregationMethod().getValueCollectionScalar(factory.getAggColumnNum(), ExprTableEvalStrategyUtil.getRow(row), eventsPerStream, isNewData, context);
+        } finally {
+            unlockRow(rowLock);
+        }
     }
 
     public Object[] evaluateTypableSingle(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
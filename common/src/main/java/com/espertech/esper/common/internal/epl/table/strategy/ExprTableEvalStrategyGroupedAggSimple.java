@@ -11,10 +11,11 @@
 package com.espertech.esper.common.internal.epl.table.strategy;
 
 import com.espertech.esper.common.client.EventBean;
-import com.espertech.esper.common.internal.epl.agg.core.AggregationRow;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
 
 import java.util.Collection;
+import java.util.concurrent.locks.Lock;
 
 public class ExprTableEvalStrategyGroupedAggSimple extends ExprTableEvalStrategyGroupedBase {
 
@@ -23,13 +24,31 @@ public class ExprTableEvalStrategyGroupedAggSimple extends ExprTableEvalStrategy
     }
 
     public Object evaluate(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
-        AggregationRow aggs = getRow(eventsPerStream, isNewData, exprEvaluatorContext);
-        return aggs == null ? null : aggs.getValue(factory.getAggColumnNum(), eventsPerStream, isNewData, exprEvaluatorContext);
+        Object groupKey = getGroupKey(eventsPerStream, isNewData, exprEvaluatorContext);
+        ObjectArrayBackedEventBean row = lockTableReadAndGet(groupKey, exprEvaluatorContext);
+        if (row == null) {
+            return null;
+        }
+        Lock rowLock = lockRow(groupKey);
+        try {
+            return ExprTableEvalStrategyUtil.getRow(row).getValue(factory.getAggColumnNum(), eventsPerStream, isNewData, exprEvaluatorContext);
+        } finally {
+            unlockRow(rowLock);
+        }
     }
 
     public Collection<EventBean> evaluateGetROCollectionEvents(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
-        AggregationRow aggs = getRow(eventsPerStream, isNewData, context);
-        return aggs == null ? null : aggs.getCollectionOfEvents(factory.getAggColumnNum(), eventsPerStream, isNewData, context);
+        Object groupKey = getGroupKey(eventsPerStream, isNewData, context);
+        ObjectArrayBackedEventBean row = lockTableReadAndGet(groupKey, context);
+        if (row == null) {
+            return null;
+        }
+        Lock rowLock = lockRow(groupKey);
+        try {
+            return ExprTableEvalStrategyUtil.getRow(row).getCollectionOfEvents(factory.getAggColumnNum(), eventsPerStream, isNewData, context);
+        } finally {
+            unlockRow(rowLock);
+        }
     }
 
     public EventBean evaluateGetEventBean(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
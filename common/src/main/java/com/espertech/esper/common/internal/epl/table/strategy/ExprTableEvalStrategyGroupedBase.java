@@ -17,6 +17,8 @@ import com.espertech.esper.common.internal.epl.table.core.TableEvalLockUtil;
 import com.espertech.esper.common.internal.epl.table.core.TableInstanceGrouped;
 import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
 
+import java.util.concurrent.locks.Lock;
+
 public abstract class ExprTableEvalStrategyGroupedBase implements ExprTableEvalStrategy {
 
     private final TableAndLockProviderGrouped provider;
@@ -33,6 +35,29 @@ public abstract class ExprTableEvalStrategyGroupedBase implements ExprTableEvalS
         return tableAndLockGrouped.getGrouped().getRowForGroupKey(group);
     }
 
+    /**
+     * Obtains the read lock of the row of the group key when the table locks rows individually, so that the row
+     * is not read while it is being updated.
+     *
+     * @param group group key
+     * @return the row lock that was obtained and that must be released by {@link #unlockRow(Lock)}, or null when not locking rows
+     */
+    protected Lock lockRow(Object group) {
+        TableInstanceGrouped grouped = provider.get().getGrouped();
+        if (!grouped.isRowLocking()) {
+            return null;
+        }
+        Lock rowLock = grouped.getRowLock(group).readLock();
+        rowLock.lock();
+        return rowLock;
+    }
+
+    protected static void unlockRow(Lock rowLock) {
+        if (rowLock != null) {
+            rowLock.unlock();
+        }
+    }
+
     protected TableInstanceGrouped lockTableRead(ExprEvaluatorContext context) {
         TableAndLockGrouped tableAndLockGrouped = provider.get();
         TableEvalLockUtil.obtainLockUnless(tableAndLockGrouped.getLock(), context);
@@ -40,6 +65,7 @@ public abstract class ExprTableEvalStrategyGroupedBase implements ExprTableEvalS
     }
 
     public AggregationRow getRow(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        // the row is used to read access aggregations, which aggregating into a row-locked table does not update
         Object groupKey = factory.getGroupKeyEval().evaluate(eventsPerStream, isNewData, context);
         ObjectArrayBackedEventBean row = lockTableReadAndGet(groupKey, context);
         if (row == null) {
@@ -47,4 +73,8 @@ public abstract class ExprTableEvalStrategyGroupedBase implements ExprTableEvalS
         }
         return ExprTableEvalStrategyUtil.getRow(row);
     }
+
+    protected Object getGroupKey(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        return factory.getGroupKeyEval().evaluate(eventsPerStream, isNewData, context);
+    }
 }
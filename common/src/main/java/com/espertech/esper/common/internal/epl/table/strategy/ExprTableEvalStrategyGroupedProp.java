@@ -15,6 +15,7 @@ import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorCont
 import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
 
 import java.util.Collection;
+import java.util.concurrent.locks.Lock;
 
 public class ExprTableEvalStrategyGroupedProp extends ExprTableEvalStrategyGroupedBase {
 
@@ -28,7 +29,12 @@ public class ExprTableEvalStrategyGroupedProp extends ExprTableEvalStrategyGroup
         if (row == null) {
             return null;
         }
-        return row.getProperties()[factory.getPropertyIndex()];
+        Lock rowLock = lockRow(groupKey);
+        try {
+            return row.getProperties()[factory.getPropertyIndex()];
+        } finally {
+            unlockRow(rowLock);
+        }
     }
 
     public Collection<EventBean> evaluateGetROCollectionEvents(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
@@ -37,7 +43,12 @@ public class ExprTableEvalStrategyGroupedProp extends ExprTableEvalStrategyGroup
         if (row == null) {
             return null;
         }
-        return factory.getOptionalEnumEval().evaluateEventGetROCollectionEvents(row, context);
+        Lock rowLock = lockRow(groupKey);
+        try {
+            return factory.getOptionalEnumEval().evaluateEventGetROCollectionEvents(row, context);
+        } finally {
+            unlockRow(rowLock);
+        }
     }
 
     public EventBean evaluateGetEventBean(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
@@ -46,7 +57,12 @@ public class ExprTableEvalStrategyGroupedProp extends ExprTableEvalStrategyGroup
         if (row == null) {
             return null;
         }
-        return factory.getOptionalEnumEval().evaluateEventGetEventBean(row, context);
+        Lock rowLock = lockRow(groupKey);
+        try {
+            return factory.getOptionalEnumEval().evaluateEventGetEventBean(row, context);
+        } finally {
+            unlockRow(rowLock);
+        }
     }
 
     public Collection evaluateGetROCollectionScalar(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
@@ -55,7 +71,12 @@ public class ExprTableEvalStrategyGroupedProp extends ExprTableEvalStrategyGroup
         if (row == null) {
             return null;
         }
-        return factory.getOptionalEnumEval().evaluateEventGetROCollectionScalar(row, context);
+        Lock rowLock = lockRow(groupKey);
+        try {
+            return factory.getOptionalEnumEval().evaluateEventGetROCollectionScalar(row, context);
+        } finally {
+            unlockRow(rowLock);
+        }
     }
 
     public Object[] evaluateTypableSingle(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
@@ -15,6 +15,7 @@ import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorCont
 import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
 
 import java.util.Collection;
+import java.util.concurrent.locks.Lock;
 
 public class ExprTableEvalStrategyGroupedTopLevel extends ExprTableEvalStrategyGroupedBase {
 
@@ -28,7 +29,12 @@ public class ExprTableEvalStrategyGroupedTopLevel extends ExprTableEvalStrategyG
         if (row == null) {
             return null;
         }
-        return ExprTableEvalStrategyUtil.evalMap(row, ExprTableEvalStrategyUtil.getRow(row), factory.getTable().getMetaData().getColumns(), eventsPerStream, isNewData, exprEvaluatorContext);
+        Lock rowLock = lockRow(groupKey);
+        try {
+            return ExprTableEvalStrategyUtil.evalMap(row, ExprTableEvalStrategyUtil.getRow(row), factory.getTable().getMetaData().getColumns(), eventsPerStream, isNewData, exprEvaluatorContext);
+        } finally {
+            unlockRow(rowLock);
+        }
     }
 
     public Object[] evaluateTypableSingle(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
@@ -37,7 +43,12 @@ public class ExprTableEvalStrategyGroupedTopLevel extends ExprTableEvalStrategyG
         if (row == null) {
             return null;
         }
-        return ExprTableEvalStrategyUtil.evalTypable(row, ExprTableEvalStrategyUtil.getRow(row), factory.getTable().getMetaData().getColumns(), eventsPerStream, isNewData, context);
+        Lock rowLock = lockRow(groupKey);
+        try {
+            return ExprTableEvalStrategyUtil.evalTypable(row, ExprTableEvalStrategyUtil.getRow(row), factory.getTable().getMetaData().getColumns(), eventsPerStream, isNewData, context);
+        } finally {
+            unlockRow(rowLock);
+        }
     }
 
     public Collection<EventBean> evaluateGetROCollectionEvents(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
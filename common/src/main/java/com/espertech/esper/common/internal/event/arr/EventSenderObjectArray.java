@@ -44,12 +44,7 @@ public class EventSenderObjectArray implements EventSender {
     }
 
     public void sendEvent(Object theEvent) {
-        if (!(theEvent.getClass().isArray())) {
-            throw new EPException("Unexpected event object of type " + theEvent.getClass().getName() + ", expected Object[]");
-        }
-
-        Object[] arr = (Object[]) theEvent;
-        EventBean objectArrayEvent = eventBeanTypedEventFactory.adapterForTypedObjectArray(arr, objectArrayEventType);
+        EventBean objectArrayEvent = getEventBean(theEvent);
 
         if (threadingService.isInboundThreading()) {
             threadingService.submitInbound(objectArrayEvent, runtimeEventSender);
@@ -58,12 +53,31 @@ public class EventSenderObjectArray implements EventSender {
         }
     }
 
+    public void sendEventBatch(Object[] events) {
+        EventBean[] eventBeans = new EventBean[events.length];
+        for (int i = 0; i < events.length; i++) {
+            eventBeans[i] = getEventBean(events[i]);
+        }
+
+        if (threadingService.isInboundThreading()) {
+            for (EventBean eventBean : eventBeans) {
+                threadingService.submitInbound(eventBean, runtimeEventSender);
+            }
+        } else {
+            runtimeEventSender.processWrappedEventBatch(eventBeans);
+        }
+    }
+
     public void routeEvent(Object theEvent) {
+        EventBean objectArrayEvent = getEventBean(theEvent);
+        runtimeEventSender.routeEventBean(objectArrayEvent);
+    }
+
+    private EventBean getEventBean(Object theEvent) {
         if (!(theEvent.getClass().isArray())) {
             throw new EPException("Unexpected event object of type " + theEvent.getClass().getName() + ", expected Object[]");
         }
         Object[] arr = (Object[]) theEvent;
-        EventBean objectArrayEvent = eventBeanTypedEventFactory.adapterForTypedObjectArray(arr, objectArrayEventType);
-        runtimeEventSender.routeEventBean(objectArrayEvent);
+        return eventBeanTypedEventFactory.adapterForTypedObjectArray(arr, objectArrayEventType);
     }
 }
@@ -0,0 +1,92 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.arr;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventSender;
+import com.espertech.esper.common.internal.event.core.EventBeanTypedEventFactory;
+import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
+import com.espertech.esper.common.internal.statement.thread.ThreadingCommon;
+
+/**
+ * Event sender for object-array events that reuses the event bean wrapping the object-array
+ * when no statement retained the event.
+ * <p>
+ * An event bean is reused only when processing completed and all statements matching the event are known to not keep
+ * a reference to the event, such as stateless filter-and-select statements without insert-into.
+ * Otherwise, and for inbound threading, batches and routed events, a new event bean is allocated.
+ * <p>
+ * This sender is not thread-safe: use one sender per sending thread.
+ */
+public class EventSenderObjectArrayPooled implements EventSender {
+    private final EPRuntimeEventProcessWrapped runtimeEventSender;
+    private final EventSenderObjectArray unpooled;
+    private final ObjectArrayEventType objectArrayEventType;
+    private final ThreadingCommon threadingService;
+    private ObjectArrayEventBean pooled;
+
+    /**
+     * Ctor.
+     *
+     * @param runtimeEventSender         for processing events
+     * @param objectArrayEventType       the event type
+     * @param threadingService           for inbound threading
+     * @param eventBeanTypedEventFactory for event bean creation
+     */
+    public EventSenderObjectArrayPooled(EPRuntimeEventProcessWrapped runtimeEventSender, ObjectArrayEventType objectArrayEventType, EventBeanTypedEventFactory eventBeanTypedEventFactory, ThreadingCommon threadingService) {
+        this.runtimeEventSender = runtimeEventSender;
+        this.objectArrayEventType = objectArrayEventType;
+        this.threadingService = threadingService;
+        this.unpooled = new EventSenderObjectArray(runtimeEventSender, objectArrayEventType, eventBeanTypedEventFactory, threadingService);
+    }
+
+    public void sendEvent(Object theEvent) {
+        if (threadingService.isInboundThreading()) {
+            unpooled.sendEvent(theEvent);
+            return;
+        }
+        if (!(theEvent instanceof Object[])) {
+            throw new EPException("Unexpected event object of type " + theEvent.getClass().getName() + ", expected Object[]");
+        }
+
+        // take the pooled bean so that a reentrant send, i.e. from a listener, allocates its own
+        ObjectArrayEventBean eventBean = pooled;
+        pooled = null;
+        if (eventBean == null) {
+            eventBean = new ObjectArrayEventBean((Object[]) theEvent, objectArrayEventType);
+        } else {
+            eventBean.setPropertyValues((Object[]) theEvent);
+        }
+
+        if (runtimeEventSender.processWrappedEventPooled(eventBean)) {
+            eventBean.setPropertyValues(null);
+            pooled = eventBean;
+        }
+    }
+
+    public void sendEventBatch(Object[] events) {
+        unpooled.sendEventBatch(events);
+    }
+
+    public void routeEvent(Object theEvent) {
+        unpooled.routeEvent(theEvent);
+    }
+
+    /**
+     * Returns the pooled event bean, for testing.
+     *
+     * @return pooled event bean or null if the last event bean was retained
+     */
+    public EventBean getPooled() {
+        return pooled;
+    }
+}
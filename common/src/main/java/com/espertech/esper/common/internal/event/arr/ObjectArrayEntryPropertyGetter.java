@@ -55,8 +55,7 @@ public class ObjectArrayEntryPropertyGetter implements ObjectArrayEventPropertyG
     }
 
     public Object get(EventBean obj) {
-        Object[] arr = BaseNestableEventUtil.checkedCastUnderlyingObjectArray(obj);
-        return getObjectArray(arr);
+        return BaseNestableEventUtil.getBNObjectArrayValue(obj, propertyIndex);
     }
 
     public boolean isExistsProperty(EventBean eventBean) {
@@ -72,7 +71,7 @@ public class ObjectArrayEntryPropertyGetter implements ObjectArrayEventPropertyG
     }
 
     public CodegenExpression eventBeanGetCodegen(CodegenExpression beanExpression, CodegenMethodScope codegenMethodScope, CodegenClassScope codegenClassScope) {
-        return underlyingGetCodegen(castUnderlying(Object[].class, beanExpression), codegenMethodScope, codegenClassScope);
+        return staticMethod(BaseNestableEventUtil.class, "getBNObjectArrayValue", beanExpression, constant(propertyIndex));
     }
 
     public CodegenExpression eventBeanExistsCodegen(CodegenExpression beanExpression, CodegenMethodScope codegenMethodScope, CodegenClassScope codegenClassScope) {
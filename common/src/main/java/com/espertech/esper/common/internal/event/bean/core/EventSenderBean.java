@@ -65,6 +65,24 @@ public class EventSenderBean implements EventSender {
         }
     }
 
+    public void sendEventBatch(Object[] events) {
+        EventBean[] eventBeans = new EventBean[events.length];
+        for (int i = 0; i < events.length; i++) {
+            if (events[i] == null) {
+                throw new NullPointerException("No event object provided to sendEventBatch method");
+            }
+            eventBeans[i] = getEventBean(events[i]);
+        }
+
+        if (threadingService.isInboundThreading()) {
+            for (EventBean eventBean : eventBeans) {
+                threadingService.submitInbound(eventBean, runtime);
+            }
+        } else {
+            runtime.processWrappedEventBatch(eventBeans);
+        }
+    }
+
     public void routeEvent(Object theEvent) throws EPException {
         EventBean eventBean = getEventBean(theEvent);
         runtime.routeEventBean(eventBean);
@@ -149,6 +149,22 @@ public class BaseNestableEventUtil {
         return (Object[]) theEvent.getUnderlying();
     }
 
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     * <p>
+     * Returns a property value of an object-array event, decoding only that value when the event decodes values on access.
+     *
+     * @param theEvent event
+     * @param index    property index
+     * @return value
+     */
+    public static Object getBNObjectArrayValue(EventBean theEvent, int index) {
+        if (theEvent instanceof ObjectArrayBackedEventBean) {
+            return ((ObjectArrayBackedEventBean) theEvent).getProperty(index);
+        }
+        return ((Object[]) theEvent.getUnderlying())[index];
+    }
+
     /**
      * NOTE: Code-generation-invoked method, method name and parameter order matters
      *
@@ -14,9 +14,12 @@ import com.espertech.esper.common.client.EPException;
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.internal.event.arr.ObjectArrayEventBean;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
 import com.espertech.esper.common.internal.event.avro.EventTypeAvroHandler;
 import com.espertech.esper.common.internal.event.bean.core.BeanEventBean;
 import com.espertech.esper.common.internal.event.eventtyperepo.EventTypeRepository;
+import com.espertech.esper.common.internal.event.json.JsonEventParser;
+import com.espertech.esper.common.internal.event.json.JsonObjectArrayEventBean;
 import com.espertech.esper.common.internal.event.map.MapEventBean;
 import com.espertech.esper.common.internal.event.xml.XMLEventBean;
 import org.w3c.dom.Document;
@@ -24,10 +27,12 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EventTypeResolvingBeanFactoryImpl implements EventTypeResolvingBeanFactory {
     private final EventTypeRepository eventTypeRepository;
     private final EventTypeAvroHandler avroHandler;
+    private final Map<String, JsonEventParser> jsonParsers = new ConcurrentHashMap<>();
 
     public EventTypeResolvingBeanFactoryImpl(EventTypeRepository eventTypeRepository, EventTypeAvroHandler avroHandler) {
         this.eventTypeRepository = eventTypeRepository;
@@ -65,6 +70,24 @@ public class EventTypeResolvingBeanFactoryImpl implements EventTypeResolvingBean
         return avroHandler.adapterForTypeAvro(avroGenericDataDotRecord, type);
     }
 
+    public EventBean adapterForJson(String json, String eventTypeName) throws EPException {
+        EventType type = eventTypeRepository.getTypeByName(eventTypeName);
+        EventTypeUtility.validateTypeJson(eventTypeName, type);
+
+        // parsers are bound to the type instance, a type of the same name may be redefined
+        JsonEventParser parser = jsonParsers.get(eventTypeName);
+        if (parser == null || parser.getEventType() != type) {
+            parser = JsonEventParser.make(type);
+            jsonParsers.put(eventTypeName, parser);
+        }
+
+        // object-array events keep the text and decode each property value on first access
+        if (type instanceof ObjectArrayEventType) {
+            return new JsonObjectArrayEventBean(parser, json, parser.scan(json));
+        }
+        return new MapEventBean((Map<String, Object>) parser.parse(json), type);
+    }
+
     public static Node getXMLNodeFromDocument(org.w3c.dom.Node node) {
         org.w3c.dom.Node resultNode = node;
         if (node instanceof Document) {
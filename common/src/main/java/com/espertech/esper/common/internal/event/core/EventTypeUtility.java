@@ -1453,6 +1453,12 @@ public class EventTypeUtility {
         }
     }
 
+    public static void validateTypeJson(String eventTypeName, EventType type) {
+        if (!(type instanceof MapEventType) && !(type instanceof ObjectArrayEventType)) {
+            throw new EPException(getMessageExpecting(eventTypeName, type, "Map-type or Object-array"));
+        }
+    }
+
     public static void validateTypeXMLDOM(String eventTypeName, EventType type) {
         if (!(type instanceof BaseXMLEventType)) {
             throw new EPException(getMessageExpecting(eventTypeName, type, "XML-DOM-type"));
@@ -23,5 +23,15 @@ public interface ObjectArrayBackedEventBean extends EventBean {
      */
     public Object[] getProperties();
 
+    /**
+     * Returns a single property value, for use by events that decode values on access.
+     *
+     * @param index property index
+     * @return value
+     */
+    default Object getProperty(int index) {
+        return getProperties()[index];
+    }
+
     public void setPropertyValues(Object[] objects);
 }
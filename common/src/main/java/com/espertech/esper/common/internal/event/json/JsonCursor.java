@@ -0,0 +1,435 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json;
+
+import com.espertech.esper.common.client.EPException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Position-tracking reader over a JSON text, reading tokens without building a document tree.
+ */
+final class JsonCursor {
+    private final String json;
+    private int pos;
+    private int tokenStart;
+    private int tokenEnd;
+    private boolean tokenEscaped;
+
+    JsonCursor(String json) {
+        this.json = json;
+    }
+
+    JsonCursor(String json, int pos) {
+        this.json = json;
+        this.pos = pos;
+    }
+
+    String getJson() {
+        return json;
+    }
+
+    int getPosition() {
+        return pos;
+    }
+
+    int getTokenStart() {
+        return tokenStart;
+    }
+
+    int getTokenEnd() {
+        return tokenEnd;
+    }
+
+    boolean isTokenEscaped() {
+        return tokenEscaped;
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it.
+     *
+     * @return character or -1 for the end of input
+     */
+    int peek() {
+        skipWhitespace();
+        return pos < json.length() ? json.charAt(pos) : -1;
+    }
+
+    void expect(char c) {
+        skipWhitespace();
+        if (pos >= json.length() || json.charAt(pos) != c) {
+            throw fail("expected '" + c + "'");
+        }
+        pos++;
+    }
+
+    /**
+     * Consumes the character if it is next.
+     *
+     * @param c character
+     * @return indicator whether consumed
+     */
+    boolean consume(char c) {
+        skipWhitespace();
+        if (pos < json.length() && json.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    void expectEnd() {
+        skipWhitespace();
+        if (pos != json.length()) {
+            throw fail("unexpected trailing content");
+        }
+    }
+
+    /**
+     * Reads a string token, leaving the token bounds in the cursor and not allocating the string.
+     */
+    void readStringToken() {
+        expect('"');
+        tokenStart = pos;
+        tokenEscaped = false;
+        while (true) {
+            if (pos >= json.length()) {
+                throw fail("unterminated string");
+            }
+            char c = json.charAt(pos);
+            if (c == '"') {
+                tokenEnd = pos;
+                pos++;
+                return;
+            }
+            if (c == '\\') {
+                tokenEscaped = true;
+                pos++;
+            }
+            pos++;
+        }
+    }
+
+    /**
+     * Returns the string value of the last string token.
+     *
+     * @return string
+     */
+    String tokenString() {
+        if (!tokenEscaped) {
+            return json.substring(tokenStart, tokenEnd);
+        }
+        StringBuilder buf = new StringBuilder(tokenEnd - tokenStart);
+        for (int i = tokenStart; i < tokenEnd; i++) {
+            char c = json.charAt(i);
+            if (c != '\\') {
+                buf.append(c);
+                continue;
+            }
+            char e = json.charAt(++i);
+            switch (e) {
+                case 'b':
+                    buf.append('\b');
+                    break;
+                case 'f':
+                    buf.append('\f');
+                    break;
+                case 'n':
+                    buf.append('\n');
+                    break;
+                case 'r':
+                    buf.append('\r');
+                    break;
+                case 't':
+                    buf.append('\t');
+                    break;
+                case '"':
+                case '\\':
+                case '/':
+                    buf.append(e);
+                    break;
+                case 'u':
+                    if (i + 4 >= tokenEnd) {
+                        throw fail("invalid unicode escape");
+                    }
+                    int code = 0;
+                    for (int j = i + 1; j <= i + 4; j++) {
+                        int digit = Character.digit(json.charAt(j), 16);
+                        if (digit == -1) {
+                            throw fail("invalid unicode escape");
+                        }
+                        code = code * 16 + digit;
+                    }
+                    buf.append((char) code);
+                    i += 4;
+                    break;
+                default:
+                    throw fail("invalid escape character '" + e + "'");
+            }
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Returns indicator whether the last string token equals the text, without allocating.
+     *
+     * @param text to compare
+     * @return indicator
+     */
+    boolean tokenEquals(String text) {
+        int length = tokenEnd - tokenStart;
+        return !tokenEscaped && text.length() == length && json.regionMatches(tokenStart, text, 0, length);
+    }
+
+    /**
+     * Reads a number token following the JSON number grammar, leaving the token bounds in the cursor.
+     *
+     * @return indicator whether the number has a fraction or exponent
+     */
+    boolean readNumberToken() {
+        skipWhitespace();
+        tokenStart = pos;
+        boolean floating = false;
+        if (pos < json.length() && json.charAt(pos) == '-') {
+            pos++;
+        }
+        if (!isDigit(pos)) {
+            throw fail("invalid number");
+        }
+        if (json.charAt(pos) == '0') {
+            pos++;
+        } else {
+            skipDigits();
+        }
+        if (pos < json.length() && json.charAt(pos) == '.') {
+            floating = true;
+            pos++;
+            if (!isDigit(pos)) {
+                throw fail("invalid number");
+            }
+            skipDigits();
+        }
+        if (pos < json.length() && (json.charAt(pos) == 'e' || json.charAt(pos) == 'E')) {
+            floating = true;
+            pos++;
+            if (pos < json.length() && (json.charAt(pos) == '+' || json.charAt(pos) == '-')) {
+                pos++;
+            }
+            if (!isDigit(pos)) {
+                throw fail("invalid number");
+            }
+            skipDigits();
+        }
+        tokenEnd = pos;
+        return floating;
+    }
+
+    /**
+     * Returns indicator whether the last integral number token is within the range of long, without allocating.
+     *
+     * @return indicator
+     */
+    boolean isTokenLongRange() {
+        boolean negative = json.charAt(tokenStart) == '-';
+        int start = negative ? tokenStart + 1 : tokenStart;
+        int digits = tokenEnd - start;
+        if (digits != 19) {
+            return digits < 19;
+        }
+        String limit = negative ? "9223372036854775808" : "9223372036854775807";
+        for (int i = 0; i < digits; i++) {
+            char c = json.charAt(start + i);
+            if (c != limit.charAt(i)) {
+                return c < limit.charAt(i);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the last integral number token as a long, without allocating.
+     *
+     * @return value
+     */
+    long tokenLong() {
+        if (!isTokenLongRange()) {
+            throw fail("value " + tokenText() + " is out of range");
+        }
+        boolean negative = json.charAt(tokenStart) == '-';
+        long value = 0;
+        for (int i = negative ? tokenStart + 1 : tokenStart; i < tokenEnd; i++) {
+            // accumulate negatively so that Long.MIN_VALUE does not overflow
+            value = value * 10 - (json.charAt(i) - '0');
+        }
+        return negative ? value : -value;
+    }
+
+    String tokenText() {
+        return json.substring(tokenStart, tokenEnd);
+    }
+
+    /**
+     * Reads the literal true, false or null.
+     *
+     * @return boolean value or null
+     */
+    Boolean readLiteral() {
+        skipWhitespace();
+        if (isLiteral("true")) {
+            pos += 4;
+            return Boolean.TRUE;
+        }
+        if (isLiteral("false")) {
+            pos += 5;
+            return Boolean.FALSE;
+        }
+        if (isLiteral("null")) {
+            pos += 4;
+            return null;
+        }
+        throw fail("expected a value");
+    }
+
+    /**
+     * Consumes the literal null if it is next.
+     *
+     * @return indicator whether consumed
+     */
+    boolean consumeNull() {
+        skipWhitespace();
+        if (isLiteral("null")) {
+            pos += 4;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skips any value without materializing it.
+     */
+    void skipValue() {
+        int c = peek();
+        if (c == '"') {
+            readStringToken();
+        } else if (c == '{') {
+            pos++;
+            if (consume('}')) {
+                return;
+            }
+            do {
+                readStringToken();
+                expect(':');
+                skipValue();
+            } while (consume(','));
+            expect('}');
+        } else if (c == '[') {
+            pos++;
+            if (consume(']')) {
+                return;
+            }
+            do {
+                skipValue();
+            } while (consume(','));
+            expect(']');
+        } else if (c == '-' || (c >= '0' && c <= '9')) {
+            readNumberToken();
+        } else {
+            readLiteral();
+        }
+    }
+
+    /**
+     * Reads any value into its generic representation: Map for objects, Object[] for arrays,
+     * String, Boolean, Integer or Long for integral numbers, Double for other numbers.
+     *
+     * @return value
+     */
+    Object readGeneric() {
+        int c = peek();
+        if (c == '"') {
+            readStringToken();
+            return tokenString();
+        }
+        if (c == '{') {
+            pos++;
+            Map<String, Object> map = new LinkedHashMap<>();
+            if (consume('}')) {
+                return map;
+            }
+            do {
+                readStringToken();
+                String key = tokenString();
+                expect(':');
+                map.put(key, readGeneric());
+            } while (consume(','));
+            expect('}');
+            return map;
+        }
+        if (c == '[') {
+            pos++;
+            if (consume(']')) {
+                return new Object[0];
+            }
+            List<Object> list = new ArrayList<>();
+            do {
+                list.add(readGeneric());
+            } while (consume(','));
+            expect(']');
+            return list.toArray();
+        }
+        if (c == '-' || (c >= '0' && c <= '9')) {
+            if (readNumberToken() || !isTokenLongRange()) {
+                return Double.parseDouble(tokenText());
+            }
+            long value = tokenLong();
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return value;
+        }
+        return readLiteral();
+    }
+
+    EPException fail(String message) {
+        return new EPException("Failed to parse JSON at position " + pos + ": " + message);
+    }
+
+    private boolean isLiteral(String literal) {
+        if (!json.startsWith(literal, pos)) {
+            return false;
+        }
+        int end = pos + literal.length();
+        return end == json.length() || !Character.isLetterOrDigit(json.charAt(end));
+    }
+
+    private boolean isDigit(int index) {
+        return index < json.length() && json.charAt(index) >= '0' && json.charAt(index) <= '9';
+    }
+
+    private void skipDigits() {
+        while (isDigit(pos)) {
+            pos++;
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.FragmentEventType;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
+import com.espertech.esper.common.internal.event.core.BaseNestableEventType;
+import com.espertech.esper.common.internal.event.map.MapEventType;
+import com.espertech.esper.common.internal.util.CollectionUtil;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming JSON parser bound to the properties of a Map or Object-array event type.
+ * <p>
+ * The parser reads the JSON text in a single pass without building a document tree and
+ * decodes each value directly into the declared property type, populating the underlying
+ * Object-array by property index or the underlying Map. Properties are matched by name without
+ * allocating the name, first trying the property following the previous one in declared order.
+ * JSON fields that are not properties of the type are skipped without materializing their value.
+ * <p>
+ * For Object-array event types the parser can also scan the JSON text for the offsets of the property values,
+ * see {@link #scan(String)}, leaving each value to be decoded on access by {@link JsonObjectArrayEventBean}.
+ * <p>
+ * Parsers are immutable and thread-safe.
+ */
+public final class JsonEventParser {
+    private final EventType eventType;
+    private final boolean objectArray;
+    private final int width;
+    private final JsonEventParserField[] fields;
+    private final JsonEventParserField[] fieldsByIndex;
+
+    private JsonEventParser(BaseNestableEventType eventType) {
+        this.eventType = eventType;
+        this.objectArray = eventType instanceof ObjectArrayEventType;
+        Map<String, Integer> indexes = objectArray ? ((ObjectArrayEventType) eventType).getPropertiesIndexes() : null;
+        this.width = objectArray ? indexes.size() : 0;
+
+        Map<String, Object> types = eventType.getTypes();
+        this.fields = new JsonEventParserField[types.size()];
+        int position = 0;
+        for (Map.Entry<String, Object> entry : types.entrySet()) {
+            String name = entry.getKey();
+            int index = objectArray ? indexes.get(name) : -1;
+            FragmentEventType fragment = eventType.getFragmentType(name);
+            if (fragment != null && fragment.getFragmentType() instanceof BaseNestableEventType) {
+                JsonEventParser nested = new JsonEventParser((BaseNestableEventType) fragment.getFragmentType());
+                fields[position] = JsonEventParserField.forNested(name, position, index, nested, fragment.isIndexed());
+            } else if (entry.getValue() instanceof Class) {
+                fields[position] = JsonEventParserField.forClass(name, position, index, (Class) entry.getValue());
+            } else {
+                fields[position] = JsonEventParserField.forClass(name, position, index, Object.class);
+            }
+            position++;
+        }
+
+        this.fieldsByIndex = new JsonEventParserField[width];
+        if (objectArray) {
+            for (JsonEventParserField field : fields) {
+                fieldsByIndex[field.getIndex()] = field;
+            }
+        }
+    }
+
+    /**
+     * Returns a parser for the event type.
+     *
+     * @param eventType event type
+     * @return parser
+     * @throws EPException if the event type is not a Map or Object-array event type
+     */
+    public static JsonEventParser make(EventType eventType) throws EPException {
+        if (!(eventType instanceof MapEventType) && !(eventType instanceof ObjectArrayEventType)) {
+            throw new EPException("Event type named '" + eventType.getName() + "' is not a Map-type or Object-array event type and cannot be parsed from JSON");
+        }
+        return new JsonEventParser((BaseNestableEventType) eventType);
+    }
+
+    /**
+     * Parses a JSON object into the underlying of the event type.
+     *
+     * @param json JSON object text
+     * @return Object-array or Map underlying
+     * @throws EPException if the text is not valid JSON or a value does not match the property type
+     */
+    public Object parse(String json) throws EPException {
+        if (json == null) {
+            throw new IllegalArgumentException("Invalid null JSON text");
+        }
+        JsonCursor cursor = new JsonCursor(json);
+        if (cursor.peek() != '{') {
+            throw cursor.fail("expected a JSON object");
+        }
+        Object underlying = readObject(cursor);
+        cursor.expectEnd();
+        return underlying;
+    }
+
+    /**
+     * Scans a JSON object for the offsets of the values of the properties of an Object-array event type, validating
+     * the text and that each value matches its property type, without materializing values.
+     *
+     * @param json JSON object text
+     * @return offset of the value by property index, or -1 for properties that are not in the text
+     * @throws EPException if the text is not valid JSON or a value does not match the property type
+     */
+    public int[] scan(String json) throws EPException {
+        if (json == null) {
+            throw new IllegalArgumentException("Invalid null JSON text");
+        }
+        if (!objectArray) {
+            throw new UnsupportedOperationException("Scanning requires an Object-array event type");
+        }
+        JsonCursor cursor = new JsonCursor(json);
+        if (cursor.peek() != '{') {
+            throw cursor.fail("expected a JSON object");
+        }
+        cursor.expect('{');
+        int[] offsets = new int[width];
+        Arrays.fill(offsets, -1);
+        if (!cursor.consume('}')) {
+            int expected = 0;
+            do {
+                cursor.readStringToken();
+                JsonEventParserField field = findField(cursor, expected);
+                cursor.expect(':');
+                if (field == null) {
+                    cursor.skipValue();
+                    continue;
+                }
+                expected = field.getPosition() + 1;
+                cursor.peek(); // positions at the value
+                offsets[field.getIndex()] = cursor.getPosition();
+                field.skip(cursor);
+            } while (cursor.consume(','));
+            cursor.expect('}');
+        }
+        cursor.expectEnd();
+        return offsets;
+    }
+
+    /**
+     * Decodes the value of an Object-array event type property at the offset returned by {@link #scan(String)}.
+     *
+     * @param json   JSON object text
+     * @param offset offset of the value
+     * @param index  property index
+     * @return value
+     * @throws EPException if the value does not match the property type
+     */
+    public Object decode(String json, int offset, int index) throws EPException {
+        return fieldsByIndex[index].read(new JsonCursor(json, offset));
+    }
+
+    /**
+     * Returns the number of properties of an Object-array event type.
+     *
+     * @return width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the event type.
+     *
+     * @return event type
+     */
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    Class getUnderlyingClass() {
+        return objectArray ? Object[].class : Map.class;
+    }
+
+    Object readObject(JsonCursor cursor) {
+        if (cursor.consumeNull()) {
+            return null;
+        }
+        cursor.expect('{');
+        Object[] values = objectArray ? new Object[width] : null;
+        Map<String, Object> map = objectArray ? null : new HashMap<>(CollectionUtil.capacityHashMap(fields.length));
+        if (!cursor.consume('}')) {
+            int expected = 0;
+            do {
+                cursor.readStringToken();
+                JsonEventParserField field = findField(cursor, expected);
+                cursor.expect(':');
+                if (field == null) {
+                    cursor.skipValue();
+                    continue;
+                }
+                expected = field.getPosition() + 1;
+                Object value = field.read(cursor);
+                if (objectArray) {
+                    values[field.getIndex()] = value;
+                } else {
+                    map.put(field.getName(), value);
+                }
+            } while (cursor.consume(','));
+            cursor.expect('}');
+        }
+        return objectArray ? values : map;
+    }
+
+    private JsonEventParserField findField(JsonCursor cursor, int expected) {
+        if (expected < fields.length && cursor.tokenEquals(fields[expected].getName())) {
+            return fields[expected];
+        }
+        if (cursor.isTokenEscaped()) {
+            String name = cursor.tokenString();
+            for (JsonEventParserField field : fields) {
+                if (field.getName().equals(name)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+        for (JsonEventParserField field : fields) {
+            if (cursor.tokenEquals(field.getName())) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
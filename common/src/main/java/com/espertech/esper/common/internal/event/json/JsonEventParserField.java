@@ -0,0 +1,320 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A property of a JSON event parser, decoding the JSON value directly into the declared property type.
+ */
+final class JsonEventParserField {
+    enum Kind {
+        STRING,
+        CHARACTER,
+        BOOLEAN,
+        INTEGER,
+        LONG,
+        SHORT,
+        BYTE,
+        DOUBLE,
+        FLOAT,
+        BIGINTEGER,
+        BIGDECIMAL,
+        ARRAY,
+        NESTED,
+        NESTED_ARRAY,
+        GENERIC,
+        UNSUPPORTED
+    }
+
+    private final String name;
+    private final int position;
+    private final int index;
+    private final Kind kind;
+    private final Class type;
+    private final JsonEventParserField component;
+    private final JsonEventParser nested;
+
+    JsonEventParserField(String name, int position, int index, Kind kind, Class type, JsonEventParserField component, JsonEventParser nested) {
+        this.name = name;
+        this.position = position;
+        this.index = index;
+        this.kind = kind;
+        this.type = type;
+        this.component = component;
+        this.nested = nested;
+    }
+
+    /**
+     * Returns the field for a property of the given class.
+     *
+     * @param name     property name
+     * @param position position in the declared order
+     * @param index    index in the underlying object-array, or -1 for map underlying
+     * @param clazz    property class
+     * @return field
+     */
+    static JsonEventParserField forClass(String name, int position, int index, Class clazz) {
+        if (clazz.isArray() && clazz != Object[].class) {
+            JsonEventParserField component = forClass(name, position, -1, clazz.getComponentType());
+            return new JsonEventParserField(name, position, index, Kind.ARRAY, clazz.getComponentType(), component, null);
+        }
+        Class boxed = JavaClassHelper.getBoxedType(clazz);
+        Kind kind;
+        if (boxed == String.class || boxed == CharSequence.class) {
+            kind = Kind.STRING;
+        } else if (boxed == Character.class) {
+            kind = Kind.CHARACTER;
+        } else if (boxed == Boolean.class) {
+            kind = Kind.BOOLEAN;
+        } else if (boxed == Integer.class) {
+            kind = Kind.INTEGER;
+        } else if (boxed == Long.class) {
+            kind = Kind.LONG;
+        } else if (boxed == Short.class) {
+            kind = Kind.SHORT;
+        } else if (boxed == Byte.class) {
+            kind = Kind.BYTE;
+        } else if (boxed == Double.class) {
+            kind = Kind.DOUBLE;
+        } else if (boxed == Float.class) {
+            kind = Kind.FLOAT;
+        } else if (boxed == BigInteger.class) {
+            kind = Kind.BIGINTEGER;
+        } else if (boxed == BigDecimal.class) {
+            kind = Kind.BIGDECIMAL;
+        } else if (boxed == Object.class || boxed == Object[].class || boxed == Number.class || Map.class.isAssignableFrom(boxed)) {
+            kind = Kind.GENERIC;
+        } else {
+            kind = Kind.UNSUPPORTED;
+        }
+        return new JsonEventParserField(name, position, index, kind, clazz, null, null);
+    }
+
+    static JsonEventParserField forNested(String name, int position, int index, JsonEventParser nested, boolean indexed) {
+        return new JsonEventParserField(name, position, index, indexed ? Kind.NESTED_ARRAY : Kind.NESTED, null, null, nested);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    Object read(JsonCursor cursor) {
+        if (cursor.consumeNull()) {
+            return null;
+        }
+        switch (kind) {
+            case STRING:
+                readString(cursor);
+                return cursor.tokenString();
+            case CHARACTER:
+                readString(cursor);
+                String text = cursor.tokenString();
+                if (text.length() != 1) {
+                    throw cursor.fail("expected a single-character string for property '" + name + "'");
+                }
+                return text.charAt(0);
+            case BOOLEAN:
+                if (cursor.peek() != 't' && cursor.peek() != 'f') {
+                    throw cursor.fail("expected a boolean value for property '" + name + "'");
+                }
+                return cursor.readLiteral();
+            case INTEGER:
+                return (int) readIntegral(cursor, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            case LONG:
+                return readIntegral(cursor, Long.MIN_VALUE, Long.MAX_VALUE);
+            case SHORT:
+                return (short) readIntegral(cursor, Short.MIN_VALUE, Short.MAX_VALUE);
+            case BYTE:
+                return (byte) readIntegral(cursor, Byte.MIN_VALUE, Byte.MAX_VALUE);
+            case DOUBLE:
+                return readDouble(cursor);
+            case FLOAT:
+                return (float) readDouble(cursor);
+            case BIGINTEGER:
+                if (readNumber(cursor)) {
+                    throw cursor.fail("expected an integral value for property '" + name + "'");
+                }
+                return new BigInteger(cursor.tokenText());
+            case BIGDECIMAL:
+                readNumber(cursor);
+                return new BigDecimal(cursor.tokenText());
+            case ARRAY:
+                return readArray(cursor);
+            case NESTED:
+                return nested.readObject(cursor);
+            case NESTED_ARRAY:
+                return readNestedArray(cursor);
+            case GENERIC:
+                return cursor.readGeneric();
+            default:
+                throw failUnsupported(cursor);
+        }
+    }
+
+    /**
+     * Skips the value, validating that it matches the property type without materializing it.
+     * String escapes, single-character strings and the elements of arrays and nested objects are validated by {@link #read}.
+     *
+     * @param cursor cursor
+     */
+    void skip(JsonCursor cursor) {
+        if (cursor.consumeNull()) {
+            return;
+        }
+        switch (kind) {
+            case STRING:
+            case CHARACTER:
+                readString(cursor);
+                return;
+            case BOOLEAN:
+                if (cursor.peek() != 't' && cursor.peek() != 'f') {
+                    throw cursor.fail("expected a boolean value for property '" + name + "'");
+                }
+                cursor.readLiteral();
+                return;
+            case INTEGER:
+                readIntegral(cursor, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                return;
+            case LONG:
+                readIntegral(cursor, Long.MIN_VALUE, Long.MAX_VALUE);
+                return;
+            case SHORT:
+                readIntegral(cursor, Short.MIN_VALUE, Short.MAX_VALUE);
+                return;
+            case BYTE:
+                readIntegral(cursor, Byte.MIN_VALUE, Byte.MAX_VALUE);
+                return;
+            case DOUBLE:
+            case FLOAT:
+            case BIGDECIMAL:
+                readNumber(cursor);
+                return;
+            case BIGINTEGER:
+                if (readNumber(cursor)) {
+                    throw cursor.fail("expected an integral value for property '" + name + "'");
+                }
+                return;
+            case ARRAY:
+            case NESTED_ARRAY:
+                if (cursor.peek() != '[') {
+                    throw cursor.fail("expected an array value for property '" + name + "'");
+                }
+                cursor.skipValue();
+                return;
+            case NESTED:
+                if (cursor.peek() != '{') {
+                    throw cursor.fail("expected '{'");
+                }
+                cursor.skipValue();
+                return;
+            case GENERIC:
+                cursor.skipValue();
+                return;
+            default:
+                throw failUnsupported(cursor);
+        }
+    }
+
+    private EPException failUnsupported(JsonCursor cursor) {
+        return cursor.fail("property '" + name + "' of type '" + type.getName() + "' cannot be read from JSON");
+    }
+
+    private void readString(JsonCursor cursor) {
+        if (cursor.peek() != '"') {
+            throw cursor.fail("expected a string value for property '" + name + "'");
+        }
+        cursor.readStringToken();
+    }
+
+    private boolean readNumber(JsonCursor cursor) {
+        int c = cursor.peek();
+        if (c != '-' && (c < '0' || c > '9')) {
+            throw cursor.fail("expected a numeric value for property '" + name + "'");
+        }
+        return cursor.readNumberToken();
+    }
+
+    private long readIntegral(JsonCursor cursor, long min, long max) {
+        if (readNumber(cursor)) {
+            throw cursor.fail("expected an integral value for property '" + name + "'");
+        }
+        if (!cursor.isTokenLongRange()) {
+            throw cursor.fail("value " + cursor.tokenText() + " is out of range for property '" + name + "'");
+        }
+        long value = cursor.tokenLong();
+        if (value < min || value > max) {
+            throw cursor.fail("value " + value + " is out of range for property '" + name + "'");
+        }
+        return value;
+    }
+
+    private double readDouble(JsonCursor cursor) {
+        if (readNumber(cursor) || !cursor.isTokenLongRange()) {
+            return Double.parseDouble(cursor.tokenText());
+        }
+        return cursor.tokenLong();
+    }
+
+    private Object readArray(JsonCursor cursor) {
+        List<Object> values = readElements(cursor);
+        Object array = Array.newInstance(type, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value == null && type.isPrimitive()) {
+                throw cursor.fail("null value in array of primitive type for property '" + name + "'");
+            }
+            Array.set(array, i, value);
+        }
+        return array;
+    }
+
+    private Object readNestedArray(JsonCursor cursor) {
+        List<Object> values = readElements(cursor);
+        Object array = Array.newInstance(nested.getUnderlyingClass(), values.size());
+        for (int i = 0; i < values.size(); i++) {
+            Array.set(array, i, values.get(i));
+        }
+        return array;
+    }
+
+    private List<Object> readElements(JsonCursor cursor) {
+        if (cursor.peek() != '[') {
+            throw cursor.fail("expected an array value for property '" + name + "'");
+        }
+        cursor.expect('[');
+        List<Object> values = new ArrayList<>();
+        if (cursor.consume(']')) {
+            return values;
+        }
+        do {
+            values.add(kind == Kind.ARRAY ? component.read(cursor) : nested.readObject(cursor));
+        } while (cursor.consume(','));
+        cursor.expect(']');
+        return values;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json;
+
+import com.espertech.esper.common.client.EventPropertyGetter;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.PropertyAccessException;
+import com.espertech.esper.common.internal.event.core.EventBeanSPI;
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Object-array event that keeps the JSON text and the offsets of the property values within the text,
+ * as scanned by {@link JsonEventParser#scan(String)}, and that decodes a property value on first access.
+ * <p>
+ * The underlying Object-array is materialized when first requested and from then on holds the property values.
+ */
+public final class JsonObjectArrayEventBean implements EventBeanSPI, ObjectArrayBackedEventBean {
+    private final JsonEventParser parser;
+    private final String json;
+    private final int[] offsets;
+    private final AtomicReferenceArray<Object> decoded;
+    private volatile Object[] properties;
+
+    /**
+     * Ctor.
+     *
+     * @param parser  parser of the event type
+     * @param json    JSON text
+     * @param offsets value offsets by property index
+     */
+    public JsonObjectArrayEventBean(JsonEventParser parser, String json, int[] offsets) {
+        this.parser = parser;
+        this.json = json;
+        this.offsets = offsets;
+        this.decoded = new AtomicReferenceArray<>(offsets.length);
+    }
+
+    public EventType getEventType() {
+        return parser.getEventType();
+    }
+
+    public Object getProperty(int index) {
+        Object[] values = properties;
+        if (values != null) {
+            return values[index];
+        }
+        Object value = decoded.get(index);
+        if (value == null && offsets[index] != -1) {
+            value = parser.decode(json, offsets[index], index);
+            decoded.set(index, value);
+        }
+        return value;
+    }
+
+    public Object[] getProperties() {
+        Object[] values = properties;
+        if (values == null) {
+            values = new Object[offsets.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = getProperty(i);
+            }
+            properties = values;
+        }
+        return values;
+    }
+
+    public void setPropertyValues(Object[] objects) {
+        this.properties = objects;
+    }
+
+    public void setUnderlying(Object underlying) {
+        this.properties = (Object[]) underlying;
+    }
+
+    public Object getUnderlying() {
+        return getProperties();
+    }
+
+    /**
+     * Returns the JSON text.
+     *
+     * @return text
+     */
+    public String getJson() {
+        return json;
+    }
+
+    public Object get(String property) throws PropertyAccessException {
+        EventPropertyGetter getter = getEventType().getGetter(property);
+        if (getter == null) {
+            throw new PropertyAccessException("Property named '" + property + "' is not a valid property name for this type");
+        }
+        return getter.get(this);
+    }
+
+    public Object getFragment(String propertyExpression) throws PropertyAccessException {
+        EventPropertyGetter getter = getEventType().getGetter(propertyExpression);
+        if (getter == null) {
+            throw PropertyAccessException.notAValidProperty(propertyExpression);
+        }
+        return getter.getFragment(this);
+    }
+}
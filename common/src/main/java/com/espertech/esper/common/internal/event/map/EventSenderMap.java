@@ -46,12 +46,7 @@ public class EventSenderMap implements EventSender {
     }
 
     public void sendEvent(Object theEvent) {
-        if (!(theEvent instanceof Map)) {
-            throw new EPException("Unexpected event object of type " + theEvent.getClass().getName() + ", expected " + Map.class.getName());
-        }
-
-        Map<String, Object> map = (Map<String, Object>) theEvent;
-        EventBean mapEvent = eventBeanTypedEventFactory.adapterForTypedMap(map, mapEventType);
+        EventBean mapEvent = getEventBean(theEvent);
 
         if (threadingService.isInboundThreading()) {
             threadingService.submitInbound(mapEvent, runtimeEventSender);
@@ -60,12 +55,31 @@ public class EventSenderMap implements EventSender {
         }
     }
 
+    public void sendEventBatch(Object[] events) {
+        EventBean[] eventBeans = new EventBean[events.length];
+        for (int i = 0; i < events.length; i++) {
+            eventBeans[i] = getEventBean(events[i]);
+        }
+
+        if (threadingService.isInboundThreading()) {
+            for (EventBean eventBean : eventBeans) {
+                threadingService.submitInbound(eventBean, runtimeEventSender);
+            }
+        } else {
+            runtimeEventSender.processWrappedEventBatch(eventBeans);
+        }
+    }
+
     public void routeEvent(Object theEvent) {
+        EventBean mapEvent = getEventBean(theEvent);
+        runtimeEventSender.routeEventBean(mapEvent);
+    }
+
+    private EventBean getEventBean(Object theEvent) {
         if (!(theEvent instanceof Map)) {
             throw new EPException("Unexpected event object of type " + theEvent.getClass().getName() + ", expected " + Map.class.getName());
         }
         Map<String, Object> map = (Map<String, Object>) theEvent;
-        EventBean mapEvent = eventBeanTypedEventFactory.adapterForTypedMap(map, mapEventType);
-        runtimeEventSender.routeEventBean(mapEvent);
+        return eventBeanTypedEventFactory.adapterForTypedMap(map, mapEventType);
     }
 }
@@ -0,0 +1,122 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.offheap;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyGetter;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.PropertyAccessException;
+
+/**
+ * Event that refers to property values stored by {@link OffHeapEventStore}.
+ * <p>
+ * The event keeps the chunk and the offset of its record. The store may move the record when compacting,
+ * therefore readers obtain the chunk and offset under a version that the store increments around a move.
+ */
+public abstract class OffHeapEventBean implements EventBean {
+    private final EventType eventType;
+    private final OffHeapEventStore store;
+    private final int length;
+    protected final Object[] heapValues;
+
+    // maintained by the store under the statement lock
+    volatile OffHeapEventStore.Chunk chunk;
+    private volatile int offset;
+    private volatile int version;
+    boolean retained;
+
+    OffHeapEventBean(EventType eventType, OffHeapEventStore store, OffHeapEventStore.Chunk chunk, int offset, int length, Object[] heapValues) {
+        this.eventType = eventType;
+        this.store = store;
+        this.chunk = chunk;
+        this.offset = offset;
+        this.length = length;
+        this.heapValues = heapValues;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public Object get(String property) throws PropertyAccessException {
+        EventPropertyGetter getter = eventType.getGetter(property);
+        if (getter == null) {
+            throw new PropertyAccessException("Property named '" + property + "' is not a valid property name for this type");
+        }
+        return getter.get(this);
+    }
+
+    public Object getFragment(String propertyExpression) throws PropertyAccessException {
+        EventPropertyGetter getter = eventType.getGetter(propertyExpression);
+        if (getter == null) {
+            throw PropertyAccessException.notAValidProperty(propertyExpression);
+        }
+        return getter.getFragment(this);
+    }
+
+    /**
+     * Returns the number of bytes of stored values.
+     *
+     * @return size
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the values that are kept on heap and that the record refers to.
+     *
+     * @return values or null if none
+     */
+    public Object[] getHeapValues() {
+        return heapValues;
+    }
+
+    OffHeapEventStore getStore() {
+        return store;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the version to pass to {@link #isReadValid(int)} after reading the chunk and offset,
+     * waiting while the store moves the record.
+     *
+     * @return version
+     */
+    int beginRead() {
+        int current = version;
+        while ((current & 1) != 0) {
+            Thread.yield();
+            current = version;
+        }
+        return current;
+    }
+
+    /**
+     * Returns true when the record was not moved since {@link #beginRead()}.
+     *
+     * @param readVersion version returned by begin-read
+     * @return indicator whether the chunk and offset that were read belong together
+     */
+    boolean isReadValid(int readVersion) {
+        return version == readVersion;
+    }
+
+    void relocate(OffHeapEventStore.Chunk chunk, int offset) {
+        version++;
+        this.chunk = chunk;
+        this.offset = offset;
+        version++;
+    }
+}
@@ -0,0 +1,443 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.offheap;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.event.core.MappedEventBean;
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores event property values into direct buffers, providing events that hold only a handle
+ * to their values and that decode values on access.
+ * <p>
+ * A record starts with an offset table so that a single value can be decoded without decoding the record.
+ * An event refers to its record by chunk and offset within the chunk.
+ * Values of type String, boxed primitives, BigInteger and BigDecimal are written to the record.
+ * Other values, which may be mutable, remain on heap and the record refers to them.
+ * <p>
+ * Buffers are allocated in chunks. Each chunk keeps the events that are retained by the data window.
+ * When released events leave a chunk mostly unused, the store moves the remaining events into the current chunk
+ * so that the chunk is no longer referenced by any retained event. The bytes of a chunk are never overwritten,
+ * so events remain readable after release or move by any thread that holds a reference.
+ * <p>
+ * Storing, retaining and releasing events is not thread-safe and is done under the statement lock.
+ */
+public class OffHeapEventStore {
+    /**
+     * Default chunk size in bytes.
+     */
+    public final static int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final static byte TYPE_NULL = 0;
+    private final static byte TYPE_STRING = 1;
+    private final static byte TYPE_INT = 2;
+    private final static byte TYPE_LONG = 3;
+    private final static byte TYPE_DOUBLE = 4;
+    private final static byte TYPE_FLOAT = 5;
+    private final static byte TYPE_SHORT = 6;
+    private final static byte TYPE_BYTE = 7;
+    private final static byte TYPE_BOOLEAN = 8;
+    private final static byte TYPE_CHAR = 9;
+    private final static byte TYPE_BIGINTEGER = 10;
+    private final static byte TYPE_BIGDECIMAL = 11;
+    private final static byte TYPE_HEAP = 12;
+
+    private final int chunkSize;
+    private final Map<String, Integer> keyIds = new ConcurrentHashMap<>();
+    private volatile String[] keyNames = new String[0];
+    private final List<Object> heapValues = new ArrayList<>();
+    private ByteBuffer scratch = ByteBuffer.allocate(256);
+    private Chunk current;
+    private long numBytes;
+    private long retainedBytes;
+    private int numChunksRetained;
+
+    /**
+     * Ctor.
+     *
+     * @param chunkSize size of buffers to allocate
+     */
+    public OffHeapEventStore(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Stores the values of the event, returning an event that refers to the stored values, or returns the
+     * event itself if the event is not an object-array or map event or if the event is already stored by this store.
+     *
+     * @param theEvent event
+     * @return event backed by stored values, or the event itself
+     */
+    public EventBean store(EventBean theEvent) {
+        if (theEvent instanceof OffHeapEventBean && ((OffHeapEventBean) theEvent).getStore() == this) {
+            return theEvent;
+        }
+        scratch.clear();
+        heapValues.clear();
+        if (theEvent instanceof ObjectArrayBackedEventBean) {
+            Object[] values = ((ObjectArrayBackedEventBean) theEvent).getProperties();
+            int table = 4 + values.length * 4;
+            ensure(table);
+            scratch.putInt(values.length);
+            scratch.position(table);
+            for (int i = 0; i < values.length; i++) {
+                scratch.putInt(4 + i * 4, scratch.position());
+                writeValue(values[i]);
+            }
+        } else if (theEvent instanceof MappedEventBean) {
+            Map<String, Object> values = ((MappedEventBean) theEvent).getProperties();
+            int table = 4 + values.size() * 8;
+            ensure(table);
+            scratch.putInt(values.size());
+            scratch.position(table);
+            int count = 0;
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                scratch.putInt(4 + count * 8, keyId(entry.getKey()));
+                scratch.putInt(8 + count * 8, scratch.position());
+                writeValue(entry.getValue());
+                count++;
+            }
+        } else {
+            return theEvent;
+        }
+
+        scratch.flip();
+        int length = scratch.remaining();
+        Chunk chunk = chunkFor(length);
+        int offset = chunk.place(scratch);
+        numBytes += length;
+        Object[] heap = heapValues.isEmpty() ? null : heapValues.toArray();
+
+        if (theEvent instanceof ObjectArrayBackedEventBean) {
+            return new OffHeapObjectArrayEventBean(theEvent.getEventType(), this, chunk, offset, length, heap);
+        }
+        return new OffHeapMapEventBean(theEvent.getEventType(), this, chunk, offset, length, heap);
+    }
+
+    /**
+     * Indicates that the data window retains the events, for use when the data window produces new data.
+     *
+     * @param events events
+     */
+    public void retain(EventBean[] events) {
+        for (EventBean theEvent : events) {
+            if (!(theEvent instanceof OffHeapEventBean)) {
+                continue;
+            }
+            OffHeapEventBean bean = (OffHeapEventBean) theEvent;
+            if (bean.getStore() == this && !bean.retained) {
+                attach(bean);
+            }
+        }
+    }
+
+    /**
+     * Indicates that the data window no longer retains the events, for use when the data window produces old data.
+     * Moves the events that remain in a mostly unused chunk into the current chunk.
+     *
+     * @param events events
+     */
+    public void release(EventBean[] events) {
+        for (EventBean theEvent : events) {
+            if (!(theEvent instanceof OffHeapEventBean)) {
+                continue;
+            }
+            OffHeapEventBean bean = (OffHeapEventBean) theEvent;
+            if (bean.getStore() != this || !bean.retained) {
+                continue;
+            }
+            Chunk chunk = bean.chunk;
+            detach(bean);
+            if (chunk != current && !chunk.events.isEmpty() && chunk.retainedBytes < chunk.buffer.capacity() / 4) {
+                compact(chunk);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes written.
+     *
+     * @return bytes
+     */
+    public long getNumBytes() {
+        return numBytes;
+    }
+
+    /**
+     * Returns the number of bytes of retained events.
+     *
+     * @return bytes
+     */
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * Returns the number of chunks that have retained events.
+     *
+     * @return chunks
+     */
+    public int getNumChunksRetained() {
+        return numChunksRetained;
+    }
+
+    /**
+     * Release the current chunk. Chunks are reclaimed when no event refers to them.
+     */
+    public void destroy() {
+        current = null;
+    }
+
+    String getKeyName(int keyId) {
+        return keyNames[keyId];
+    }
+
+    int getKeyId(Object key) {
+        if (key == null) {
+            return -1;
+        }
+        Integer id = keyIds.get(key);
+        return id == null ? -1 : id;
+    }
+
+    private int keyId(String key) {
+        Integer id = keyIds.get(key);
+        if (id != null) {
+            return id;
+        }
+        String[] names = Arrays.copyOf(keyNames, keyNames.length + 1);
+        names[names.length - 1] = key;
+        keyNames = names;
+        keyIds.put(key, names.length - 1);
+        return names.length - 1;
+    }
+
+    private void compact(Chunk chunk) {
+        for (OffHeapEventBean bean : new ArrayList<>(chunk.events)) {
+            detach(bean);
+            ByteBuffer from = chunk.buffer.duplicate();
+            from.limit(bean.getOffset() + bean.getLength());
+            from.position(bean.getOffset());
+            Chunk to = chunkFor(bean.getLength());
+            bean.relocate(to, to.place(from));
+            attach(bean);
+        }
+    }
+
+    private void attach(OffHeapEventBean bean) {
+        Chunk chunk = bean.chunk;
+        if (chunk.events.isEmpty()) {
+            numChunksRetained++;
+        }
+        chunk.events.add(bean);
+        chunk.retainedBytes += bean.getLength();
+        retainedBytes += bean.getLength();
+        bean.retained = true;
+    }
+
+    private void detach(OffHeapEventBean bean) {
+        Chunk chunk = bean.chunk;
+        chunk.events.remove(bean);
+        chunk.retainedBytes -= bean.getLength();
+        retainedBytes -= bean.getLength();
+        bean.retained = false;
+        if (chunk.events.isEmpty()) {
+            numChunksRetained--;
+        }
+    }
+
+    private Chunk chunkFor(int length) {
+        // large records are given a chunk of their own so that the current chunk remains in use
+        if (length > chunkSize / 4) {
+            return new Chunk(ByteBuffer.allocateDirect(length));
+        }
+        if (current == null || current.buffer.remaining() < length) {
+            current = new Chunk(ByteBuffer.allocateDirect(chunkSize));
+        }
+        return current;
+    }
+
+    private void ensure(int bytes) {
+        if (scratch.remaining() >= bytes) {
+            return;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(scratch.capacity() * 2, scratch.position() + bytes));
+        scratch.flip();
+        larger.put(scratch);
+        scratch = larger;
+    }
+
+    private void writeValue(Object value) {
+        if (value == null) {
+            ensure(1);
+            scratch.put(TYPE_NULL);
+        } else if (value instanceof String) {
+            String string = (String) value;
+            ensure(5 + string.length() * 2);
+            scratch.put(TYPE_STRING);
+            scratch.putInt(string.length());
+            for (int i = 0; i < string.length(); i++) {
+                scratch.putChar(string.charAt(i));
+            }
+        } else if (value instanceof Integer) {
+            ensure(5);
+            scratch.put(TYPE_INT);
+            scratch.putInt((Integer) value);
+        } else if (value instanceof Long) {
+            ensure(9);
+            scratch.put(TYPE_LONG);
+            scratch.putLong((Long) value);
+        } else if (value instanceof Double) {
+            ensure(9);
+            scratch.put(TYPE_DOUBLE);
+            scratch.putDouble((Double) value);
+        } else if (value instanceof Float) {
+            ensure(5);
+            scratch.put(TYPE_FLOAT);
+            scratch.putFloat((Float) value);
+        } else if (value instanceof Short) {
+            ensure(3);
+            scratch.put(TYPE_SHORT);
+            scratch.putShort((Short) value);
+        } else if (value instanceof Byte) {
+            ensure(2);
+            scratch.put(TYPE_BYTE);
+            scratch.put((Byte) value);
+        } else if (value instanceof Boolean) {
+            ensure(2);
+            scratch.put(TYPE_BOOLEAN);
+            scratch.put((byte) ((Boolean) value ? 1 : 0));
+        } else if (value instanceof Character) {
+            ensure(3);
+            scratch.put(TYPE_CHAR);
+            scratch.putChar((Character) value);
+        } else if (value instanceof BigInteger) {
+            writeBytes(TYPE_BIGINTEGER, 0, ((BigInteger) value).toByteArray());
+        } else if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            writeBytes(TYPE_BIGDECIMAL, decimal.scale(), decimal.unscaledValue().toByteArray());
+        } else {
+            ensure(5);
+            scratch.put(TYPE_HEAP);
+            scratch.putInt(heapValues.size());
+            heapValues.add(value);
+        }
+    }
+
+    private void writeBytes(byte type, int scale, byte[] data) {
+        ensure(9 + data.length);
+        scratch.put(type);
+        if (type == TYPE_BIGDECIMAL) {
+            scratch.putInt(scale);
+        }
+        scratch.putInt(data.length);
+        scratch.put(data);
+    }
+
+    static Object[] readObjectArray(ByteBuffer buffer, int offset, Object[] heap) {
+        Object[] values = new Object[buffer.getInt(offset)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readObjectArrayValue(buffer, offset, i, heap);
+        }
+        return values;
+    }
+
+    static Object readObjectArrayValue(ByteBuffer buffer, int offset, int index, Object[] heap) {
+        return readValue(buffer, offset + buffer.getInt(offset + 4 + index * 4), heap);
+    }
+
+    static int readMapSize(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset);
+    }
+
+    static int readMapKeyId(ByteBuffer buffer, int offset, int index) {
+        return buffer.getInt(offset + 4 + index * 8);
+    }
+
+    static Object readMapValue(ByteBuffer buffer, int offset, int index, Object[] heap) {
+        return readValue(buffer, offset + buffer.getInt(offset + 8 + index * 8), heap);
+    }
+
+    private static Object readValue(ByteBuffer record, int position, Object[] heap) {
+        byte type = record.get(position);
+        int pos = position + 1;
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                char[] chars = new char[record.getInt(pos)];
+                pos += 4;
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = record.getChar(pos + i * 2);
+                }
+                return new String(chars);
+            case TYPE_INT:
+                return record.getInt(pos);
+            case TYPE_LONG:
+                return record.getLong(pos);
+            case TYPE_DOUBLE:
+                return record.getDouble(pos);
+            case TYPE_FLOAT:
+                return record.getFloat(pos);
+            case TYPE_SHORT:
+                return record.getShort(pos);
+            case TYPE_BYTE:
+                return record.get(pos);
+            case TYPE_BOOLEAN:
+                return record.get(pos) != 0;
+            case TYPE_CHAR:
+                return record.getChar(pos);
+            case TYPE_BIGINTEGER:
+                return new BigInteger(readBytes(record, pos));
+            case TYPE_BIGDECIMAL:
+                int scale = record.getInt(pos);
+                return new BigDecimal(new BigInteger(readBytes(record, pos + 4)), scale);
+            case TYPE_HEAP:
+                return heap[record.getInt(pos)];
+            default:
+                throw new IllegalStateException("Unrecognized value type " + type);
+        }
+    }
+
+    private static byte[] readBytes(ByteBuffer record, int position) {
+        byte[] data = new byte[record.getInt(position)];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = record.get(position + 4 + i);
+        }
+        return data;
+    }
+
+    static class Chunk {
+        private final ByteBuffer buffer;
+        private final Set<OffHeapEventBean> events = Collections.newSetFromMap(new IdentityHashMap<>());
+        private int retainedBytes;
+
+        Chunk(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        ByteBuffer getBuffer() {
+            return buffer;
+        }
+
+        int place(ByteBuffer bytes) {
+            int offset = buffer.position();
+            buffer.put(bytes);
+            return offset;
+        }
+    }
+}
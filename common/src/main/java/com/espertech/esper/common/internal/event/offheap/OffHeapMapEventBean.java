@@ -0,0 +1,93 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.offheap;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.event.core.MappedEventBean;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map event that decodes its property values from off-heap storage.
+ * The map returned by {@link #getProperties()} decodes a single value on lookup by key.
+ * Changes to the returned map are not supported.
+ */
+public final class OffHeapMapEventBean extends OffHeapEventBean implements MappedEventBean {
+
+    OffHeapMapEventBean(EventType eventType, OffHeapEventStore store, OffHeapEventStore.Chunk chunk, int offset, int length, Object[] heapValues) {
+        super(eventType, store, chunk, offset, length, heapValues);
+    }
+
+    public Map<String, Object> getProperties() {
+        while (true) {
+            int version = beginRead();
+            ByteBuffer buffer = chunk.getBuffer();
+            int offset = getOffset();
+            if (isReadValid(version)) {
+                return new OffHeapMap(buffer, offset);
+            }
+        }
+    }
+
+    public Object getUnderlying() {
+        return getProperties();
+    }
+
+    private class OffHeapMap extends AbstractMap<String, Object> {
+        private final ByteBuffer buffer;
+        private final int offset;
+
+        OffHeapMap(ByteBuffer buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+
+        public Object get(Object key) {
+            int index = indexOf(key);
+            return index == -1 ? null : OffHeapEventStore.readMapValue(buffer, offset, index, heapValues);
+        }
+
+        public boolean containsKey(Object key) {
+            return indexOf(key) != -1;
+        }
+
+        public int size() {
+            return OffHeapEventStore.readMapSize(buffer, offset);
+        }
+
+        public Set<Entry<String, Object>> entrySet() {
+            int size = OffHeapEventStore.readMapSize(buffer, offset);
+            Map<String, Object> values = new LinkedHashMap<>(size * 4 / 3 + 1);
+            for (int i = 0; i < size; i++) {
+                values.put(getStore().getKeyName(OffHeapEventStore.readMapKeyId(buffer, offset, i)), OffHeapEventStore.readMapValue(buffer, offset, i, heapValues));
+            }
+            return values.entrySet();
+        }
+
+        private int indexOf(Object key) {
+            int keyId = getStore().getKeyId(key);
+            if (keyId == -1) {
+                return -1;
+            }
+            int size = OffHeapEventStore.readMapSize(buffer, offset);
+            for (int i = 0; i < size; i++) {
+                if (OffHeapEventStore.readMapKeyId(buffer, offset, i) == keyId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.offheap;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Object-array event that decodes its property values from off-heap storage.
+ * A single property value is decoded through the offset table of the record by {@link #getProperty(int)}.
+ */
+public final class OffHeapObjectArrayEventBean extends OffHeapEventBean implements ObjectArrayBackedEventBean {
+    private volatile Object[] replacedValues;
+
+    OffHeapObjectArrayEventBean(EventType eventType, OffHeapEventStore store, OffHeapEventStore.Chunk chunk, int offset, int length, Object[] heapValues) {
+        super(eventType, store, chunk, offset, length, heapValues);
+    }
+
+    public Object getProperty(int index) {
+        Object[] values = replacedValues;
+        if (values != null) {
+            return values[index];
+        }
+        while (true) {
+            int version = beginRead();
+            ByteBuffer buffer = chunk.getBuffer();
+            int offset = getOffset();
+            if (isReadValid(version)) {
+                return OffHeapEventStore.readObjectArrayValue(buffer, offset, index, heapValues);
+            }
+        }
+    }
+
+    public Object[] getProperties() {
+        Object[] values = replacedValues;
+        if (values != null) {
+            return values;
+        }
+        while (true) {
+            int version = beginRead();
+            ByteBuffer buffer = chunk.getBuffer();
+            int offset = getOffset();
+            if (isReadValid(version)) {
+                return OffHeapEventStore.readObjectArray(buffer, offset, heapValues);
+            }
+        }
+    }
+
+    /**
+     * Replaces the property values, which are then kept on heap.
+     *
+     * @param objects values
+     */
+    public void setPropertyValues(Object[] objects) {
+        this.replacedValues = objects;
+    }
+
+    public Object getUnderlying() {
+        return getProperties();
+    }
+}
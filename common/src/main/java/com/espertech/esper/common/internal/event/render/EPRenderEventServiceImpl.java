@@ -13,11 +13,18 @@ package com.espertech.esper.common.internal.event.render;
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.render.*;
+import com.espertech.esper.common.internal.collection.Pair;
+
+import java.io.IOException;
 
 /**
  * Provider for rendering services of {@link EventBean} events.
  */
 public class EPRenderEventServiceImpl implements EPRenderEventService {
+    // renderers with default options for the event type last rendered by the quick-access methods
+    private volatile Pair<EventType, JSONEventRenderer> lastJSONRenderer;
+    private volatile Pair<EventType, XMLEventRenderer> lastXMLRenderer;
+
     /**
      * Returns a render for the JSON format, valid only for the given event type and its subtypes.
      *
@@ -50,7 +57,10 @@ public class EPRenderEventServiceImpl implements EPRenderEventService {
      * @return JSON formatted text
      */
     public String renderJSON(String title, EventBean theEvent) {
-        return renderJSON(title, theEvent, new JSONRenderingOptions());
+        if (theEvent == null) {
+            return null;
+        }
+        return getJSONRendererDefault(theEvent.getEventType()).render(title, theEvent);
     }
 
     /**
@@ -103,7 +113,10 @@ public class EPRenderEventServiceImpl implements EPRenderEventService {
      * @return XML formatted text
      */
     public String renderXML(String rootElementName, EventBean theEvent) {
-        return renderXML(rootElementName, theEvent, new XMLRenderingOptions());
+        if (theEvent == null) {
+            return null;
+        }
+        return getXMLRendererDefault(theEvent.getEventType()).render(rootElementName, theEvent);
     }
 
     /**
@@ -123,4 +136,54 @@ public class EPRenderEventServiceImpl implements EPRenderEventService {
         }
         return getXMLRenderer(theEvent.getEventType(), options).render(rootElementName, theEvent);
     }
+
+    /**
+     * Quick-access method to render a given event in the JSON format, appending to the output provided.
+     *
+     * @param title    the JSON root title
+     * @param theEvent the event to render
+     * @param out      output to append to
+     * @throws IOException when the output fails
+     */
+    public void renderJSON(String title, EventBean theEvent, Appendable out) throws IOException {
+        if (theEvent == null) {
+            return;
+        }
+        getJSONRendererDefault(theEvent.getEventType()).render(title, theEvent, out);
+    }
+
+    /**
+     * Quick-access method to render a given event in the XML format, appending to the output provided.
+     *
+     * @param rootElementName the root element name that may also include namespace information
+     * @param theEvent        the event to render
+     * @param out             output to append to
+     * @throws IOException when the output fails
+     */
+    public void renderXML(String rootElementName, EventBean theEvent, Appendable out) throws IOException {
+        if (theEvent == null) {
+            return;
+        }
+        getXMLRendererDefault(theEvent.getEventType()).render(rootElementName, theEvent, out);
+    }
+
+    private JSONEventRenderer getJSONRendererDefault(EventType eventType) {
+        Pair<EventType, JSONEventRenderer> last = lastJSONRenderer;
+        if (last != null && last.getFirst() == eventType) {
+            return last.getSecond();
+        }
+        JSONEventRenderer renderer = getJSONRenderer(eventType);
+        lastJSONRenderer = new Pair<>(eventType, renderer);
+        return renderer;
+    }
+
+    private XMLEventRenderer getXMLRendererDefault(EventType eventType) {
+        Pair<EventType, XMLEventRenderer> last = lastXMLRenderer;
+        if (last != null && last.getFirst() == eventType) {
+            return last.getSecond();
+        }
+        XMLEventRenderer renderer = getXMLRenderer(eventType);
+        lastXMLRenderer = new Pair<>(eventType, renderer);
+        return renderer;
+    }
 }
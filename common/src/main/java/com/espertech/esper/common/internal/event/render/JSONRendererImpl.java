@@ -20,7 +20,10 @@ import com.espertech.esper.common.internal.event.util.EventTypePropertyPair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Stack;
@@ -56,7 +59,74 @@ public class JSONRendererImpl implements JSONEventRenderer {
     }
 
     public String render(String title, EventBean theEvent) {
-        StringBuilder buf = new StringBuilder();
+        StringBuilder buf = RendererScratch.acquire();
+        try {
+            render(title, theEvent, buf);
+            return buf.toString();
+        } finally {
+            RendererScratch.release(buf);
+        }
+    }
+
+    public String render(EventBean theEvent) {
+        StringBuilder buf = RendererScratch.acquire();
+        try {
+            render(theEvent, buf);
+            return buf.toString();
+        } finally {
+            RendererScratch.release(buf);
+        }
+    }
+
+    public void render(String title, EventBean theEvent, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            render(title, theEvent, (StringBuilder) out);
+            return;
+        }
+        StringBuilder buf = RendererScratch.acquire();
+        try {
+            render(title, theEvent, buf);
+            out.append(buf);
+        } finally {
+            RendererScratch.release(buf);
+        }
+    }
+
+    public void render(EventBean theEvent, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            render(theEvent, (StringBuilder) out);
+            return;
+        }
+        StringBuilder buf = RendererScratch.acquire();
+        try {
+            render(theEvent, buf);
+            out.append(buf);
+        } finally {
+            RendererScratch.release(buf);
+        }
+    }
+
+    public void render(EventBean theEvent, OutputStream out) throws IOException {
+        StringBuilder buf = RendererScratch.acquire();
+        try {
+            render(theEvent, buf);
+            RendererScratch.write(buf, out);
+        } finally {
+            RendererScratch.release(buf);
+        }
+    }
+
+    public void render(EventBean theEvent, ByteBuffer out) {
+        StringBuilder buf = RendererScratch.acquire();
+        try {
+            render(theEvent, buf);
+            RendererScratch.write(buf, out);
+        } finally {
+            RendererScratch.release(buf);
+        }
+    }
+
+    private void render(String title, EventBean theEvent, StringBuilder buf) {
         buf.append('{');
         buf.append(NEWLINE);
 
@@ -74,16 +144,12 @@ public class JSONRendererImpl implements JSONEventRenderer {
 
         buf.append('}');
         buf.append(NEWLINE);
-
-        return buf.toString();
     }
 
-    public String render(EventBean theEvent) {
-        StringBuilder buf = new StringBuilder();
+    private void render(EventBean theEvent, StringBuilder buf) {
         buf.append('{');
         recursiveRender(theEvent, buf, 2, meta, rendererOptions);
         buf.append('}');
-        return buf.toString();
     }
 
     private static void ident(StringBuilder buf, int level) {
@@ -258,20 +324,16 @@ public class JSONRendererImpl implements JSONEventRenderer {
                     continue;
                 }
 
-
-                StringBuilder arrayDelimiterBuf = new StringBuilder();
-                arrayDelimiterBuf.append(',');
-                arrayDelimiterBuf.append(NEWLINE);
-                ident(arrayDelimiterBuf, level + 1);
-
                 EventBean[] nestedEventArray = (EventBean[]) value;
-                String arrayDelimiter = "";
                 buf.append('[');
 
                 for (int i = 0; i < nestedEventArray.length; i++) {
                     EventBean arrayItem = nestedEventArray[i];
-                    buf.append(arrayDelimiter);
-                    arrayDelimiter = arrayDelimiterBuf.toString();
+                    if (i > 0) {
+                        buf.append(',');
+                        buf.append(NEWLINE);
+                        ident(buf, level + 1);
+                    }
 
                     buf.append('{');
                     buf.append(NEWLINE);
@@ -0,0 +1,149 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.render;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Per-thread scratch state for renderers: a reusable text buffer and a reusable byte buffer for UTF-8 encoding.
+ * <p>
+ * The text buffer is handed out once per thread at a time, a nested acquire, such as by a custom property renderer
+ * that itself renders an event, receives a new buffer.
+ */
+final class RendererScratch {
+    private final static int INITIAL_CHARS = 256;
+    private final static int MAX_RETAINED_CHARS = 64 * 1024;
+    private final static int BYTES_SIZE = 8192;
+
+    private final static ThreadLocal<RendererScratch> SCRATCH = ThreadLocal.withInitial(RendererScratch::new);
+
+    private StringBuilder buf = new StringBuilder(INITIAL_CHARS);
+    private final byte[] bytes = new byte[BYTES_SIZE];
+    private boolean inUse;
+
+    private RendererScratch() {
+    }
+
+    /**
+     * Returns an empty text buffer, to be returned by {@link #release(StringBuilder)}.
+     *
+     * @return buffer
+     */
+    static StringBuilder acquire() {
+        RendererScratch scratch = SCRATCH.get();
+        if (scratch.inUse) {
+            return new StringBuilder(INITIAL_CHARS);
+        }
+        scratch.inUse = true;
+        scratch.buf.setLength(0);
+        return scratch.buf;
+    }
+
+    /**
+     * Returns the text buffer, discarding buffers that grew beyond the retained size.
+     *
+     * @param buf buffer
+     */
+    static void release(StringBuilder buf) {
+        RendererScratch scratch = SCRATCH.get();
+        if (buf != scratch.buf) {
+            return;
+        }
+        scratch.inUse = false;
+        if (buf.capacity() > MAX_RETAINED_CHARS) {
+            scratch.buf = new StringBuilder(INITIAL_CHARS);
+        }
+    }
+
+    /**
+     * Writes the characters UTF-8 encoded to the stream.
+     *
+     * @param chars characters
+     * @param out   stream
+     * @throws IOException if the stream fails
+     */
+    static void write(CharSequence chars, OutputStream out) throws IOException {
+        byte[] bytes = SCRATCH.get().bytes;
+        int pos = 0;
+        int length = chars.length();
+        for (int i = 0; i < length; i++) {
+            if (pos > BYTES_SIZE - 4) {
+                out.write(bytes, 0, pos);
+                pos = 0;
+            }
+            char c = chars.charAt(i);
+            if (c < 0x80) {
+                bytes[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[pos++] = (byte) (0xC0 | (c >> 6));
+                bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+                bytes[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                bytes[pos++] = (byte) '?';
+            } else {
+                bytes[pos++] = (byte) (0xE0 | (c >> 12));
+                bytes[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        if (pos > 0) {
+            out.write(bytes, 0, pos);
+        }
+    }
+
+    /**
+     * Writes the characters UTF-8 encoded to the buffer, leaving the buffer position unchanged when the
+     * encoded characters do not fit.
+     *
+     * @param chars characters
+     * @param out   buffer
+     * @throws BufferOverflowException if the buffer has insufficient space remaining
+     */
+    static void write(CharSequence chars, ByteBuffer out) throws BufferOverflowException {
+        int start = out.position();
+        try {
+            int length = chars.length();
+            for (int i = 0; i < length; i++) {
+                char c = chars.charAt(i);
+                if (c < 0x80) {
+                    out.put((byte) c);
+                } else if (c < 0x800) {
+                    out.put((byte) (0xC0 | (c >> 6)));
+                    out.put((byte) (0x80 | (c & 0x3F)));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+                    out.put((byte) (0xF0 | (codePoint >> 18)));
+                    out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    out.put((byte) (0x80 | (codePoint & 0x3F)));
+                } else if (Character.isSurrogate(c)) {
+                    out.put((byte) '?');
+                } else {
+                    out.put((byte) (0xE0 | (c >> 12)));
+                    out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                    out.put((byte) (0x80 | (c & 0x3F)));
+                }
+            }
+        } catch (BufferOverflowException ex) {
+            ((Buffer) out).position(start);
+            throw ex;
+        }
+    }
+}
@@ -20,7 +20,10 @@ import com.espertech.esper.common.internal.event.util.EventTypePropertyPair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Stack;
@@ -56,15 +59,58 @@ public class XMLRendererImpl implements XMLEventRenderer {
     }
 
     public String render(String rootElementName, EventBean theEvent) {
-        if (options.isDefaultAsAttribute()) {
-            return renderAttributeXML(rootElementName, theEvent);
+        StringBuilder buf = RendererScratch.acquire();
+        try {
+            render(rootElementName, theEvent, buf);
+            return buf.toString();
+        } finally {
+            RendererScratch.release(buf);
         }
-        return renderElementXML(rootElementName, theEvent);
     }
 
-    private String renderElementXML(String rootElementName, EventBean theEvent) {
-        StringBuilder buf = new StringBuilder();
+    public void render(String rootElementName, EventBean theEvent, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            render(rootElementName, theEvent, (StringBuilder) out);
+            return;
+        }
+        StringBuilder buf = RendererScratch.acquire();
+        try {
+            render(rootElementName, theEvent, buf);
+            out.append(buf);
+        } finally {
+            RendererScratch.release(buf);
+        }
+    }
+
+    public void render(String rootElementName, EventBean theEvent, OutputStream out) throws IOException {
+        StringBuilder buf = RendererScratch.acquire();
+        try {
+            render(rootElementName, theEvent, buf);
+            RendererScratch.write(buf, out);
+        } finally {
+            RendererScratch.release(buf);
+        }
+    }
+
+    public void render(String rootElementName, EventBean theEvent, ByteBuffer out) {
+        StringBuilder buf = RendererScratch.acquire();
+        try {
+            render(rootElementName, theEvent, buf);
+            RendererScratch.write(buf, out);
+        } finally {
+            RendererScratch.release(buf);
+        }
+    }
 
+    private void render(String rootElementName, EventBean theEvent, StringBuilder buf) {
+        if (options.isDefaultAsAttribute()) {
+            renderAttributeXML(rootElementName, theEvent, buf);
+        } else {
+            renderElementXML(rootElementName, theEvent, buf);
+        }
+    }
+
+    private void renderElementXML(String rootElementName, EventBean theEvent, StringBuilder buf) {
         buf.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
         buf.append(NEWLINE);
 
@@ -78,13 +124,9 @@ public class XMLRendererImpl implements XMLEventRenderer {
         buf.append("</");
         buf.append(getFirstWord(rootElementName));
         buf.append('>');
-
-        return buf.toString();
     }
 
-    private String renderAttributeXML(String rootElementName, EventBean theEvent) {
-        StringBuilder buf = new StringBuilder();
-
+    private void renderAttributeXML(String rootElementName, EventBean theEvent, StringBuilder buf) {
         buf.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
         buf.append(NEWLINE);
 
@@ -105,8 +147,6 @@ public class XMLRendererImpl implements XMLEventRenderer {
             buf.append(getFirstWord(rootElementName));
             buf.append('>');
         }
-
-        return buf.toString();
     }
 
     private String renderAttElements(EventBean theEvent, int level, RendererMeta meta) {
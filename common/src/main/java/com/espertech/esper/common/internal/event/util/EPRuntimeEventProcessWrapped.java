@@ -23,6 +23,22 @@ public interface EPRuntimeEventProcessWrapped {
      */
     public void processWrappedEvent(EventBean eventBean);
 
+    /**
+     * Process a known event and return indicator whether the event bean may be reused by the caller,
+     * i.e. no statement, listener or queue retained a reference to the event bean.
+     *
+     * @param eventBean is the event object wrapped by an event bean providing the event metadata
+     * @return true if the event bean is not referenced after processing and may be reused
+     */
+    public boolean processWrappedEventPooled(EventBean eventBean);
+
+    /**
+     * Process a batch of known events, amortizing per-event locking and dispatch.
+     *
+     * @param eventBeans events wrapped by event beans providing the event metadata
+     */
+    public void processWrappedEventBatch(EventBean[] eventBeans);
+
     /**
      * For processing a routed event.
      *
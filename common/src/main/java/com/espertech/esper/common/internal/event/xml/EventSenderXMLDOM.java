@@ -57,7 +57,35 @@ public class EventSenderXMLDOM implements EventSender {
         sendEvent(theEvent, true);
     }
 
+    public void sendEventBatch(Object[] events) throws EPException {
+        EventBean[] eventBeans = new EventBean[events.length];
+        for (int i = 0; i < events.length; i++) {
+            eventBeans[i] = getEventBean(events[i]);
+        }
+
+        if (threadingService.isInboundThreading()) {
+            for (EventBean eventBean : eventBeans) {
+                threadingService.submitInbound(eventBean, runtimeEventSender);
+            }
+        } else {
+            runtimeEventSender.processWrappedEventBatch(eventBeans);
+        }
+    }
+
     private void sendEvent(Object node, boolean isRoute) throws EPException {
+        EventBean theEvent = getEventBean(node);
+        if (isRoute) {
+            runtimeEventSender.routeEventBean(theEvent);
+        } else {
+            if (threadingService.isInboundThreading()) {
+                threadingService.submitInbound(theEvent, runtimeEventSender);
+            } else {
+                runtimeEventSender.processWrappedEvent(theEvent);
+            }
+        }
+    }
+
+    private EventBean getEventBean(Object node) throws EPException {
         Node namedNode;
         if (node instanceof Document) {
             namedNode = ((Document) node).getDocumentElement();
@@ -78,15 +106,6 @@ public class EventSenderXMLDOM implements EventSender {
             }
         }
 
-        EventBean theEvent = eventBeanTypedEventFactory.adapterForTypedDOM(namedNode, baseXMLEventType);
-        if (isRoute) {
-            runtimeEventSender.routeEventBean(theEvent);
-        } else {
-            if (threadingService.isInboundThreading()) {
-                threadingService.submitInbound(theEvent, runtimeEventSender);
-            } else {
-                runtimeEventSender.processWrappedEvent(theEvent);
-            }
-        }
+        return eventBeanTypedEventFactory.adapterForTypedDOM(namedNode, baseXMLEventType);
     }
 }
@@ -0,0 +1,27 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.filtersvc;
+
+import com.espertech.esper.common.client.EventBean;
+
+/**
+ * A filter handle that is shared by multiple filter handles and that, when the filter matches an event,
+ * the filter service replaces by the filter handle that the event routes to.
+ */
+public interface FilterHandleRouter extends FilterHandle {
+    /**
+     * Returns the filter handle for the event.
+     *
+     * @param theEvent event
+     * @return filter handle or null if the event does not route to any filter handle
+     */
+    FilterHandle route(EventBean theEvent);
+}
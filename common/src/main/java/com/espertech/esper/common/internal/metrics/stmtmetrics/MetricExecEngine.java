@@ -20,6 +20,7 @@ public class MetricExecEngine implements MetricExec {
     private final String runtimeURI;
     private final MetricScheduleService metricScheduleService;
     private final long interval;
+    private final MetricNamedWindowFanOut namedWindowFanOut;
     private RuntimeMetric lastMetric;
 
     /**
@@ -29,19 +30,22 @@ public class MetricExecEngine implements MetricExec {
      * @param runtimeURI            runtime URI
      * @param metricScheduleService for scheduling a new execution
      * @param interval              for rescheduling the execution
+     * @param namedWindowFanOut     named window dispatch fan-out counts
      */
-    public MetricExecEngine(MetricEventRouter metricEventRouter, String runtimeURI, MetricScheduleService metricScheduleService, long interval) {
+    public MetricExecEngine(MetricEventRouter metricEventRouter, String runtimeURI, MetricScheduleService metricScheduleService, long interval, MetricNamedWindowFanOut namedWindowFanOut) {
         this.metricEventRouter = metricEventRouter;
         this.runtimeURI = runtimeURI;
         this.metricScheduleService = metricScheduleService;
         this.interval = interval;
+        this.namedWindowFanOut = namedWindowFanOut;
     }
 
     public void execute(MetricExecutionContext context) {
         long inputCount = context.getFilterService().getNumEventsEvaluated();
         long schedDepth = context.getSchedulingService().getScheduleHandleCount();
         long deltaInputCount = lastMetric == null ? inputCount : inputCount - lastMetric.getInputCount();
-        RuntimeMetric metric = new RuntimeMetric(runtimeURI, metricScheduleService.getCurrentTime(), inputCount, deltaInputCount, schedDepth);
+        RuntimeMetric metric = new RuntimeMetric(runtimeURI, metricScheduleService.getCurrentTime(), inputCount, deltaInputCount, schedDepth,
+            namedWindowFanOut.getCount(), namedWindowFanOut.getWallTotal(), namedWindowFanOut.getWallMax());
         lastMetric = metric;
         metricEventRouter.route(metric);
         metricScheduleService.add(interval, this);
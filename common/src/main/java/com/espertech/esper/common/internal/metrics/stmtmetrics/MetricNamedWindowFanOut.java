@@ -0,0 +1,45 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.metrics.stmtmetrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts parallel named window dispatch fan-outs and their wall time, cumulative since runtime initialization.
+ */
+public class MetricNamedWindowFanOut {
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong wallTotal = new AtomicLong();
+    private final AtomicLong wallMax = new AtomicLong();
+
+    /**
+     * Account for a fan-out.
+     *
+     * @param deltaWall wall time nsec
+     */
+    public void account(long deltaWall) {
+        count.incrementAndGet();
+        wallTotal.addAndGet(deltaWall);
+        wallMax.accumulateAndGet(deltaWall, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getWallTotal() {
+        return wallTotal.get();
+    }
+
+    public long getWallMax() {
+        return wallMax.get();
+    }
+}
@@ -53,6 +53,13 @@ public interface MetricReportingService {
      */
     public void accountOutput(StatementMetricHandle handle, int numIStream, int numRStream, Object epStatement, Object runtime);
 
+    /**
+     * Account for a parallel named window dispatch fan-out.
+     *
+     * @param deltaWall wall time nsec
+     */
+    public void accountNamedWindowFanOut(long deltaWall);
+
     /**
      * Returns for a new statement a handle for later accounting.
      *
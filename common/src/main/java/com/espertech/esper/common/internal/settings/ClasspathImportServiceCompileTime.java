@@ -201,6 +201,12 @@ public class ClasspathImportServiceCompileTime extends ClasspathImportServiceBas
         if (nameLowerCase.equals("leaving")) {
             return new ExprLeavingAggNode(isDistinct);
         }
+        if (nameLowerCase.equals("percentile")) {
+            return new ExprPercentileAggNode(isDistinct, false);
+        }
+        if (nameLowerCase.equals("percentileapprox")) {
+            return new ExprPercentileAggNode(isDistinct, true);
+        }
         if (nameLowerCase.equals("maxby")) {
             return new ExprAggMultiFunctionSortedMinMaxByNode(true, false, false);
         }
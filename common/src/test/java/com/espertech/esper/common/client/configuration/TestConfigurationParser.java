@@ -80,6 +80,7 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(EventTypeBusModifier.NONBUS, byteCode.getBusModifierEventType());
         assertEquals(8, byteCode.getThreadPoolCompilerNumThreads());
         assertNull(byteCode.getThreadPoolCompilerCapacity());
+        assertNull(byteCode.getClassCacheDirectory());
         assertEquals(StreamSelector.ISTREAM_ONLY, compiler.getStreamSelection().getDefaultStreamSelector());
         assertFalse(compiler.getLanguage().isSortUsingCollator());
         assertFalse(compiler.getExpression().isIntegerDivision());
@@ -104,15 +105,23 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(runtime.getThreading().isThreadPoolOutbound());
         assertFalse(runtime.getThreading().isThreadPoolRouteExec());
         assertFalse(runtime.getThreading().isThreadPoolTimerExec());
+        assertFalse(runtime.getThreading().isThreadPoolNamedWindowDispatch());
         assertEquals(2, runtime.getThreading().getThreadPoolInboundNumThreads());
         assertEquals(2, runtime.getThreading().getThreadPoolOutboundNumThreads());
         assertEquals(2, runtime.getThreading().getThreadPoolRouteExecNumThreads());
         assertEquals(2, runtime.getThreading().getThreadPoolTimerExecNumThreads());
+        assertEquals(2, runtime.getThreading().getThreadPoolNamedWindowDispatchNumThreads());
         assertNull(runtime.getThreading().getThreadPoolInboundCapacity());
         assertNull(runtime.getThreading().getThreadPoolOutboundCapacity());
         assertNull(runtime.getThreading().getThreadPoolRouteExecCapacity());
         assertNull(runtime.getThreading().getThreadPoolTimerExecCapacity());
+        assertNull(runtime.getThreading().getThreadPoolNamedWindowDispatchCapacity());
+        assertFalse(runtime.getThreading().isThreadPoolContextPartitionExec());
+        assertEquals(2, runtime.getThreading().getThreadPoolContextPartitionExecNumThreads());
+        assertNull(runtime.getThreading().getThreadPoolContextPartitionExecCapacity());
         assertFalse(runtime.getThreading().isRuntimeFairlock());
+        assertEquals(ThreadPoolQueueType.BLOCKING, runtime.getThreading().getThreadPoolQueueType());
+        assertEquals(ThreadPoolWaitStrategy.PARK, runtime.getThreading().getThreadPoolWaitStrategy());
         assertFalse(runtime.getMetricsReporting().isJmxRuntimeMetrics());
         assertTrue(runtime.getThreading().isNamedWindowConsumerDispatchPreserveOrder());
         assertEquals(Long.MAX_VALUE, runtime.getThreading().getNamedWindowConsumerDispatchTimeout());
@@ -130,6 +139,8 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(runtime.getExecution().isDisableLocking());
         assertEquals(FilterServiceProfile.READMOSTLY, runtime.getExecution().getFilterServiceProfile());
         assertEquals(1, runtime.getExecution().getDeclaredExprValueCacheSize());
+        assertEquals(SchedulingServiceProfile.SORTEDMAP, runtime.getExecution().getSchedulingServiceProfile());
+        assertEquals(0, runtime.getExecution().getFilterIndexRebalanceInterval());
         assertTrue(runtime.getExpression().isSelfSubselectPreeval());
         assertEquals(TimeZone.getDefault(), runtime.getExpression().getTimeZone());
         assertNull(runtime.getExceptionHandling().getHandlerFactories());
@@ -342,7 +353,7 @@ public class TestConfigurationParser extends TestCase {
         assertTrue(variable.isConstant());
 
         // method references
-        assertEquals(2, common.getMethodInvocationReferences().size());
+        assertEquals(3, common.getMethodInvocationReferences().size());
         ConfigurationCommonMethodRef methodRef = common.getMethodInvocationReferences().get("abc");
         expCache = (ConfigurationCommonCacheExpiryTime) methodRef.getDataCacheDesc();
         assertEquals(91.0, expCache.getMaxAgeSeconds());
@@ -353,6 +364,12 @@ public class TestConfigurationParser extends TestCase {
         lruCache = (ConfigurationCommonCacheLRU) methodRef.getDataCacheDesc();
         assertEquals(20, lruCache.getSize());
 
+        methodRef = common.getMethodInvocationReferences().get("ghi");
+        ConfigurationCommonCacheConcurrent concurrentCache = (ConfigurationCommonCacheConcurrent) methodRef.getDataCacheDesc();
+        assertEquals(1000, concurrentCache.getMaxRows());
+        assertEquals(30.5, concurrentCache.getMaxAgeSeconds());
+        assertEquals(20.0, concurrentCache.getRefreshAheadSeconds());
+
         // variance types
         assertEquals(1, common.getVariantStreams().size());
         ConfigurationCommonVariantStream configVStream = common.getVariantStreams().get("MyVariantStream");
@@ -478,6 +495,7 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(EventTypeBusModifier.BUS, byteCode.getBusModifierEventType());
         assertEquals(1234, byteCode.getThreadPoolCompilerNumThreads());
         assertEquals(4321, (int) byteCode.getThreadPoolCompilerCapacity());
+        assertEquals("/tmp/esper-class-cache", byteCode.getClassCacheDirectory());
         assertEquals(StreamSelector.RSTREAM_ISTREAM_BOTH, compiler.getStreamSelection().getDefaultStreamSelector());
 
         assertEquals(100, compiler.getExecution().getFilterServiceMaxFilterWidth());
@@ -524,7 +542,15 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(1500, (int) runtime.getThreading().getThreadPoolOutboundCapacity());
         assertNull(runtime.getThreading().getThreadPoolTimerExecCapacity());
         assertEquals(2000, (int) runtime.getThreading().getThreadPoolRouteExecCapacity());
+        assertTrue(runtime.getThreading().isThreadPoolNamedWindowDispatch());
+        assertEquals(5, runtime.getThreading().getThreadPoolNamedWindowDispatchNumThreads());
+        assertEquals(2500, (int) runtime.getThreading().getThreadPoolNamedWindowDispatchCapacity());
+        assertTrue(runtime.getThreading().isThreadPoolContextPartitionExec());
+        assertEquals(6, runtime.getThreading().getThreadPoolContextPartitionExecNumThreads());
+        assertEquals(3000, (int) runtime.getThreading().getThreadPoolContextPartitionExecCapacity());
         assertTrue(runtime.getThreading().isRuntimeFairlock());
+        assertEquals(ThreadPoolQueueType.RINGBUFFER, runtime.getThreading().getThreadPoolQueueType());
+        assertEquals(ThreadPoolWaitStrategy.YIELD, runtime.getThreading().getThreadPoolWaitStrategy());
 
         assertFalse(runtime.getThreading().isInternalTimerEnabled());
         assertEquals(1234567, runtime.getThreading().getInternalTimerMsecResolution());
@@ -559,6 +585,8 @@ public class TestConfigurationParser extends TestCase {
         assertTrue(runtime.getExecution().isDisableLocking());
         assertEquals(FilterServiceProfile.READWRITE, runtime.getExecution().getFilterServiceProfile());
         assertEquals(101, runtime.getExecution().getDeclaredExprValueCacheSize());
+        assertEquals(SchedulingServiceProfile.TIMINGWHEEL, runtime.getExecution().getSchedulingServiceProfile());
+        assertEquals(5000, runtime.getExecution().getFilterIndexRebalanceInterval());
 
         ConfigurationRuntimeMetricsReporting metrics = runtime.getMetricsReporting();
         assertTrue(metrics.isEnableMetricsReporting());
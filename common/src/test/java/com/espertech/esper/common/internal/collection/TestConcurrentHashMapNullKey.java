@@ -0,0 +1,61 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import junit.framework.TestCase;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class TestConcurrentHashMapNullKey extends TestCase {
+
+    public void testNullKey() {
+        ConcurrentHashMapNullKey<String, Integer> map = new ConcurrentHashMapNullKey<>();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(null));
+
+        assertNull(map.put(null, 1));
+        assertNull(map.put("a", 2));
+        assertEquals(1, (int) map.get(null));
+        assertEquals(2, (int) map.get("a"));
+        assertTrue(map.containsKey(null));
+        assertEquals(2, map.size());
+
+        assertEquals(1, (int) map.putIfAbsent(null, 10));
+        assertEquals(1, (int) map.get(null));
+
+        Set<String> keys = new HashSet<>(map.keySet());
+        Set<String> expected = new HashSet<>();
+        expected.add(null);
+        expected.add("a");
+        assertEquals(expected, keys);
+
+        int sum = 0;
+        for (Integer value : map.values()) {
+            sum += value;
+        }
+        assertEquals(3, sum);
+
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            if (entry.getKey() == null) {
+                assertEquals(1, (int) entry.getValue());
+            }
+        }
+
+        assertEquals(1, (int) map.remove(null));
+        assertFalse(map.containsKey(null));
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import junit.framework.TestCase;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Random;
+
+public class TestDoubleQuantileSketch extends TestCase {
+
+    public void testEmptyAndInvalid() {
+        DoubleQuantileSketch sketch = new DoubleQuantileSketch();
+        assertNull(sketch.getQuantile(0.5));
+        sketch.remove(1);
+        assertEquals(0, sketch.size());
+
+        try {
+            new DoubleQuantileSketch(0);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    public void testRelativeAccuracy() {
+        Random random = new Random(99);
+        DoubleQuantileSketch sketch = new DoubleQuantileSketch(0.01);
+        double[] values = new double[50000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian() * 1000;
+            if (i % 100 == 0) {
+                values[i] = 0;
+            }
+            sketch.add(values[i]);
+        }
+        sketch.add(Double.NaN);
+        assertEquals(values.length, sketch.size());
+        assertAccurate(sketch, values, 0.01);
+
+        // remove the first half
+        for (int i = 0; i < values.length / 2; i++) {
+            sketch.remove(values[i]);
+        }
+        double[] remaining = Arrays.copyOfRange(values, values.length / 2, values.length);
+        assertEquals(remaining.length, sketch.size());
+        assertAccurate(sketch, remaining, 0.01);
+
+        sketch.clear();
+        assertNull(sketch.getQuantile(0.5));
+    }
+
+    public void testReadWrite() throws IOException {
+        DoubleQuantileSketch sketch = new DoubleQuantileSketch(0.02);
+        for (int i = -100; i < 1000; i++) {
+            sketch.add(i * 1.5);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketch.write(new DataOutputStream(bytes));
+        DoubleQuantileSketch read = DoubleQuantileSketch.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(sketch.size(), read.size());
+        assertEquals(0.02, read.getRelativeAccuracy(), 0);
+        for (double q = 0; q <= 1; q += 0.05) {
+            assertEquals(sketch.getQuantile(q), read.getQuantile(q));
+        }
+    }
+
+    private static void assertAccurate(DoubleQuantileSketch sketch, double[] values, double accuracy) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q = 0; q <= 1; q += 0.01) {
+            double expected = sorted[(int) (q * (sorted.length - 1))];
+            double actual = sketch.getQuantile(q);
+            assertTrue("q=" + q + " expected " + expected + " actual " + actual, Math.abs(actual - expected) <= accuracy * Math.abs(expected) + 1e-9);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Random;
+
+public class TestMinMaxDeque extends TestCase {
+
+    public void testLengthWindowMax() {
+        MinMaxDequeLong deque = new MinMaxDequeLong(true);
+        assertTrue(deque.isEmpty());
+
+        deque.add(5);
+        deque.add(3);
+        deque.add(5);
+        assertEquals(5, deque.getValue());
+        assertEquals(2, deque.size());
+
+        deque.remove(5);
+        assertEquals(5, deque.getValue());
+        deque.remove(3);
+        assertEquals(5, deque.getValue());
+        deque.remove(5);
+        assertTrue(deque.isEmpty());
+
+        deque.add(1);
+        deque.add(7);
+        deque.add(2);
+        assertEquals(7, deque.getValue());
+        deque.clear();
+        assertTrue(deque.isEmpty());
+    }
+
+    public void testDoubleMinWithNaN() {
+        MinMaxDequeDouble deque = new MinMaxDequeDouble(false);
+        deque.add(Double.NaN);
+        deque.add(2.5);
+        deque.add(-1);
+        assertEquals(-1d, deque.getValue());
+        deque.remove(Double.NaN);
+        deque.remove(2.5);
+        assertEquals(-1d, deque.getValue());
+        deque.remove(-1);
+        assertTrue(deque.isEmpty());
+
+        MinMaxDequeDouble max = new MinMaxDequeDouble(true);
+        max.add(1);
+        max.add(Double.NaN);
+        assertTrue(Double.isNaN(max.getValue()));
+    }
+
+    public void testRandomSlidingWindow() {
+        Random random = new Random(1);
+        for (int windowSize = 1; windowSize < 20; windowSize++) {
+            MinMaxDequeLong min = new MinMaxDequeLong(false);
+            MinMaxDequeDouble max = new MinMaxDequeDouble(true);
+            ArrayDeque<Long> window = new ArrayDeque<>();
+            for (int i = 0; i < 1000; i++) {
+                long value = random.nextInt(10);
+                window.addLast(value);
+                min.add(value);
+                max.add(value);
+                if (window.size() > windowSize) {
+                    long removed = window.removeFirst();
+                    min.remove(removed);
+                    max.remove(removed);
+                }
+                long expectedMin = Long.MAX_VALUE;
+                long expectedMax = Long.MIN_VALUE;
+                for (long item : window) {
+                    expectedMin = Math.min(expectedMin, item);
+                    expectedMax = Math.max(expectedMax, item);
+                }
+                assertEquals(expectedMin, min.getValue());
+                assertEquals((double) expectedMax, max.getValue());
+            }
+        }
+    }
+
+    public void testBatchWindow() {
+        MinMaxDequeLong deque = new MinMaxDequeLong(true);
+        long[] first = new long[]{4, 9, 1, 9, 3};
+        long[] second = new long[]{2, 8, 5};
+        for (long value : first) {
+            deque.add(value);
+        }
+        for (long value : second) {
+            deque.add(value);
+        }
+        assertEquals(9, deque.getValue());
+        for (long value : first) {
+            deque.remove(value);
+        }
+        assertEquals(8, deque.getValue());
+        for (long value : second) {
+            deque.remove(value);
+        }
+        assertTrue(deque.isEmpty());
+    }
+
+    public void testSerialize() throws IOException {
+        MinMaxDequeLong deque = new MinMaxDequeLong(false);
+        for (long value : new long[]{9, 4, 6, 5, 7, 8, 11, 12, 13, 14}) {
+            deque.add(value);
+        }
+        deque.remove(9);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        deque.write(new DataOutputStream(bytes));
+        MinMaxDequeLong read = MinMaxDequeLong.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(deque.size(), read.size());
+        assertEquals(4, read.getValue());
+        read.remove(4);
+        assertEquals(5, read.getValue());
+
+        MinMaxDequeDouble doubles = new MinMaxDequeDouble(true);
+        doubles.add(1.5);
+        doubles.add(0.5);
+        bytes = new ByteArrayOutputStream();
+        doubles.write(new DataOutputStream(bytes));
+        MinMaxDequeDouble readDoubles = MinMaxDequeDouble.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(2, readDoubles.size());
+        assertEquals(1.5, readDoubles.getValue());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class TestOrderStatisticDoubleTree extends TestCase {
+    private OrderStatisticDoubleTree tree;
+
+    public void setUp() {
+        tree = new OrderStatisticDoubleTree();
+    }
+
+    public void testAddRemove() {
+        assertEquals(0, tree.size());
+
+        tree.add(10);
+        tree.add(0);
+        tree.add(5);
+        compare(new double[]{0, 5, 10});
+
+        tree.add(10);
+        tree.add(1);
+        tree.add(5.5);
+        compare(new double[]{0, 1, 5, 5.5, 10, 10});
+
+        tree.remove(10);
+        tree.remove(0);
+        tree.remove(99);
+        compare(new double[]{1, 5, 5.5, 10});
+        assertTrue(tree.contains(10));
+        assertFalse(tree.contains(0));
+
+        tree.add(Double.NaN);
+        tree.remove(Double.NaN);
+        compare(new double[]{1, 5, 5.5, 10});
+
+        tree.clear();
+        compare(new double[0]);
+        tree.add(-1);
+        compare(new double[]{-1});
+    }
+
+    public void testGetValueOutOfRange() {
+        tree.add(1);
+        try {
+            tree.getValue(1);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {
+            // expected
+        }
+    }
+
+    public void testRandomAgainstReference() {
+        Random random = new Random(1234);
+        List<Double> reference = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            if (reference.isEmpty() || random.nextInt(3) != 0) {
+                double value = random.nextInt(500) / 4d;
+                tree.add(value);
+                reference.add(value);
+            } else {
+                Double value = reference.remove(random.nextInt(reference.size()));
+                tree.remove(value);
+            }
+            if (i % 997 == 0) {
+                Collections.sort(reference);
+                assertEquals(reference.size(), tree.size());
+                for (int j = 0; j < reference.size(); j++) {
+                    assertEquals(reference.get(j), tree.getValue(j), 0);
+                }
+            }
+        }
+        Collections.sort(reference);
+        double[] values = tree.toArray();
+        assertEquals(reference.size(), values.length);
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(reference.get(j), values[j], 0);
+        }
+    }
+
+    private void compare(double[] expected) {
+        assertEquals(expected.length, tree.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], tree.getValue(i), 0);
+        }
+        double[] values = tree.toArray();
+        assertEquals(expected.length, values.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], values[i], 0);
+        }
+    }
+}
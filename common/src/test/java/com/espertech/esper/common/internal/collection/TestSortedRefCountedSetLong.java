@@ -0,0 +1,114 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class TestSortedRefCountedSetLong extends TestCase {
+
+    public void testAddRemove() {
+        SortedRefCountedSetLong set = new SortedRefCountedSetLong();
+        assertTrue(set.isEmpty());
+
+        set.add(100);
+        set.add(-5);
+        set.add(100);
+        assertEquals(-5, set.minValue());
+        assertEquals(100, set.maxValue());
+        assertEquals(2, set.size());
+        assertEquals(2, set.getCount(100));
+
+        set.remove(100);
+        assertEquals(100, set.maxValue());
+        set.remove(7);
+        set.remove(100);
+        assertEquals(-5, set.maxValue());
+        assertEquals(0, set.getCount(100));
+        set.remove(-5);
+        assertTrue(set.isEmpty());
+        assertEquals(0, set.size());
+
+        set.add(1);
+        set.clear();
+        assertTrue(set.isEmpty());
+    }
+
+    public void testRandomAgainstTreeMap() throws Exception {
+        Random random = new Random(7);
+        SortedRefCountedSetLong set = new SortedRefCountedSetLong();
+        TreeMap<Long, Integer> reference = new TreeMap<>();
+
+        for (int step = 0; step < 50000; step++) {
+            long key = random.nextInt(500) - 250;
+            if (random.nextInt(10) < 6) {
+                set.add(key);
+                reference.merge(key, 1, Integer::sum);
+            } else {
+                set.remove(key);
+                Integer count = reference.get(key);
+                if (count != null) {
+                    if (count == 1) {
+                        reference.remove(key);
+                    } else {
+                        reference.put(key, count - 1);
+                    }
+                }
+            }
+
+            assertEquals(reference.size(), set.size());
+            assertEquals(reference.isEmpty(), set.isEmpty());
+            if (!reference.isEmpty()) {
+                assertEquals((long) reference.firstKey(), set.minValue());
+                assertEquals((long) reference.lastKey(), set.maxValue());
+            }
+        }
+
+        for (Map.Entry<Long, Integer> entry : reference.entrySet()) {
+            assertEquals((int) entry.getValue(), set.getCount(entry.getKey()));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        set.write(new DataOutputStream(bytes));
+        SortedRefCountedSetLong read = SortedRefCountedSetLong.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(set.size(), read.size());
+        assertEquals(set.minValue(), read.minValue());
+        assertEquals(set.maxValue(), read.maxValue());
+        for (Map.Entry<Long, Integer> entry : reference.entrySet()) {
+            assertEquals((int) entry.getValue(), read.getCount(entry.getKey()));
+        }
+    }
+
+    public void testSortableDouble() {
+        double[] ordered = new double[]{Double.NEGATIVE_INFINITY, -1e300, -2.5, -Double.MIN_VALUE, -0.0, 0.0, Double.MIN_VALUE, 1, 2.5, 1e300, Double.POSITIVE_INFINITY, Double.NaN};
+        for (int i = 0; i < ordered.length; i++) {
+            long key = SortedRefCountedSetLong.toSortableLong(ordered[i]);
+            assertEquals(Double.doubleToLongBits(ordered[i]), Double.doubleToLongBits(SortedRefCountedSetLong.fromSortableLong(key)));
+            for (int j = 0; j < ordered.length; j++) {
+                assertEquals(Integer.signum(Double.compare(ordered[i], ordered[j])), Integer.signum(Long.compare(key, SortedRefCountedSetLong.toSortableLong(ordered[j]))));
+            }
+        }
+
+        SortedRefCountedSetLong set = new SortedRefCountedSetLong();
+        set.add(SortedRefCountedSetLong.toSortableLong(Double.NaN));
+        set.add(SortedRefCountedSetLong.toSortableLong(-3.5));
+        set.add(SortedRefCountedSetLong.toSortableLong(2));
+        assertEquals(-3.5, SortedRefCountedSetLong.fromSortableLong(set.minValue()));
+        assertTrue(Double.isNaN(SortedRefCountedSetLong.fromSortableLong(set.maxValue())));
+    }
+}
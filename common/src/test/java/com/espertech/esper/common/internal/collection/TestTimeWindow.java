@@ -18,6 +18,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
 
 public class TestTimeWindow extends TestCase {
     private final TimeWindow window = new TimeWindow(false);
@@ -147,6 +151,137 @@ public class TestTimeWindow extends TestCase {
         log.info(".testTimeWindowPerformance Done");
     }
 
+    public void testIteratorAndAdjust() {
+        windowRemovable.add(10, beans[0]);
+        windowRemovable.add(10, beans[1]);
+        windowRemovable.add(11, beans[2]);
+        windowRemovable.remove(beans[1]);
+        assertIterator(windowRemovable.iterator(), beans[0], beans[2]);
+        assertEquals(2, windowRemovable.size());
+
+        windowRemovable.adjust(5);
+        assertEquals(15L, (long) windowRemovable.getOldestTimestamp());
+        assertNull(windowRemovable.expireEvents(15));
+        ArrayDeque<EventBean> beanList = windowRemovable.expireEvents(16);
+        assertEquals(1, beanList.size());
+        assertSame(beans[0], beanList.getFirst());
+        assertIterator(windowRemovable.iterator(), beans[2]);
+
+        windowRemovable.remove(beans[2]);
+        assertIterator(windowRemovable.iterator());
+        assertTrue(windowRemovable.isEmpty());
+        assertEquals(0, windowRemovable.getReverseIndex().size());
+    }
+
+    public void testRandomAgainstReference() {
+        Random random = new Random(1001);
+        TimeWindow window = new TimeWindow(true);
+        List<Object[]> reference = new ArrayList<Object[]>();
+        List<EventBean> live = new ArrayList<EventBean>();
+        long time = 0;
+
+        for (int step = 0; step < 20000; step++) {
+            int action = random.nextInt(10);
+            if (action < 5) {
+                time += random.nextInt(3);
+                EventBean bean = createBean();
+                window.add(time, bean);
+                reference.add(new Object[]{time, bean});
+                live.add(bean);
+            } else if (action < 7 && !live.isEmpty()) {
+                EventBean bean = live.remove(random.nextInt(live.size()));
+                window.remove(bean);
+                removeReference(reference, bean);
+            } else {
+                long expireBefore = time - random.nextInt(50);
+                ArrayDeque<EventBean> expired = window.expireEvents(expireBefore);
+                List<EventBean> expected = new ArrayList<EventBean>();
+                while (!reference.isEmpty() && (Long) reference.get(0)[0] < expireBefore) {
+                    expected.add((EventBean) reference.remove(0)[1]);
+                }
+                List<EventBean> actual = expired == null ? new ArrayList<EventBean>() : new ArrayList<EventBean>(expired);
+                assertEquals(expected, actual);
+                live.removeAll(expected);
+            }
+
+            assertEquals(reference.size(), window.size());
+            assertEquals(reference.size(), window.getReverseIndex().size());
+            assertEquals(reference.isEmpty(), window.isEmpty());
+            if (!reference.isEmpty()) {
+                assertEquals(reference.get(0)[0], window.getOldestTimestamp());
+            } else {
+                assertNull(window.getOldestTimestamp());
+            }
+        }
+
+        List<EventBean> expected = new ArrayList<EventBean>();
+        for (Object[] entry : reference) {
+            expected.add((EventBean) entry[1]);
+        }
+        assertIterator(window.iterator(), expected.toArray(new EventBean[expected.size()]));
+    }
+
+    public void testCapacity() {
+        int count = 100000;
+        for (boolean removeStream : new boolean[]{false, true}) {
+            TimeWindow window = new TimeWindow(removeStream);
+            assertEquals(16, window.getCapacity());
+            for (int i = 0; i < count; i++) {
+                window.add(i, createBean());
+            }
+            assertEquals(count, window.size());
+            assertEquals(131072, window.getCapacity());
+
+            window.expireEvents(count - 10);
+            assertEquals(10, window.size());
+            assertEquals(32, window.getCapacity());
+            assertEquals(count - 10, (long) window.getOldestTimestamp());
+
+            window.expireEvents(count);
+            assertTrue(window.isEmpty());
+            assertEquals(16, window.getCapacity());
+            if (removeStream) {
+                assertEquals(0, window.getReverseIndex().size());
+            }
+        }
+    }
+
+    public void testOldestTimestampAfterRemove() {
+        // the oldest timestamp is that of the oldest remaining event, removed events do not count
+        windowRemovable.add(10, beans[0]);
+        windowRemovable.add(10, beans[1]);
+        windowRemovable.add(20, beans[2]);
+        windowRemovable.add(30, beans[3]);
+
+        windowRemovable.remove(beans[0]);
+        assertEquals(10L, (long) windowRemovable.getOldestTimestamp());
+        windowRemovable.remove(beans[1]);
+        assertEquals(20L, (long) windowRemovable.getOldestTimestamp());
+        windowRemovable.remove(beans[3]);
+        assertEquals(20L, (long) windowRemovable.getOldestTimestamp());
+        windowRemovable.remove(beans[2]);
+        assertNull(windowRemovable.getOldestTimestamp());
+        assertTrue(windowRemovable.isEmpty());
+        assertNull(windowRemovable.expireEvents(100));
+    }
+
+    private static void removeReference(List<Object[]> reference, EventBean bean) {
+        for (Iterator<Object[]> it = reference.iterator(); it.hasNext(); ) {
+            if (it.next()[1] == bean) {
+                it.remove();
+                return;
+            }
+        }
+    }
+
+    private static void assertIterator(Iterator<EventBean> it, EventBean... expected) {
+        for (EventBean bean : expected) {
+            assertTrue(it.hasNext());
+            assertSame(bean, it.next());
+        }
+        assertFalse(it.hasNext());
+    }
+
     private EventBean createBean() {
         return SupportEventBeanFactory.createObject(new SupportBean());
     }
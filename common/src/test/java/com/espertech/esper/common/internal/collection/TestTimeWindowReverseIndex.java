@@ -0,0 +1,77 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class TestTimeWindowReverseIndex extends TestCase {
+
+    public void testPutGetRemove() {
+        TimeWindowReverseIndex index = new TimeWindowReverseIndex();
+        EventBean a = createBean();
+        EventBean b = createBean();
+
+        assertEquals(TimeWindowReverseIndex.NOT_FOUND, index.get(a));
+        index.put(a, 1);
+        index.put(b, 2);
+        assertEquals(2, index.size());
+        assertEquals(1, index.get(a));
+
+        index.put(a, 10);
+        assertEquals(2, index.size());
+        assertEquals(10, index.remove(a));
+        assertEquals(TimeWindowReverseIndex.NOT_FOUND, index.remove(a));
+        assertEquals(2, index.get(b));
+        assertEquals(1, index.size());
+    }
+
+    public void testRandomAgainstHashMap() {
+        Random random = new Random(2002);
+        TimeWindowReverseIndex index = new TimeWindowReverseIndex();
+        Map<EventBean, Long> reference = new HashMap<EventBean, Long>();
+        List<EventBean> known = new ArrayList<EventBean>();
+
+        for (int step = 0; step < 50000; step++) {
+            if (random.nextInt(3) != 0 || known.isEmpty()) {
+                EventBean bean = createBean();
+                known.add(bean);
+                index.put(bean, step);
+                reference.put(bean, (long) step);
+            } else {
+                EventBean bean = known.remove(random.nextInt(known.size()));
+                Long expected = reference.remove(bean);
+                assertEquals(expected.longValue(), index.remove(bean));
+            }
+            assertEquals(reference.size(), index.size());
+        }
+
+        for (Map.Entry<EventBean, Long> entry : reference.entrySet()) {
+            assertEquals(entry.getValue().longValue(), index.get(entry.getKey()));
+        }
+        for (EventBean bean : known) {
+            index.remove(bean);
+        }
+        assertTrue(index.isEmpty());
+    }
+
+    private EventBean createBean() {
+        return SupportEventBeanFactory.createObject(new SupportBean());
+    }
+}
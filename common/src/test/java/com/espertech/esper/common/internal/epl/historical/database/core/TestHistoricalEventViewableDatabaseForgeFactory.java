@@ -0,0 +1,43 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.historical.database.core;
+
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+import com.espertech.esper.common.internal.util.PlaceholderParser;
+import junit.framework.TestCase;
+
+public class TestHistoricalEventViewableDatabaseForgeFactory extends TestCase {
+
+    public void testCreateBatchPreparedStatement() throws Exception {
+        assertEquals("select * from t where id in (?,?,?)", makeBatch("select * from t where id = ${id}", 3));
+        assertEquals("select * from t where id in (?) order by id", makeBatch("select * from t where id=${id} order by id", 1));
+        assertEquals("select * from t where id in (?,?) ", makeBatch("select * from t where id = ${id} ${$ESPER-SAMPLE-WHERE}", 2));
+
+        tryInvalid("select * from t where ${id} = id", "Hint 'SQL_BATCH' requires the SQL parameter to be the right-hand side of an equals-comparison");
+        tryInvalid("select * from t where id >= ${id}", "Hint 'SQL_BATCH' requires the SQL parameter to be the right-hand side of an equals-comparison");
+        tryInvalid("select * from t where id <> ${id}", "Hint 'SQL_BATCH' requires the SQL parameter to be the right-hand side of an equals-comparison");
+        tryInvalid("select * from t", "Hint 'SQL_BATCH' requires an SQL statement with a single parameter");
+        tryInvalid("select * from t where id = ${id} and x = ${x}", "Hint 'SQL_BATCH' requires an SQL statement with a single parameter");
+    }
+
+    private static String makeBatch(String sql, int batchSize) throws Exception {
+        return HistoricalEventViewableDatabaseForgeFactory.createBatchPreparedStatement(PlaceholderParser.parsePlaceholder(sql), batchSize);
+    }
+
+    private static void tryInvalid(String sql, String message) throws Exception {
+        try {
+            makeBatch(sql, 2);
+            fail();
+        } catch (ExprValidationException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.historical.database.core;
+
+import junit.framework.TestCase;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+public class TestPollExecStrategyDBQueryBatch extends TestCase {
+
+    public void testNormalizeKey() {
+        Object[] sameKeys = new Object[]{1, 1L, (short) 1, (byte) 1, 1d, 1f, BigInteger.ONE, new BigDecimal("1.00")};
+        for (Object key : sameKeys) {
+            assertEquals(key.toString(), 1L, PollExecStrategyDBQueryBatch.normalizeKey(key));
+        }
+
+        assertEquals(1.5d, PollExecStrategyDBQueryBatch.normalizeKey(new BigDecimal("1.50")));
+        assertEquals(PollExecStrategyDBQueryBatch.normalizeKey(1.5f), PollExecStrategyDBQueryBatch.normalizeKey(1.5d));
+        assertFalse(PollExecStrategyDBQueryBatch.normalizeKey(1).equals(PollExecStrategyDBQueryBatch.normalizeKey(2L)));
+        assertEquals("E1", PollExecStrategyDBQueryBatch.normalizeKey("E1"));
+        assertNull(PollExecStrategyDBQueryBatch.normalizeKey(null));
+    }
+}
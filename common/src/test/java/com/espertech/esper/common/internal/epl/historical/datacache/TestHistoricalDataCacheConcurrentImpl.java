@@ -0,0 +1,198 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.historical.datacache;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.epl.historical.indexingstrategy.UnindexedEventTableList;
+import com.espertech.esper.common.internal.epl.index.base.EventTable;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TestHistoricalDataCacheConcurrentImpl extends TestCase {
+    private long time;
+
+    public void testPutGet() {
+        HistoricalDataCacheConcurrentImpl cache = makeCache(100, 0, 0);
+        EventTable[] rowsA = makeRows(2);
+        EventTable[] rowsNull = makeRows(0);
+        assertNull(cache.getCached("A"));
+
+        cache.put("A", rowsA);
+        cache.put(null, rowsNull);
+        assertSame(rowsA, cache.getCached("A"));
+        assertSame(rowsNull, cache.getCached(null));
+        assertEquals(3, cache.getRows());
+
+        EventTable[] rowsAUpd = makeRows(1);
+        cache.put("A", rowsAUpd);
+        assertSame(rowsAUpd, cache.getCached("A"));
+        assertEquals(2, cache.getRows());
+
+        cache.destroy();
+        assertNull(cache.getCached("A"));
+        cache.put("A", rowsA);
+        assertNull(cache.getCached("A"));
+    }
+
+    public void testMaxRows() {
+        HistoricalDataCacheConcurrentImpl cache = makeCache(50, 0, 0);
+        for (int i = 0; i < 1000; i++) {
+            String key = "K" + i;
+            // access before put the same as a poll does
+            assertNull(cache.getCached(key));
+            cache.put(key, makeRows(i % 3));
+            assertTrue(cache.getRows() <= 50);
+        }
+
+        // larger than the cache
+        cache.put("large", makeRows(51));
+        assertNull(cache.getCached("large"));
+    }
+
+    public void testFrequencyAdmission() {
+        HistoricalDataCacheConcurrentImpl cache = makeCache(100, 0, 0);
+        for (int i = 0; i < 10; i++) {
+            String key = "H" + i;
+            for (int j = 0; j < 10; j++) {
+                if (cache.getCached(key) == null) {
+                    cache.put(key, makeRows(1));
+                }
+            }
+        }
+
+        // scan of one-time lookups
+        for (int i = 0; i < 1000; i++) {
+            String key = "S" + i;
+            assertNull(cache.getCached(key));
+            cache.put(key, makeRows(1));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(cache.getCached("H" + i));
+        }
+    }
+
+    public void testMaxAge() {
+        HistoricalDataCacheConcurrentImpl cache = makeCache(100, 1000, 0);
+        time = 5000;
+        cache.put("A", makeRows(1));
+        time = 6000;
+        assertNotNull(cache.getCached("A"));
+        time = 6001;
+        assertNull(cache.getCached("A"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getRows());
+    }
+
+    public void testRefreshAhead() {
+        List<Runnable> submitted = new ArrayList<>();
+        HistoricalDataCacheConcurrentImpl cache = new HistoricalDataCacheConcurrentImpl(100, 1000, 500, () -> time, submitted::add);
+        AtomicInteger loads = new AtomicInteger();
+        EventTable[] reloaded = makeRows(3);
+        cache.setLoader((lookupValue, indexingStrategy) -> {
+            assertEquals("A", lookupValue);
+            loads.incrementAndGet();
+            return reloaded;
+        });
+
+        time = 1000;
+        EventTable[] rows = makeRows(1);
+        cache.put("A", rows);
+
+        time = 1499;
+        cache.refreshIfDue("A", null);
+        assertTrue(submitted.isEmpty());
+
+        time = 1500;
+        cache.refreshIfDue("A", null);
+        cache.refreshIfDue("A", null);
+        assertEquals(1, submitted.size());
+        assertSame(rows, cache.getCached("A"));
+
+        submitted.remove(0).run();
+        assertEquals(1, loads.get());
+        assertSame(reloaded, cache.getCached("A"));
+        assertEquals(3, cache.getRows());
+
+        // reloaded entry starts a new age
+        time = 1999;
+        assertSame(reloaded, cache.getCached("A"));
+        cache.refreshIfDue("A", null);
+        assertTrue(submitted.isEmpty());
+    }
+
+    public void testCoalesceLoads() throws Exception {
+        HistoricalDataCacheConcurrentImpl cache = makeCache(100, 0, 0);
+        assertNull(cache.awaitOrBeginLoad("A"));
+
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<EventTable[]> received = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            started.countDown();
+            received.set(cache.awaitOrBeginLoad("A"));
+        });
+        waiter.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertTrue(waiter.isAlive());
+
+        EventTable[] rows = makeRows(1);
+        cache.endLoad("A", rows);
+        waiter.join(10000);
+        assertSame(rows, received.get());
+
+        // a failed load lets the next caller load
+        assertNull(cache.awaitOrBeginLoad("B"));
+        cache.endLoad("B", null);
+        assertNull(cache.awaitOrBeginLoad("B"));
+        cache.endLoad("B", null);
+    }
+
+    public void testFrequencySketch() {
+        HistoricalDataCacheFrequencySketch sketch = new HistoricalDataCacheFrequencySketch(64);
+        assertEquals(0, sketch.frequency("A"));
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("A");
+        }
+        assertEquals(5, sketch.frequency("A"));
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("A");
+        }
+        assertTrue(sketch.frequency("A") <= 15);
+
+        // aging halves the counters
+        for (int i = 0; i < 1000; i++) {
+            sketch.increment("X" + i);
+        }
+        assertTrue(sketch.frequency("A") < 15);
+    }
+
+    private HistoricalDataCacheConcurrentImpl makeCache(int maxRows, long maxAge, long refreshAhead) {
+        return new HistoricalDataCacheConcurrentImpl(maxRows, maxAge, refreshAhead, () -> time, Runnable::run);
+    }
+
+    private static EventTable[] makeRows(int numRows) {
+        String[] ids = new String[numRows];
+        for (int i = 0; i < numRows; i++) {
+            ids[i] = "id" + i;
+        }
+        List<EventBean> events = new ArrayList<>(Arrays.asList(SupportEventBeanFactory.makeEvents(ids)));
+        return new EventTable[]{new UnindexedEventTableList(events, 0)};
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.internal.epl.index.base.EventTable;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class TestPropertyHashedEventTableUnadornedLong extends TestCase {
+    private final static EventPropertyValueGetter LONG_GETTER = eventBean -> ((SupportBean) eventBean.getUnderlying()).getLongBoxed();
+
+    public void testFactorySelection() {
+        assertTrue(makeTable(new Class[]{long.class}, false) instanceof PropertyHashedEventTableUnadornedLong);
+        assertTrue(makeTable(new Class[]{Integer.class}, false) instanceof PropertyHashedEventTableUnadornedLong);
+        assertTrue(makeTable(new Class[]{String.class}, false) instanceof PropertyHashedEventTableUnadorned);
+        assertTrue(makeTable(new Class[]{Long.class}, true) instanceof PropertyHashedEventTableUnique);
+        assertTrue(makeTable(null, false) instanceof PropertyHashedEventTableUnadorned);
+    }
+
+    public void testAddRemoveLookup() {
+        PropertyHashedEventTableUnadornedLong table = (PropertyHashedEventTableUnadornedLong) makeTable(new Class[]{Long.class}, false);
+        EventBean[] events = new EventBean[7];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = makeEvent(i < 6 ? 10L : null);
+        }
+        table.add(events, null);
+        assertEquals(2, table.getNumKeys());
+
+        Set<EventBean> bucket = table.lookup(10L);
+        assertEquals(6, bucket.size());
+        assertIterator(bucket.iterator(), events[0], events[1], events[2], events[3], events[4], events[5]);
+        assertSame(bucket, table.lookupLong(10));
+        assertNull(table.lookup(10));
+        assertNull(table.lookup(11L));
+        assertEquals(1, table.lookup(null).size());
+
+        table.remove(new EventBean[]{events[1], events[2], events[6], makeEvent(10L)}, null);
+        assertIterator(table.lookup(10L).iterator(), events[0], events[3], events[4], events[5]);
+        assertNull(table.lookup(null));
+
+        table.remove(new EventBean[]{events[0], events[3], events[4], events[5]}, null);
+        assertNull(table.lookup(10L));
+        assertTrue(table.isEmpty());
+        assertFalse(table.iterator().hasNext());
+    }
+
+    public void testRandomAgainstUnadorned() {
+        Random random = new Random(3003);
+        EventTable reference = makeTable(new Class[]{String.class}, false);
+        PropertyHashedEventTableUnadornedLong table = (PropertyHashedEventTableUnadornedLong) makeTable(new Class[]{Long.class}, false);
+        List<EventBean> live = new ArrayList<EventBean>();
+
+        for (int step = 0; step < 20000; step++) {
+            if (random.nextInt(3) != 0 || live.isEmpty()) {
+                EventBean event = makeEvent(random.nextInt(20) == 0 ? null : (long) random.nextInt(500) - 250);
+                live.add(event);
+                reference.add(event, null);
+                table.add(event, null);
+            } else {
+                EventBean event = live.remove(random.nextInt(live.size()));
+                reference.remove(event, null);
+                table.remove(event, null);
+            }
+
+            Long key = random.nextInt(20) == 0 ? null : (long) random.nextInt(500) - 250;
+            assertEquals(((PropertyHashedEventTable) reference).lookup(key), table.lookup(key));
+        }
+
+        assertEquals(((PropertyHashedEventTableUnadorned) reference).getNumKeys(), table.getNumKeys());
+        assertEquals(toSet(reference.iterator()), toSet(table.iterator()));
+        table.clear();
+        assertTrue(table.isEmpty());
+    }
+
+    private static EventTable makeTable(Class[] types, boolean unique) {
+        PropertyHashedEventTableFactory factory = new PropertyHashedEventTableFactory(0, new String[]{"longBoxed"}, types, unique, null, LONG_GETTER);
+        return factory.makeEventTables(null, null)[0];
+    }
+
+    private static EventBean makeEvent(Long value) {
+        SupportBean bean = new SupportBean();
+        bean.setLongBoxed(value);
+        return SupportEventBeanFactory.createObject(bean);
+    }
+
+    private static Set<EventBean> toSet(Iterator<EventBean> it) {
+        Set<EventBean> result = new HashSet<EventBean>();
+        while (it.hasNext()) {
+            assertTrue(result.add(it.next()));
+        }
+        return result;
+    }
+
+    private static void assertIterator(Iterator<EventBean> it, EventBean... expected) {
+        for (EventBean event : expected) {
+            assertTrue(it.hasNext());
+            assertSame(event, it.next());
+        }
+        assertFalse(it.hasNext());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.meta.EventTypeApplicationType;
+import com.espertech.esper.common.client.meta.EventTypeIdPair;
+import com.espertech.esper.common.client.meta.EventTypeMetadata;
+import com.espertech.esper.common.client.meta.EventTypeTypeClass;
+import com.espertech.esper.common.client.util.EventTypeBusModifier;
+import com.espertech.esper.common.client.util.NameAccessModifier;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventTypeFactory;
+import junit.framework.TestCase;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TestJsonEventParser extends TestCase {
+    private JsonEventParser parserObjectArray;
+    private JsonEventParser parserMap;
+
+    public void setUp() {
+        Map<String, Object> types = new LinkedHashMap<>();
+        types.put("id", String.class);
+        types.put("count", Integer.class);
+        types.put("price", double.class);
+        types.put("active", Boolean.class);
+        types.put("amount", BigDecimal.class);
+        types.put("tags", String[].class);
+        types.put("values", int[].class);
+        types.put("any", Object.class);
+
+        EventTypeMetadata metadata = new EventTypeMetadata("MyType", null, EventTypeTypeClass.STREAM, EventTypeApplicationType.OBJECTARR, NameAccessModifier.PROTECTED, EventTypeBusModifier.NONBUS, false, EventTypeIdPair.unassigned());
+        EventType objectArrayType = new ObjectArrayEventType(metadata, types, null, null, null, null, SupportEventTypeFactory.BEAN_EVENT_TYPE_FACTORY);
+        parserObjectArray = JsonEventParser.make(objectArrayType);
+
+        Map<String, Object> nestedTypes = new LinkedHashMap<>();
+        nestedTypes.put("city", String.class);
+        nestedTypes.put("zip", Long.class);
+        Map<String, Object> mapTypes = new LinkedHashMap<>();
+        mapTypes.put("name", String.class);
+        mapTypes.put("address", nestedTypes);
+        parserMap = JsonEventParser.make(SupportEventTypeFactory.createMapType(mapTypes));
+    }
+
+    public void testObjectArray() {
+        Object[] result = (Object[]) parserObjectArray.parse("{\"id\": \"E1\", \"count\": 10, \"price\": 1.5, \"active\": true, " +
+            "\"amount\": 12.25, \"tags\": [\"a\", \"b\"], \"values\": [1, -2], \"any\": {\"x\": [1, 2.5, null]}}");
+        assertEquals("E1", result[0]);
+        assertEquals(10, result[1]);
+        assertEquals(1.5d, result[2]);
+        assertEquals(true, result[3]);
+        assertEquals(new BigDecimal("12.25"), result[4]);
+        assertTrue(Arrays.equals(new String[]{"a", "b"}, (String[]) result[5]));
+        assertTrue(Arrays.equals(new int[]{1, -2}, (int[]) result[6]));
+        Map<String, Object> any = (Map<String, Object>) result[7];
+        assertTrue(Arrays.equals(new Object[]{1, 2.5d, null}, (Object[]) any.get("x")));
+
+        result = (Object[]) parserObjectArray.parse("{\"price\": -0.5e+2, \"amount\": -9223372036854775808, \"any\": [-9223372036854775808, 9223372036854775808]}");
+        assertEquals(-50d, result[2]);
+        assertEquals(new BigDecimal("-9223372036854775808"), result[4]);
+        assertTrue(Arrays.equals(new Object[]{Long.MIN_VALUE, 9223372036854775808d}, (Object[]) result[7]));
+    }
+
+    public void testOutOfOrderUnknownAndMissing() {
+        Object[] result = (Object[]) parserObjectArray.parse("{\"price\": 3, \"unknown\": {\"a\": [1, {\"b\": \"}\"}]}, \"id\": \"E\\\"2\\u0041\", \"count\": null}");
+        assertEquals("E\"2A", result[0]);
+        assertNull(result[1]);
+        assertEquals(3d, result[2]);
+        assertNull(result[3]);
+        assertNull(result[7]);
+
+        result = (Object[]) parserObjectArray.parse(" { } ");
+        assertEquals(8, result.length);
+    }
+
+    public void testScanDecode() {
+        String json = "{\"price\": 3, \"unknown\": [1, {\"b\": \"}\"}], \"id\":  \"E1\", \"count\": null, \"tags\": [\"a\"]}";
+        int[] offsets = parserObjectArray.scan(json);
+        assertEquals(8, offsets.length);
+        assertEquals(json.indexOf("\"E1\""), offsets[0]);
+        assertEquals("E1", parserObjectArray.decode(json, offsets[0], 0));
+        assertNull(parserObjectArray.decode(json, offsets[1], 1));
+        assertEquals(3d, parserObjectArray.decode(json, offsets[2], 2));
+        assertEquals(-1, offsets[3]);
+        assertTrue(Arrays.equals(new String[]{"a"}, (String[]) parserObjectArray.decode(json, offsets[5], 5)));
+
+        // the scan validates values against the property type, element values are validated on decode
+        tryInvalidScan("{\"count\": \"10\"}", "Failed to parse JSON at position 10: expected a numeric value for property 'count'");
+        tryInvalidScan("{\"count\": 3000000000}", "Failed to parse JSON at position 20: value 3000000000 is out of range for property 'count'");
+        tryInvalidScan("{\"tags\": \"a\"}", "Failed to parse JSON at position 9: expected an array value for property 'tags'");
+        tryInvalidScan("{\"id\": \"E1\"} x", "Failed to parse JSON at position 13: unexpected trailing content");
+        json = "{\"values\": [1, null]}";
+        offsets = parserObjectArray.scan(json);
+        try {
+            parserObjectArray.decode(json, offsets[6], 6);
+            fail();
+        } catch (EPException ex) {
+            assertEquals("Failed to parse JSON at position 20: null value in array of primitive type for property 'values'", ex.getMessage());
+        }
+    }
+
+    public void testMapNested() {
+        Map<String, Object> result = (Map<String, Object>) parserMap.parse("{\"name\": \"N1\", \"address\": {\"zip\": 12345678901, \"city\": \"X\"}}");
+        assertEquals("N1", result.get("name"));
+        Map<String, Object> address = (Map<String, Object>) result.get("address");
+        assertEquals("X", address.get("city"));
+        assertEquals(12345678901L, address.get("zip"));
+
+        result = (Map<String, Object>) parserMap.parse("{\"address\": null}");
+        assertNull(result.get("address"));
+        assertTrue(result.containsKey("address"));
+    }
+
+    public void testInvalid() {
+        tryInvalid("[1]", "Failed to parse JSON at position 0: expected a JSON object");
+        tryInvalid("{\"count\": \"10\"}", "Failed to parse JSON at position 10: expected a numeric value for property 'count'");
+        tryInvalid("{\"count\": 1.5}", "Failed to parse JSON at position 13: expected an integral value for property 'count'");
+        tryInvalid("{\"count\": 3000000000}", "Failed to parse JSON at position 20: value 3000000000 is out of range for property 'count'");
+        tryInvalid("{\"values\": [1, null]}", "Failed to parse JSON at position 20: null value in array of primitive type for property 'values'");
+        tryInvalid("{\"id\": \"E1\"", "Failed to parse JSON at position 11: expected '}'");
+        tryInvalid("{\"id\": \"E1\"} x", "Failed to parse JSON at position 13: unexpected trailing content");
+        tryInvalid("{\"count\": -}", "Failed to parse JSON at position 11: invalid number");
+        tryInvalid("{\"count\": +1}", "Failed to parse JSON at position 10: expected a numeric value for property 'count'");
+        tryInvalid("{\"count\": 1-2}", "Failed to parse JSON at position 11: expected '}'");
+        tryInvalid("{\"count\": 99999999999999999999}", "Failed to parse JSON at position 30: value 99999999999999999999 is out of range for property 'count'");
+        tryInvalid("{\"price\": 1e}", "Failed to parse JSON at position 12: invalid number");
+        tryInvalid("{\"price\": 1.}", "Failed to parse JSON at position 12: invalid number");
+        tryInvalid("{\"id\": \"\\uZZZZ\"}", "Failed to parse JSON at position 15: invalid unicode escape");
+        tryInvalid("{\"id\": \"\\x\"}", "Failed to parse JSON at position 11: invalid escape character 'x'");
+        tryInvalid("{\"active\": nullx}", "Failed to parse JSON at position 11: expected a boolean value for property 'active'");
+        tryInvalid("{\"any\": nullx}", "Failed to parse JSON at position 8: expected a value");
+    }
+
+    private void tryInvalidScan(String json, String message) {
+        try {
+            parserObjectArray.scan(json);
+            fail();
+        } catch (EPException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+
+    private void tryInvalid(String json, String message) {
+        try {
+            parserObjectArray.parse(json);
+            fail();
+        } catch (EPException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+}
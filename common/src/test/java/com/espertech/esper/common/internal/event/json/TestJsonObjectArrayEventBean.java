@@ -0,0 +1,70 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.meta.EventTypeApplicationType;
+import com.espertech.esper.common.client.meta.EventTypeIdPair;
+import com.espertech.esper.common.client.meta.EventTypeMetadata;
+import com.espertech.esper.common.client.meta.EventTypeTypeClass;
+import com.espertech.esper.common.client.util.EventTypeBusModifier;
+import com.espertech.esper.common.client.util.NameAccessModifier;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventTypeFactory;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TestJsonObjectArrayEventBean extends TestCase {
+    private JsonEventParser parser;
+
+    public void setUp() {
+        Map<String, Object> types = new LinkedHashMap<>();
+        types.put("id", String.class);
+        types.put("count", Integer.class);
+        types.put("tags", String[].class);
+        EventTypeMetadata metadata = new EventTypeMetadata("MyType", null, EventTypeTypeClass.STREAM, EventTypeApplicationType.OBJECTARR, NameAccessModifier.PROTECTED, EventTypeBusModifier.NONBUS, false, EventTypeIdPair.unassigned());
+        EventType type = new ObjectArrayEventType(metadata, types, null, null, null, null, SupportEventTypeFactory.BEAN_EVENT_TYPE_FACTORY);
+        parser = JsonEventParser.make(type);
+    }
+
+    public void testLazyDecode() {
+        String json = "{\"tags\": [\"a\", \"b\"], \"id\": \"E1\"}";
+        JsonObjectArrayEventBean event = new JsonObjectArrayEventBean(parser, json, parser.scan(json));
+        assertSame(parser.getEventType(), event.getEventType());
+        assertSame(json, event.getJson());
+
+        // a property value is decoded once, on first access
+        assertEquals("E1", event.get("id"));
+        assertSame(event.get("id"), event.getProperty(0));
+        assertNull(event.get("count"));
+        String[] tags = (String[]) event.get("tags");
+        assertTrue(Arrays.equals(new String[]{"a", "b"}, tags));
+        assertSame(tags, event.getProperty(2));
+
+        // the underlying holds the decoded values and is the same on each request
+        Object[] underlying = (Object[]) event.getUnderlying();
+        assertSame(underlying, event.getProperties());
+        assertEquals("E1", underlying[0]);
+        assertNull(underlying[1]);
+        assertSame(tags, underlying[2]);
+
+        // changes to the underlying are visible to property access
+        underlying[1] = 10;
+        assertEquals(10, event.get("count"));
+        Object[] replaced = new Object[]{"E2", null, null};
+        event.setPropertyValues(replaced);
+        assertSame(replaced, event.getUnderlying());
+        assertEquals("E2", event.get("id"));
+    }
+}
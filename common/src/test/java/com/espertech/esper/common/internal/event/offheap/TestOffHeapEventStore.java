@@ -0,0 +1,206 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.offheap;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.meta.EventTypeApplicationType;
+import com.espertech.esper.common.client.meta.EventTypeIdPair;
+import com.espertech.esper.common.client.meta.EventTypeMetadata;
+import com.espertech.esper.common.client.meta.EventTypeTypeClass;
+import com.espertech.esper.common.client.util.EventTypeBusModifier;
+import com.espertech.esper.common.client.util.NameAccessModifier;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventBean;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
+import com.espertech.esper.common.internal.event.map.MapEventBean;
+import com.espertech.esper.common.internal.support.SupportBeanComplexProps;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventTypeFactory;
+import junit.framework.TestCase;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TestOffHeapEventStore extends TestCase {
+    private EventType objectArrayType;
+    private EventType mapType;
+
+    public void setUp() {
+        Map<String, Object> typeRep = new LinkedHashMap<>();
+        typeRep.put("aString", String.class);
+        typeRep.put("anInt", Integer.class);
+        typeRep.put("aLong", Long.class);
+        typeRep.put("aDouble", Double.class);
+        typeRep.put("aBool", Boolean.class);
+        typeRep.put("aDecimal", BigDecimal.class);
+        typeRep.put("myComplexBean", SupportBeanComplexProps.class);
+
+        EventTypeMetadata metadata = new EventTypeMetadata("MyType", null, EventTypeTypeClass.STREAM, EventTypeApplicationType.OBJECTARR, NameAccessModifier.PROTECTED, EventTypeBusModifier.NONBUS, false, EventTypeIdPair.unassigned());
+        objectArrayType = new ObjectArrayEventType(metadata, typeRep, null, null, null, null, SupportEventTypeFactory.BEAN_EVENT_TYPE_FACTORY);
+        mapType = SupportEventTypeFactory.createMapType(typeRep);
+    }
+
+    public void testObjectArray() {
+        OffHeapEventStore store = new OffHeapEventStore(OffHeapEventStore.DEFAULT_CHUNK_SIZE);
+        Object[] values = new Object[]{"test", 10, 20L, 1.5d, true, new BigDecimal("12.345"), SupportBeanComplexProps.makeDefaultBean()};
+        EventBean stored = store.store(new ObjectArrayEventBean(values, objectArrayType));
+
+        assertTrue(stored instanceof OffHeapObjectArrayEventBean);
+        assertSame(objectArrayType, stored.getEventType());
+        assertEquals("test", stored.get("aString"));
+        assertEquals(10, stored.get("anInt"));
+        assertEquals(20L, stored.get("aLong"));
+        assertEquals(1.5d, stored.get("aDouble"));
+        assertEquals(true, stored.get("aBool"));
+        assertEquals(new BigDecimal("12.345"), stored.get("aDecimal"));
+        assertEquals("nestedValue", stored.get("myComplexBean.nested.nestedValue"));
+        assertEquals(((OffHeapEventBean) stored).getLength(), store.getNumBytes());
+
+        // mutable values remain on heap and single values decode through the offset table
+        assertSame(values[6], stored.get("myComplexBean"));
+        assertSame(values[6], ((OffHeapEventBean) stored).getHeapValues()[0]);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], ((OffHeapObjectArrayEventBean) stored).getProperty(i));
+        }
+        Object[] underlying = (Object[]) stored.getUnderlying();
+        assertNotSame(underlying, stored.getUnderlying());
+        assertEquals(Arrays.asList(values), Arrays.asList(underlying));
+
+        // storing a stored event returns the same event
+        assertSame(stored, store.store(stored));
+
+        // values that are replaced are kept on heap
+        Object[] replaced = new Object[]{"x", null, null, null, null, null, null};
+        ((OffHeapObjectArrayEventBean) stored).setPropertyValues(replaced);
+        assertSame(replaced, stored.getUnderlying());
+        assertNull(stored.get("anInt"));
+    }
+
+    public void testMap() {
+        OffHeapEventStore store = new OffHeapEventStore(OffHeapEventStore.DEFAULT_CHUNK_SIZE);
+        Map<String, Object> values = new HashMap<>();
+        values.put("aString", "test");
+        values.put("anInt", null);
+        values.put("aLong", 20L);
+        EventBean stored = store.store(new MapEventBean(values, mapType));
+
+        assertTrue(stored instanceof OffHeapMapEventBean);
+        assertEquals("test", stored.get("aString"));
+        assertNull(stored.get("anInt"));
+        assertEquals(20L, stored.get("aLong"));
+        assertEquals(values, stored.getUnderlying());
+
+        Map<String, Object> underlying = ((OffHeapMapEventBean) stored).getProperties();
+        assertEquals(3, underlying.size());
+        assertTrue(underlying.containsKey("anInt"));
+        assertFalse(underlying.containsKey("aDouble"));
+        assertNull(underlying.get("aDouble"));
+        assertNull(underlying.get(null));
+    }
+
+    public void testValueTypes() {
+        OffHeapEventStore store = new OffHeapEventStore(OffHeapEventStore.DEFAULT_CHUNK_SIZE);
+        char[] longChars = new char[20000];
+        Arrays.fill(longChars, 'a');
+        Object[] values = new Object[]{(short) 1, (byte) 2, 3.5f, 'c', new BigInteger("123456789012345678901234567890"),
+            new BigDecimal("-1E+5"), new String(longChars), "\u00e9\u4e2d", new int[]{1, 2}, null};
+        Object[] result = ((OffHeapObjectArrayEventBean) store.store(new ObjectArrayEventBean(values, objectArrayType))).getProperties();
+        assertEquals(values.length, result.length);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof int[]) {
+                assertTrue(Arrays.equals((int[]) values[i], (int[]) result[i]));
+            } else {
+                assertEquals(values[i], result[i]);
+                assertEquals(values[i] == null ? null : values[i].getClass(), result[i] == null ? null : result[i].getClass());
+            }
+        }
+    }
+
+    public void testHeapValues() {
+        OffHeapEventStore store = new OffHeapEventStore(OffHeapEventStore.DEFAULT_CHUNK_SIZE);
+        Object notSerializable = new Object();
+        EventBean stored = store.store(new ObjectArrayEventBean(new Object[]{"test", 1, null, null, null, null, notSerializable}, objectArrayType));
+        assertSame(notSerializable, stored.get("myComplexBean"));
+        assertEquals("test", stored.get("aString"));
+
+        EventBean storedNoHeap = store.store(new ObjectArrayEventBean(new Object[]{"test", 1, null, null, null, null, null}, objectArrayType));
+        assertNull(((OffHeapEventBean) storedNoHeap).getHeapValues());
+    }
+
+    public void testRetainReleaseCompact() {
+        OffHeapEventStore store = new OffHeapEventStore(1024);
+        EventBean[] stored = new EventBean[100];
+        for (int i = 0; i < stored.length; i++) {
+            stored[i] = store.store(new ObjectArrayEventBean(new Object[]{"E" + i, i, null, null, null, null, null}, objectArrayType));
+        }
+        assertEquals(0, store.getRetainedBytes());
+
+        store.retain(stored);
+        store.retain(stored);
+        assertEquals(store.getNumBytes(), store.getRetainedBytes());
+        int chunks = store.getNumChunksRetained();
+        assertTrue(chunks > 2);
+
+        // release all but every tenth event, the remaining events move out of the mostly unused chunks
+        for (int i = 0; i < stored.length; i++) {
+            if (i % 10 != 0) {
+                store.release(new EventBean[]{stored[i]});
+            }
+        }
+        store.release(new EventBean[]{stored[1]});
+        long remaining = 0;
+        for (int i = 0; i < stored.length; i += 10) {
+            remaining += ((OffHeapEventBean) stored[i]).getLength();
+        }
+        assertEquals(remaining, store.getRetainedBytes());
+        assertTrue(store.getNumChunksRetained() <= 2);
+        for (int i = 0; i < stored.length; i++) {
+            assertEquals(i, stored[i].get("anInt"));
+            assertEquals("E" + i, stored[i].get("aString"));
+        }
+
+        // released events can be retained again
+        store.retain(new EventBean[]{stored[1]});
+        assertEquals(remaining + ((OffHeapEventBean) stored[1]).getLength(), store.getRetainedBytes());
+
+        for (EventBean theEvent : stored) {
+            store.release(new EventBean[]{theEvent});
+        }
+        assertEquals(0, store.getRetainedBytes());
+        assertEquals(0, store.getNumChunksRetained());
+
+        // events of a different store are stored anew
+        OffHeapEventStore other = new OffHeapEventStore(1024);
+        EventBean copy = other.store(stored[5]);
+        assertNotSame(stored[5], copy);
+        assertEquals("E5", copy.get("aString"));
+        other.retain(new EventBean[]{stored[5]});
+        assertEquals(0, other.getRetainedBytes());
+    }
+
+    public void testChunks() {
+        OffHeapEventStore store = new OffHeapEventStore(128);
+        EventBean[] stored = new EventBean[100];
+        for (int i = 0; i < stored.length; i++) {
+            String text = i % 10 == 0 ? new String(new char[100]).replace('\0', 'x') + i : "E" + i;
+            stored[i] = store.store(new ObjectArrayEventBean(new Object[]{text, i, null, null, null, null, null}, objectArrayType));
+        }
+        for (int i = 0; i < stored.length; i++) {
+            assertEquals(i, stored[i].get("anInt"));
+            assertTrue(((String) stored[i].get("aString")).endsWith(Integer.toString(i)));
+        }
+        store.destroy();
+        assertEquals(99, stored[99].get("anInt"));
+    }
+}
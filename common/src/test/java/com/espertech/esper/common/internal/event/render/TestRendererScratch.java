@@ -0,0 +1,72 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.render;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class TestRendererScratch extends TestCase {
+    private final static String TEXT = "{\"a\":\"x\u00e9\u20ac\ud83d\ude00\"}";
+
+    public void testWriteStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RendererScratch.write(TEXT, out);
+        assertTrue(Arrays.equals(TEXT.getBytes(StandardCharsets.UTF_8), out.toByteArray()));
+
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            large.append("\u20ac");
+        }
+        out.reset();
+        RendererScratch.write(large, out);
+        assertEquals(large.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    public void testWriteBuffer() {
+        byte[] expected = TEXT.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(100);
+        buffer.put((byte) 1);
+        RendererScratch.write(TEXT, buffer);
+        assertEquals(1 + expected.length, buffer.position());
+        byte[] written = new byte[expected.length];
+        System.arraycopy(buffer.array(), 1, written, 0, expected.length);
+        assertTrue(Arrays.equals(expected, written));
+
+        ByteBuffer small = ByteBuffer.allocate(expected.length - 1);
+        small.put((byte) 1);
+        try {
+            RendererScratch.write(TEXT, small);
+            fail();
+        } catch (BufferOverflowException ex) {
+            assertEquals(1, small.position());
+        }
+    }
+
+    public void testAcquireNested() {
+        StringBuilder first = RendererScratch.acquire();
+        first.append("abc");
+        StringBuilder second = RendererScratch.acquire();
+        assertNotSame(first, second);
+        assertEquals(0, second.length());
+        RendererScratch.release(second);
+        RendererScratch.release(first);
+
+        StringBuilder again = RendererScratch.acquire();
+        assertSame(first, again);
+        assertEquals(0, again.length());
+        RendererScratch.release(again);
+    }
+}
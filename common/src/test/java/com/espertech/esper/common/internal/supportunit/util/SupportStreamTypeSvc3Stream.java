@@ -73,6 +73,10 @@ public class SupportStreamTypeSvc3Stream implements StreamTypeService {
         return new boolean[10];
     }
 
+    public boolean[] getRemoveInArrivalOrder() {
+        return new boolean[10];
+    }
+
     public int getStreamNumForStreamName(String streamName) {
         return impl.getStreamNumForStreamName(streamName);
     }
@@ -0,0 +1,193 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.compiler.internal.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+import static com.espertech.esper.compiler.internal.util.CompilerVersion.COMPILER_VERSION;
+
+/**
+ * Persistent content-addressed cache of compiled class bytes.
+ * <p>
+ * Entries are keyed by a SHA-256 hash of the compiler version, the generated source code of a class and
+ * the class file contents of each class that the generated code references.
+ * The generated source reflects the EPL text, the configuration and the names of any path dependencies,
+ * so that an unchanged statement produces the same key when compiled again. The referenced class contents
+ * reflect the compile classpath, so that a changed user-defined function, imported class or event class
+ * produces a different key. JDK classes are keyed by name and JDK version.
+ * Each entry is one file in the cache directory. Files are written to a temporary file first and then moved,
+ * so that concurrent compilers never observe partial entries. Unreadable entries are treated as absent.
+ */
+public class CompilerClassCache {
+    private final static Logger log = LoggerFactory.getLogger(CompilerClassCache.class);
+    private final static String SUFFIX = ".classes";
+    private final static byte[] UNAVAILABLE = new byte[0];
+    private final static ClassValue<byte[]> CLASS_DIGESTS = new ClassValue<byte[]>() {
+        protected byte[] computeValue(Class<?> type) {
+            return digestClass(type);
+        }
+    };
+
+    private final File directory;
+
+    /**
+     * Ctor.
+     *
+     * @param directory cache directory, created when absent
+     */
+    public CompilerClassCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the cache key for the generated source code and the classes it references.
+     *
+     * @param code              generated source
+     * @param referencedClasses classes referenced by the generated source
+     * @return key, or null when the class file of a referenced class cannot be read and the code should not be cached
+     */
+    public String key(String code, Collection<Class> referencedClasses) {
+        List<Class> classes = new ArrayList<>(referencedClasses.size());
+        for (Class clazz : referencedClasses) {
+            if (clazz == null) {
+                continue;
+            }
+            while (clazz.isArray()) {
+                clazz = clazz.getComponentType();
+            }
+            if (!clazz.isPrimitive()) {
+                classes.add(clazz);
+            }
+        }
+        classes.sort(Comparator.comparing(Class::getName));
+
+        MessageDigest digest = newDigest();
+        digest.update(COMPILER_VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(code.getBytes(StandardCharsets.UTF_8));
+        for (Class clazz : classes) {
+            byte[] classDigest = CLASS_DIGESTS.get(clazz);
+            if (classDigest == UNAVAILABLE) {
+                return null;
+            }
+            digest.update((byte) 0);
+            digest.update(clazz.getName().getBytes(StandardCharsets.UTF_8));
+            digest.update(classDigest);
+        }
+        byte[] hash = digest.digest();
+        StringBuilder builder = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+            builder.append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    private static byte[] digestClass(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        if (loader == null) {
+            // bootstrap classes are determined by the JDK
+            return newDigest().digest(System.getProperty("java.version", "").getBytes(StandardCharsets.UTF_8));
+        }
+        String resource = type.getName().replace('.', '/') + ".class";
+        try (InputStream input = loader.getResourceAsStream(resource)) {
+            if (input == null) {
+                return UNAVAILABLE;
+            }
+            MessageDigest digest = newDigest();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return digest.digest();
+        } catch (IOException ex) {
+            log.debug("Failed to read class file of '" + type.getName() + "': " + ex.getMessage(), ex);
+            return UNAVAILABLE;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the class bytes for the key.
+     *
+     * @param key key
+     * @return map of class name and bytes, or null when not cached
+     */
+    public Map<String, byte[]> get(String key) {
+        File file = new File(directory, key + SUFFIX);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int count = input.readInt();
+            Map<String, byte[]> classes = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String className = input.readUTF();
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                classes.put(className, bytes);
+            }
+            return classes;
+        } catch (IOException ex) {
+            log.debug("Failed to read compiled-class cache entry '" + file + "': " + ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the class bytes for the key. Failures to write are logged and otherwise ignored.
+     *
+     * @param key     key
+     * @param classes map of class name and bytes
+     */
+    public void put(String key, Map<String, byte[]> classes) {
+        File temp = null;
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+                throw new IOException("Failed to create directory '" + directory + "'");
+            }
+            temp = File.createTempFile(key, ".tmp", directory);
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                output.writeInt(classes.size());
+                for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    output.writeInt(entry.getValue().length);
+                    output.write(entry.getValue());
+                }
+            }
+            Files.move(temp.toPath(), new File(directory, key + SUFFIX).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        } catch (IOException ex) {
+            log.warn("Failed to write compiled-class cache entry to '" + directory + "': " + ex.getMessage(), ex);
+        } finally {
+            if (temp != null && !temp.delete()) {
+                temp.deleteOnExit();
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static com.espertech.esper.compiler.internal.util.CodeGenerationUtil.codeWithLineNum;
@@ -33,12 +34,30 @@ public class JaninoCompiler {
     protected static void compile(CodegenClass clazz, Map<String, byte[]> classes, ModuleCompileTimeServices compileTimeServices) {
         boolean withCodeLogging = compileTimeServices.getConfiguration().getCompiler().getLogging().isEnableCode();
         ClassLoader classLoader = compileTimeServices.getClasspathImportServiceCompileTime().getClassLoader();
-        compile(clazz, classes, withCodeLogging, classLoader);
+        String classCacheDir = compileTimeServices.getConfiguration().getCompiler().getByteCode().getClassCacheDirectory();
+        CompilerClassCache cache = classCacheDir == null ? null : new CompilerClassCache(new File(classCacheDir));
+        compile(clazz, classes, withCodeLogging, classLoader, cache);
     }
 
-    private static void compile(CodegenClass clazz, Map<String, byte[]> classes, boolean withCodeLogging, ClassLoader classLoader) {
+    private static void compile(CodegenClass clazz, Map<String, byte[]> classes, boolean withCodeLogging, ClassLoader classLoader, CompilerClassCache cache) {
         String code = CodegenClassGenerator.compile(clazz);
 
+        // skip compilation when the same source was compiled before against the same referenced classes
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = cache.key(code, clazz.getReferencedClasses());
+        }
+        if (cacheKey != null) {
+            Map<String, byte[]> cached = cache.get(cacheKey);
+            if (cached != null) {
+                classes.putAll(cached);
+                if (withCodeLogging) {
+                    log.info("Code (from class cache):\n" + codeWithLineNum(code));
+                }
+                return;
+            }
+        }
+
         try {
 
             String optionalFileName = null;
@@ -81,8 +100,13 @@ public class JaninoCompiler {
                     new Parser(scanner).parseCompilationUnit(),
                     new ClassLoaderIClassLoader(cl));
             ClassFile[] classFiles = unitCompiler.compileUnit(true, true, true);
+            Map<String, byte[]> unitClasses = new LinkedHashMap<>();
             for (int i = 0; i < classFiles.length; i++) {
-                classes.put(classFiles[i].getThisClassName(), classFiles[i].toByteArray());
+                unitClasses.put(classFiles[i].getThisClassName(), classFiles[i].toByteArray());
+            }
+            classes.putAll(unitClasses);
+            if (cacheKey != null) {
+                cache.put(cacheKey, unitClasses);
             }
 
             if (withCodeLogging) {
@@ -0,0 +1,118 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.compiler.internal.util;
+
+import junit.framework.TestCase;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TestCompilerClassCache extends TestCase {
+    private File directory;
+
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("esper-class-cache").toFile();
+    }
+
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    public void testPutGet() throws Exception {
+        CompilerClassCache cache = new CompilerClassCache(new File(directory, "sub"));
+        String key = cache.key("public class A {}", Collections.emptySet());
+        assertEquals(key, cache.key("public class A {}", Collections.emptySet()));
+        assertFalse(key.equals(cache.key("public class B {}", Collections.emptySet())));
+        assertNull(cache.get(key));
+
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        classes.put("generated.A", new byte[]{1, 2, 3});
+        classes.put("generated.A$Inner", new byte[0]);
+        cache.put(key, classes);
+
+        Map<String, byte[]> cached = new CompilerClassCache(new File(directory, "sub")).get(key);
+        assertEquals(Arrays.asList("generated.A", "generated.A$Inner"), Arrays.asList(cached.keySet().toArray()));
+        assertTrue(Arrays.equals(new byte[]{1, 2, 3}, cached.get("generated.A")));
+        assertEquals(0, cached.get("generated.A$Inner").length);
+        assertEquals(1, new File(directory, "sub").listFiles().length);
+    }
+
+    public void testKeyReferencedClasses() throws Exception {
+        CompilerClassCache cache = new CompilerClassCache(directory);
+        String code = "public class A {}";
+        String key = cache.key(code, Arrays.asList(String.class, Sample.class));
+        assertEquals(key, cache.key(code, Arrays.asList(Sample.class, String.class, int.class)));
+        assertEquals(key, cache.key(code, Arrays.asList(Sample[].class, String.class)));
+        assertFalse(key.equals(cache.key(code, Collections.singletonList(String.class))));
+        assertFalse(key.equals(cache.key(code, Arrays.asList(String.class, CompilerClassCache.class))));
+
+        // a class of the same name but different class file contents produces a different key
+        Class loadedElsewhere = new ClassLoader(null) {
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                byte[] bytes = readClassFile(Sample.class);
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+
+            public InputStream getResourceAsStream(String name) {
+                byte[] bytes = readClassFile(Sample.class);
+                bytes[bytes.length - 1]++;
+                return new ByteArrayInputStream(bytes);
+            }
+        }.loadClass(Sample.class.getName());
+        assertNotSame(Sample.class, loadedElsewhere);
+        assertFalse(key.equals(cache.key(code, Arrays.asList(String.class, loadedElsewhere))));
+
+        // classes without a readable class file are not cached
+        Class noClassFile = new ClassLoader(null) {
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                byte[] bytes = readClassFile(Sample.class);
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+        }.loadClass(Sample.class.getName());
+        assertNull(cache.key(code, Collections.singletonList(noClassFile)));
+    }
+
+    public void testCorruptEntry() throws Exception {
+        CompilerClassCache cache = new CompilerClassCache(directory);
+        String key = cache.key("x", Collections.emptySet());
+        try (FileOutputStream out = new FileOutputStream(new File(directory, key + ".classes"))) {
+            out.write(new byte[]{0, 0, 0, 5, 1});
+        }
+        assertNull(cache.get(key));
+    }
+
+    private static byte[] readClassFile(Class clazz) {
+        try (InputStream input = clazz.getClassLoader().getResourceAsStream(clazz.getName().replace('.', '/') + ".class")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    public static class Sample {
+    }
+}
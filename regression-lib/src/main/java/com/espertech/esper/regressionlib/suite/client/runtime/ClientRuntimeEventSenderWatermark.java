@@ -0,0 +1,130 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EventTypeException;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.runtime.client.EventSenderWatermark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ClientRuntimeEventSenderWatermark {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ClientRuntimeEventSenderWatermarkReorder());
+        execs.add(new ClientRuntimeEventSenderWatermarkBufferFull());
+        execs.add(new ClientRuntimeEventSenderWatermarkInvalid());
+        return execs;
+    }
+
+    private static class ClientRuntimeEventSenderWatermarkReorder implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.advanceTime(0);
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@public @buseventtype create objectarray schema WatermarkEvent(id string, ts long) starttimestamp ts", path);
+            env.compileDeploy("@name('s0') select id, current_timestamp() as ct from WatermarkEvent", path).addListener("s0");
+            env.compileDeploy("@name('s1') select irstream id from WatermarkEvent#time(2 sec)", path).addListener("s1");
+
+            EventSenderWatermark sender = env.eventService().getEventSenderWatermark("WatermarkEvent", 2000, 100);
+            sender.sendEvent(new Object[]{"E1", 1000L});
+            assertEquals(1, sender.getNumBuffered());
+            assertEquals(0, env.listener("s0").getNewDataList().size());
+
+            // watermark moves to 1000, releasing E1
+            sender.sendEvent(new Object[]{"E3", 3000L});
+            sender.sendEvent(new Object[]{"E2", 2000L});
+            assertEquals(1000, sender.getWatermark());
+            assertEquals(1000, env.eventService().getCurrentTime());
+
+            // watermark moves to 3000, releasing E2 and E3 in timestamp order and expiring E1
+            sender.sendEvent(new Object[]{"E4", 5000L});
+            assertEquals(3000, env.eventService().getCurrentTime());
+            EPAssertionUtil.assertPropsPerRow(env.listener("s1").getOldDataListFlattened(), "id".split(","), new Object[][]{{"E1"}});
+
+            // late event is processed at the current time
+            sender.sendEvent(new Object[]{"E0", 500L});
+            assertEquals(1, sender.getNumLate());
+
+            sender.flush();
+            assertEquals(0, sender.getNumBuffered());
+            assertEquals(5000, sender.getWatermark());
+            assertEquals(5000, env.eventService().getCurrentTime());
+
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getNewDataListFlattened(), "id,ct".split(","),
+                new Object[][]{{"E1", 1000L}, {"E2", 2000L}, {"E3", 3000L}, {"E0", 3000L}, {"E4", 5000L}});
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.listener("s1").getOldDataListFlattened(), "id".split(","),
+                new Object[][]{{"E1"}, {"E2"}, {"E3"}, {"E0"}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeEventSenderWatermarkBufferFull implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.advanceTime(0);
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@public @buseventtype create map schema WatermarkMapEvent(id string, ts long) starttimestamp ts", path);
+            env.compileDeploy("@name('s0') select id from WatermarkMapEvent", path).addListener("s0");
+
+            EventSenderWatermark sender = env.eventService().getEventSenderWatermark("WatermarkMapEvent", 100000, 2);
+            sender.sendEvent(makeMap("E2", 2000));
+            sender.sendEvent(makeMap("E1", 1000));
+            assertEquals(0, env.listener("s0").getNewDataList().size());
+
+            // buffer full, oldest is released
+            sender.sendEvent(makeMap("E3", 3000));
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getAndResetLastNewData(), "id".split(","), new Object[][]{{"E1"}});
+            assertEquals(1000, env.eventService().getCurrentTime());
+
+            sender.advanceWatermark(2500);
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getAndResetLastNewData(), "id".split(","), new Object[][]{{"E2"}});
+            assertEquals(2500, env.eventService().getCurrentTime());
+            assertEquals(1, sender.getNumBuffered());
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeEventSenderWatermarkInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            try {
+                env.eventService().getEventSenderWatermark("SupportBean", 1000, 10);
+                fail();
+            } catch (EventTypeException ex) {
+                assertEquals("A watermark event sender for event type named 'SupportBean' could not be created as the type does not declare a start timestamp property", ex.getMessage());
+            }
+
+            try {
+                env.eventService().getEventSenderWatermark("DummyType", 1000, 10);
+                fail();
+            } catch (EventTypeException ex) {
+                assertEquals("Event type named 'DummyType' could not be found", ex.getMessage());
+            }
+        }
+    }
+
+    private static Map<String, Object> makeMap(String id, long ts) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", id);
+        map.put("ts", ts);
+        return map;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventSender;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ClientRuntimeSendEventBatch {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ClientRuntimeSendEventBatchDispatchOnce());
+        execs.add(new ClientRuntimeSendEventBatchInsertIntoOrder());
+        execs.add(new ClientRuntimeSendEventBatchEventSender());
+        execs.add(new ClientRuntimeSendEventBatchInvalid());
+        return execs;
+    }
+
+    private static class ClientRuntimeSendEventBatchDispatchOnce implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy("@name('s0') select theString, intPrimitive from SupportBean").addListener("s0");
+
+            env.eventService().sendEventBatch(new Object[]{new SupportBean("E1", 1), new SupportBean("E2", 2), new SupportBean("E3", 3)}, "SupportBean");
+            assertEquals(1, env.listener("s0").getNewDataList().size());
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getAndResetLastNewData(), "theString,intPrimitive".split(","),
+                new Object[][]{{"E1", 1}, {"E2", 2}, {"E3", 3}});
+
+            env.eventService().sendEventBatch(new Object[0], "SupportBean");
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeSendEventBatchInsertIntoOrder implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "insert into MyStream select theString from SupportBean;\n" +
+                "@name('s0') select theString, prev(1, theString) as prevString from MyStream#length(2);\n" +
+                "@name('s1') select theString from SupportBean;\n";
+            env.compileDeploy(epl).addListener("s0").addListener("s1");
+
+            env.eventService().sendEventBatch(new Object[]{new SupportBean("E1", 1), new SupportBean("E2", 2)}, "SupportBean");
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getNewDataListFlattened(), "theString,prevString".split(","),
+                new Object[][]{{"E1", null}, {"E2", "E1"}});
+            EPAssertionUtil.assertPropsPerRow(env.listener("s1").getNewDataListFlattened(), "theString".split(","),
+                new Object[][]{{"E1"}, {"E2"}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeSendEventBatchEventSender implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy("@name('s0') select * from SupportBean_S0;\n" +
+                "@name('s1') select ident from " + ClientRuntimeListener.MAP_TYPENAME + ";\n" +
+                "@name('s2') select ident from " + ClientRuntimeListener.OA_TYPENAME + ";\n")
+                .addListener("s0").addListener("s1").addListener("s2");
+
+            EventSender sender = env.eventService().getEventSender("SupportBean_S0");
+            sender.sendEventBatch(new Object[]{new SupportBean_S0(1), new SupportBean_S0(2)});
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getNewDataListFlattened(), "id".split(","),
+                new Object[][]{{1}, {2}});
+
+            sender = env.eventService().getEventSender(ClientRuntimeListener.MAP_TYPENAME);
+            sender.sendEventBatch(new Object[]{Collections.singletonMap("ident", "M1"), Collections.singletonMap("ident", "M2")});
+            EPAssertionUtil.assertPropsPerRow(env.listener("s1").getNewDataListFlattened(), "ident".split(","),
+                new Object[][]{{"M1"}, {"M2"}});
+
+            env.eventService().sendEventBatch(new Object[]{new Object[]{"O1"}, new Object[]{"O2"}}, ClientRuntimeListener.OA_TYPENAME);
+            EPAssertionUtil.assertPropsPerRow(env.listener("s2").getNewDataListFlattened(), "ident".split(","),
+                new Object[][]{{"O1"}, {"O2"}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeSendEventBatchInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy("@name('s0') select * from SupportBean").addListener("s0");
+
+            try {
+                env.eventService().sendEventBatch(new Object[]{new SupportBean("E1", 1), new SupportBean_S0(1)}, "SupportBean");
+                fail();
+            } catch (EPException ex) {
+                assertTrue(ex.getMessage().startsWith("Event object of type " + SupportBean_S0.class.getName() + " does not equal, extend or implement the type"));
+            }
+            assertFalse(env.listener("s0").isInvoked());
+
+            try {
+                env.eventService().sendEventBatch(new Object[]{new SupportBean("E1", 1)}, "DummyType");
+                fail();
+            } catch (EPException ex) {
+                assertEquals("Event type named 'DummyType' could not be found", ex.getMessage());
+            }
+
+            env.undeployAll();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventSender;
+import com.espertech.esper.common.client.EventTypeException;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.event.arr.EventSenderObjectArrayPooled;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ClientRuntimeSendEventPooled {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ClientRuntimeSendEventPooledStateless());
+        execs.add(new ClientRuntimeSendEventPooledRetained());
+        execs.add(new ClientRuntimeSendEventPooledInvalid());
+        return execs;
+    }
+
+    private static class ClientRuntimeSendEventPooledStateless implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy("@name('s0') select ident from " + ClientRuntimeListener.OA_TYPENAME + "(ident != 'X')").addListener("s0");
+
+            EventSenderObjectArrayPooled sender = (EventSenderObjectArrayPooled) env.eventService().getEventSenderPooled(ClientRuntimeListener.OA_TYPENAME);
+            sender.sendEvent(new Object[]{"O1"});
+            EventBean pooled = sender.getPooled();
+            assertNotNull(pooled);
+            assertNull(pooled.getUnderlying());
+
+            sender.sendEvent(new Object[]{"O2"});
+            sender.sendEvent(new Object[]{"X"});
+            assertSame(pooled, sender.getPooled());
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getNewDataListFlattened(), "ident".split(","),
+                new Object[][]{{"O1"}, {"O2"}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeSendEventPooledRetained implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String[] epls = new String[]{
+                "@name('s0') select * from " + ClientRuntimeListener.OA_TYPENAME,
+                "@name('s0') select *, 1 as one from " + ClientRuntimeListener.OA_TYPENAME,
+                "@name('s0') select o from " + ClientRuntimeListener.OA_TYPENAME + " as o",
+                "@name('s0') select ident from " + ClientRuntimeListener.OA_TYPENAME + "#length(2)",
+                "@name('s0') insert into MyStream select ident from " + ClientRuntimeListener.OA_TYPENAME,
+            };
+            for (String epl : epls) {
+                env.compileDeploy(epl).addListener("s0");
+
+                EventSenderObjectArrayPooled sender = (EventSenderObjectArrayPooled) env.eventService().getEventSenderPooled(ClientRuntimeListener.OA_TYPENAME);
+                sender.sendEvent(new Object[]{"O1"});
+                assertNull(epl, sender.getPooled());
+                sender.sendEvent(new Object[]{"O2"});
+                assertNull(epl, sender.getPooled());
+
+                EventBean[] events = env.listener("s0").getNewDataListFlattened();
+                assertEquals(2, events.length);
+                assertNotSame(events[0], events[1]);
+                env.listener("s0").reset();
+
+                env.undeployAll();
+            }
+
+            // unmatched listener may retain
+            List<EventBean> unmatched = new ArrayList<>();
+            env.eventService().setUnmatchedListener(unmatched::add);
+            EventSenderObjectArrayPooled sender = (EventSenderObjectArrayPooled) env.eventService().getEventSenderPooled(ClientRuntimeListener.OA_TYPENAME);
+            sender.sendEvent(new Object[]{"O1"});
+            sender.sendEvent(new Object[]{"O2"});
+            assertNull(sender.getPooled());
+            assertEquals("O1", unmatched.get(0).get("ident"));
+            assertEquals("O2", unmatched.get(1).get("ident"));
+            env.eventService().setUnmatchedListener(null);
+        }
+    }
+
+    private static class ClientRuntimeSendEventPooledInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            try {
+                env.eventService().getEventSenderPooled("SupportBean");
+                fail();
+            } catch (EventTypeException ex) {
+                assertEquals("A pooled event sender for event type named 'SupportBean' could not be created as the type is not an object-array event type", ex.getMessage());
+            }
+
+            try {
+                env.eventService().getEventSenderPooled("DummyType");
+                fail();
+            } catch (EventTypeException ex) {
+                assertEquals("Event type named 'DummyType' could not be found", ex.getMessage());
+            }
+
+            EventSender sender = env.eventService().getEventSenderPooled(ClientRuntimeListener.OA_TYPENAME);
+            try {
+                sender.sendEvent("abc");
+                fail();
+            } catch (RuntimeException ex) {
+                assertEquals("Unexpected event object of type java.lang.String, expected Object[]", ex.getMessage());
+            }
+        }
+    }
+}
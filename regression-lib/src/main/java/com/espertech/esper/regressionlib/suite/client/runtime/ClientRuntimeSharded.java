@@ -0,0 +1,113 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.configuration.ConfigurationException;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.compiler.client.CompilerArguments;
+import com.espertech.esper.compiler.client.EPCompileException;
+import com.espertech.esper.compiler.client.EPCompilerProvider;
+import com.espertech.esper.runtime.client.EPDeployException;
+import com.espertech.esper.runtime.client.EPRuntimeDestroyedException;
+import com.espertech.esper.runtime.client.EPUndeployException;
+import com.espertech.esper.runtime.client.UpdateListener;
+import com.espertech.esper.runtime.client.sharded.EPRuntimeSharded;
+import com.espertech.esper.runtime.client.sharded.EPRuntimeShardedProvider;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ClientRuntimeSharded {
+    public void run(Configuration config) {
+        config.getCommon().addEventType(SupportBean.class);
+        config.getRuntime().getThreading().setInternalTimerEnabled(false);
+        EPCompiled compiled;
+        try {
+            compiled = EPCompilerProvider.getCompiler().compile("@name('s0') select theString, count(*) as cnt from SupportBean group by theString", new CompilerArguments(config));
+        } catch (EPCompileException e) {
+            throw new RuntimeException(e);
+        }
+
+        try {
+            EPRuntimeShardedProvider.getRuntime("x", config, 0, (event, eventTypeName) -> null);
+            fail();
+        } catch (ConfigurationException ex) {
+            assertEquals("Invalid number of shards 0, the number of shards must be at least 1", ex.getMessage());
+        }
+
+        EPRuntimeSharded sharded = EPRuntimeShardedProvider.getRuntime(this.getClass().getName(), config, 4, (event, eventTypeName) -> ((SupportBean) event).getTheString(), 16);
+        assertEquals(4, sharded.getNumShards());
+
+        String deploymentId;
+        try {
+            deploymentId = sharded.deploy(compiled);
+        } catch (EPDeployException e) {
+            throw new RuntimeException(e);
+        }
+        for (int i = 0; i < sharded.getNumShards(); i++) {
+            assertNotNull(sharded.getShard(i).getDeploymentService().getStatement(deploymentId, "s0"));
+        }
+
+        Map<String, Long> counts = new HashMap<>();
+        Map<String, String> runtimeURIs = new HashMap<>();
+        UpdateListener listener = (newEvents, oldEvents, statement, runtime) -> {
+            for (EventBean event : newEvents) {
+                String theString = (String) event.get("theString");
+                counts.put(theString, (Long) event.get("cnt"));
+                String previous = runtimeURIs.put(theString, runtime.getURI());
+                assertTrue(previous == null || previous.equals(runtime.getURI()));
+            }
+        };
+        sharded.addListener(deploymentId, "s0", listener);
+
+        for (int i = 0; i < 1000; i++) {
+            sharded.sendEventBean(new SupportBean("E" + (i % 10), i), "SupportBean");
+        }
+        try {
+            sharded.flush();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+
+        assertEquals(10, counts.size());
+        for (int i = 0; i < 10; i++) {
+            String key = "E" + i;
+            assertEquals(100L, (long) counts.get(key));
+            assertEquals(sharded.getShard(sharded.getShardForKey(key)).getURI(), runtimeURIs.get(key));
+        }
+
+        sharded.removeListener(deploymentId, "s0", listener);
+        try {
+            sharded.undeploy(deploymentId);
+        } catch (EPUndeployException e) {
+            throw new RuntimeException(e);
+        }
+        for (int i = 0; i < sharded.getNumShards(); i++) {
+            assertNull(sharded.getShard(i).getDeploymentService().getStatement(deploymentId, "s0"));
+        }
+
+        sharded.destroy();
+        for (int i = 0; i < sharded.getNumShards(); i++) {
+            assertTrue(sharded.getShard(i).isDestroyed());
+        }
+        try {
+            sharded.sendEventBean(new SupportBean(), "SupportBean");
+            fail();
+        } catch (EPRuntimeDestroyedException ex) {
+            // expected
+        }
+    }
+}
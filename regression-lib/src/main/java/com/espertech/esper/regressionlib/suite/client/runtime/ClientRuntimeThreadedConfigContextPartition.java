@@ -0,0 +1,96 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.internal.collection.Pair;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.regressionlib.support.epl.SupportStaticMethodLib;
+import com.espertech.esper.regressionlib.support.util.SupportListenerTimerHRes;
+import org.junit.Assert;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ClientRuntimeThreadedConfigContextPartition implements RegressionExecutionWithConfigure {
+    private final static String[] KEYS = new String[]{"A", "B", "C", "D"};
+    private final static int NUM_PER_KEY = 10;
+
+    public void configure(Configuration configuration) {
+        configuration.getCompiler().getExpression().setUdfCache(false);
+        configuration.getRuntime().getThreading().setThreadPoolContextPartitionExec(true);
+        configuration.getRuntime().getThreading().setThreadPoolContextPartitionExecNumThreads(4);
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+        configuration.getCommon().addImport(SupportStaticMethodLib.class.getName());
+    }
+
+    @Override
+    public boolean enableHATest() {
+        return false;
+    }
+
+    public void run(RegressionEnvironment env) {
+        SupportListenerTimerHRes listener = new SupportListenerTimerHRes();
+        env.compileDeploy("create context ByString partition by theString from SupportBean");
+        env.compileDeploy("@name('s0') context ByString select theString, intPrimitive, SupportStaticMethodLib.sleepReturnTrue(10) from SupportBean");
+        env.statement("s0").addListener(listener);
+
+        // the sending thread does not wait for the context partitions to finish
+        long start = System.nanoTime();
+        for (int i = 0; i < NUM_PER_KEY; i++) {
+            for (String key : KEYS) {
+                env.sendEventBean(new SupportBean(key, i));
+            }
+        }
+        long delta = (System.nanoTime() - start) / 1000000;
+        assertTrue("Delta is " + delta, delta < NUM_PER_KEY * KEYS.length * 10);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (listener.getNewEvents().size() < NUM_PER_KEY * KEYS.length && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        assertEquals(NUM_PER_KEY * KEYS.length, listener.getNewEvents().size());
+
+        // events of the same context partition are processed in the order sent
+        Map<String, Integer> lastPerKey = new HashMap<>();
+        synchronized (listener.getNewEvents()) {
+            for (Pair<Long, EventBean[]> received : listener.getNewEvents()) {
+                EventBean event = received.getSecond()[0];
+                String key = (String) event.get("theString");
+                int value = (Integer) event.get("intPrimitive");
+                Integer last = lastPerKey.get(key);
+                Assert.assertEquals(last == null ? 0 : last + 1, value);
+                lastPerKey.put(key, value);
+            }
+        }
+        assertEquals(KEYS.length, lastPerKey.size());
+
+        env.undeployAll();
+
+        // partitions of a keyed context with a termination condition execute on the sending thread
+        env.compileDeploy("create context ByStringTerminated partition by theString from SupportBean terminated by SupportBean(intPrimitive < 0)");
+        env.compileDeploy("@name('s1') context ByStringTerminated select theString from SupportBean").addListener("s1");
+        env.sendEventBean(new SupportBean("A", 1));
+        assertEquals("A", env.listener("s1").assertOneGetNewAndReset().get("theString"));
+
+        env.undeployAll();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.metric.RuntimeMetric;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.regressionlib.support.epl.SupportStaticMethodLib;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ClientRuntimeThreadedConfigNamedWindowDispatch implements RegressionExecutionWithConfigure {
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getCompiler().getExpression().setUdfCache(false);
+        configuration.getRuntime().getThreading().setThreadPoolNamedWindowDispatch(true);
+        configuration.getRuntime().getThreading().setThreadPoolNamedWindowDispatchNumThreads(4);
+        configuration.getRuntime().getMetricsReporting().setEnableMetricsReporting(true);
+        configuration.getRuntime().getMetricsReporting().setRuntimeInterval(1000);
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+        configuration.getCommon().addImport(SupportStaticMethodLib.class.getName());
+    }
+
+    @Override
+    public boolean enableHATest() {
+        return false;
+    }
+
+    public void run(RegressionEnvironment env) {
+        int countConsumers = 10;
+        RegressionPath path = new RegressionPath();
+        env.compileDeploy("create window MyWindow#keepall as SupportBean;\n" +
+            "insert into MyWindow select * from SupportBean;\n" +
+            "create schema MyOutStream(consumer int, theString string)", path);
+        List<Thread> listenerThreads = new ArrayList<>();
+        List<Object> listenerConsumers = new ArrayList<>();
+        for (int i = 0; i < countConsumers; i++) {
+            env.compileDeploy("@name('c" + i + "') insert into MyOutStream select " + i + " as consumer, theString from MyWindow where SupportStaticMethodLib.sleepReturnTrue(1)", path).addListener("c" + i);
+            env.statement("c" + i).addListener((newEvents, oldEvents, statement, runtime) -> {
+                listenerThreads.add(Thread.currentThread());
+                listenerConsumers.add(newEvents[0].get("consumer"));
+            });
+        }
+        env.compileDeploy("@name('out') select count(*) as cnt from MyOutStream", path).addListener("out");
+        env.compileDeploy("@name('metric') select * from " + RuntimeMetric.class.getName()).addListener("metric");
+        long startTime = env.eventService().getCurrentTime();
+
+        String[] fields = "theString".split(",");
+        for (int i = 0; i < 3; i++) {
+            env.sendEventBean(new SupportBean("E" + i, i));
+        }
+
+        // each consumer receives the window results in order
+        for (int i = 0; i < countConsumers; i++) {
+            EPAssertionUtil.assertPropsPerRow(env.listener("c" + i).getNewDataListFlattened(), fields, new Object[][]{{"E0"}, {"E1"}, {"E2"}});
+        }
+
+        // listeners are invoked by the sending thread in consumer order
+        assertEquals(3 * countConsumers, listenerThreads.size());
+        for (int i = 0; i < listenerThreads.size(); i++) {
+            assertSame(Thread.currentThread(), listenerThreads.get(i));
+            assertEquals(i % countConsumers, listenerConsumers.get(i));
+        }
+
+        // events inserted by consumers are processed by the sending thread
+        assertEquals(3L * countConsumers, env.listener("out").getLastNewData()[0].get("cnt"));
+
+        // the runtime metric reports one fan-out per event and the fan-out wall time, each consumer sleeping 1 msec
+        env.advanceTime(startTime + 1000);
+        RuntimeMetric metric = (RuntimeMetric) env.listener("metric").assertOneGetNewAndReset().getUnderlying();
+        assertEquals(3, metric.getNamedWindowFanOutCount());
+        assertTrue(metric.getNamedWindowFanOutWallMax() >= 1000000);
+        assertTrue(metric.getNamedWindowFanOutWallTotal() >= metric.getNamedWindowFanOutWallMax());
+
+        env.undeployAll();
+    }
+}
@@ -57,6 +57,7 @@ public class ContextKeySegmented {
         execs.add(new ContextKeySegmentedInvalid());
         execs.add(new ContextKeySegmentedTermByFilter());
         execs.add(new ContextKeySegmentedMatchRecognize());
+        execs.add(new ContextKeySegmentedSharedFilter());
         return execs;
     }
 
@@ -471,6 +472,51 @@ public class ContextKeySegmented {
         }
     }
 
+    private static class ContextKeySegmentedSharedFilter implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@Name('context') @Hint('KEYED_SHARED_FILTER') create context SegmentedByAString " +
+                "partition by theString from SupportBean, p00 from SupportBean_S0", path);
+
+            String[] fields = new String[]{"col1"};
+            env.compileDeploy("@name('s0') context SegmentedByAString select sum(id) as col1 from SupportBean_S0(id > 0)", path);
+            env.addListener("s0");
+            Assert.assertEquals(2, SupportFilterHelper.getFilterCountApprox(env));
+
+            // the first partition registers the shared filter
+            env.sendEventBean(new SupportBean_S0(10, "S0"));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{10});
+            Assert.assertEquals(3, SupportFilterHelper.getFilterCountApprox(env));
+
+            env.milestone(0);
+
+            // further partitions do not add filters
+            env.sendEventBean(new SupportBean_S0(8, "S1"));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{8});
+            env.sendEventBean(new SupportBean_S0(5, null));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{5});
+            Assert.assertEquals(3, SupportFilterHelper.getFilterCountApprox(env));
+
+            env.milestone(1);
+
+            env.sendEventBean(new SupportBean_S0(4, "S0"));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{14});
+            env.sendEventBean(new SupportBean_S0(1, null));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{6});
+            env.sendEventBean(new SupportBean_S0(-1, "S1"));
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.undeployModuleContaining("s0");
+            Assert.assertEquals(0, SupportFilterHelper.getFilterCountApprox(env));
+
+            // hint requires a keyed context
+            String epl = "@Hint('KEYED_SHARED_FILTER') create context MyContext initiated by SupportBean terminated after 1 minute";
+            SupportMessageAssertUtil.tryInvalidCompile(env, epl, "Hint 'KEYED_SHARED_FILTER' requires a keyed segmented context that is not nested");
+
+            env.undeployAll();
+        }
+    }
+
     private static class ContextKeySegmentedSubtype implements RegressionExecution {
         public void run(RegressionEnvironment env) {
             String[] fields = "col1".split(",");
@@ -0,0 +1,158 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.epl.database;
+
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
+
+public class EPLDatabaseSQLBatch {
+
+    public static List<RegressionExecution> executions() {
+        return executions("MyDBPlain", "MyDBWithLRU100000");
+    }
+
+    /**
+     * Returns the executions for the database references, which must provide the test table of the test database
+     * with a case-insensitive "myvarchar" column and the column names in lowercase.
+     *
+     * @param dbName          database reference without cache
+     * @param dbNameWithCache database reference with cache
+     * @return executions
+     */
+    public static List<RegressionExecution> executions(String dbName, String dbNameWithCache) {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new EPLDatabaseSQLBatchJoin(dbName));
+        execs.add(new EPLDatabaseSQLBatchJoin(dbNameWithCache));
+        execs.add(new EPLDatabaseSQLBatchKeyCollation(dbName));
+        execs.add(new EPLDatabaseSQLBatchKeyCharPadding(dbName));
+        execs.add(new EPLDatabaseSQLBatchInvalid(dbName));
+        return execs;
+    }
+
+    private static class EPLDatabaseSQLBatchJoin implements RegressionExecution {
+        private final String dbName;
+
+        public EPLDatabaseSQLBatchJoin(String dbName) {
+            this.dbName = dbName;
+        }
+
+        public void run(RegressionEnvironment env) {
+            String[] fields = "theString,myint".split(",");
+            String stmtText = "@name('s0') @Hint('sql_batch(mybigint, 2)') select theString, myint from SupportBean#length_batch(5) as s1, " +
+                " sql:" + dbName + " ['select mybigint, myint from mytesttable where mytesttable.mybigint = ${intPrimitive}'] as s0";
+            env.compileDeploy(stmtText).addListener("s0");
+
+            sendSupportBean(env, "E1", 1);
+            sendSupportBean(env, "E2", 2);
+            sendSupportBean(env, "E3", 3);
+            sendSupportBean(env, "E4", 2);
+            sendSupportBean(env, "E5", 1000);
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.listener("s0").getAndResetLastNewData(), fields,
+                new Object[][]{{"E1", 10}, {"E2", 20}, {"E3", 30}, {"E4", 20}});
+
+            env.milestone(0);
+
+            sendSupportBean(env, "E6", 3);
+            sendSupportBean(env, "E7", 4);
+            sendSupportBean(env, "E8", 5);
+            sendSupportBean(env, "E9", 6);
+            sendSupportBean(env, "E10", 7);
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.listener("s0").getAndResetLastNewData(), fields,
+                new Object[][]{{"E6", 30}, {"E7", 40}, {"E8", 50}, {"E9", 60}, {"E10", 70}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class EPLDatabaseSQLBatchKeyCollation implements RegressionExecution {
+        private final String dbName;
+
+        public EPLDatabaseSQLBatchKeyCollation(String dbName) {
+            this.dbName = dbName;
+        }
+
+        public void run(RegressionEnvironment env) {
+            // the database compares case-insensitive and returns key column values that don't equal the lookup keys
+            String[] fields = "theString,myint".split(",");
+            String stmtText = "@name('s0') @Hint('sql_batch(myvarchar, 3)') select theString, myint from SupportBean#length_batch(4) as s1, " +
+                " sql:" + dbName + " ['select myvarchar, myint from mytesttable where mytesttable.myvarchar = ${theString}'] as s0";
+            env.compileDeploy(stmtText).addListener("s0");
+
+            sendSupportBean(env, "a", 0);
+            sendSupportBean(env, "B", 0);
+            sendSupportBean(env, "c", 0);
+            sendSupportBean(env, "x", 0);
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.listener("s0").getAndResetLastNewData(), fields,
+                new Object[][]{{"a", 10}, {"B", 20}, {"c", 30}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class EPLDatabaseSQLBatchKeyCharPadding implements RegressionExecution {
+        private final String dbName;
+
+        public EPLDatabaseSQLBatchKeyCharPadding(String dbName) {
+            this.dbName = dbName;
+        }
+
+        public void run(RegressionEnvironment env) {
+            // a database that returns fixed-length character values padded returns key column values that don't equal the lookup keys
+            String[] fields = "theString,myint".split(",");
+            String stmtText = "@name('s0') @Hint('sql_batch(mychar, 3)') select theString, myint from SupportBean#length_batch(3) as s1, " +
+                " sql:" + dbName + " ['select mychar, myint from mytesttable where mytesttable.mychar = ${theString}'] as s0";
+            env.compileDeploy(stmtText).addListener("s0");
+
+            sendSupportBean(env, "Z", 0);
+            sendSupportBean(env, "Y", 0);
+            sendSupportBean(env, "A", 0);
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.listener("s0").getAndResetLastNewData(), fields,
+                new Object[][]{{"Z", 10}, {"Y", 20}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class EPLDatabaseSQLBatchInvalid implements RegressionExecution {
+        private final String dbName;
+
+        public EPLDatabaseSQLBatchInvalid(String dbName) {
+            this.dbName = dbName;
+        }
+
+        public void run(RegressionEnvironment env) {
+            String epl = "select * from SupportBean as s1, " +
+                " sql:" + dbName + " ['select mybigint, myint from mytesttable where mytesttable.mybigint = ${intPrimitive}'] as s0";
+
+            tryInvalidCompile(env, "@Hint('sql_batch(xyz)') " + epl,
+                "Hint 'SQL_BATCH' key column 'xyz' is not a column of the SQL result");
+            tryInvalidCompile(env, "@Hint('sql_batch(mybigint, 0)') " + epl,
+                "Hint 'SQL_BATCH' requires a positive maximum number of keys but received '0'");
+            tryInvalidCompile(env, "@Hint('sql_batch(mybigint)') select * from SupportBean as s1, " +
+                    " sql:" + dbName + " ['select mybigint, myint from mytesttable where ${intPrimitive} = mytesttable.mybigint'] as s0",
+                "Hint 'SQL_BATCH' requires the SQL parameter to be the right-hand side of an equals-comparison");
+            tryInvalidCompile(env, "@Hint('sql_batch(mybigint)') select * from SupportBean as s1, " +
+                    " sql:" + dbName + " ['select mybigint, myint from mytesttable where mytesttable.mybigint = ${intPrimitive} and myint > ${intBoxed}'] as s0",
+                "Hint 'SQL_BATCH' requires an SQL statement with a single parameter");
+        }
+    }
+
+    private static void sendSupportBean(RegressionEnvironment env, String theString, int intPrimitive) {
+        env.sendEventBean(new SupportBean(theString, intPrimitive));
+    }
+}
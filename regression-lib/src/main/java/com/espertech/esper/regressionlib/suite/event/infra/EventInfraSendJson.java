@@ -0,0 +1,95 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.event.infra;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EventInfraSendJson {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new EventInfraSendJsonObjectArray());
+        execs.add(new EventInfraSendJsonMapNested());
+        execs.add(new EventInfraSendJsonInvalid());
+        return execs;
+    }
+
+    private static class EventInfraSendJsonObjectArray implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@public @buseventtype create objectarray schema JsonOAEvent(id string, qty int, price double, tags string[])", path);
+            env.compileDeploy("@name('s0') select id, qty * price as total, tags[1] as tag from JsonOAEvent(qty > 1)", path).addListener("s0");
+
+            env.eventService().sendEventJson("{\"id\": \"E1\", \"qty\": 2, \"price\": 1.5, \"tags\": [\"a\", \"b\"], \"ignored\": {\"x\": 1}}", "JsonOAEvent");
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), "id,total,tag".split(","), new Object[]{"E1", 3d, "b"});
+
+            env.eventService().sendEventJson("{\"qty\": 1, \"id\": \"E2\"}", "JsonOAEvent");
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.eventService().sendEventJson("{\"price\": 2, \"qty\": 3, \"id\": \"E3\"}", "JsonOAEvent");
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), "id,total,tag".split(","), new Object[]{"E3", 6d, null});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class EventInfraSendJsonMapNested implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@public create map schema JsonAddress(city string, zip long);\n" +
+                "@public @buseventtype create map schema JsonMapEvent(name string, address JsonAddress, previous JsonAddress[])", path);
+            env.compileDeploy("@name('s0') select name, address.city as city, address.zip as zip, previous[0].city as prevcity from JsonMapEvent", path).addListener("s0");
+
+            env.eventService().sendEventJson("{\"name\": \"N1\", \"address\": {\"city\": \"X\", \"zip\": 12345}, \"previous\": [{\"city\": \"Y\"}]}", "JsonMapEvent");
+            EventBean event = env.listener("s0").assertOneGetNewAndReset();
+            EPAssertionUtil.assertProps(event, "name,city,zip,prevcity".split(","), new Object[]{"N1", "X", 12345L, "Y"});
+
+            env.eventService().sendEventJson("{\"name\": \"N2\"}", "JsonMapEvent");
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), "name,city,zip,prevcity".split(","), new Object[]{"N2", null, null, null});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class EventInfraSendJsonInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@public @buseventtype create objectarray schema JsonInvalidEvent(qty int)", path);
+
+            tryInvalid(env, "{\"qty\": \"a\"}", "JsonInvalidEvent", "Failed to parse JSON at position 8: expected a numeric value for property 'qty'");
+            tryInvalid(env, "{\"qty\": 1", "JsonInvalidEvent", "Failed to parse JSON at position 9: expected '}'");
+            tryInvalid(env, "{}", "SupportBean", "Event type named 'SupportBean' has not been defined or is not a Map-type or Object-array event type, the name 'SupportBean' refers to a " + SupportBean.class.getName() + " event type");
+            tryInvalid(env, "{}", "XYZ", "Event type named 'XYZ' has not been defined or is not a Map-type or Object-array event type, the name 'XYZ' has not been defined as an event type");
+
+            env.undeployAll();
+        }
+    }
+
+    private static void tryInvalid(RegressionEnvironment env, String json, String typeName, String message) {
+        try {
+            env.eventService().sendEventJson(json, typeName);
+            fail();
+        } catch (EPException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+}
@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.regressionlib.suite.event.render;
 
+import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.render.JSONEventRenderer;
 import com.espertech.esper.common.internal.event.render.OutputValueRendererJSONString;
 import com.espertech.esper.common.internal.support.SupportEnum;
@@ -18,9 +19,15 @@ import com.espertech.esper.regressionlib.framework.RegressionExecution;
 import com.espertech.esper.common.internal.support.SupportBean;
 import com.espertech.esper.regressionlib.support.bean.SupportBean_A;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 public class EventRenderJSON {
     public static List<RegressionExecution> executions() {
@@ -29,6 +36,7 @@ public class EventRenderJSON {
         execs.add(new EventRenderMapAndNestedArray());
         execs.add(new EventRenderEmptyMap());
         execs.add(new EventRenderEnquote());
+        execs.add(new EventRenderStreaming());
         return execs;
     }
 
@@ -131,6 +139,55 @@ public class EventRenderJSON {
         }
     }
 
+    private static class EventRenderStreaming implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            SupportBean bean = new SupportBean("x\u00e9\u20ac\ud83d\ude00\n", 10);
+            env.compileDeploy("@name('s0') select * from SupportBean").addListener("s0");
+            env.sendEventBean(bean);
+            EventBean event = env.statement("s0").iterator().next();
+
+            JSONEventRenderer renderer = env.runtime().getRenderEventService().getJSONRenderer(event.getEventType());
+            String expected = renderer.render(event);
+            String expectedTitled = renderer.render("supportBean", event);
+            byte[] expectedBytes = expected.getBytes(StandardCharsets.UTF_8);
+
+            try {
+                StringBuilder builder = new StringBuilder("prefix");
+                renderer.render(event, builder);
+                assertEquals("prefix" + expected, builder.toString());
+
+                StringWriter writer = new StringWriter();
+                renderer.render("supportBean", event, writer);
+                assertEquals(expectedTitled, writer.toString());
+
+                builder = new StringBuilder();
+                env.runtime().getRenderEventService().renderJSON("supportBean", event, builder);
+                assertEquals(expectedTitled, builder.toString());
+
+                ByteArrayOutputStream stream = new ByteArrayOutputStream();
+                renderer.render(event, stream);
+                assertTrue(Arrays.equals(expectedBytes, stream.toByteArray()));
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(expectedBytes.length);
+            renderer.render(event, buffer);
+            assertEquals(expectedBytes.length, buffer.position());
+            assertTrue(Arrays.equals(expectedBytes, buffer.array()));
+
+            ByteBuffer small = ByteBuffer.allocate(expectedBytes.length - 1);
+            try {
+                renderer.render(event, small);
+                fail();
+            } catch (BufferOverflowException ex) {
+                assertEquals(0, small.position());
+            }
+
+            env.undeployAll();
+        }
+    }
+
     private static class EventRenderEnquote implements RegressionExecution {
         public void run(RegressionEnvironment env) {
             String[][] testdata = new String[][]{
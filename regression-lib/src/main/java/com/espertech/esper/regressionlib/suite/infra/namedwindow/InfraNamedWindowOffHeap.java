@@ -0,0 +1,126 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.infra.namedwindow;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.event.offheap.OffHeapEventBean;
+import com.espertech.esper.common.internal.support.EventRepresentationChoice;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.common.internal.support.SupportBean_S1;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InfraNamedWindowOffHeap {
+
+    public static Collection<RegressionExecution> executions() {
+        ArrayList<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new InfraNamedWindowOffHeapKeepAll(EventRepresentationChoice.ARRAY));
+        execs.add(new InfraNamedWindowOffHeapKeepAll(EventRepresentationChoice.MAP));
+        execs.add(new InfraNamedWindowOffHeapUnique());
+        execs.add(new InfraNamedWindowOffHeapInvalid());
+        return execs;
+    }
+
+    private static class InfraNamedWindowOffHeapKeepAll implements RegressionExecution {
+        private final EventRepresentationChoice rep;
+
+        public InfraNamedWindowOffHeapKeepAll(EventRepresentationChoice rep) {
+            this.rep = rep;
+        }
+
+        public void run(RegressionEnvironment env) {
+            String[] fields = "theString,intPrimitive,doublePrimitive".split(",");
+            String epl = rep.getAnnotationText() + " @name('create') @Hint('off_heap') create window MyWindow#keepall as (theString string, intPrimitive int, doublePrimitive double);\n" +
+                "insert into MyWindow select theString, intPrimitive, doublePrimitive from SupportBean;\n" +
+                "on SupportBean_S0 as s0 delete from MyWindow as w where w.theString = s0.p00;\n" +
+                "on SupportBean_S1 as s1 update MyWindow as w set intPrimitive = intPrimitive * 10 where w.theString = s1.p10;\n" +
+                "@name('s0') select w.theString as theString, w.intPrimitive as intPrimitive from SupportBean_S0 unidirectional, MyWindow as w where w.theString = p00;\n";
+            env.compileDeploy(epl).addListener("create").addListener("s0");
+
+            sendSupportBean(env, "E1", 1, 1.5);
+            sendSupportBean(env, "E2", 2, 2.5);
+            sendSupportBean(env, "E3", 3, 3.5);
+            EPAssertionUtil.assertProps(env.listener("create").getLastNewData()[0], fields, new Object[]{"E3", 3, 3.5});
+            assertTrue(env.listener("create").assertOneGetNewAndReset() instanceof OffHeapEventBean);
+
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.iterator("create"), fields,
+                new Object[][]{{"E1", 1, 1.5}, {"E2", 2, 2.5}, {"E3", 3, 3.5}});
+            assertOffHeap(env.iterator("create"));
+
+            env.milestone(0);
+
+            env.sendEventBean(new SupportBean_S1(0, "E2"));
+            EPAssertionUtil.assertProps(env.listener("create").assertPairGetIRAndReset(), fields, new Object[]{"E2", 20, 2.5}, new Object[]{"E2", 2, 2.5});
+
+            env.sendEventBean(new SupportBean_S0(0, "E1"));
+            EPAssertionUtil.assertProps(env.listener("create").assertOneGetOldAndReset(), fields, new Object[]{"E1", 1, 1.5});
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), "theString,intPrimitive".split(","), new Object[]{"E1", 1});
+
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.iterator("create"), fields,
+                new Object[][]{{"E2", 20, 2.5}, {"E3", 3, 3.5}});
+            assertOffHeap(env.iterator("create"));
+
+            env.undeployAll();
+        }
+    }
+
+    private static class InfraNamedWindowOffHeapUnique implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String[] fields = "theString,intPrimitive".split(",");
+            String epl = "@name('create') @Hint('off_heap') create window MyWindow#unique(theString) as (theString string, intPrimitive int);\n" +
+                "insert into MyWindow select theString, intPrimitive from SupportBean;\n" +
+                "@name('s0') select (select sum(intPrimitive) from MyWindow) as total from SupportBean_S0;\n";
+            env.compileDeploy(epl).addListener("create").addListener("s0");
+
+            sendSupportBean(env, "E1", 1, 0);
+            sendSupportBean(env, "E2", 2, 0);
+            sendSupportBean(env, "E1", 10, 0);
+            EPAssertionUtil.assertProps(env.listener("create").assertPairGetIRAndReset(), fields, new Object[]{"E1", 10}, new Object[]{"E1", 1});
+
+            env.sendEventBean(new SupportBean_S0(0));
+            assertEquals(12, env.listener("s0").assertOneGetNewAndReset().get("total"));
+
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.iterator("create"), fields, new Object[][]{{"E2", 2}, {"E1", 10}});
+            assertOffHeap(env.iterator("create"));
+
+            env.undeployAll();
+        }
+    }
+
+    private static class InfraNamedWindowOffHeapInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            tryInvalidCompile(env, "@Hint('off_heap') create window MyWindow#keepall as SupportBean",
+                "Hint 'OFF_HEAP' requires a named window with an object-array or map event type and that is not a virtual data window");
+        }
+    }
+
+    private static void assertOffHeap(Iterator<EventBean> it) {
+        while (it.hasNext()) {
+            assertTrue(it.next() instanceof OffHeapEventBean);
+        }
+    }
+
+    private static void sendSupportBean(RegressionEnvironment env, String theString, int intPrimitive, double doublePrimitive) {
+        SupportBean bean = new SupportBean(theString, intPrimitive);
+        bean.setDoublePrimitive(doublePrimitive);
+        env.sendEventBean(bean);
+    }
+}
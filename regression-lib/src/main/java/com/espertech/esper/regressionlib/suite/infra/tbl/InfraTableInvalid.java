@@ -172,6 +172,19 @@ public class InfraTableInvalid {
             // unknown type provided
             tryInvalidCompile(env, "create table v1 (abc window(*) @type(xx))",
                 "For column 'abc' failed to find event type 'xx' [");
+
+            // lock stripes require primary key and a positive count
+            tryInvalidCompile(env, "@Hint('lock_stripes=16') create table v1 (total count(*))",
+                "Hint 'LOCK_STRIPES' requires a table with primary key column(s) [");
+            tryInvalidCompile(env, "@Hint('lock_stripes=0') create table v1 (key string primary key, total count(*))",
+                "Hint 'LOCK_STRIPES' requires a positive number of lock stripes but received '0' [");
+
+            // lock stripes do not allow secondary indexes
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@Hint('lock_stripes=16') create table v1 (key string primary key, value string, total count(*))", path);
+            tryInvalidCompile(env, path, "create index idx on v1(value)",
+                "Tables that use lock stripes do not allow creating an index [");
+            env.undeployAll();
         }
     }
 
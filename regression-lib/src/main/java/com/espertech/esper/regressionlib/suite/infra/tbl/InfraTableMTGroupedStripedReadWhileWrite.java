@@ -0,0 +1,199 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.infra.tbl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.util.CollectionUtil;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.regressionlib.support.bean.Support10ColEvent;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.runtime.client.scopetest.SupportListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * NOTE: More table-related tests in "nwtable"
+ */
+public class InfraTableMTGroupedStripedReadWhileWrite implements RegressionExecution {
+    private static final Logger log = LoggerFactory.getLogger(InfraTableMTGroupedStripedReadWhileWrite.class);
+
+    @Override
+    public boolean excludeWhenInstrumented() {
+        return true;
+    }
+
+    /**
+     * Table with lock stripes:
+     * create table vartotal (key string primary key, tc0 sum(int), tc1 sum(int) ... tc9 sum(int))
+     * <p>
+     * For a given number of seconds and a given number of groups:
+     * - Single writer aggregates into a group (round-robin), the table locking the row by its stripe.
+     * - One reader pulls whole rows by key, one reader joins rows, checking that all 10 values are consistent.
+     */
+    public void run(RegressionEnvironment env) {
+        try {
+            tryMT(env, 10, 3);
+        } catch (InterruptedException e) {
+            throw new UnsupportedOperationException(e);
+        }
+    }
+
+    private static void tryMT(RegressionEnvironment env, int numGroups, int numSeconds) throws InterruptedException {
+        RegressionPath path = new RegressionPath();
+        String eplCreateVariable = "@Hint('lock_stripes=4') create table vartotal (key string primary key, " + CollectionUtil.toString(getDeclareCols()) + ")";
+        env.compileDeploy(eplCreateVariable, path);
+
+        String eplInto = "into table vartotal select " + CollectionUtil.toString(getIntoCols()) + " from Support10ColEvent group by groupKey";
+        env.compileDeploy(eplInto, path);
+
+        // initialize groups
+        String[] groups = new String[numGroups];
+        for (int i = 0; i < numGroups; i++) {
+            groups[i] = "G" + i;
+            env.sendEventBean(new Support10ColEvent(groups[i], 0));
+        }
+
+        InfraTableMTGroupedAccessReadIntoTableWriteAggColConsistency.WriteRunnable writeRunnable = new InfraTableMTGroupedAccessReadIntoTableWriteAggColConsistency.WriteRunnable(env, groups);
+        ReadRunnable readKeyRunnable = new ReadRunnable(env, path, groups, false);
+        ReadRunnable readJoinRunnable = new ReadRunnable(env, path, groups, true);
+
+        // start
+        Thread t1 = new Thread(writeRunnable, InfraTableMTGroupedStripedReadWhileWrite.class.getSimpleName() + "write");
+        Thread t2 = new Thread(readKeyRunnable, InfraTableMTGroupedStripedReadWhileWrite.class.getSimpleName() + "read-key");
+        Thread t3 = new Thread(readJoinRunnable, InfraTableMTGroupedStripedReadWhileWrite.class.getSimpleName() + "read-join");
+        t1.start();
+        t2.start();
+        t3.start();
+
+        // wait
+        Thread.sleep(numSeconds * 1000);
+
+        // shutdown
+        writeRunnable.setShutdown(true);
+        readKeyRunnable.setShutdown(true);
+        readJoinRunnable.setShutdown(true);
+
+        // join
+        log.info("Waiting for completion");
+        t1.join();
+        t2.join();
+        t3.join();
+
+        env.undeployAll();
+        assertNull(writeRunnable.getException());
+        assertNull(readKeyRunnable.getException());
+        assertNull(readJoinRunnable.getException());
+        assertTrue(readKeyRunnable.numQueries > 100);
+        assertTrue(readJoinRunnable.numQueries > 100);
+    }
+
+    private static Collection<String> getDeclareCols() {
+        List<String> cols = new ArrayList<String>();
+        for (int i = 0; i < 10; i++) {  // 10 columns, not configurable
+            cols.add("tc" + i + " sum(int)");
+        }
+        return cols;
+    }
+
+    private static Collection<String> getIntoCols() {
+        List<String> cols = new ArrayList<String>();
+        for (int i = 0; i < 10; i++) {  // 10 columns, not configurable
+            cols.add("sum(c" + i + ") as tc" + i);
+        }
+        return cols;
+    }
+
+    private static Collection<String> getJoinSelectCols() {
+        List<String> cols = new ArrayList<String>();
+        for (int i = 0; i < 10; i++) {  // 10 columns, not configurable
+            cols.add("t.tc" + i + " as tc" + i);
+        }
+        return cols;
+    }
+
+    public static class ReadRunnable implements Runnable {
+
+        private final RegressionEnvironment env;
+        private final RegressionPath path;
+        private final String[] groups;
+        private final boolean join;
+
+        private RuntimeException exception;
+        private boolean shutdown;
+        private int numQueries;
+
+        public ReadRunnable(RegressionEnvironment env, RegressionPath path, String[] groups, boolean join) {
+            this.env = env;
+            this.path = path;
+            this.groups = groups;
+            this.join = join;
+        }
+
+        public void setShutdown(boolean shutdown) {
+            this.shutdown = shutdown;
+        }
+
+        public void run() {
+            log.info("Started event send for read, join " + join);
+
+            try {
+                String name = join ? "join" : "key";
+                String eplSelect = join ?
+                    "@name('" + name + "') select " + CollectionUtil.toString(getJoinSelectCols()) + " from SupportBean_S0 as s0 unidirectional, vartotal as t where t.key = s0.p00" :
+                    "@name('" + name + "') select vartotal[theString] as out from SupportBean";
+                env.compileDeploy(eplSelect, path).addListener(name);
+                SupportListener listener = env.listener(name);
+
+                while (!shutdown) {
+                    int groupNum = numQueries % groups.length;
+                    if (join) {
+                        env.sendEventBean(new SupportBean_S0(0, groups[groupNum]));
+                        EventBean event = listener.assertOneGetNewAndReset();
+                        for (int i = 1; i < 10; i++) {
+                            assertEquals(event.get("tc0"), event.get("tc" + i));
+                        }
+                    } else {
+                        env.sendEventBean(new SupportBean(groups[groupNum], 0));
+                        EventBean event = listener.assertOneGetNewAndReset();
+                        assertEvent((Map) event.get("out"));
+                    }
+                    numQueries++;
+                }
+            } catch (RuntimeException ex) {
+                log.error("Exception encountered: " + ex.getMessage(), ex);
+                exception = ex;
+            }
+
+            log.info("Completed event send for read, join " + join);
+        }
+
+        private static void assertEvent(Map info) {
+            Object tc0 = info.get("tc0");
+            for (int i = 1; i < 10; i++) {
+                assertEquals(tc0, info.get("tc" + i));
+            }
+        }
+
+        public RuntimeException getException() {
+            return exception;
+        }
+    }
+}
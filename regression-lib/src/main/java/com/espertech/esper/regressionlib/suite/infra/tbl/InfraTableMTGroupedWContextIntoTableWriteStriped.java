@@ -0,0 +1,45 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.infra.tbl;
+
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+
+/**
+ * NOTE: More table-related tests in "nwtable"
+ */
+public class InfraTableMTGroupedWContextIntoTableWriteStriped implements RegressionExecution {
+
+    @Override
+    public boolean excludeWhenInstrumented() {
+        return true;
+    }
+
+    /**
+     * Multiple writers share a key space that they aggregate into, the table locking rows by lock stripes.
+     * Writer utilize a hash partition context so that writers aggregate into the table concurrently.
+     * After all writers are done validate the space.
+     */
+    public void run(RegressionEnvironment env) {
+        String eplDeclare =
+            "@Hint('lock_stripes=16') create table varTotal (key string primary key, total sum(int), cnt count(*));\n" +
+                "create context ByStringHash\n" +
+                "  coalesce by consistent_hash_crc32(theString) from SupportBean granularity 16 preallocate\n;" +
+                "context ByStringHash into table varTotal select theString, sum(intPrimitive) as total, count(*) as cnt from SupportBean group by theString;\n";
+        String eplAssert = "select varTotal[p00].total as c0 from SupportBean_S0";
+
+        try {
+            InfraTableMTGroupedWContextIntoTableWriteAsSharedTable.runAndAssert(env, eplDeclare, eplAssert, 8, 1000, 64);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.multithread;
+
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.regressionlib.support.util.SupportCountListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Insert-into routing between context partitions that execute on different context partition threads,
+ * with small lane capacity so that the lanes fill up while routing to each other.
+ */
+public class MultithreadContextPartitionLaneRoute implements RegressionExecutionWithConfigure {
+    private final static int NUM_EVENTS = 200;
+    private final static int NUM_HOPS = 20;
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getThreading().setThreadPoolContextPartitionExec(true);
+        configuration.getRuntime().getThreading().setThreadPoolContextPartitionExecNumThreads(2);
+        configuration.getRuntime().getThreading().setThreadPoolContextPartitionExecCapacity(2);
+    }
+
+    @Override
+    public boolean enableHATest() {
+        return false;
+    }
+
+    public void run(RegressionEnvironment env) {
+        RegressionPath path = new RegressionPath();
+        env.compileDeploy("@public @buseventtype create schema Bounce(key string, hops int)", path);
+        env.compileDeploy("@public create context ByKey partition by key from Bounce", path);
+        // partitions A and B are allocated in turn and thus execute on different lanes, each routing to the other
+        env.compileDeploy("context ByKey insert into Bounce select case when key = 'A' then 'B' else 'A' end as key, hops - 1 as hops from Bounce(hops > 0)", path);
+        env.compileDeploy("@name('s0') select * from Bounce", path);
+        SupportCountListener listener = new SupportCountListener();
+        env.statement("s0").addListener(listener);
+
+        for (int i = 0; i < NUM_EVENTS; i++) {
+            Map<String, Object> event = new HashMap<>();
+            event.put("key", i % 2 == 0 ? "A" : "B");
+            event.put("hops", NUM_HOPS);
+            env.sendEventMap(event, "Bounce");
+        }
+
+        int expected = NUM_EVENTS * (NUM_HOPS + 1);
+        long deadline = System.currentTimeMillis() + 10000;
+        while (listener.getCountNew() < expected && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        assertEquals(expected, listener.getCountNew());
+
+        env.undeployAll();
+    }
+}
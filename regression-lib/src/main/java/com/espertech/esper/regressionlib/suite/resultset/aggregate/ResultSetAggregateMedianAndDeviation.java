@@ -11,6 +11,7 @@
 package com.espertech.esper.regressionlib.suite.resultset.aggregate;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
 import com.espertech.esper.common.client.soda.*;
 import com.espertech.esper.common.internal.util.SerializableObjectCopier;
 import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
@@ -23,6 +24,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
+
 import static junit.framework.TestCase.assertNull;
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
@@ -38,6 +41,8 @@ public class ResultSetAggregateMedianAndDeviation {
         execs.add(new ResultSetAggregateStmtJoinOM());
         execs.add(new ResultSetAggregateStmtJoin());
         execs.add(new ResultSetAggregateStmt());
+        execs.add(new ResultSetAggregatePercentile());
+        execs.add(new ResultSetAggregatePercentileInvalid());
         return execs;
     }
 
@@ -83,6 +88,55 @@ public class ResultSetAggregateMedianAndDeviation {
         }
     }
 
+    private static class ResultSetAggregatePercentile implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String[] fields = "p0,p25,p50,p75,p100,med".split(",");
+            String epl = "@name('s0') select " +
+                "percentile(price, 0) as p0," +
+                "percentile(price, 25) as p25," +
+                "percentile(price, 50) as p50," +
+                "percentile(price, 75) as p75," +
+                "percentile(price, 100) as p100," +
+                "median(price) as med," +
+                "percentileApprox(price, 50) as a50 " +
+                "from SupportMarketDataBean#length(5)";
+            env.compileDeploy(epl).addListener("s0");
+
+            sendEvent(env, SYMBOL_DELL, 10);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{10d, 10d, 10d, 10d, 10d, 10d});
+
+            sendEvent(env, SYMBOL_DELL, 20);
+            sendEvent(env, SYMBOL_DELL, 20);
+            sendEvent(env, SYMBOL_DELL, 90);
+            env.listener("s0").reset();
+
+            env.milestone(0);
+
+            sendEvent(env, SYMBOL_DELL, 5);
+            EventBean event = env.listener("s0").assertOneGetNewAndReset();
+            EPAssertionUtil.assertProps(event, fields, new Object[]{5d, 10d, 20d, 20d, 90d, 20d});
+            assertEquals(20d, (Double) event.get("a50"), 0.2);
+
+            sendEvent(env, SYMBOL_DELL, 30);
+            event = env.listener("s0").assertOneGetNewAndReset();
+            EPAssertionUtil.assertProps(event, fields, new Object[]{5d, 20d, 20d, 30d, 90d, 20d});
+            assertEquals(20d, (Double) event.get("a50"), 0.2);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetAggregatePercentileInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            tryInvalidCompile(env, "select percentile(price, 101) from SupportMarketDataBean",
+                "Failed to validate select-clause expression 'percentile(price,101)': The percentile aggregation function requires two parameters, an expression returning aggregation values and a numeric percentile constant between 0 and 100");
+            tryInvalidCompile(env, "select percentile(price, volume) from SupportMarketDataBean",
+                "Failed to validate select-clause expression 'percentile(price,volume)': The percentile aggregation function requires two parameters");
+            tryInvalidCompile(env, "select percentileApprox(symbol, 50) from SupportMarketDataBean",
+                "Failed to validate select-clause expression 'percentileApprox(symbol,50)': Implicit conversion from datatype 'String' to numeric is not allowed for aggregation function 'percentileApprox'");
+        }
+    }
+
     private static class ResultSetAggregateStmtJoinOM implements RegressionExecution {
         public void run(RegressionEnvironment env) {
             EPStatementObjectModel model = new EPStatementObjectModel();
@@ -32,9 +32,160 @@ public class ResultSetAggregateMinMax {
         execs.add(new ResultSetAggregateMemoryMinHaving());
         execs.add(new ResultSetAggregateMinMaxNamedWindowWEver(false));
         execs.add(new ResultSetAggregateMinMaxNamedWindowWEver(true));
+        execs.add(new ResultSetAggregateMinMaxLengthWindowArrivalOrder());
+        execs.add(new ResultSetAggregateMinMaxTimeBatchArrivalOrder());
+        execs.add(new ResultSetAggregateMinMaxSortWindowAndDistinct());
+        execs.add(new ResultSetAggregateMinMaxTableUniqueWindow());
         return execs;
     }
 
+    private static class ResultSetAggregateMinMaxLengthWindowArrivalOrder implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String[] fields = "theString,mini,maxi,mind,maxd,maxl,maxf".split(",");
+            String epl = "@name('s0') select theString, min(intPrimitive) as mini, max(intPrimitive) as maxi, " +
+                "min(doublePrimitive) as mind, max(doublePrimitive) as maxd, max(longBoxed) as maxl, " +
+                "fmax(intPrimitive, boolPrimitive) as maxf " +
+                "from SupportBean#length(3) group by theString";
+            env.compileDeploy(epl).addListener("s0");
+
+            sendEvent(env, "A", 5, 1.5, 10L, true);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"A", 5, 5, 1.5, 1.5, 10L, 5});
+
+            sendEvent(env, "A", 3, -2d, null, false);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"A", 3, 5, -2d, 1.5, 10L, 5});
+
+            env.milestone(0);
+
+            sendEvent(env, "A", 5, 0d, 8L, true);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"A", 3, 5, -2d, 1.5, 10L, 5});
+
+            // first A (5) leaves, the later 5 remains the maximum
+            sendEvent(env, "A", 4, 3d, null, false);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"A", 3, 5, -2d, 3d, 8L, 5});
+
+            env.milestone(1);
+
+            // A (3) leaves
+            sendEvent(env, "B", 9, 9d, null, false);
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.listener("s0").getAndResetLastNewData(), fields,
+                new Object[][]{{"B", 9, 9, 9d, 9d, null, null}, {"A", 4, 5, 0d, 3d, 8L, 5}});
+
+            // A (5) leaves
+            sendEvent(env, "B", 1, 1d, null, true);
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.listener("s0").getAndResetLastNewData(), fields,
+                new Object[][]{{"B", 1, 9, 1d, 9d, null, 1}, {"A", 4, 4, 3d, 3d, null, null}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetAggregateMinMaxTimeBatchArrivalOrder implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String[] fields = "mini,maxi".split(",");
+            env.advanceTime(0);
+            String epl = "@name('s0') select irstream min(intPrimitive) as mini, max(intPrimitive) as maxi from SupportBean#time_batch(1 sec)";
+            env.compileDeploy(epl).addListener("s0");
+
+            sendEvent(env, "E1", 5, 0, null, false);
+            sendEvent(env, "E2", 2, 0, null, false);
+            sendEvent(env, "E3", 7, 0, null, false);
+
+            env.milestone(0);
+
+            env.advanceTime(1000);
+            EPAssertionUtil.assertProps(env.listener("s0").assertGetAndResetIRPair(), fields, new Object[]{2, 7}, new Object[]{null, null});
+
+            sendEvent(env, "E4", 3, 0, null, false);
+            sendEvent(env, "E5", 4, 0, null, false);
+
+            env.advanceTime(2000);
+            EPAssertionUtil.assertProps(env.listener("s0").assertGetAndResetIRPair(), fields, new Object[]{3, 4}, new Object[]{2, 7});
+
+            env.advanceTime(3000);
+            EPAssertionUtil.assertProps(env.listener("s0").assertGetAndResetIRPair(), fields, new Object[]{null, null}, new Object[]{3, 4});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetAggregateMinMaxSortWindowAndDistinct implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String[] fields = "mini,maxi,maxd".split(",");
+            String epl = "@name('s0') select min(intPrimitive) as mini, max(intPrimitive) as maxi, max(distinct doublePrimitive) as maxd " +
+                "from SupportBean#sort(3, intPrimitive desc)";
+            env.compileDeploy(epl).addListener("s0");
+
+            sendEvent(env, "E1", 5, 1.5, null, false);
+            sendEvent(env, "E2", 1, -2, null, false);
+            sendEvent(env, "E3", 9, 1.5, null, false);
+            EPAssertionUtil.assertProps(env.listener("s0").getAndResetLastNewData()[0], fields, new Object[]{1, 9, 1.5});
+
+            // E2 (1) leaves, which is not the oldest event
+            sendEvent(env, "E4", 7, 0, null, false);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{5, 9, 1.5});
+
+            env.milestone(0);
+
+            // E5 enters and leaves right away
+            sendEvent(env, "E5", 2, 8, null, false);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{5, 9, 1.5});
+
+            // E1 (5) leaves, the distinct 1.5 remains for E3
+            sendEvent(env, "E6", 8, 0.5, null, false);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{7, 9, 1.5});
+
+            // E4 (7) and E6 (8) leave
+            sendEvent(env, "E7", 10, 0.25, null, false);
+            sendEvent(env, "E8", 11, 0.1, null, false);
+            EPAssertionUtil.assertProps(env.listener("s0").getAndResetLastNewData()[0], fields, new Object[]{9, 11, 1.5});
+
+            env.milestone(1);
+
+            // E3 (9) leaves, taking the last 1.5
+            sendEvent(env, "E9", 12, 0, null, false);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{10, 12, 0.25});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetAggregateMinMaxTableUniqueWindow implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String[] fields = "mx,mnd".split(",");
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("create table varagg (mx max(int), mnd min(double))", path);
+            env.compileDeploy("into table varagg select max(intPrimitive) as mx, min(doublePrimitive) as mnd from SupportBean#unique(theString)", path);
+            env.compileDeploy("@name('s0') select varagg.mx as mx, varagg.mnd as mnd from SupportBean_S0", path).addListener("s0");
+
+            sendEvent(env, "A", 5, 1, null, false);
+            sendEvent(env, "B", 9, -1, null, false);
+            env.sendEventBean(new SupportBean_S0(1));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{9, -1d});
+
+            env.milestone(0);
+
+            // A (5) is replaced
+            sendEvent(env, "A", 2, 3, null, false);
+            env.sendEventBean(new SupportBean_S0(2));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{9, -1d});
+
+            // B (9) is replaced
+            sendEvent(env, "B", 1, 4, null, false);
+            env.sendEventBean(new SupportBean_S0(3));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{2, 3d});
+
+            env.undeployAll();
+        }
+    }
+
+    private static void sendEvent(RegressionEnvironment env, String theString, int intPrimitive, double doublePrimitive, Long longBoxed, boolean boolPrimitive) {
+        SupportBean bean = new SupportBean(theString, intPrimitive);
+        bean.setDoublePrimitive(doublePrimitive);
+        bean.setLongBoxed(longBoxed);
+        bean.setBoolPrimitive(boolPrimitive);
+        env.sendEventBean(bean);
+    }
+
     private static class ResultSetAggregateMinMaxNamedWindowWEver implements RegressionExecution {
         private final boolean soda;
 
@@ -0,0 +1,120 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.resultset.outputlimit;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.collection.UniformPair;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class ResultSetOutputLimitSnapshotDelta {
+
+    public static Collection<RegressionExecution> executions() {
+        ArrayList<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ResultSetSnapshotDeltaIRStream());
+        execs.add(new ResultSetSnapshotDeltaIStreamHaving());
+        execs.add(new ResultSetSnapshotDeltaInvalid());
+        return execs;
+    }
+
+    private static class ResultSetSnapshotDeltaIRStream implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.advanceTime(0);
+            String[] fields = "theString,total".split(",");
+            String epl = "@name('s0') @Hint('snapshot_delta') select irstream theString, sum(intPrimitive) as total " +
+                "from SupportBean#length(3) group by theString output snapshot every 1 seconds";
+            env.compileDeploy(epl).addListener("s0");
+
+            env.sendEventBean(new SupportBean("E1", 1));
+            env.sendEventBean(new SupportBean("E2", 2));
+            env.advanceTime(1000);
+            UniformPair<EventBean[]> result = env.listener("s0").getAndResetIRPair();
+            EPAssertionUtil.assertPropsPerRow(result.getFirst(), fields, new Object[][]{{"E1", 1}, {"E2", 2}});
+            assertNull(result.getSecond());
+
+            // no changes, no output
+            env.advanceTime(2000);
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.sendEventBean(new SupportBean("E1", 10));
+            env.advanceTime(3000);
+            result = env.listener("s0").getAndResetIRPair();
+            EPAssertionUtil.assertPropsPerRow(result.getFirst(), fields, new Object[][]{{"E1", 11}});
+            assertNull(result.getSecond());
+
+            // pushes out E1/1
+            env.sendEventBean(new SupportBean("E3", 5));
+            env.advanceTime(4000);
+            result = env.listener("s0").getAndResetIRPair();
+            EPAssertionUtil.assertPropsPerRowAnyOrder(result.getFirst(), fields, new Object[][]{{"E1", 10}, {"E3", 5}});
+            assertNull(result.getSecond());
+
+            // pushes out E2/2 and E1/10, removing both groups
+            env.sendEventBean(new SupportBean("E4", 1));
+            env.sendEventBean(new SupportBean("E4", 2));
+            env.advanceTime(5000);
+            result = env.listener("s0").getAndResetIRPair();
+            EPAssertionUtil.assertPropsPerRow(result.getFirst(), fields, new Object[][]{{"E4", 3}});
+            EPAssertionUtil.assertPropsPerRowAnyOrder(result.getSecond(), fields, new Object[][]{{"E1", 10}, {"E2", 2}});
+
+            // iterator still provides the complete snapshot
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.iterator("s0"), fields, new Object[][]{{"E3", 5}, {"E4", 3}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetSnapshotDeltaIStreamHaving implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.advanceTime(0);
+            String[] fields = "theString,total".split(",");
+            String epl = "@name('s0') @Hint('snapshot_delta') select theString, sum(intPrimitive) as total " +
+                "from SupportBean group by theString having sum(intPrimitive) < 10 output snapshot every 1 seconds";
+            env.compileDeploy(epl).addListener("s0");
+
+            env.sendEventBean(new SupportBean("E1", 1));
+            env.sendEventBean(new SupportBean("E2", 2));
+            env.sendEventBean(new SupportBean("E1", 3));
+            env.advanceTime(1000);
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getAndResetLastNewData(), fields, new Object[][]{{"E1", 4}, {"E2", 2}});
+
+            // E2 no longer passes the having-clause and the remove stream is not selected
+            env.sendEventBean(new SupportBean("E2", 20));
+            env.sendEventBean(new SupportBean("E3", 3));
+            env.advanceTime(2000);
+            UniformPair<EventBean[]> result = env.listener("s0").getAndResetIRPair();
+            EPAssertionUtil.assertPropsPerRow(result.getFirst(), fields, new Object[][]{{"E3", 3}});
+            assertNull(result.getSecond());
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetSnapshotDeltaInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            tryInvalidCompile(env, "@Hint('snapshot_delta') select theString, sum(intPrimitive) from SupportBean group by theString output last every 1 seconds",
+                "Error in the output rate limiting clause: Hint 'SNAPSHOT_DELTA' requires output snapshot");
+            tryInvalidCompile(env, "@Hint('snapshot_delta') select theString, intPrimitive, sum(intPrimitive) from SupportBean group by theString output snapshot every 1 seconds",
+                "Error in the output rate limiting clause: Hint 'SNAPSHOT_DELTA' requires a fully-aggregated and grouped select-clause without rollup");
+            tryInvalidCompile(env, "@Hint('snapshot_delta') select theString, sum(intPrimitive) from SupportBean group by theString output snapshot every 1 seconds order by theString",
+                "Error in the output rate limiting clause: Hint 'SNAPSHOT_DELTA' requires a single stream and does not allow join, distinct, order-by or row limit");
+        }
+    }
+}
@@ -37,6 +37,7 @@ public class RowRecogOps {
         execs.add(new RowRecogAlterWithinConcat());
         execs.add(new RowRecogVariableMoreThenOnce());
         execs.add(new RowRecogRegex());
+        execs.add(new RowRecogBranchSharedPrefix());
         return execs;
     }
 
@@ -297,6 +298,51 @@ public class RowRecogOps {
         }
     }
 
+    private static class RowRecogBranchSharedPrefix implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String[] fields = "a,b0,b1,b2,c,d".split(",");
+            String text = "@name('s0') select * from SupportRecogBean#keepall " +
+                "match_recognize (" +
+                "  measures A.theString as a, B[0].theString as b0, B[1].theString as b1, B[2].theString as b2, " +
+                "    C.theString as c, D.theString as d" +
+                "  pattern (A B+ C? D) " +
+                "  define \n" +
+                "    A as (A.value = 1),\n" +
+                "    B as (B.value = 2),\n" +
+                "    C as (C.value = 3),\n" +
+                "    D as (D.value = 4)\n" +
+                ")";
+
+            env.compileDeploy(text).addListener("s0");
+
+            // strands branch after each B and diverge on the next event
+            env.sendEventBean(new SupportRecogBean("E1", 1));
+            env.sendEventBean(new SupportRecogBean("E2", 2));
+            env.sendEventBean(new SupportRecogBean("E3", 2));
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.milestone(0);
+
+            env.sendEventBean(new SupportRecogBean("E4", 3));
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.sendEventBean(new SupportRecogBean("E5", 4));
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getAndResetLastNewData(), fields,
+                new Object[][]{{"E1", "E2", "E3", null, "E4", "E5"}});
+
+            env.milestone(1);
+
+            // a strand that does not match must not leave its event with the strands it shares a prefix with
+            env.sendEventBean(new SupportRecogBean("E6", 1));
+            env.sendEventBean(new SupportRecogBean("E7", 2));
+            env.sendEventBean(new SupportRecogBean("E8", 4));
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getAndResetLastNewData(), fields,
+                new Object[][]{{"E6", "E7", null, null, null, "E8"}});
+
+            env.undeployAll();
+        }
+    }
+
     private static class RowRecogPartitionBy implements RegressionExecution {
         public void run(RegressionEnvironment env) {
             String[] fields = "a_string,a_value,b_value".split(",");
@@ -72,6 +72,18 @@ public class TestSuiteClientRuntime extends TestCase {
         RegressionRunner.run(session, ClientRuntimeEPStatement.executions());
     }
 
+    public void testClientRuntimeSendEventBatch() {
+        RegressionRunner.run(session, ClientRuntimeSendEventBatch.executions());
+    }
+
+    public void testClientRuntimeSendEventPooled() {
+        RegressionRunner.run(session, ClientRuntimeSendEventPooled.executions());
+    }
+
+    public void testClientRuntimeEventSenderWatermark() {
+        RegressionRunner.run(session, ClientRuntimeEventSenderWatermark.executions());
+    }
+
     public void testClientRuntimeExceptionHandler() {
         RegressionRunner.run(session, ClientRuntimeExceptionHandler.executions());
     }
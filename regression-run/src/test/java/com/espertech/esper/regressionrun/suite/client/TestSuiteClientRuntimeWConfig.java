@@ -32,6 +32,10 @@ public class TestSuiteClientRuntimeWConfig extends TestCase {
         new ClientRuntimeRuntimeProvider.ClientRuntimeRuntimeDestroy().run(config);
     }
 
+    public void testClientRuntimeSharded() {
+        new ClientRuntimeSharded().run(SupportConfigFactory.getConfiguration());
+    }
+
     public void testClientRuntimeJMX() {
         Configuration configuration = SupportConfigFactory.getConfiguration();
         new ClientRuntimeJMX().run(configuration);
@@ -77,6 +81,14 @@ public class TestSuiteClientRuntimeWConfig extends TestCase {
         RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigRoute());
     }
 
+    public void testClientRuntimeThreadedConfigNamedWindowDispatch() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigNamedWindowDispatch());
+    }
+
+    public void testClientRuntimeThreadedConfigContextPartition() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigContextPartition());
+    }
+
     public void testClientRuntimeThreadedConfigTimer() {
         RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigTimer());
     }
@@ -0,0 +1,92 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionrun.suite.epl;
+
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.configuration.common.ConfigurationCommonDBRef;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.suite.epl.database.EPLDatabaseSQLBatch;
+import com.espertech.esper.regressionrun.runner.RegressionRunner;
+import com.espertech.esper.regressionrun.runner.RegressionSession;
+import junit.framework.TestCase;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Database regression against an in-memory HSQLDB database, which requires no external database.
+ * <p>
+ * The test table follows the test database of "etc/regression/create_testdb.sql". HSQLDB returns fixed-length character
+ * values padded with spaces and the varchar column compares case-insensitive, same as the test database.
+ */
+public class TestSuiteEPLDatabaseEmbedded extends TestCase {
+    private final static String DRIVER = "org.hsqldb.jdbc.JDBCDriver";
+    private final static String URL = "jdbc:hsqldb:mem:esperregression";
+    private final static String USER = "SA";
+    private final static String PASSWORD = "";
+
+    private RegressionSession session;
+
+    public void setUp() throws Exception {
+        createTestTable();
+        session = RegressionRunner.session();
+        configure(session.getConfiguration());
+    }
+
+    public void tearDown() {
+        session.destroy();
+        session = null;
+    }
+
+    public void testEPLDatabaseSQLBatch() {
+        RegressionRunner.run(session, EPLDatabaseSQLBatch.executions("MyDBEmbedded", "MyDBEmbeddedWithLRU100000"));
+    }
+
+    private static void configure(Configuration configuration) {
+        configuration.getCommon().addEventType(SupportBean.class);
+
+        configuration.getCommon().addDatabaseReference("MyDBEmbedded", getDBConfig());
+
+        ConfigurationCommonDBRef configDBWithLRU100000 = getDBConfig();
+        configDBWithLRU100000.setLRUCache(100000);
+        configuration.getCommon().addDatabaseReference("MyDBEmbeddedWithLRU100000", configDBWithLRU100000);
+
+        configuration.getCommon().getLogging().setEnableJDBC(true);
+    }
+
+    private static ConfigurationCommonDBRef getDBConfig() {
+        Properties properties = new Properties();
+        properties.put("user", USER);
+        properties.put("password", PASSWORD);
+        ConfigurationCommonDBRef configDB = new ConfigurationCommonDBRef();
+        configDB.setDriverManagerConnection(DRIVER, URL, properties);
+        configDB.setConnectionLifecycleEnum(ConfigurationCommonDBRef.ConnectionLifecycleEnum.RETAIN);
+        configDB.setColumnChangeCase(ConfigurationCommonDBRef.ColumnChangeCaseEnum.LOWERCASE);
+        return configDB;
+    }
+
+    private static void createTestTable() throws ClassNotFoundException, SQLException {
+        Class.forName(DRIVER);
+        try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop table mytesttable if exists");
+            statement.execute("create table mytesttable(mybigint bigint, myint integer, myvarchar varchar_ignorecase(20), mychar char(20))");
+            String[] varchars = "A,B,C,D,E,F,G,H,I,J".split(",");
+            String[] chars = "Z,Y,X,W,V,T,S,R,Q,P".split(",");
+            for (int i = 0; i < varchars.length; i++) {
+                statement.execute("insert into mytesttable values (" + (i + 1) + ", " + (i + 1) * 10 + ", '" + varchars[i] + "', '" + chars[i] + "')");
+            }
+        }
+    }
+}
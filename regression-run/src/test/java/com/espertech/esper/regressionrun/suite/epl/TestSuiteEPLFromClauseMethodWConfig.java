@@ -17,6 +17,7 @@ import com.espertech.esper.common.internal.support.SupportBean;
 import com.espertech.esper.common.internal.support.SupportBean_S0;
 import com.espertech.esper.common.internal.support.SupportBean_S1;
 import com.espertech.esper.common.internal.support.SupportBean_S2;
+import com.espertech.esper.regressionlib.suite.epl.fromclausemethod.EPLFromClauseMethodCacheConcurrent;
 import com.espertech.esper.regressionlib.suite.epl.fromclausemethod.EPLFromClauseMethodCacheExpiry;
 import com.espertech.esper.regressionlib.suite.epl.fromclausemethod.EPLFromClauseMethodCacheLRU;
 import com.espertech.esper.regressionlib.suite.epl.fromclausemethod.EPLFromClauseMethodJoinPerformance;
@@ -58,6 +59,20 @@ public class TestSuiteEPLFromClauseMethodWConfig extends TestCase {
         session.destroy();
     }
 
+    public void testEPLFromClauseMethodCacheConcurrent() {
+        RegressionSession session = RegressionRunner.session();
+
+        ConfigurationCommonMethodRef methodConfig = new ConfigurationCommonMethodRef();
+        methodConfig.setConcurrentCache(100, 0, 0);
+        session.getConfiguration().getCommon().addMethodRef(SupportStaticMethodInvocations.class.getName(), methodConfig);
+        session.getConfiguration().getCommon().addImport(SupportStaticMethodInvocations.class.getPackage().getName() + ".*");
+        session.getConfiguration().getCommon().addEventType(SupportBean.class);
+
+        RegressionRunner.run(session, new EPLFromClauseMethodCacheConcurrent());
+
+        session.destroy();
+    }
+
     public void testEPLFromClauseMethodJoinPerformance() {
         RegressionSession session = RegressionRunner.session();
 
@@ -95,6 +95,10 @@ public class TestSuiteEventInfra extends TestCase {
         RegressionRunner.run(session, new EventInfraEventSender());
     }
 
+    public void testEventInfraSendJson() {
+        RegressionRunner.run(session, EventInfraSendJson.executions());
+    }
+
     public void testEventInfraSuperType() {
         RegressionRunner.run(session, new EventInfraSuperType());
     }
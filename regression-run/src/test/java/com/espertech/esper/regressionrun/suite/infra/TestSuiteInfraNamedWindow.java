@@ -84,6 +84,10 @@ public class TestSuiteInfraNamedWindow extends TestCase {
         RegressionRunner.run(session, new InfraNamedWindowRemoveStream());
     }
 
+    public void testInfraNamedWindowOffHeap() {
+        RegressionRunner.run(session, InfraNamedWindowOffHeap.executions());
+    }
+
     public void testInfraNamedWindowProcessingOrder() {
         RegressionRunner.run(session, InfraNamedWindowProcessingOrder.executions());
     }
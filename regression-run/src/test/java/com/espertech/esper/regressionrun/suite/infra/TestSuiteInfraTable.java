@@ -177,6 +177,14 @@ public class TestSuiteInfraTable extends TestCase {
         RegressionRunner.run(session, new InfraTableMTGroupedWContextIntoTableWriteAsSharedTable());
     }
 
+    public void testInfraTableMTGroupedWContextIntoTableWriteStriped() {
+        RegressionRunner.run(session, new InfraTableMTGroupedWContextIntoTableWriteStriped());
+    }
+
+    public void testInfraTableMTGroupedStripedReadWhileWrite() {
+        RegressionRunner.run(session, new InfraTableMTGroupedStripedReadWhileWrite());
+    }
+
     public void testInfraTableMTUngroupedAccessReadInotTableWriteIterate() {
         RegressionRunner.run(session, new InfraTableMTUngroupedAccessReadInotTableWriteIterate());
     }
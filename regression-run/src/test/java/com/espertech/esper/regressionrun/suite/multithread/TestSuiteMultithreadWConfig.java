@@ -44,6 +44,10 @@ public class TestSuiteMultithreadWConfig extends TestCase {
         new MultithreadContextNestedNonOverlapAtNow().run(SupportConfigFactory.getConfiguration());
     }
 
+    public void testMultithreadContextPartitionLaneRoute() {
+        RegressionRunner.runConfigurable(new MultithreadContextPartitionLaneRoute());
+    }
+
     public void testMultithreadContextTerminated() {
         RegressionRunner.runConfigurable(new MultithreadContextTerminated());
     }
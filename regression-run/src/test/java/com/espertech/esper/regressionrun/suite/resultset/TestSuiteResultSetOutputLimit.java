@@ -92,6 +92,10 @@ public class TestSuiteResultSetOutputLimit extends TestCase {
         RegressionRunner.run(session, ResultSetOutputLimitInsertInto.executions());
     }
 
+    public void testResultSetOutputLimitSnapshotDelta() {
+        RegressionRunner.run(session, ResultSetOutputLimitSnapshotDelta.executions());
+    }
+
     private static void configure(Configuration configuration) {
         for (Class clazz : new Class[]{SupportBean.class, SupportBean_S0.class, SupportBean_S1.class,
             SupportMarketDataBean.class, SupportBeanNumeric.class, SupportBean_ST0.class, SupportBean_A.class,
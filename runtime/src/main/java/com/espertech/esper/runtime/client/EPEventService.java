@@ -47,6 +47,40 @@ public interface EPEventService extends EPEventServiceSendEvent, EPEventServiceR
      */
     EventSender getEventSender(String eventTypeName) throws EventTypeException;
 
+    /**
+     * Returns a special event sender for object-array events that reuses the event bean wrapping each object-array
+     * when no statement retained the event.
+     * <p>
+     * The runtime determines at deployment time which statements may keep a reference to events.
+     * Stateless filter-and-select statements that are not context-partitioned, have no insert-into and
+     * do not select the event itself or a wildcard do not retain events. When an event only matches such statements
+     * the event bean is reused for the next event, otherwise a new event bean is allocated.
+     * <p>
+     * The sender is not thread-safe and should be obtained for each sending thread.
+     * Listeners and unmatched-listeners must not keep a reference to the event beans they receive for the event type
+     * beyond the update method.
+     *
+     * @param eventTypeName is the name of the object-array event type
+     * @return pooled sender
+     * @throws EventTypeException thrown to indicate that the name does not exist or is not an object-array event type
+     */
+    EventSender getEventSenderPooled(String eventTypeName) throws EventTypeException;
+
+    /**
+     * Returns an event sender that drives runtime time from the start timestamp property of the event type,
+     * buffering out-of-order events and releasing them in timestamp order as the watermark advances.
+     * <p>
+     * The event type must declare a start timestamp property. The runtime must use external clocking
+     * and must not have inbound threading enabled.
+     *
+     * @param eventTypeName    is the name of the event type
+     * @param maxOutOfOrder    maximum out-of-orderness of timestamps, in the runtime time unit
+     * @param maxBuffered      maximum number of buffered events
+     * @return watermark sender
+     * @throws EventTypeException thrown to indicate that the name does not exist or the type does not declare a start timestamp
+     */
+    EventSenderWatermark getEventSenderWatermark(String eventTypeName, long maxOutOfOrder, int maxBuffered) throws EventTypeException;
+
     /**
      * Sets a listener to receive events that are unmatched by any statement.
      * <p>
@@ -89,4 +89,46 @@ public interface EPEventServiceSendEvent {
      * @throws EPException is thrown when the processing of the event lead to an error
      */
     void sendEventAvro(Object avroGenericDataDotRecord, String avroEventTypeName);
+
+    /**
+     * Send an event represented by a JSON object text to the runtime.
+     * <p>
+     * The event type must be a Map or Object-array event type. The runtime parses the JSON text in a single pass
+     * directly into the underlying Map or Object-array, converting each value to the declared property type.
+     * Nested objects and arrays populate properties declared as nested Map or Object-array event types,
+     * and JSON fields that are not properties of the event type are ignored.
+     * <p>
+     * For an Object-array event type the runtime validates the JSON text and keeps it, together with the offset of each
+     * property value, and decodes a property value when it is first accessed. Errors in escapes within strings and in the
+     * elements of arrays and nested objects are therefore reported when the property value is accessed.
+     * <p>
+     * Use the route method for sending events into the runtime from within UpdateListener code,
+     * to avoid the possibility of a stack overflow due to nested calls to sendEvent
+     * (except with the outbound-threading configuration).
+     *
+     * @param json          is the JSON object text
+     * @param eventTypeName event type name of a Map or Object-array event type
+     * @throws EPException is thrown when the JSON text cannot be parsed or the processing of the event lead to an error
+     */
+    void sendEventJson(String json, String eventTypeName);
+
+    /**
+     * Send a batch of events of the same event type to the runtime, processing events in the order provided.
+     * <p>
+     * Each event object must be of the underlying representation of the event type, i.e. an object array,
+     * a map, a bean object, a DOM node or an Avro record.
+     * The runtime holds its event processing lock and thread-local state across the batch and
+     * dispatches results to listeners and subscribers once at the end of the batch, so that a listener may
+     * receive the results of multiple events of the batch in one invocation.
+     * Events routed by statements, such as by insert-into, are still processed before the next event of the batch.
+     * </p>
+     * <p>
+     * Use the route method for sending events into the runtime from within UpdateListener code.
+     * </p>
+     *
+     * @param events        events to process
+     * @param eventTypeName event type name
+     * @throws EPException is thrown when the processing of an event lead to an error
+     */
+    void sendEventBatch(Object[] events, String eventTypeName);
 }
@@ -0,0 +1,69 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.client;
+
+/**
+ * Event sender that derives runtime time from the start timestamp property of the event type
+ * and that releases events in timestamp order as the watermark advances.
+ * <p>
+ * The watermark is the largest timestamp received minus the maximum out-of-orderness. Events are held in
+ * a bounded reorder buffer until the watermark reaches their timestamp. Upon release of an event the sender advances
+ * runtime time to the event timestamp, stepping through all schedules in between, and then processes the event.
+ * Time windows, patterns and output rate limiting therefore run on event time.
+ * <p>
+ * Late events, i.e. events with a timestamp older than the watermark, are processed immediately at the current time.
+ * When the buffer is full the oldest buffered event is released regardless of the watermark.
+ * <p>
+ * The sender requires external clocking and advances time for the whole runtime, therefore use a single
+ * watermark sender per runtime. The sender is thread-safe.
+ */
+public interface EventSenderWatermark {
+    /**
+     * Buffers the event object and releases all buffered events up to the watermark.
+     *
+     * @param theEvent event object of the type this sender was obtained for
+     */
+    void sendEvent(Object theEvent);
+
+    /**
+     * Advances the watermark to the given timestamp, such as when an idle source signals progress,
+     * releasing buffered events up to the watermark. A timestamp lower than the current watermark has no effect.
+     *
+     * @param timestamp watermark timestamp
+     */
+    void advanceWatermark(long timestamp);
+
+    /**
+     * Releases all buffered events in timestamp order and advances the watermark to the largest timestamp received.
+     */
+    void flush();
+
+    /**
+     * Returns the current watermark.
+     *
+     * @return watermark, or {@link Long#MIN_VALUE} if no event was received
+     */
+    long getWatermark();
+
+    /**
+     * Returns the number of events buffered and not yet released.
+     *
+     * @return buffered count
+     */
+    int getNumBuffered();
+
+    /**
+     * Returns the number of events received with a timestamp older than the watermark.
+     *
+     * @return late event count
+     */
+    long getNumLate();
+}
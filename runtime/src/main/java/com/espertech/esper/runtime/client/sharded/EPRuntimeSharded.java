@@ -0,0 +1,135 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.client.sharded;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.runtime.client.*;
+
+import java.util.Map;
+
+/**
+ * A sharded runtime consists of a number of independent runtimes, each with the same deployments and each
+ * processing events on its own thread.
+ * <p>
+ * Events are routed to a shard by the CRC32 hash of a key provided by {@link EPRuntimeShardedKeyProvider}.
+ * Shards do not share state, so that the sharded runtime behaves like a hash-segmented context
+ * with the context partitions allocated to threads. Statements that must see all events, such as unkeyed aggregations,
+ * produce per-shard results.
+ * </p>
+ * <p>
+ * Listeners added through the sharded runtime receive the output of all shards. Output is delivered
+ * to one listener at a time so that listeners need not be thread-safe.
+ * </p>
+ */
+public interface EPRuntimeSharded {
+    /**
+     * Returns the number of shards.
+     *
+     * @return shard count
+     */
+    int getNumShards();
+
+    /**
+     * Returns the runtime of a shard.
+     *
+     * @param shard shard number starting at zero
+     * @return runtime
+     */
+    EPRuntime getShard(int shard);
+
+    /**
+     * Returns the shard number for a key.
+     *
+     * @param key key
+     * @return shard number
+     */
+    int getShardForKey(String key);
+
+    /**
+     * Deploys the compiled module to all shards using the same deployment id.
+     * When deployment fails for any shard the module is undeployed from the shards it was deployed to.
+     *
+     * @param compiled compiled module
+     * @return deployment id
+     * @throws EPDeployException when the deployment failed
+     */
+    String deploy(EPCompiled compiled) throws EPDeployException;
+
+    /**
+     * Undeploys a deployment from all shards.
+     *
+     * @param deploymentId deployment id
+     * @throws EPUndeployException when the undeployment failed
+     */
+    void undeploy(String deploymentId) throws EPUndeployException;
+
+    /**
+     * Adds a listener to the statement of all shards.
+     *
+     * @param deploymentId  deployment id
+     * @param statementName statement name
+     * @param listener      listener receiving the output of all shards
+     */
+    void addListener(String deploymentId, String statementName, UpdateListener listener);
+
+    /**
+     * Removes a listener from the statement of all shards.
+     *
+     * @param deploymentId  deployment id
+     * @param statementName statement name
+     * @param listener      listener
+     */
+    void removeListener(String deploymentId, String statementName, UpdateListener listener);
+
+    /**
+     * Routes an event bean to its shard.
+     *
+     * @param event         event
+     * @param eventTypeName event type name
+     */
+    void sendEventBean(Object event, String eventTypeName);
+
+    /**
+     * Routes a map event to its shard.
+     *
+     * @param event         event
+     * @param eventTypeName event type name
+     */
+    void sendEventMap(Map<String, Object> event, String eventTypeName);
+
+    /**
+     * Routes an object-array event to its shard.
+     *
+     * @param event         event
+     * @param eventTypeName event type name
+     */
+    void sendEventObjectArray(Object[] event, String eventTypeName);
+
+    /**
+     * Advances time for all shards, for use with external clocking.
+     * Time advances in order with the events previously sent.
+     *
+     * @param time time
+     */
+    void advanceTime(long time);
+
+    /**
+     * Waits until all shards have processed the events and time advances that were sent so far.
+     *
+     * @throws InterruptedException when interrupted
+     */
+    void flush() throws InterruptedException;
+
+    /**
+     * Processes the remaining events, stops the shard threads and destroys the shard runtimes.
+     */
+    void destroy();
+}
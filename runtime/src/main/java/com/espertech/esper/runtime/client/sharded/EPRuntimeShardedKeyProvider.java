@@ -0,0 +1,29 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.client.sharded;
+
+/**
+ * Provides the routing key of an event for a sharded runtime.
+ * <p>
+ * The shard is determined by the CRC32 hash of the key modulo the number of shards,
+ * same as for a hash-segmented context using {@code consistent_hash_crc32}.
+ * </p>
+ */
+public interface EPRuntimeShardedKeyProvider {
+    /**
+     * Returns the routing key for the event.
+     *
+     * @param event         event object, i.e. an event bean, a map or an object-array
+     * @param eventTypeName event type name
+     * @return key, a null key routes to the first shard
+     */
+    String getKey(Object event, String eventTypeName);
+}
@@ -0,0 +1,66 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.client.sharded;
+
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.configuration.ConfigurationException;
+import com.espertech.esper.runtime.internal.kernel.sharded.EPRuntimeShardedImpl;
+
+/**
+ * Provider for sharded runtimes.
+ */
+public final class EPRuntimeShardedProvider {
+    /**
+     * Default capacity of the queue of each shard.
+     */
+    public final static int DEFAULT_QUEUE_CAPACITY = 10000;
+
+    private EPRuntimeShardedProvider() {
+    }
+
+    /**
+     * Returns a new sharded runtime with the default queue capacity.
+     *
+     * @param uriPrefix     prefix for the URI of each shard runtime, the shard runtime URI is the prefix followed by "-shard-" and the shard number
+     * @param configuration configuration for each shard runtime
+     * @param numShards     number of shards
+     * @param keyProvider   provides the routing key for events
+     * @return sharded runtime
+     * @throws ConfigurationException to indicate a configuration problem
+     */
+    public static EPRuntimeSharded getRuntime(String uriPrefix, Configuration configuration, int numShards, EPRuntimeShardedKeyProvider keyProvider) throws ConfigurationException {
+        return getRuntime(uriPrefix, configuration, numShards, keyProvider, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Returns a new sharded runtime.
+     *
+     * @param uriPrefix     prefix for the URI of each shard runtime, the shard runtime URI is the prefix followed by "-shard-" and the shard number
+     * @param configuration configuration for each shard runtime
+     * @param numShards     number of shards
+     * @param keyProvider   provides the routing key for events
+     * @param queueCapacity capacity of the queue of each shard, senders block when the queue is full
+     * @return sharded runtime
+     * @throws ConfigurationException to indicate a configuration problem
+     */
+    public static EPRuntimeSharded getRuntime(String uriPrefix, Configuration configuration, int numShards, EPRuntimeShardedKeyProvider keyProvider, int queueCapacity) throws ConfigurationException {
+        if (numShards < 1) {
+            throw new ConfigurationException("Invalid number of shards " + numShards + ", the number of shards must be at least 1");
+        }
+        if (queueCapacity < 1) {
+            throw new ConfigurationException("Invalid queue capacity " + queueCapacity + ", the queue capacity must be at least 1");
+        }
+        if (keyProvider == null) {
+            throw new ConfigurationException("Key provider is required");
+        }
+        return new EPRuntimeShardedImpl(uriPrefix, configuration, numShards, keyProvider, queueCapacity);
+    }
+}
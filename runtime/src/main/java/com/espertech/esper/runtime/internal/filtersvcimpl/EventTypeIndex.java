@@ -16,6 +16,7 @@ import com.espertech.esper.common.client.meta.EventTypeIdPair;
 import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
@@ -30,9 +31,11 @@ import java.util.concurrent.locks.ReadWriteLock;
 public class EventTypeIndex implements EventEvaluator {
     private Map<EventType, FilterHandleSetNode> eventTypes;
     private ReadWriteLock eventTypesRWLock;
+    private final boolean lockFreeRead;
 
     public EventTypeIndex(FilterServiceGranularLockFactory lockFactory) {
-        eventTypes = new HashMap<EventType, FilterHandleSetNode>();
+        lockFreeRead = lockFactory.isLockFreeRead();
+        eventTypes = lockFreeRead ? new ConcurrentHashMap<EventType, FilterHandleSetNode>() : new HashMap<EventType, FilterHandleSetNode>();
         eventTypesRWLock = lockFactory.obtainNew();
     }
 
@@ -94,6 +97,21 @@ public class EventTypeIndex implements EventEvaluator {
     }
 
 
+    /**
+     * Replaces the root node for the given event type, for use when the subtree was rebuilt.
+     *
+     * @param eventType is the event type
+     * @param rootNode  is the new root node
+     */
+    public void replace(EventType eventType, FilterHandleSetNode rootNode) {
+        eventTypesRWLock.writeLock().lock();
+        try {
+            eventTypes.put(eventType, rootNode);
+        } finally {
+            eventTypesRWLock.writeLock().unlock();
+        }
+    }
+
     public void removeType(EventType type) {
         eventTypesRWLock.writeLock().lock();
         try {
@@ -161,12 +179,16 @@ public class EventTypeIndex implements EventEvaluator {
     }
 
     private void matchType(EventType eventType, EventBean eventBean, Collection<FilterHandle> matches) {
-        eventTypesRWLock.readLock().lock();
         FilterHandleSetNode rootNode = null;
-        try {
+        if (lockFreeRead) {
             rootNode = eventTypes.get(eventType);
-        } finally {
-            eventTypesRWLock.readLock().unlock();
+        } else {
+            eventTypesRWLock.readLock().lock();
+            try {
+                rootNode = eventTypes.get(eventType);
+            } finally {
+                eventTypesRWLock.readLock().unlock();
+            }
         }
 
         // If the top class node is null, no filters have yet been registered for this event type.
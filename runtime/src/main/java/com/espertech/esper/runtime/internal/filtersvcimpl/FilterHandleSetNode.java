@@ -16,6 +16,8 @@ import com.espertech.esper.common.internal.filtersvc.FilterHandleSize;
 import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
@@ -30,11 +32,28 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
     private final ReadWriteLock nodeRWLock;
     private final Set<FilterHandle> callbackSet;
     private final List<FilterParamIndexBase> indizes;
+    private final boolean lockFreeRead;
 
     public FilterHandleSetNode(ReadWriteLock nodeRWLock) {
+        this(nodeRWLock, false);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param nodeRWLock   lock for changes to the node
+     * @param lockFreeRead when true the node uses copy-on-write collections and event matching does not lock
+     */
+    public FilterHandleSetNode(ReadWriteLock nodeRWLock, boolean lockFreeRead) {
         this.nodeRWLock = nodeRWLock;
-        callbackSet = new LinkedHashSet<FilterHandle>();
-        indizes = new LinkedList<FilterParamIndexBase>();
+        this.lockFreeRead = lockFreeRead;
+        if (lockFreeRead) {
+            callbackSet = new CopyOnWriteArraySet<FilterHandle>();
+            indizes = new CopyOnWriteArrayList<FilterParamIndexBase>();
+        } else {
+            callbackSet = new LinkedHashSet<FilterHandle>();
+            indizes = new LinkedList<FilterParamIndexBase>();
+        }
     }
 
     /**
@@ -86,29 +105,13 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
      * @param matches  is the list of callbacks to add to for any matches found
      */
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
+        if (lockFreeRead) {
+            matchEventInternal(theEvent, matches);
+            return;
+        }
         nodeRWLock.readLock().lock();
         try {
-            if (InstrumentationHelper.ENABLED) {
-                if (!indizes.isEmpty()) {
-                    InstrumentationHelper.get().qFilterHandleSetIndexes(indizes);
-                }
-            }
-
-            // Ask each of the indizes to match against the attribute values
-            for (FilterParamIndexBase index : indizes) {
-                index.matchEvent(theEvent, matches);
-            }
-
-            if (InstrumentationHelper.ENABLED) {
-                if (!indizes.isEmpty()) {
-                    InstrumentationHelper.get().aFilterHandleSetIndexes();
-                }
-            }
-
-            // Add each filter callback stored in this node to the matching list
-            for (FilterHandle filterCallback : callbackSet) {
-                matches.add(filterCallback);
-            }
+            matchEventInternal(theEvent, matches);
         } finally {
             nodeRWLock.readLock().unlock();
         }
@@ -177,6 +180,30 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
         return callbackSet;
     }
 
+    private void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches) {
+        if (InstrumentationHelper.ENABLED) {
+            if (!indizes.isEmpty()) {
+                InstrumentationHelper.get().qFilterHandleSetIndexes(indizes);
+            }
+        }
+
+        // Ask each of the indizes to match against the attribute values
+        for (FilterParamIndexBase index : indizes) {
+            index.matchEvent(theEvent, matches);
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            if (!indizes.isEmpty()) {
+                InstrumentationHelper.get().aFilterHandleSetIndexes();
+            }
+        }
+
+        // Add each filter callback stored in this node to the matching list
+        for (FilterHandle filterCallback : callbackSet) {
+            matches.add(filterCallback);
+        }
+    }
+
     public void getTraverseStatement(EventTypeIndexTraverse traverse, Set<Integer> statementIds, ArrayDeque<FilterItem> evaluatorStack) {
         for (FilterHandle filterHandle : callbackSet) {
             if (statementIds.contains(filterHandle.getStatementId())) {
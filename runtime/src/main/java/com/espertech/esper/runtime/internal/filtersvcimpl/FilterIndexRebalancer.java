@@ -0,0 +1,471 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
+import com.espertech.esper.common.internal.filterspec.FilterOperator;
+import com.espertech.esper.common.internal.filterspec.FilterSpecParam;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reorders the filter parameters of the filters of an event type by selectivity and rebuilds the filter index tree
+ * of the event type, replacing the existing tree in a single step.
+ * <p>
+ * Keeps a registry of the filters of each event type and, for each lookupable and filter operator, the number of filters
+ * for each filter constant. Samples one in {@link #SAMPLE_RATE} events to observe, for equals-type parameters,
+ * the fraction of filters that pass the parameter. Parameters that let the smallest fraction of filters pass
+ * are placed first, with boolean expressions always placed last. When there are not enough samples
+ * an equals-type parameter is estimated from the number of distinct filter constants.
+ * <p>
+ * The tree is rebuilt aside from the tree used for matching events, so event processing continues against the existing
+ * tree while rebuilding. Filter additions and removals made while rebuilding apply to the existing tree and are recorded,
+ * and are replayed onto the new tree before it replaces the existing tree.
+ * <p>
+ * Advancing runtime time checks whether the interval has passed in wall-clock time, and if so hands the rebalancing
+ * to a background thread owned by the rebalancer.
+ */
+public class FilterIndexRebalancer {
+    private static final Logger log = LoggerFactory.getLogger(FilterIndexRebalancer.class);
+
+    protected static final int SAMPLE_RATE = 256;
+    protected static final int MIN_SAMPLES = 32;
+    private static final Object NULL_KEY = new Object();
+    private static final double SCORE_DEFAULT = 0.5;
+    private static final double SCORE_NOT = 0.9;
+
+    private final EventTypeIndex eventTypeIndex;
+    private final FilterServiceGranularLockFactory lockFactory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Map<EventType, TypeState> types = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final AtomicLong nextRebalance;
+    private final AtomicBoolean rebalancing = new AtomicBoolean();
+    private final ExecutorService executor;
+    private final ThreadLocal<int[]> eventCounter = new ThreadLocal<int[]>() {
+        protected synchronized int[] initialValue() {
+            return new int[1];
+        }
+    };
+
+    public FilterIndexRebalancer(EventTypeIndex eventTypeIndex, FilterServiceGranularLockFactory lockFactory, long intervalMSec) {
+        this.eventTypeIndex = eventTypeIndex;
+        this.lockFactory = lockFactory;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMSec);
+        this.nextRebalance = new AtomicLong(System.nanoTime() + intervalNanos);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "com.espertech.esper.FilterIndexRebalancer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts rebalancing in the background when the interval has passed, for use by the thread that advances runtime time.
+     */
+    public void processTimeEvent() {
+        long next = nextRebalance.get();
+        long now = System.nanoTime();
+        if (now - next < 0 || !nextRebalance.compareAndSet(next, now + intervalNanos)) {
+            return;
+        }
+        if (!rebalancing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    rebalance();
+                } catch (RuntimeException ex) {
+                    log.error("Failed to rebalance filter indexes: " + ex.getMessage(), ex);
+                } finally {
+                    rebalancing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // destroyed
+            rebalancing.set(false);
+        }
+    }
+
+    public void add(EventType eventType, FilterValueSetParam[][] valueSet, FilterHandle filterCallback, EventTypeIndexBuilder indexBuilder) {
+        lock.lock();
+        try {
+            indexBuilder.add(eventType, valueSet, filterCallback, lockFactory);
+            TypeState state = types.get(eventType);
+            if (state == null) {
+                state = new TypeState();
+                types.put(eventType, state);
+            }
+            state.filters.put(filterCallback, valueSet);
+            state.count(valueSet, 1);
+            if (state.pending != null) {
+                state.pending.add(new PendingChange(true, filterCallback, valueSet));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(FilterHandle filterCallback, EventType eventType, FilterValueSetParam[][] valueSet, EventTypeIndexBuilder indexBuilder) {
+        lock.lock();
+        try {
+            indexBuilder.remove(filterCallback, eventType, valueSet);
+            TypeState state = types.get(eventType);
+            if (state != null && state.filters.remove(filterCallback) != null) {
+                state.count(valueSet, -1);
+                if (state.pending != null) {
+                    state.pending.add(new PendingChange(false, filterCallback, valueSet));
+                }
+                if (state.filters.isEmpty()) {
+                    types.remove(eventType);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void removeType(EventType eventType) {
+        lock.lock();
+        try {
+            types.remove(eventType);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Samples an event for selectivity statistics, evaluating only one in {@link #SAMPLE_RATE} events.
+     *
+     * @param theEvent event
+     */
+    public void sample(EventBean theEvent) {
+        int[] counter = eventCounter.get();
+        if (++counter[0] % SAMPLE_RATE != 0) {
+            return;
+        }
+        TypeState state = types.get(theEvent.getEventType());
+        if (state == null) {
+            return;
+        }
+        for (KeyStats key : state.sampled) {
+            key.sample(theEvent);
+        }
+    }
+
+    /**
+     * Rebuilds the filter index tree of each event type for which the order of filter parameters changed.
+     *
+     * @return number of event types for which the tree was rebuilt
+     */
+    public int rebalance() {
+        List<EventType> eventTypes = new ArrayList<>(types.keySet());
+        int count = 0;
+        for (EventType eventType : eventTypes) {
+            if (rebalance(eventType)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public void destroy() {
+        executor.shutdownNow();
+        eventCounter.remove();
+    }
+
+    private boolean rebalance(EventType eventType) {
+        rebuildLock.lock();
+        try {
+            // determine new parameter order for each filter and start recording changes
+            TypeState state;
+            Map<FilterHandle, FilterValueSetParam[][]> ordered = new LinkedHashMap<>();
+            lock.lock();
+            try {
+                state = types.get(eventType);
+                if (state == null) {
+                    return false;
+                }
+                boolean changed = false;
+                for (Map.Entry<FilterHandle, FilterValueSetParam[][]> entry : state.filters.entrySet()) {
+                    FilterValueSetParam[][] reordered = order(entry.getValue(), state);
+                    changed |= reordered != entry.getValue();
+                    ordered.put(entry.getKey(), reordered);
+                }
+                state.decay();
+                if (!changed) {
+                    return false;
+                }
+                state.pending = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+
+            // build the new tree aside without holding the lock, so filters can be added and removed meanwhile
+            FilterHandleSetNode rootNode;
+            try {
+                rootNode = buildTree(ordered);
+            } catch (RuntimeException ex) {
+                lock.lock();
+                try {
+                    state.pending = null;
+                } finally {
+                    lock.unlock();
+                }
+                throw ex;
+            }
+
+            // replay the changes made while building and swap
+            lock.lock();
+            try {
+                List<PendingChange> pending = state.pending;
+                state.pending = null;
+                if (types.get(eventType) != state) {
+                    return false;
+                }
+                for (PendingChange change : pending) {
+                    if (change.add) {
+                        FilterValueSetParam[][] reordered = order(change.valueSet, state);
+                        IndexTreeBuilderAdd.add(reordered, change.filterCallback, rootNode, lockFactory);
+                        ordered.put(change.filterCallback, reordered);
+                    } else if (ordered.remove(change.filterCallback) != null) {
+                        removeFromTree(eventType, change.filterCallback, change.valueSet, rootNode);
+                    }
+                }
+                eventTypeIndex.replace(eventType, rootNode);
+                state.filters = ordered;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Builds a new filter index tree for the filters provided.
+     *
+     * @param filters filters and their ordered filter parameters
+     * @return root node
+     */
+    protected FilterHandleSetNode buildTree(Map<FilterHandle, FilterValueSetParam[][]> filters) {
+        FilterHandleSetNode rootNode = new FilterHandleSetNode(lockFactory.obtainNew(), lockFactory.isLockFreeRead());
+        for (Map.Entry<FilterHandle, FilterValueSetParam[][]> entry : filters.entrySet()) {
+            IndexTreeBuilderAdd.add(entry.getValue(), entry.getKey(), rootNode, lockFactory);
+        }
+        return rootNode;
+    }
+
+    private static void removeFromTree(EventType eventType, FilterHandle filterCallback, FilterValueSetParam[][] valueSet, FilterHandleSetNode rootNode) {
+        if (valueSet.length == 0) {
+            IndexTreeBuilderRemove.remove(eventType, filterCallback, FilterSpecParam.EMPTY_VALUE_ARRAY, rootNode);
+            return;
+        }
+        for (FilterValueSetParam[] params : valueSet) {
+            IndexTreeBuilderRemove.remove(eventType, filterCallback, params, rootNode);
+        }
+    }
+
+    private static FilterValueSetParam[][] order(FilterValueSetParam[][] valueSet, TypeState state) {
+        FilterValueSetParam[][] reordered = new FilterValueSetParam[valueSet.length][];
+        boolean changed = false;
+        for (int i = 0; i < valueSet.length; i++) {
+            reordered[i] = order(valueSet[i], state);
+            changed |= !Arrays.equals(reordered[i], valueSet[i]);
+        }
+        return changed ? reordered : valueSet;
+    }
+
+    private static FilterValueSetParam[] order(FilterValueSetParam[] params, TypeState state) {
+        if (params.length < 2) {
+            return params;
+        }
+        FilterValueSetParam[] result = params.clone();
+        double[] scores = new double[params.length];
+        for (int i = 0; i < params.length; i++) {
+            scores[i] = state.getScore(params[i]);
+        }
+        // stable insertion sort by score, arrays are short
+        for (int i = 1; i < result.length; i++) {
+            FilterValueSetParam param = result[i];
+            double score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] > score) {
+                result[j + 1] = result[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            result[j + 1] = param;
+            scores[j + 1] = score;
+        }
+        return result;
+    }
+
+    private static String keyOf(FilterValueSetParam param) {
+        return param.getLookupable().getExpression() + "|" + param.getFilterOperator().name();
+    }
+
+    private static boolean isSampled(FilterOperator operator) {
+        return operator == FilterOperator.EQUAL || operator == FilterOperator.IS;
+    }
+
+    private static class PendingChange {
+        private final boolean add;
+        private final FilterHandle filterCallback;
+        private final FilterValueSetParam[][] valueSet;
+
+        PendingChange(boolean add, FilterHandle filterCallback, FilterValueSetParam[][] valueSet) {
+            this.add = add;
+            this.filterCallback = filterCallback;
+            this.valueSet = valueSet;
+        }
+    }
+
+    private static class TypeState {
+        private Map<FilterHandle, FilterValueSetParam[][]> filters = new LinkedHashMap<>();
+        private List<PendingChange> pending;
+        private final Map<String, KeyStats> keys = new HashMap<>();
+        private volatile KeyStats[] sampled = new KeyStats[0];
+
+        private void count(FilterValueSetParam[][] valueSet, int delta) {
+            boolean sampledChanged = false;
+            for (FilterValueSetParam[] params : valueSet) {
+                for (FilterValueSetParam param : params) {
+                    if (param.getFilterOperator() == FilterOperator.BOOLEAN_EXPRESSION) {
+                        continue;
+                    }
+                    String key = keyOf(param);
+                    KeyStats stats = keys.get(key);
+                    if (stats == null) {
+                        stats = new KeyStats(param.getLookupable(), param.getFilterOperator());
+                        keys.put(key, stats);
+                        sampledChanged |= isSampled(param.getFilterOperator());
+                    }
+                    stats.count(param.getFilterForValue(), delta);
+                    if (stats.filterCount <= 0) {
+                        keys.remove(key);
+                        sampledChanged |= isSampled(param.getFilterOperator());
+                    }
+                }
+            }
+            if (sampledChanged) {
+                List<KeyStats> list = new ArrayList<>();
+                for (KeyStats stats : keys.values()) {
+                    if (isSampled(stats.operator)) {
+                        list.add(stats);
+                    }
+                }
+                sampled = list.toArray(new KeyStats[list.size()]);
+            }
+        }
+
+        private void decay() {
+            for (KeyStats stats : keys.values()) {
+                stats.decay();
+            }
+        }
+
+        private double getScore(FilterValueSetParam param) {
+            FilterOperator operator = param.getFilterOperator();
+            if (operator == FilterOperator.BOOLEAN_EXPRESSION) {
+                return Double.MAX_VALUE;
+            }
+            KeyStats stats = keys.get(keyOf(param));
+            if (stats == null) {
+                return SCORE_DEFAULT;
+            }
+            return stats.getScore();
+        }
+    }
+
+    private static class KeyStats {
+        private final ExprFilterSpecLookupable lookupable;
+        private final FilterOperator operator;
+        private final Map<Object, Integer> valueCounts;
+        private int filterCount;
+        private long samples;
+        private double passSum;
+
+        KeyStats(ExprFilterSpecLookupable lookupable, FilterOperator operator) {
+            this.lookupable = lookupable;
+            this.operator = operator;
+            this.valueCounts = isSampled(operator) ? new ConcurrentHashMap<>() : null;
+        }
+
+        private void count(Object filterForValue, int delta) {
+            filterCount += delta;
+            if (valueCounts == null) {
+                return;
+            }
+            Object key = filterForValue == null ? NULL_KEY : filterForValue;
+            valueCounts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+
+        private void sample(EventBean theEvent) {
+            int total = filterCount;
+            if (total <= 0) {
+                return;
+            }
+            Object value = lookupable.getGetter().get(theEvent);
+            if (value == null && operator == FilterOperator.EQUAL) {
+                // null does not match equals
+                record(0, total);
+                return;
+            }
+            Integer count = valueCounts.get(value == null ? NULL_KEY : value);
+            record(count == null ? 0 : count, total);
+        }
+
+        private synchronized void record(int passed, int total) {
+            samples++;
+            passSum += (double) passed / total;
+        }
+
+        private synchronized void decay() {
+            // age statistics so that changes in the event stream are picked up
+            if (samples >= MIN_SAMPLES * 2) {
+                samples = samples / 2;
+                passSum = passSum / 2;
+            }
+        }
+
+        private synchronized double getScore() {
+            if (samples >= MIN_SAMPLES) {
+                return passSum / samples;
+            }
+            if (valueCounts != null) {
+                return valueCounts.isEmpty() ? SCORE_DEFAULT : 1d / valueCounts.size();
+            }
+            if (operator == FilterOperator.NOT_EQUAL || operator == FilterOperator.IS_NOT || operator == FilterOperator.NOT_IN_LIST_OF_VALUES ||
+                    operator.name().startsWith("NOT_RANGE")) {
+                return SCORE_NOT;
+            }
+            return SCORE_DEFAULT;
+        }
+    }
+}
@@ -102,6 +102,16 @@ public abstract class FilterParamIndexBase implements EventEvaluator, FilterHand
         return filterOperator;
     }
 
+    /**
+     * Returns true when event matching reads this index without taking the read lock.
+     * A put for an existing filter constant then replaces the entry in a single step.
+     *
+     * @return lock-free read indicator
+     */
+    public boolean isLockFreeRead() {
+        return false;
+    }
+
     public int getFilterCallbackCount() {
         return sizeExpensive();
     }
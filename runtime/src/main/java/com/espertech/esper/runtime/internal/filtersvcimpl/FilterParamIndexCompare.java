@@ -19,6 +19,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
@@ -28,17 +29,23 @@ import java.util.concurrent.locks.ReadWriteLock;
  * for fast range checking, since the assumption is that frequently values fall within a range.
  */
 public final class FilterParamIndexCompare extends FilterParamIndexLookupableBase {
-    private final TreeMap<Object, EventEvaluator> constantsMap;
+    private final NavigableMap<Object, EventEvaluator> constantsMap;
     private final ReadWriteLock constantsMapRWLock;
+    private final boolean lockFreeRead;
 
-    private Double lowerBounds;
-    private Double upperBounds;
+    private volatile Double lowerBounds;
+    private volatile Double upperBounds;
 
     public FilterParamIndexCompare(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+        this(lookupable, readWriteLock, filterOperator, false);
+    }
+
+    public FilterParamIndexCompare(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean lockFreeRead) {
         super(filterOperator, lookupable);
 
-        constantsMap = new TreeMap<Object, EventEvaluator>();
+        constantsMap = lockFreeRead ? new ConcurrentSkipListMap<Object, EventEvaluator>() : new TreeMap<Object, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
+        this.lockFreeRead = lockFreeRead;
 
         if ((filterOperator != FilterOperator.GREATER) &&
                 (filterOperator != FilterOperator.GREATER_OR_EQUAL) &&
@@ -84,6 +91,10 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
         return constantsMapRWLock;
     }
 
+    public boolean isLockFreeRead() {
+        return lockFreeRead;
+    }
+
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
         Object propertyValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) {
@@ -98,7 +109,9 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
         }
 
         // A undefine lower bound indicates an empty index
-        if (lowerBounds == null) {
+        Double lowerBounds = this.lowerBounds;
+        Double upperBounds = this.upperBounds;
+        if (lowerBounds == null || upperBounds == null) {
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aFilterReverseIndex(false);
             }
@@ -132,45 +145,15 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
         }
 
         // Look up in table
-        constantsMapRWLock.readLock().lock();
-        try {
-
-            // Get the head or tail end of the map depending on comparison type
-            Map<Object, EventEvaluator> subMap;
-
-            if ((filterOperator == FilterOperator.GREATER) ||
-                    (filterOperator == FilterOperator.GREATER_OR_EQUAL)) {
-                // At the head of the map are those with a lower numeric constants
-                subMap = constantsMap.headMap(propertyValue);
-            } else {
-                subMap = constantsMap.tailMap(propertyValue);
-            }
-
-            // All entries in the subMap are elgibile, with an exception
-            EventEvaluator exactEquals = null;
-            if (filterOperator == FilterOperator.LESS) {
-                exactEquals = constantsMap.get(propertyValue);
-            }
-
-            for (EventEvaluator matcher : subMap.values()) {
-                // For the LESS comparison type we ignore the exactly equal case
-                // The subMap is sorted ascending, thus the exactly equals case is the first
-                if (exactEquals != null) {
-                    exactEquals = null;
-                    continue;
-                }
-
-                matcher.matchEvent(theEvent, matches);
-            }
-
-            if (filterOperator == FilterOperator.GREATER_OR_EQUAL) {
-                EventEvaluator matcher = constantsMap.get(propertyValue);
-                if (matcher != null) {
-                    matcher.matchEvent(theEvent, matches);
-                }
+        if (lockFreeRead) {
+            matchEventInternal(theEvent, matches, propertyValue, filterOperator);
+        } else {
+            constantsMapRWLock.readLock().lock();
+            try {
+                matchEventInternal(theEvent, matches, propertyValue, filterOperator);
+            } finally {
+                constantsMapRWLock.readLock().unlock();
             }
-        } finally {
-            constantsMapRWLock.readLock().unlock();
         }
 
         if (InstrumentationHelper.ENABLED) {
@@ -178,6 +161,26 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
         }
     }
 
+    private void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches, Object propertyValue, FilterOperator filterOperator) {
+        // Get the head or tail end of the map depending on comparison type, the exactly-equals entry is included for the inclusive operators
+        Map<Object, EventEvaluator> subMap;
+        if (filterOperator == FilterOperator.GREATER) {
+            // At the head of the map are those with a lower numeric constants
+            subMap = constantsMap.headMap(propertyValue, false);
+        } else if (filterOperator == FilterOperator.GREATER_OR_EQUAL) {
+            subMap = constantsMap.headMap(propertyValue, true);
+        } else if (filterOperator == FilterOperator.LESS) {
+            subMap = constantsMap.tailMap(propertyValue, false);
+        } else {
+            subMap = constantsMap.tailMap(propertyValue, true);
+        }
+
+        // All entries in the subMap are elgibile
+        for (EventEvaluator matcher : subMap.values()) {
+            matcher.matchEvent(theEvent, matches);
+        }
+    }
+
     public void getTraverseStatement(EventTypeIndexTraverse traverse, Set<Integer> statementIds, ArrayDeque<FilterItem> evaluatorStack) {
         for (Map.Entry<Object, EventEvaluator> entry : constantsMap.entrySet()) {
             evaluatorStack.add(new FilterItem(lookupable.getExpression(), getFilterOperator(), entry.getKey()));
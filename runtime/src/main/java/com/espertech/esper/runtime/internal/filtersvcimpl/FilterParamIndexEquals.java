@@ -28,6 +28,10 @@ public final class FilterParamIndexEquals extends FilterParamIndexEqualsBase {
         super(lookupable, readWriteLock, FilterOperator.EQUAL);
     }
 
+    public FilterParamIndexEquals(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean lockFreeRead) {
+        super(lookupable, readWriteLock, FilterOperator.EQUAL, lockFreeRead);
+    }
+
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
         Object attributeValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) {
@@ -42,13 +46,7 @@ public final class FilterParamIndexEquals extends FilterParamIndexEqualsBase {
         }
 
         // Look up in hashtable
-        EventEvaluator evaluator = null;
-        constantsMapRWLock.readLock().lock();
-        try {
-            evaluator = constantsMap.get(attributeValue);
-        } finally {
-            constantsMapRWLock.readLock().unlock();
-        }
+        EventEvaluator evaluator = lookupForMatch(attributeValue);
 
         // No listener found for the value, return
         if (evaluator == null) {
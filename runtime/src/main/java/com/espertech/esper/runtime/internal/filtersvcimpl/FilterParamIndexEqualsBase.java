@@ -17,33 +17,64 @@ import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Index for filter parameter constants to match using the equals (=) operator.
- * The implementation is based on a regular HashMap.
+ * The implementation is based on a regular HashMap, or on a ConcurrentHashMap for lock-free reads.
  */
 public abstract class FilterParamIndexEqualsBase extends FilterParamIndexLookupableBase {
+    private static final Object NULL_KEY = new Object();
+
     protected final Map<Object, EventEvaluator> constantsMap;
     protected final ReadWriteLock constantsMapRWLock;
+    private final boolean lockFreeRead;
 
     protected FilterParamIndexEqualsBase(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+        this(lookupable, readWriteLock, filterOperator, false);
+    }
+
+    protected FilterParamIndexEqualsBase(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean lockFreeRead) {
         super(filterOperator, lookupable);
 
-        constantsMap = new HashMap<Object, EventEvaluator>();
+        constantsMap = lockFreeRead ? new ConcurrentHashMap<Object, EventEvaluator>() : new HashMap<Object, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
+        this.lockFreeRead = lockFreeRead;
     }
 
     public final EventEvaluator get(Object filterConstant) {
-        return constantsMap.get(filterConstant);
+        return constantsMap.get(toKey(filterConstant));
     }
 
     public final void put(Object filterConstant, EventEvaluator evaluator) {
-        constantsMap.put(filterConstant, evaluator);
+        constantsMap.put(toKey(filterConstant), evaluator);
     }
 
     public final void remove(Object filterConstant) {
-        constantsMap.remove(filterConstant);
+        constantsMap.remove(toKey(filterConstant));
+    }
+
+    public boolean isLockFreeRead() {
+        return lockFreeRead;
+    }
+
+    /**
+     * Returns the evaluator for an event property value, taking the read lock unless the index is read lock-free.
+     *
+     * @param attributeValue event property value
+     * @return evaluator or null if none found
+     */
+    protected final EventEvaluator lookupForMatch(Object attributeValue) {
+        if (lockFreeRead) {
+            return constantsMap.get(toKey(attributeValue));
+        }
+        constantsMapRWLock.readLock().lock();
+        try {
+            return constantsMap.get(attributeValue);
+        } finally {
+            constantsMapRWLock.readLock().unlock();
+        }
     }
 
     public final int sizeExpensive() {
@@ -60,9 +91,14 @@ public abstract class FilterParamIndexEqualsBase extends FilterParamIndexLookupa
 
     public void getTraverseStatement(EventTypeIndexTraverse traverse, Set<Integer> statementIds, ArrayDeque<FilterItem> evaluatorStack) {
         for (Map.Entry<Object, EventEvaluator> entry : constantsMap.entrySet()) {
-            evaluatorStack.add(new FilterItem(lookupable.getExpression(), getFilterOperator(), entry.getKey()));
+            evaluatorStack.add(new FilterItem(lookupable.getExpression(), getFilterOperator(), entry.getKey() == NULL_KEY ? null : entry.getKey()));
             entry.getValue().getTraverseStatement(traverse, statementIds, evaluatorStack);
             evaluatorStack.removeLast();
         }
     }
+
+    private Object toKey(Object filterConstant) {
+        // concurrent maps do not allow null keys
+        return lockFreeRead && filterConstant == null ? NULL_KEY : filterConstant;
+    }
 }
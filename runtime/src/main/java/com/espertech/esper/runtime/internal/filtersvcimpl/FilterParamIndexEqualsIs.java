@@ -28,19 +28,17 @@ public final class FilterParamIndexEqualsIs extends FilterParamIndexEqualsBase {
         super(lookupable, readWriteLock, FilterOperator.IS);
     }
 
+    public FilterParamIndexEqualsIs(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean lockFreeRead) {
+        super(lookupable, readWriteLock, FilterOperator.IS, lockFreeRead);
+    }
+
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
         Object attributeValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().qFilterReverseIndex(this, attributeValue);
         }
 
-        EventEvaluator evaluator = null;
-        constantsMapRWLock.readLock().lock();
-        try {
-            evaluator = constantsMap.get(attributeValue);
-        } finally {
-            constantsMapRWLock.readLock().unlock();
-        }
+        EventEvaluator evaluator = lookupForMatch(attributeValue);
 
         // No listener found for the value, return
         if (evaluator == null) {
@@ -20,6 +20,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
@@ -31,13 +32,24 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
     private final Map<Object, List<EventEvaluator>> constantsMap;
     private final Map<HashableMultiKey, EventEvaluator> evaluatorsMap;
     private final ReadWriteLock constantsMapRWLock;
+    private final boolean lockFreeRead;
 
     public FilterParamIndexIn(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
+        this(lookupable, readWriteLock, false);
+    }
+
+    public FilterParamIndexIn(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean lockFreeRead) {
         super(FilterOperator.IN_LIST_OF_VALUES, lookupable);
 
-        constantsMap = new HashMap<Object, List<EventEvaluator>>();
-        evaluatorsMap = new HashMap<HashableMultiKey, EventEvaluator>();
+        if (lockFreeRead) {
+            constantsMap = new ConcurrentHashMap<Object, List<EventEvaluator>>();
+            evaluatorsMap = new ConcurrentHashMap<HashableMultiKey, EventEvaluator>();
+        } else {
+            constantsMap = new HashMap<Object, List<EventEvaluator>>();
+            evaluatorsMap = new HashMap<HashableMultiKey, EventEvaluator>();
+        }
         constantsMapRWLock = readWriteLock;
+        this.lockFreeRead = lockFreeRead;
     }
 
     public final EventEvaluator get(Object filterConstant) {
@@ -55,6 +67,10 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
         // Store each value to match against in Map with it's evaluator as a list
         Object[] keyValues = keys.getKeys();
         for (int i = 0; i < keyValues.length; i++) {
+            if (lockFreeRead) {
+                putLockFree(keyValues[i], oldEvaluator, evaluator);
+                continue;
+            }
             List<EventEvaluator> evaluators = constantsMap.get(keyValues[i]);
             if (evaluators == null) {
                 evaluators = new LinkedList<EventEvaluator>();
@@ -76,6 +92,10 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
 
         Object[] keyValues = keys.getKeys();
         for (int i = 0; i < keyValues.length; i++) {
+            if (lockFreeRead) {
+                removeLockFree(keyValues[i], eval);
+                continue;
+            }
             List<EventEvaluator> evaluators = constantsMap.get(keyValues[i]);
             if (evaluators != null) {
                 // could be removed already as same-value constants existed
@@ -99,6 +119,10 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
         return constantsMapRWLock;
     }
 
+    public boolean isLockFreeRead() {
+        return lockFreeRead;
+    }
+
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
         Object attributeValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) {
@@ -112,6 +136,20 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
             return;
         }
 
+        if (lockFreeRead) {
+            // evaluator lists are never changed after publication
+            List<EventEvaluator> evaluators = constantsMap.get(attributeValue);
+            if (evaluators != null) {
+                for (EventEvaluator evaluator : evaluators) {
+                    evaluator.matchEvent(theEvent, matches);
+                }
+            }
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().aFilterReverseIndex(evaluators == null ? false : null);
+            }
+            return;
+        }
+
         // Look up in hashtable
         constantsMapRWLock.readLock().lock();
         List<EventEvaluator> evaluators = constantsMap.get(attributeValue);
@@ -146,5 +184,36 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
         }
     }
 
+    private void putLockFree(Object keyValue, EventEvaluator oldEvaluator, EventEvaluator evaluator) {
+        if (keyValue == null) {
+            // null never matches and concurrent maps do not allow null keys
+            return;
+        }
+        List<EventEvaluator> existing = constantsMap.get(keyValue);
+        List<EventEvaluator> evaluators = existing == null ? new ArrayList<EventEvaluator>(1) : new ArrayList<EventEvaluator>(existing);
+        if (oldEvaluator != null) {
+            evaluators.remove(oldEvaluator);
+        }
+        evaluators.add(evaluator);
+        constantsMap.put(keyValue, evaluators);
+    }
+
+    private void removeLockFree(Object keyValue, EventEvaluator eval) {
+        if (keyValue == null) {
+            return;
+        }
+        List<EventEvaluator> existing = constantsMap.get(keyValue);
+        if (existing == null) {
+            return;
+        }
+        List<EventEvaluator> evaluators = new ArrayList<EventEvaluator>(existing);
+        evaluators.remove(eval);
+        if (evaluators.isEmpty()) {
+            constantsMap.remove(keyValue);
+        } else {
+            constantsMap.put(keyValue, evaluators);
+        }
+    }
+
     private static final Logger log = LoggerFactory.getLogger(FilterParamIndexIn.class);
 }
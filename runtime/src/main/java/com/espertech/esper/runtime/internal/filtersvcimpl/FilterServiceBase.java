@@ -15,6 +15,7 @@ import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.meta.EventTypeIdPair;
 import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
 import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.common.internal.filtersvc.FilterHandleRouter;
 import com.espertech.esper.common.internal.metrics.audit.AuditPath;
 import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
 import com.espertech.esper.runtime.internal.metrics.jmx.JmxGetter;
@@ -40,12 +41,19 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
     private final AtomicLong numEventsEvaluated = new AtomicLong();
     private volatile long filtersVersion = 1;
     private final CopyOnWriteArraySet<FilterServiceListener> filterServiceListeners;
+    private final FilterIndexRebalancer rebalancer;
+    private final AtomicLong numRouters = new AtomicLong();
 
     protected FilterServiceBase(FilterServiceGranularLockFactory lockFactory, boolean allowIsolation) {
+        this(lockFactory, allowIsolation, 0);
+    }
+
+    protected FilterServiceBase(FilterServiceGranularLockFactory lockFactory, boolean allowIsolation, long rebalanceInterval) {
         this.lockFactory = lockFactory;
         eventTypeIndex = new EventTypeIndex(lockFactory);
         indexBuilder = new EventTypeIndexBuilder(eventTypeIndex, allowIsolation);
         filterServiceListeners = new CopyOnWriteArraySet<FilterServiceListener>();
+        rebalancer = rebalanceInterval > 0 ? new FilterIndexRebalancer(eventTypeIndex, lockFactory, rebalanceInterval) : null;
     }
 
     public long getFiltersVersion() {
@@ -54,6 +62,9 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
 
     public void destroy() {
         log.debug("Destroying filter service");
+        if (rebalancer != null) {
+            rebalancer.destroy();
+        }
         eventTypeIndex.destroy();
         indexBuilder.destroy();
     }
@@ -63,8 +74,15 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
             InstrumentationHelper.get().qFilterAdd(eventType, valueSet, filterCallback);
         }
 
-        indexBuilder.add(eventType, valueSet, filterCallback, lockFactory);
+        if (rebalancer == null) {
+            indexBuilder.add(eventType, valueSet, filterCallback, lockFactory);
+        } else {
+            rebalancer.add(eventType, valueSet, filterCallback, indexBuilder);
+        }
         filtersVersion++;
+        if (filterCallback instanceof FilterHandleRouter) {
+            numRouters.incrementAndGet();
+        }
 
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().aFilterAdd();
@@ -76,8 +94,15 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
             InstrumentationHelper.get().qFilterRemove(filterCallback, eventType, valueSet);
         }
 
-        indexBuilder.remove(filterCallback, eventType, valueSet);
+        if (rebalancer == null) {
+            indexBuilder.remove(filterCallback, eventType, valueSet);
+        } else {
+            rebalancer.remove(filterCallback, eventType, valueSet, indexBuilder);
+        }
         filtersVersion++;
+        if (filterCallback instanceof FilterHandleRouter) {
+            numRouters.decrementAndGet();
+        }
 
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().aFilterRemove();
@@ -91,9 +116,15 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
 
         long version = filtersVersion;
         numEventsEvaluated.incrementAndGet();
+        if (rebalancer != null) {
+            rebalancer.sample(theEvent);
+        }
 
         // Finds all matching filters and return their callbacks.
         retryableMatchEvent(theEvent, matches);
+        if (numRouters.get() > 0) {
+            route(theEvent, matches);
+        }
 
         if ((AuditPath.isAuditEnabled) && (!filterServiceListeners.isEmpty())) {
             for (FilterServiceListener listener : filterServiceListeners) {
@@ -111,11 +142,17 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
     protected long evaluateInternal(EventBean theEvent, Collection<FilterHandle> matches, int statementId) {
         long version = filtersVersion;
         numEventsEvaluated.incrementAndGet();
+        if (rebalancer != null) {
+            rebalancer.sample(theEvent);
+        }
 
         ArrayDeque<FilterHandle> allMatches = new ArrayDeque<FilterHandle>();
 
         // Finds all matching filters
         retryableMatchEvent(theEvent, allMatches);
+        if (numRouters.get() > 0) {
+            route(theEvent, allMatches);
+        }
 
         // Add statement matches to collection passed
         for (FilterHandle match : allMatches) {
@@ -143,6 +180,26 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
         numEventsEvaluated.set(0);
     }
 
+    /**
+     * Reorders filter parameters by observed selectivity and rebuilds the filter index trees that changed,
+     * available when a filter index rebalance interval is configured.
+     *
+     * @return number of event types for which the filter index tree was rebuilt
+     */
+    public void processTimeEvent() {
+        if (rebalancer != null) {
+            rebalancer.processTimeEvent();
+        }
+    }
+
+    @JmxOperation(description = "Rebalance filter indexes")
+    public int rebalanceFilterIndexes() {
+        if (rebalancer == null) {
+            return 0;
+        }
+        return rebalancer.rebalance();
+    }
+
     public void addFilterServiceListener(FilterServiceListener filterServiceListener) {
         filterServiceListeners.add(filterServiceListener);
     }
@@ -171,6 +228,36 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
 
     protected void removeTypeInternal(EventType type) {
         eventTypeIndex.removeType(type);
+        if (rebalancer != null) {
+            rebalancer.removeType(type);
+        }
+    }
+
+    private static void route(EventBean theEvent, Collection<FilterHandle> matches) {
+        boolean found = false;
+        for (FilterHandle match : matches) {
+            if (match instanceof FilterHandleRouter) {
+                found = true;
+                break;
+            }
+        }
+        if (!found) {
+            return;
+        }
+
+        // replace shared filter handles by the filter handle the event routes to
+        List<FilterHandle> all = new ArrayList<>(matches);
+        matches.clear();
+        for (FilterHandle match : all) {
+            if (match instanceof FilterHandleRouter) {
+                FilterHandle routed = ((FilterHandleRouter) match).route(theEvent);
+                if (routed != null) {
+                    matches.add(routed);
+                }
+            } else {
+                matches.add(match);
+            }
+        }
     }
 
     private void retryableMatchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
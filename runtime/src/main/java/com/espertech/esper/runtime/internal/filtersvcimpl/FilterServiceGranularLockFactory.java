@@ -14,4 +14,12 @@ import java.util.concurrent.locks.ReadWriteLock;
 
 public interface FilterServiceGranularLockFactory {
     public ReadWriteLock obtainNew();
+
+    /**
+     * Returns true when filter index structures are read without taking their read lock,
+     * i.e. the structures are safe for concurrent reads and only writers use the lock.
+     *
+     * @return lock-free read indicator
+     */
+    public boolean isLockFreeRead();
 }
@@ -0,0 +1,29 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Lock factory for lock-free filter evaluation: writers still coordinate using granular read-write locks
+ * while the equals, in, compare and event type index structures as well as the filter handle set nodes
+ * are read without locking.
+ */
+public class FilterServiceGranularLockFactoryLockFree implements FilterServiceGranularLockFactory {
+    public ReadWriteLock obtainNew() {
+        return new ReentrantReadWriteLock();
+    }
+
+    public boolean isLockFreeRead() {
+        return true;
+    }
+}
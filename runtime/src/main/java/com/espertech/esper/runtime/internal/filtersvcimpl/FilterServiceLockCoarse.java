@@ -29,6 +29,10 @@ public final class FilterServiceLockCoarse extends FilterServiceBase {
         super(FilterServiceGranularLockFactoryNone.INSTANCE, allowIsolation);
     }
 
+    public FilterServiceLockCoarse(boolean allowIsolation, long rebalanceInterval) {
+        super(FilterServiceGranularLockFactoryNone.INSTANCE, allowIsolation, rebalanceInterval);
+    }
+
     public void acquireWriteLock() {
         lock.writeLock().lock();
     }
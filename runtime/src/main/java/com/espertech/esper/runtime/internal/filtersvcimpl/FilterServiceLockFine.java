@@ -29,6 +29,10 @@ public final class FilterServiceLockFine extends FilterServiceBase {
         super(new FilterServiceGranularLockFactoryReentrant(), allowIsolation);
     }
 
+    public FilterServiceLockFine(boolean allowIsolation, long rebalanceInterval) {
+        super(new FilterServiceGranularLockFactoryReentrant(), allowIsolation, rebalanceInterval);
+    }
+
     public void acquireWriteLock() {
         lock.writeLock().lock();
     }
@@ -0,0 +1,80 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.meta.EventTypeIdPair;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Filter service that evaluates events without taking a service-level lock.
+ * <p>
+ * The equals, in and compare indexes, the event type index and the filter handle set nodes
+ * are read without locking. Filter add and remove take the granular write locks and update
+ * concurrent or copy-on-write structures instead, so the cost of filter changes is borne by the writer.
+ * </p>
+ */
+public final class FilterServiceLockFree extends FilterServiceBase {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public FilterServiceLockFree(boolean allowIsolation) {
+        super(new FilterServiceGranularLockFactoryLockFree(), allowIsolation);
+    }
+
+    public FilterServiceLockFree(boolean allowIsolation, long rebalanceInterval) {
+        super(new FilterServiceGranularLockFactoryLockFree(), allowIsolation, rebalanceInterval);
+    }
+
+    public void acquireWriteLock() {
+        lock.writeLock().lock();
+    }
+
+    public void releaseWriteLock() {
+        lock.writeLock().unlock();
+    }
+
+    public Map<EventTypeIdPair, Map<Integer, List<FilterItem[]>>> get(Set<Integer> statementId) {
+        lock.readLock().lock();
+        try {
+            return super.getInternal(statementId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long evaluate(EventBean theEvent, Collection<FilterHandle> matches) {
+        return super.evaluateInternal(theEvent, matches);
+    }
+
+    public long evaluate(EventBean theEvent, Collection<FilterHandle> matches, int statementId) {
+        return super.evaluateInternal(theEvent, matches, statementId);
+    }
+
+    public void add(EventType eventType, FilterValueSetParam[][] valueSet, FilterHandle callback) {
+        super.addInternal(eventType, valueSet, callback);
+    }
+
+    public void remove(FilterHandle callback, EventType eventType, FilterValueSetParam[][] valueSet) {
+        super.removeInternal(callback, eventType, valueSet);
+    }
+
+    public void removeType(EventType type) {
+        super.removeTypeInternal(type);
+    }
+}
@@ -25,10 +25,24 @@ public final class FilterServiceProvider {
      * @return implementation
      */
     public static FilterServiceSPI newService(FilterServiceProfile filterServiceProfile, boolean allowIsolation) {
+        return newService(filterServiceProfile, allowIsolation, 0);
+    }
+
+    /**
+     * Creates an implementation of the FilterEvaluationService interface.
+     *
+     * @param filterServiceProfile profile
+     * @param allowIsolation       whether isolation is supported
+     * @param rebalanceInterval    interval in milliseconds for rebalancing filter indexes, or zero for none
+     * @return implementation
+     */
+    public static FilterServiceSPI newService(FilterServiceProfile filterServiceProfile, boolean allowIsolation, long rebalanceInterval) {
         if (filterServiceProfile == FilterServiceProfile.READMOSTLY) {
-            return new FilterServiceLockCoarse(allowIsolation);
+            return new FilterServiceLockCoarse(allowIsolation, rebalanceInterval);
+        } else if (filterServiceProfile == FilterServiceProfile.LOCKFREE) {
+            return new FilterServiceLockFree(allowIsolation, rebalanceInterval);
         } else {
-            return new FilterServiceLockFine(allowIsolation);
+            return new FilterServiceLockFine(allowIsolation, rebalanceInterval);
         }
     }
 }
@@ -50,6 +50,11 @@ public interface FilterServiceSPI extends FilterService {
 
     public int getCountTypes();
 
+    /**
+     * Indicates that runtime time advanced, for rebalancing filter indexes when a rebalance interval is configured.
+     */
+    public void processTimeEvent();
+
     /**
      * Initialization is optional and provides a chance to preload things after statements are available.
      *
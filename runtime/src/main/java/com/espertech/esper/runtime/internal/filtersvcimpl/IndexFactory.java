@@ -36,7 +36,7 @@ public class IndexFactory {
 
         // Handle all EQUAL comparisons
         if (filterOperator == FilterOperator.EQUAL) {
-            index = new FilterParamIndexEquals(lookupable, lockFactory.obtainNew());
+            index = new FilterParamIndexEquals(lookupable, lockFactory.obtainNew(), lockFactory.isLockFreeRead());
             return index;
         }
 
@@ -47,7 +47,7 @@ public class IndexFactory {
         }
 
         if (filterOperator == FilterOperator.IS) {
-            index = new FilterParamIndexEqualsIs(lookupable, lockFactory.obtainNew());
+            index = new FilterParamIndexEqualsIs(lookupable, lockFactory.obtainNew(), lockFactory.isLockFreeRead());
             return index;
         }
 
@@ -62,7 +62,7 @@ public class IndexFactory {
                 (filterOperator == FilterOperator.LESS) ||
                 (filterOperator == FilterOperator.LESS_OR_EQUAL)) {
             if (returnValueType != String.class) {
-                index = new FilterParamIndexCompare(lookupable, lockFactory.obtainNew(), filterOperator);
+                index = new FilterParamIndexCompare(lookupable, lockFactory.obtainNew(), filterOperator, lockFactory.isLockFreeRead());
             } else {
                 index = new FilterParamIndexCompareString(lookupable, lockFactory.obtainNew(), filterOperator);
             }
@@ -88,7 +88,7 @@ public class IndexFactory {
 
         // Handle all IN and NOT IN comparisons
         if (filterOperator == FilterOperator.IN_LIST_OF_VALUES) {
-            return new FilterParamIndexIn(lookupable, lockFactory.obtainNew());
+            return new FilterParamIndexIn(lookupable, lockFactory.obtainNew(), lockFactory.isLockFreeRead());
         }
         if (filterOperator == FilterOperator.NOT_IN_LIST_OF_VALUES) {
             return new FilterParamIndexNotIn(lookupable, lockFactory.obtainNew());
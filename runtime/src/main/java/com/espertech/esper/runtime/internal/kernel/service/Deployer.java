@@ -12,10 +12,12 @@ package com.espertech.esper.runtime.internal.kernel.service;
 
 import com.espertech.esper.common.client.EPCompiled;
 import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventPropertyDescriptor;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeThreading;
 import com.espertech.esper.common.client.meta.EventTypeApplicationType;
 import com.espertech.esper.common.client.meta.EventTypeMetadata;
+import com.espertech.esper.common.client.meta.EventTypeTypeClass;
 import com.espertech.esper.common.client.util.EventTypeBusModifier;
 import com.espertech.esper.common.client.util.Locking;
 import com.espertech.esper.common.client.util.NameAccessModifier;
@@ -700,7 +702,9 @@ public class Deployer {
             insertIntoBackLatchFactory = latchFactoryBack;
         }
 
-        EPStatementHandle statementHandle = new EPStatementHandle(statementName, deploymentId, statementId, optionalEPL, informationals.getPriority(), informationals.isPreemptive(), informationals.isCanSelfJoin(), multiMatchHandler, informationals.isHasVariables(), informationals.isHasTableAccess(), stmtMetric, insertIntoFrontLatchFactory, insertIntoBackLatchFactory);
+        EventType eventType = statementProvider.getStatementAIFactoryProvider().getFactory().getStatementEventType();
+        boolean canRetainEvents = determineCanRetainEvents(informationals, eventType);
+        EPStatementHandle statementHandle = new EPStatementHandle(statementName, deploymentId, statementId, optionalEPL, informationals.getPriority(), informationals.isPreemptive(), informationals.isCanSelfJoin(), multiMatchHandler, informationals.isHasVariables(), informationals.isHasTableAccess(), stmtMetric, insertIntoFrontLatchFactory, insertIntoBackLatchFactory, canRetainEvents);
 
         // determine context
         StatementAIResourceRegistry statementAgentInstanceRegistry = null;
@@ -716,8 +720,6 @@ public class Deployer {
 
         StatementCPCacheService statementCPCacheService = new StatementCPCacheService(contextPartitioned, statementResourceService, statementAgentInstanceRegistry);
 
-        EventType eventType = statementProvider.getStatementAIFactoryProvider().getFactory().getStatementEventType();
-
         ConfigurationRuntimeThreading configurationThreading = services.getRuntimeSettingsService().getConfigurationRuntime().getThreading();
         boolean preserveDispatchOrder = configurationThreading.isListenerDispatchPreserveOrder() && !informationals.isStateless();
         boolean isSpinLocks = configurationThreading.getListenerDispatchLocking() == Locking.SPIN;
@@ -781,6 +783,23 @@ public class Deployer {
         return new StatementLightweight(statementProvider, informationals, statementResultService, statementContext);
     }
 
+    private static boolean determineCanRetainEvents(StatementInformationalsRuntime informationals, EventType statementEventType) {
+        // a stateless select outside of a context and without insert-into only keeps the events it processes if the output references them
+        if (!informationals.isStateless() || informationals.getOptionalContextName() != null || informationals.getInsertIntoLatchName() != null) {
+            return true;
+        }
+        if (statementEventType == null || statementEventType.getMetadata().getTypeClass() != EventTypeTypeClass.STATEMENTOUT ||
+            statementEventType.getMetadata().getApplicationType() == EventTypeApplicationType.WRAPPER) {
+            return true;
+        }
+        for (EventPropertyDescriptor desc : statementEventType.getPropertyDescriptors()) {
+            if (desc.isFragment()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static EPDeployPreconditionException makePreconditionExceptionPath(PathRegistryObjectType objectType, NameAndModule nameAndModule) {
         String message = "Required dependency ";
         message += objectType.getName() + " '" + nameAndModule.getName() + "'";
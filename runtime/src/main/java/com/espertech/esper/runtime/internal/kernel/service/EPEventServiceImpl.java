@@ -22,6 +22,7 @@ import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorCont
 import com.espertech.esper.common.internal.epl.script.core.AgentInstanceScriptContext;
 import com.espertech.esper.common.internal.epl.table.core.TableExprEvaluatorContext;
 import com.espertech.esper.common.internal.event.arr.EventSenderObjectArray;
+import com.espertech.esper.common.internal.event.arr.EventSenderObjectArrayPooled;
 import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
 import com.espertech.esper.common.internal.event.avro.AvroSchemaEventType;
 import com.espertech.esper.common.internal.event.avro.EventSenderAvro;
@@ -48,6 +49,7 @@ import com.espertech.esper.common.internal.util.DeploymentIdNamePair;
 import com.espertech.esper.common.internal.util.ExecutionPathDebugLog;
 import com.espertech.esper.common.internal.util.MetricUtil;
 import com.espertech.esper.common.internal.util.ThreadLogUtil;
+import com.espertech.esper.runtime.client.EventSenderWatermark;
 import com.espertech.esper.runtime.client.UnmatchedListener;
 import com.espertech.esper.runtime.internal.kernel.statement.EPStatementSPI;
 import com.espertech.esper.runtime.internal.kernel.thread.*;
@@ -78,6 +80,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
     private boolean inboundThreading;
     private boolean routeThreading;
     private boolean timerThreading;
+    private boolean contextPartitionThreading;
     private boolean isLatchStatementInsertStream;
     private boolean isUsingExternalClocking;
     protected boolean isPrioritized;
@@ -106,6 +109,8 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         isLatchStatementInsertStream = this.services.getRuntimeSettingsService().getConfigurationRuntime().getThreading().isInsertIntoDispatchPreserveOrder();
         isUsingExternalClocking = !this.services.getRuntimeSettingsService().getConfigurationRuntime().getThreading().isInternalTimerEnabled();
         isPrioritized = services.getRuntimeSettingsService().getConfigurationRuntime().getExecution().isPrioritized();
+        // prioritized execution requires statements to execute in priority order on the sending thread
+        this.contextPartitionThreading = services.getThreadingService().isContextPartitionThreading() && !isPrioritized;
         routedInternal = new AtomicLong();
         routedExternal = new AtomicLong();
         runtimeFilterAndDispatchTimeContext = new ExprEvaluatorContext() {
@@ -179,6 +184,15 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         return services;
     }
 
+    /**
+     * Returns the thread-local work queue for routed events.
+     *
+     * @return work queue
+     */
+    public ThreadWorkQueue getThreadWorkQueue() {
+        return threadWorkQueue;
+    }
+
     /**
      * Sets the route for events to use
      *
@@ -251,6 +265,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         services.getSchedulingService().setTime(time);
 
         services.getMetricReportingService().processTimeEvent(time);
+        services.getFilterService().processTimeEvent();
 
         processSchedule(time);
 
@@ -369,6 +384,35 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
     }
 
+    public void sendEventJson(String json, String eventTypeName) throws EPException {
+        if (json == null) {
+            throw new IllegalArgumentException("Invalid null event object");
+        }
+
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventJson Processing event " + json);
+        }
+
+        EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForJson(json, eventTypeName);
+        if (inboundThreading) {
+            services.getThreadingService().submitInbound(eventBean, this);
+        } else {
+            processWrappedEvent(eventBean);
+        }
+    }
+
+    public void sendEventBatch(Object[] events, String eventTypeName) throws EPException {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event array");
+        }
+
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventBatch Processing " + events.length + " events");
+        }
+
+        getEventSender(eventTypeName).sendEventBatch(events);
+    }
+
     public void routeEventBean(EventBean theEvent) {
         threadWorkQueue.addBack(theEvent);
     }
@@ -406,6 +450,14 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
     }
 
     public void processWrappedEvent(EventBean eventBean) {
+        processWrappedEventInternal(eventBean);
+    }
+
+    public boolean processWrappedEventPooled(EventBean eventBean) {
+        return !processWrappedEventInternal(eventBean);
+    }
+
+    private boolean processWrappedEventInternal(EventBean eventBean) {
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().qStimulantEvent(eventBean, services.getRuntimeURI());
         }
@@ -413,7 +465,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         if (internalEventRouter.isHasPreprocessing()) {
             eventBean = internalEventRouter.preprocess(eventBean, runtimeFilterAndDispatchTimeContext, InstrumentationHelper.get());
             if (eventBean == null) {
-                return;
+                return true;
             }
         }
 
@@ -421,9 +473,10 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().qEvent(eventBean, services.getRuntimeURI(), true);
         }
+        boolean retained;
         services.getEventProcessingRWLock().acquireReadLock();
         try {
-            processMatches(eventBean);
+            retained = processMatchesRetained(eventBean);
         } catch (RuntimeException ex) {
             matchesArrayThreadLocal.get().clear();
             throw new EPException(ex);
@@ -444,6 +497,77 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().aStimulantEvent();
         }
+        return retained || internalEventRouter.isHasPreprocessing();
+    }
+
+    public void processWrappedEventBatch(EventBean[] eventBeans) {
+        DualWorkQueue queues = threadWorkQueue.getThreadQueue();
+        boolean locked = false;
+
+        try {
+            for (EventBean theEvent : eventBeans) {
+                EventBean eventBean = theEvent;
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().qStimulantEvent(eventBean, services.getRuntimeURI());
+                }
+
+                if (internalEventRouter.isHasPreprocessing()) {
+                    if (locked) {
+                        services.getEventProcessingRWLock().releaseReadLock();
+                        locked = false;
+                    }
+                    eventBean = internalEventRouter.preprocess(eventBean, runtimeFilterAndDispatchTimeContext, InstrumentationHelper.get());
+                    if (eventBean == null) {
+                        if (InstrumentationHelper.ENABLED) {
+                            InstrumentationHelper.get().aStimulantEvent();
+                        }
+                        continue;
+                    }
+                }
+
+                // Acquire main processing lock once for consecutive events of the batch
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().qEvent(eventBean, services.getRuntimeURI(), true);
+                }
+                if (!locked) {
+                    services.getEventProcessingRWLock().acquireReadLock();
+                    locked = true;
+                }
+                try {
+                    processMatches(eventBean);
+                    services.getNamedWindowDispatchService().dispatch();
+                } catch (RuntimeException ex) {
+                    matchesArrayThreadLocal.get().clear();
+                    throw new EPException(ex);
+                } finally {
+                    if (InstrumentationHelper.ENABLED) {
+                        InstrumentationHelper.get().aEvent();
+                    }
+                }
+
+                // Work off routed events before the next event of the batch, outside of the read-lock
+                if (!queues.getFrontQueue().isEmpty() || !queues.getBackQueue().isEmpty()) {
+                    services.getEventProcessingRWLock().releaseReadLock();
+                    locked = false;
+                    dispatch();
+                    processThreadWorkQueue();
+                }
+
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().aStimulantEvent();
+                }
+            }
+        } finally {
+            if (locked) {
+                services.getEventProcessingRWLock().releaseReadLock();
+            }
+        }
+
+        // Dispatch results to listeners once for the batch
+        // Done outside of the read-lock to prevent lockups when listeners create statements
+        dispatch();
+
+        processThreadWorkQueue();
     }
 
     /**
@@ -581,6 +705,16 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
     }
 
     protected void processMatches(EventBean theEvent) {
+        processMatchesRetained(theEvent);
+    }
+
+    /**
+     * Process matches for an event and return indicator whether any statement or listener may have retained the event.
+     *
+     * @param theEvent event
+     * @return false when the event is known to not be referenced after processing
+     */
+    private boolean processMatchesRetained(EventBean theEvent) {
         // get matching filters
         ArrayBackedCollection<FilterHandle> matches = matchesArrayThreadLocal.get();
         long version = services.getFilterService().evaluate(theEvent, matches);
@@ -600,17 +734,20 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
                     // acquire read lock for release by caller
                     services.getEventProcessingRWLock().acquireReadLock();
                 }
+                return true;
             }
-            return;
+            return false;
         }
 
         Map<EPStatementAgentInstanceHandle, Object> stmtCallbacks = matchesPerStmtThreadLocal.get();
         Object[] matchArray = matches.getArray();
         int entryCount = matches.size();
+        boolean retained = routeThreading;
 
         for (int i = 0; i < entryCount; i++) {
             EPStatementHandleCallbackFilter handleCallback = (EPStatementHandleCallbackFilter) matchArray[i];
             EPStatementAgentInstanceHandle handle = handleCallback.getAgentInstanceHandle();
+            retained |= handle.getStatementHandle().isCanRetainEvents();
 
             // Self-joins require that the internal dispatch happens after all streams are evaluated.
             // Priority or preemptive settings also require special ordering.
@@ -642,7 +779,12 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
                 long deltaWall = wallTimeAfter - wallTimeBefore;
                 services.getMetricReportingService().accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, 1);
             } else {
-                if (routeThreading) {
+                if (isContextPartitionSubmit(handle)) {
+                    retained = true;
+                    if (!services.getThreadingService().submitContextPartition(handle.getAgentInstanceId(), new RouteUnitSingle(this, handleCallback, theEvent, version))) {
+                        processStatementFilterSingle(handle, handleCallback, theEvent, version, 0);
+                    }
+                } else if (routeThreading) {
                     services.getThreadingService().submitRoute(new RouteUnitSingle(this, handleCallback, theEvent, version));
                 } else {
                     processStatementFilterSingle(handle, handleCallback, theEvent, version, 0);
@@ -651,7 +793,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
         matches.clear();
         if (stmtCallbacks.isEmpty()) {
-            return;
+            return retained;
         }
 
         for (Map.Entry<EPStatementAgentInstanceHandle, Object> entry : stmtCallbacks.entrySet()) {
@@ -674,7 +816,12 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
                 }
                 services.getMetricReportingService().accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, size);
             } else {
-                if (routeThreading) {
+                if (isContextPartitionSubmit(handle)) {
+                    retained = true;
+                    if (!services.getThreadingService().submitContextPartition(handle.getAgentInstanceId(), new RouteUnitMultiple(this, callbackList, theEvent, handle, version))) {
+                        processStatementFilterMultiple(handle, callbackList, theEvent, version, 0);
+                    }
+                } else if (routeThreading) {
                     services.getThreadingService().submitRoute(new RouteUnitMultiple(this, callbackList, theEvent, handle, version));
                 } else {
                     processStatementFilterMultiple(handle, callbackList, theEvent, version, 0);
@@ -686,6 +833,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
             }
         }
         stmtCallbacks.clear();
+        return retained;
     }
 
     /**
@@ -749,6 +897,10 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
         handle.getStatementAgentInstanceLock().acquireWriteLock();
         try {
+            // work queued to a context partition lane may execute after the context partition stopped
+            if (handle.isDestroyed()) {
+                return;
+            }
             if (handle.isHasVariables()) {
                 services.getVariableManagementService().setLocalVersion();
             }
@@ -800,6 +952,10 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
         handle.getStatementAgentInstanceLock().acquireWriteLock();
         try {
+            // work queued to a context partition lane may execute after the context partition stopped
+            if (handle.isDestroyed()) {
+                return;
+            }
             if (handle.isHasVariables()) {
                 services.getVariableManagementService().setLocalVersion();
             }
@@ -830,6 +986,10 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
     }
 
+    private boolean isContextPartitionSubmit(EPStatementAgentInstanceHandle handle) {
+        return contextPartitionThreading && handle.isParallelPartition();
+    }
+
     protected void handleFilterFault(EPStatementAgentInstanceHandle faultingHandle, EventBean theEvent, int filterFaultCount) {
         ArrayDeque<FilterHandle> callbacksForStatement = new ArrayDeque<FilterHandle>();
         long version = services.getFilterService().evaluate(theEvent, callbacksForStatement, faultingHandle.getStatementId());
@@ -1047,7 +1207,11 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
                 long deltaWall = wallTimeAfter - wallTimeBefore;
                 services.getMetricReportingService().accountTime(handle.getAgentInstanceHandle().getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, 1);
             } else {
-                if (timerThreading) {
+                if (isContextPartitionSubmit(handle.getAgentInstanceHandle())) {
+                    if (!services.getThreadingService().submitContextPartition(handle.getAgentInstanceHandle().getAgentInstanceId(), new TimerUnitSingle(services, this, handle))) {
+                        processStatementScheduleSingle(handle, services);
+                    }
+                } else if (timerThreading) {
                     services.getThreadingService().submitTimerWork(new TimerUnitSingle(services, this, handle));
                 } else {
                     processStatementScheduleSingle(handle, services);
@@ -1110,7 +1274,11 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
                 int numInput = (callbackObject instanceof Collection) ? ((Collection) callbackObject).size() : 1;
                 services.getMetricReportingService().accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, numInput);
             } else {
-                if (timerThreading) {
+                if (isContextPartitionSubmit(handle)) {
+                    if (!services.getThreadingService().submitContextPartition(handle.getAgentInstanceId(), new TimerUnitMultiple(services, this, handle, callbackObject))) {
+                        processStatementScheduleMultiple(handle, callbackObject, services);
+                    }
+                } else if (timerThreading) {
                     services.getThreadingService().submitTimerWork(new TimerUnitMultiple(services, this, handle, callbackObject));
                 } else {
                     processStatementScheduleMultiple(handle, callbackObject, services);
@@ -1243,6 +1411,37 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         throw new EventTypeException("An event sender for event type named '" + eventTypeName + "' could not be created as the type is not known");
     }
 
+    public EventSender getEventSenderPooled(String eventTypeName) throws EventTypeException {
+        EventType eventType = services.getEventTypeRepositoryBus().getTypeByName(eventTypeName);
+        if (eventType == null) {
+            throw new EventTypeException("Event type named '" + eventTypeName + "' could not be found");
+        }
+        if (!(eventType instanceof ObjectArrayEventType)) {
+            throw new EventTypeException("A pooled event sender for event type named '" + eventTypeName + "' could not be created as the type is not an object-array event type");
+        }
+        return new EventSenderObjectArrayPooled(this, (ObjectArrayEventType) eventType, services.getEventBeanTypedEventFactory(), services.getThreadingService());
+    }
+
+    public EventSenderWatermark getEventSenderWatermark(String eventTypeName, long maxOutOfOrder, int maxBuffered) throws EventTypeException {
+        EventType eventType = services.getEventTypeRepositoryBus().getTypeByName(eventTypeName);
+        if (eventType == null) {
+            throw new EventTypeException("Event type named '" + eventTypeName + "' could not be found");
+        }
+        if (eventType.getStartTimestampPropertyName() == null) {
+            throw new EventTypeException("A watermark event sender for event type named '" + eventTypeName + "' could not be created as the type does not declare a start timestamp property");
+        }
+        if (maxOutOfOrder < 0 || maxBuffered < 1) {
+            throw new IllegalArgumentException("Invalid maximum out-of-order " + maxOutOfOrder + " or maximum buffered " + maxBuffered);
+        }
+        if (!isUsingExternalClocking) {
+            throw new EPException("A watermark event sender requires external clocking");
+        }
+        if (inboundThreading) {
+            throw new EPException("A watermark event sender is not supported with inbound threading");
+        }
+        return new EventSenderWatermarkImpl(this, this, eventType, services.getEventBeanTypedEventFactory(), services.getTimeAbacus(), maxOutOfOrder, maxBuffered);
+    }
+
     public Map<DeploymentIdNamePair, Long> getStatementNearestSchedules() {
         return getStatementNearestSchedulesInternal(services.getSchedulingService(), services.getStatementLifecycleService());
     }
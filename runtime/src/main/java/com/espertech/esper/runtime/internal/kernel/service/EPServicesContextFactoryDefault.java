@@ -12,6 +12,8 @@ package com.espertech.esper.runtime.internal.kernel.service;
 
 import com.espertech.esper.common.client.configuration.Configuration;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonEventTypeMeta;
+import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeExecution;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 import com.espertech.esper.common.internal.context.activator.ViewableActivatorFactory;
 import com.espertech.esper.common.internal.context.activator.ViewableActivatorFactoryImpl;
 import com.espertech.esper.common.internal.context.mgr.ContextServiceFactory;
@@ -66,7 +68,7 @@ import com.espertech.esper.runtime.internal.deploymentlifesvc.DeploymentLifecycl
 import com.espertech.esper.runtime.internal.deploymentlifesvc.DeploymentRecoveryServiceImpl;
 import com.espertech.esper.runtime.internal.deploymentlifesvc.ListenerRecoveryServiceImpl;
 import com.espertech.esper.runtime.internal.deploymentlifesvc.StatementIdRecoveryServiceImpl;
-import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceLockCoarse;
+import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceProvider;
 import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceSPI;
 import com.espertech.esper.runtime.internal.kernel.statement.EPStatementFactory;
 import com.espertech.esper.runtime.internal.kernel.statement.EPStatementFactoryDefault;
@@ -75,6 +77,7 @@ import com.espertech.esper.runtime.internal.kernel.thread.ThreadingServiceImpl;
 import com.espertech.esper.runtime.internal.namedwindow.NamedWindowDispatchServiceImpl;
 import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceImpl;
 import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceSPI;
+import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceTimingWheelImpl;
 import com.espertech.esper.runtime.internal.statementlifesvc.StatementLifecycleServiceImpl;
 
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -94,7 +97,8 @@ public class EPServicesContextFactoryDefault extends EPServicesContextFactoryBas
     }
 
     protected FilterServiceSPI makeFilterService(RuntimeExtensionServices runtimeExt, EventTypeRepository eventTypeRepository, StatementLifecycleServiceImpl statementLifecycleService, RuntimeSettingsService runtimeSettingsService, EventTypeIdResolver eventTypeIdResolver, FilterSharedLookupableRepository filterSharedLookupableRepository) {
-        return new FilterServiceLockCoarse(false);
+        ConfigurationRuntimeExecution execution = runtimeSettingsService.getConfigurationRuntime().getExecution();
+        return FilterServiceProvider.newService(execution.getFilterServiceProfile(), false, execution.getFilterIndexRebalanceInterval());
     }
 
     public EPEventServiceImpl createEPRuntime(EPServicesContext services, AtomicBoolean serviceStatusProvider) {
@@ -130,6 +134,9 @@ public class EPServicesContextFactoryDefault extends EPServicesContextFactoryBas
     }
 
     protected SchedulingServiceSPI makeSchedulingService(EPServicesHA epServicesHA, TimeSourceService timeSourceService, RuntimeExtensionServices runtimeExt, RuntimeSettingsService runtimeSettingsService, StatementContextResolver statementContextResolver) {
+        if (runtimeSettingsService.getConfigurationRuntime().getExecution().getSchedulingServiceProfile() == SchedulingServiceProfile.TIMINGWHEEL) {
+            return new SchedulingServiceTimingWheelImpl(timeSourceService);
+        }
         return new SchedulingServiceImpl(timeSourceService);
     }
 
@@ -0,0 +1,207 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.service;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyGetter;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.epl.expression.time.abacus.TimeAbacus;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
+import com.espertech.esper.common.internal.event.avro.AvroSchemaEventType;
+import com.espertech.esper.common.internal.event.bean.core.BeanEventType;
+import com.espertech.esper.common.internal.event.core.EventBeanTypedEventFactory;
+import com.espertech.esper.common.internal.event.map.MapEventType;
+import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
+import com.espertech.esper.common.internal.event.xml.BaseXMLEventType;
+import com.espertech.esper.runtime.client.EPEventServiceTimeControl;
+import com.espertech.esper.runtime.client.EventSenderWatermark;
+import org.w3c.dom.Node;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Watermark event sender, buffering events in a priority queue ordered by timestamp and arrival.
+ */
+public class EventSenderWatermarkImpl implements EventSenderWatermark {
+    private final EPRuntimeEventProcessWrapped processor;
+    private final EPEventServiceTimeControl timeControl;
+    private final EventType eventType;
+    private final EventPropertyGetter timestampGetter;
+    private final EventBeanTypedEventFactory eventBeanTypedEventFactory;
+    private final TimeAbacus timeAbacus;
+    private final long maxOutOfOrder;
+    private final int maxBuffered;
+    private final PriorityQueue<BufferedEvent> buffer = new PriorityQueue<>();
+
+    private long watermark = Long.MIN_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private long sequence;
+    private long numLate;
+
+    public EventSenderWatermarkImpl(EPRuntimeEventProcessWrapped processor, EPEventServiceTimeControl timeControl, EventType eventType, EventBeanTypedEventFactory eventBeanTypedEventFactory, TimeAbacus timeAbacus, long maxOutOfOrder, int maxBuffered) {
+        this.processor = processor;
+        this.timeControl = timeControl;
+        this.eventType = eventType;
+        this.timestampGetter = eventType.getGetter(eventType.getStartTimestampPropertyName());
+        this.eventBeanTypedEventFactory = eventBeanTypedEventFactory;
+        this.timeAbacus = timeAbacus;
+        this.maxOutOfOrder = maxOutOfOrder;
+        this.maxBuffered = maxBuffered;
+    }
+
+    public synchronized void sendEvent(Object theEvent) {
+        EventBean eventBean = getEventBean(theEvent);
+        long timestamp = getTimestamp(eventBean);
+
+        if (timestamp < watermark) {
+            numLate++;
+            processor.processWrappedEvent(eventBean);
+            return;
+        }
+
+        buffer.add(new BufferedEvent(timestamp, sequence++, eventBean));
+        if (timestamp > maxTimestamp) {
+            maxTimestamp = timestamp;
+            if (timestamp - maxOutOfOrder > watermark) {
+                watermark = timestamp - maxOutOfOrder;
+            }
+        }
+
+        // release the oldest events when the buffer is full, moving the watermark along
+        while (buffer.size() > maxBuffered) {
+            BufferedEvent oldest = buffer.poll();
+            if (oldest.timestamp > watermark) {
+                watermark = oldest.timestamp;
+            }
+            release(oldest);
+        }
+        releaseUpToWatermark();
+    }
+
+    public synchronized void advanceWatermark(long timestamp) {
+        if (timestamp <= watermark) {
+            return;
+        }
+        watermark = timestamp;
+        if (timestamp > maxTimestamp) {
+            maxTimestamp = timestamp;
+        }
+        releaseUpToWatermark();
+    }
+
+    public synchronized void flush() {
+        if (maxTimestamp > watermark) {
+            watermark = maxTimestamp;
+        }
+        releaseUpToWatermark();
+    }
+
+    public synchronized long getWatermark() {
+        return watermark;
+    }
+
+    public synchronized int getNumBuffered() {
+        return buffer.size();
+    }
+
+    public synchronized long getNumLate() {
+        return numLate;
+    }
+
+    private void releaseUpToWatermark() {
+        while (!buffer.isEmpty() && buffer.peek().timestamp <= watermark) {
+            release(buffer.poll());
+        }
+        advanceTo(watermark);
+    }
+
+    private void release(BufferedEvent buffered) {
+        advanceTo(buffered.timestamp);
+        processor.processWrappedEvent(buffered.eventBean);
+    }
+
+    private void advanceTo(long time) {
+        if (time != Long.MIN_VALUE && time > timeControl.getCurrentTime()) {
+            timeControl.advanceTimeSpan(time);
+        }
+    }
+
+    private long getTimestamp(EventBean eventBean) {
+        Object value = timestampGetter.get(eventBean);
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Date) {
+            Calendar cal = Calendar.getInstance();
+            cal.setTimeInMillis(((Date) value).getTime());
+            return timeAbacus.calendarGet(cal, 0);
+        }
+        if (value instanceof Calendar) {
+            return timeAbacus.calendarGet((Calendar) value, 0);
+        }
+        if (value == null) {
+            throw new EPException("Timestamp property '" + eventType.getStartTimestampPropertyName() + "' of event type '" + eventType.getName() + "' returned a null value");
+        }
+        throw new EPException("Timestamp property '" + eventType.getStartTimestampPropertyName() + "' of event type '" + eventType.getName() + "' returned unsupported value type " + value.getClass().getName());
+    }
+
+    private EventBean getEventBean(Object theEvent) {
+        if (eventType instanceof ObjectArrayEventType) {
+            if (!(theEvent instanceof Object[])) {
+                throw new EPException("Unexpected event object of type " + theEvent.getClass().getName() + ", expected Object[]");
+            }
+            return eventBeanTypedEventFactory.adapterForTypedObjectArray((Object[]) theEvent, eventType);
+        }
+        if (eventType instanceof MapEventType) {
+            if (!(theEvent instanceof Map)) {
+                throw new EPException("Unexpected event object of type " + theEvent.getClass().getName() + ", expected " + Map.class.getName());
+            }
+            return eventBeanTypedEventFactory.adapterForTypedMap((Map<String, Object>) theEvent, eventType);
+        }
+        if (eventType instanceof BeanEventType) {
+            if (!eventType.getUnderlyingType().isInstance(theEvent)) {
+                throw new EPException("Event object of type " + theEvent.getClass().getName() + " does not equal, extend or implement the type " + eventType.getUnderlyingType().getName() + " of event type '" + eventType.getName() + "'");
+            }
+            return eventBeanTypedEventFactory.adapterForTypedBean(theEvent, eventType);
+        }
+        if (eventType instanceof BaseXMLEventType) {
+            if (!(theEvent instanceof Node)) {
+                throw new EPException("Unexpected event object type '" + theEvent.getClass().getName() + "' encountered, please supply a org.w3c.dom.Document or Element node");
+            }
+            return eventBeanTypedEventFactory.adapterForTypedDOM((Node) theEvent, eventType);
+        }
+        if (eventType instanceof AvroSchemaEventType) {
+            return eventBeanTypedEventFactory.adapterForTypedAvro(theEvent, eventType);
+        }
+        throw new EPException("Event type '" + eventType.getName() + "' is not supported by the watermark sender");
+    }
+
+    private static class BufferedEvent implements Comparable<BufferedEvent> {
+        private final long timestamp;
+        private final long sequence;
+        private final EventBean eventBean;
+
+        BufferedEvent(long timestamp, long sequence, EventBean eventBean) {
+            this.timestamp = timestamp;
+            this.sequence = sequence;
+            this.eventBean = eventBean;
+        }
+
+        public int compareTo(BufferedEvent other) {
+            int compared = Long.compare(timestamp, other.timestamp);
+            return compared != 0 ? compared : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.sharded;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.internal.context.controller.hash.ContextControllerHashedGetterCRC32SingleForge;
+import com.espertech.esper.runtime.client.*;
+import com.espertech.esper.runtime.client.sharded.EPRuntimeSharded;
+import com.espertech.esper.runtime.client.sharded.EPRuntimeShardedKeyProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Sharded runtime implementation, each shard being a runtime with a dedicated thread that takes work from a bounded queue.
+ */
+public class EPRuntimeShardedImpl implements EPRuntimeSharded {
+    private final static Logger log = LoggerFactory.getLogger(EPRuntimeShardedImpl.class);
+
+    private final String uriPrefix;
+    private final EPRuntimeShardedKeyProvider keyProvider;
+    private final Shard[] shards;
+    private final Object deliveryLock = new Object();
+    private final Map<ListenerKey, UpdateListener> listeners = new HashMap<>();
+    private volatile boolean destroyed;
+
+    /**
+     * Ctor.
+     *
+     * @param uriPrefix     prefix of shard runtime URIs
+     * @param configuration configuration
+     * @param numShards     number of shards
+     * @param keyProvider   key provider
+     * @param queueCapacity queue capacity per shard
+     */
+    public EPRuntimeShardedImpl(String uriPrefix, Configuration configuration, int numShards, EPRuntimeShardedKeyProvider keyProvider, int queueCapacity) {
+        this.uriPrefix = uriPrefix;
+        this.keyProvider = keyProvider;
+        this.shards = new Shard[numShards];
+        for (int i = 0; i < numShards; i++) {
+            String uri = uriPrefix + "-shard-" + i;
+            EPRuntime runtime = EPRuntimeProvider.getRuntime(uri, configuration);
+            shards[i] = new Shard(runtime, new ArrayBlockingQueue<>(queueCapacity), uri);
+        }
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+    }
+
+    public int getNumShards() {
+        return shards.length;
+    }
+
+    public EPRuntime getShard(int shard) {
+        return shards[shard].runtime;
+    }
+
+    public int getShardForKey(String key) {
+        return ContextControllerHashedGetterCRC32SingleForge.stringToCRC32Hash(key, shards.length);
+    }
+
+    public String deploy(EPCompiled compiled) throws EPDeployException {
+        checkDestroyed();
+        EPDeployment first = shards[0].runtime.getDeploymentService().deploy(compiled);
+        String deploymentId = first.getDeploymentId();
+        int deployed = 1;
+        try {
+            for (int i = 1; i < shards.length; i++) {
+                shards[i].runtime.getDeploymentService().deploy(compiled, new DeploymentOptions().setDeploymentId(deploymentId));
+                deployed++;
+            }
+        } catch (EPDeployException | RuntimeException ex) {
+            for (int i = 0; i < deployed; i++) {
+                try {
+                    shards[i].runtime.getDeploymentService().undeploy(deploymentId);
+                } catch (EPUndeployException | RuntimeException undeployEx) {
+                    log.warn("Failed to undeploy deployment '" + deploymentId + "' from shard " + i + " after failed deployment: " + undeployEx.getMessage(), undeployEx);
+                }
+            }
+            if (ex instanceof EPDeployException) {
+                throw (EPDeployException) ex;
+            }
+            throw new EPDeployException("Failed to deploy to all shards: " + ex.getMessage(), ex);
+        }
+        return deploymentId;
+    }
+
+    public void undeploy(String deploymentId) throws EPUndeployException {
+        checkDestroyed();
+        EPUndeployException first = null;
+        for (Shard shard : shards) {
+            try {
+                shard.runtime.getDeploymentService().undeploy(deploymentId);
+            } catch (EPUndeployException ex) {
+                if (first == null) {
+                    first = ex;
+                }
+            }
+        }
+        synchronized (listeners) {
+            listeners.keySet().removeIf(key -> key.deploymentId.equals(deploymentId));
+        }
+        if (first != null) {
+            throw first;
+        }
+    }
+
+    public void addListener(String deploymentId, String statementName, UpdateListener listener) {
+        checkDestroyed();
+        ListenerKey key = new ListenerKey(deploymentId, statementName, listener);
+        UpdateListener serialized = (newEvents, oldEvents, statement, runtime) -> {
+            synchronized (deliveryLock) {
+                listener.update(newEvents, oldEvents, statement, runtime);
+            }
+        };
+        synchronized (listeners) {
+            if (listeners.containsKey(key)) {
+                return;
+            }
+            for (Shard shard : shards) {
+                getStatement(shard, deploymentId, statementName).addListener(serialized);
+            }
+            listeners.put(key, serialized);
+        }
+    }
+
+    public void removeListener(String deploymentId, String statementName, UpdateListener listener) {
+        checkDestroyed();
+        UpdateListener serialized;
+        synchronized (listeners) {
+            serialized = listeners.remove(new ListenerKey(deploymentId, statementName, listener));
+        }
+        if (serialized == null) {
+            return;
+        }
+        for (Shard shard : shards) {
+            EPStatement statement = shard.runtime.getDeploymentService().getStatement(deploymentId, statementName);
+            if (statement != null) {
+                statement.removeListener(serialized);
+            }
+        }
+    }
+
+    public void sendEventBean(Object event, String eventTypeName) {
+        Shard shard = route(event, eventTypeName);
+        submit(shard, () -> shard.runtime.getEventService().sendEventBean(event, eventTypeName));
+    }
+
+    public void sendEventMap(Map<String, Object> event, String eventTypeName) {
+        Shard shard = route(event, eventTypeName);
+        submit(shard, () -> shard.runtime.getEventService().sendEventMap(event, eventTypeName));
+    }
+
+    public void sendEventObjectArray(Object[] event, String eventTypeName) {
+        Shard shard = route(event, eventTypeName);
+        submit(shard, () -> shard.runtime.getEventService().sendEventObjectArray(event, eventTypeName));
+    }
+
+    public void advanceTime(long time) {
+        for (Shard shard : shards) {
+            submit(shard, () -> shard.runtime.getEventService().advanceTime(time));
+        }
+    }
+
+    public void flush() throws InterruptedException {
+        checkDestroyed();
+        CountDownLatch latch = new CountDownLatch(shards.length);
+        for (Shard shard : shards) {
+            submit(shard, latch::countDown);
+        }
+        latch.await();
+    }
+
+    public void destroy() {
+        if (destroyed) {
+            return;
+        }
+        destroyed = true;
+        for (Shard shard : shards) {
+            try {
+                shard.queue.put(Shard.SHUTDOWN);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            shard.runtime.destroy();
+        }
+        synchronized (listeners) {
+            listeners.clear();
+        }
+    }
+
+    private Shard route(Object event, String eventTypeName) {
+        String key = keyProvider.getKey(event, eventTypeName);
+        return shards[getShardForKey(key)];
+    }
+
+    private void submit(Shard shard, Runnable runnable) {
+        checkDestroyed();
+        try {
+            shard.queue.put(runnable);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new EPException("Interrupted while waiting to submit to shard queue", ex);
+        }
+    }
+
+    private void checkDestroyed() {
+        if (destroyed) {
+            throw new EPRuntimeDestroyedException(uriPrefix);
+        }
+    }
+
+    private static EPStatement getStatement(Shard shard, String deploymentId, String statementName) {
+        EPStatement statement = shard.runtime.getDeploymentService().getStatement(deploymentId, statementName);
+        if (statement == null) {
+            throw new IllegalArgumentException("Failed to find statement '" + statementName + "' for deployment id '" + deploymentId + "'");
+        }
+        return statement;
+    }
+
+    private static class Shard implements Runnable {
+        private final static Runnable SHUTDOWN = () -> {
+        };
+
+        private final EPRuntime runtime;
+        private final BlockingQueue<Runnable> queue;
+        private final Thread thread;
+
+        Shard(EPRuntime runtime, BlockingQueue<Runnable> queue, String uri) {
+            this.runtime = runtime;
+            this.queue = queue;
+            this.thread = new Thread(this, "com.espertech.esper.Sharded-" + uri);
+            this.thread.setDaemon(true);
+        }
+
+        public void run() {
+            while (true) {
+                Runnable runnable;
+                try {
+                    runnable = queue.take();
+                } catch (InterruptedException ex) {
+                    log.info("Shard thread interrupted, stopping");
+                    return;
+                }
+                if (runnable == SHUTDOWN) {
+                    return;
+                }
+                try {
+                    runnable.run();
+                } catch (RuntimeException ex) {
+                    log.error("Exception processing work for shard runtime '" + runtime.getURI() + "': " + ex.getMessage(), ex);
+                }
+            }
+        }
+    }
+
+    private static class ListenerKey {
+        private final String deploymentId;
+        private final String statementName;
+        private final UpdateListener listener;
+
+        ListenerKey(String deploymentId, String statementName, UpdateListener listener) {
+            this.deploymentId = deploymentId;
+            this.statementName = statementName;
+            this.listener = listener;
+        }
+
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ListenerKey that = (ListenerKey) o;
+            return deploymentId.equals(that.deploymentId) && statementName.equals(that.statementName) && listener == that.listener;
+        }
+
+        public int hashCode() {
+            return Objects.hash(deploymentId, statementName, System.identityHashCode(listener));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
+import com.espertech.esper.runtime.internal.kernel.service.EPServicesContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+
+/**
+ * Inbound unit for wrapped events that returns itself to a pool after processing, for use with ring buffer queues.
+ */
+public class InboundUnitSendWrappedRecycled implements InboundUnitRunnable {
+    private static final Logger log = LoggerFactory.getLogger(InboundUnitSendWrappedRecycled.class);
+    private final EPServicesContext services;
+    private final Queue<InboundUnitSendWrappedRecycled> pool;
+    private EventBean eventBean;
+    private EPRuntimeEventProcessWrapped runtime;
+
+    /**
+     * Ctor.
+     *
+     * @param services services
+     * @param pool     pool to return the unit to after processing
+     */
+    public InboundUnitSendWrappedRecycled(EPServicesContext services, Queue<InboundUnitSendWrappedRecycled> pool) {
+        this.services = services;
+        this.pool = pool;
+    }
+
+    /**
+     * Assigns the event to process.
+     *
+     * @param theEvent inbound event, wrapped
+     * @param runtime  to process
+     */
+    public void assign(EventBean theEvent, EPRuntimeEventProcessWrapped runtime) {
+        this.eventBean = theEvent;
+        this.runtime = runtime;
+    }
+
+    public void run() {
+        EventBean theEvent = eventBean;
+        try {
+            runtime.processWrappedEvent(theEvent);
+        } catch (RuntimeException e) {
+            services.getExceptionHandlingService().handleInboundPoolException(services.getRuntimeURI(), e, theEvent);
+            log.error("Unexpected error processing wrapped event: " + e.getMessage(), e);
+        } finally {
+            eventBean = null;
+            runtime = null;
+            pool.offer(this);
+        }
+    }
+}
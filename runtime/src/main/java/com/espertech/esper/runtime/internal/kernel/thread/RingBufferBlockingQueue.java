@@ -0,0 +1,236 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.util.ThreadPoolWaitStrategy;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free blocking queue backed by a ring buffer of pre-allocated slots.
+ * <p>
+ * Each slot carries a sequence number that producers and consumers claim by compare-and-set on the
+ * enqueue and dequeue positions, so that multiple producers and multiple consumers never take a lock
+ * and no node is allocated per element. Threads that find the queue full or empty wait according to the
+ * {@link ThreadPoolWaitStrategy}.
+ * <p>
+ * Iteration is weakly consistent and does not support removal.
+ *
+ * @param <E> element type
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+    /**
+     * Capacity when none is provided.
+     */
+    public static final int DEFAULT_CAPACITY = 16384;
+
+    private static final long PARK_NANOS = 50000;
+
+    private final int capacity;
+    private final int mask;
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+    private final ThreadPoolWaitStrategy waitStrategy;
+
+    /**
+     * Ctor.
+     *
+     * @param capacity     capacity, rounded up to the next power of two, or null or non-positive for the default capacity
+     * @param waitStrategy wait strategy for full and empty queue
+     */
+    public RingBufferBlockingQueue(Integer capacity, ThreadPoolWaitStrategy waitStrategy) {
+        int requested = capacity == null || capacity <= 0 || capacity > (1 << 30) ? DEFAULT_CAPACITY : capacity;
+        this.capacity = requested == 1 ? 2 : Integer.highestOneBit(requested - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.elements = new Object[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        long position = enqueuePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    elements[index] = e;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = enqueuePosition.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = enqueuePosition.get();
+            }
+        }
+    }
+
+    public E poll() {
+        long position = dequeuePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (dequeuePosition.compareAndSet(position, position + 1)) {
+                    E e = (E) elements[index];
+                    elements[index] = null;
+                    sequences.lazySet(index, position + capacity);
+                    return e;
+                }
+                position = dequeuePosition.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = dequeuePosition.get();
+            }
+        }
+    }
+
+    public E peek() {
+        long position = dequeuePosition.get();
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        return (E) elements[index];
+    }
+
+    public void put(E e) throws InterruptedException {
+        int attempt = 0;
+        while (!offer(e)) {
+            idle(attempt++);
+        }
+    }
+
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        while (!offer(e)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            idle(attempt++);
+        }
+        return true;
+    }
+
+    public E take() throws InterruptedException {
+        int attempt = 0;
+        E e;
+        while ((e = poll()) == null) {
+            idle(attempt++);
+        }
+        return e;
+    }
+
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        E e;
+        while ((e = poll()) == null) {
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            idle(attempt++);
+        }
+        return e;
+    }
+
+    public int size() {
+        while (true) {
+            long dequeue = dequeuePosition.get();
+            long enqueue = enqueuePosition.get();
+            if (dequeue == dequeuePosition.get()) {
+                long size = enqueue - dequeue;
+                return size < 0 ? 0 : (int) Math.min(size, capacity);
+            }
+        }
+    }
+
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int count = 0;
+        E e;
+        while (count < maxElements && (e = poll()) != null) {
+            c.add(e);
+            count++;
+        }
+        return count;
+    }
+
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<E>();
+        long end = enqueuePosition.get();
+        for (long position = dequeuePosition.get(); position < end; position++) {
+            int index = (int) position & mask;
+            if (sequences.get(index) == position + 1) {
+                E e = (E) elements[index];
+                if (e != null) {
+                    snapshot.add(e);
+                }
+            }
+        }
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    /**
+     * Returns the capacity.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void idle(int attempt) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        switch (waitStrategy) {
+            case BUSYSPIN:
+                break;
+            case YIELD:
+                Thread.yield();
+                break;
+            default:
+                if (attempt < 100) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+        }
+    }
+}
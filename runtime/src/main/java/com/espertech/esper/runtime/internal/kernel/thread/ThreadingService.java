@@ -90,6 +90,39 @@ public interface ThreadingService extends ThreadingCommon {
      */
     public void submitOutbound(OutboundUnitRunnable unit);
 
+    /**
+     * Returns true for named window dispatch threading enabled.
+     *
+     * @return indicator
+     */
+    public boolean isNamedWindowDispatchThreading();
+
+    /**
+     * Submit named window dispatch work unit.
+     *
+     * @param unit unit of work
+     */
+    public void submitNamedWindowDispatch(Runnable unit);
+
+    /**
+     * Returns true for context partition execution threading enabled.
+     *
+     * @return indicator
+     */
+    public boolean isContextPartitionThreading();
+
+    /**
+     * Submit context partition work unit, executing units for the same agent instance id in the order submitted.
+     * <p>
+     * A context partition execution thread never waits for a lane: the unit is not accepted when it is for the thread's own lane,
+     * or when the other lane is full as that lane may itself be waiting for this thread, in which case the caller must execute the work.
+     *
+     * @param agentInstanceId agent instance id of the context partition
+     * @param unit            unit of work
+     * @return true when the unit was accepted, false when the caller must execute the work
+     */
+    public boolean submitContextPartition(int agentInstanceId, Runnable unit);
+
     /**
      * Returns the outbound queue.
      *
@@ -146,5 +179,26 @@ public interface ThreadingService extends ThreadingCommon {
      */
     public ThreadPoolExecutor getInboundThreadPool();
 
+    /**
+     * Returns the named window dispatch queue.
+     *
+     * @return queue
+     */
+    public BlockingQueue<Runnable> getNamedWindowDispatchQueue();
+
+    /**
+     * Returns the named window dispatch thread pool
+     *
+     * @return thread pool
+     */
+    public ThreadPoolExecutor getNamedWindowDispatchThreadPool();
+
+    /**
+     * Returns the context partition execution thread pools, one single-thread pool per lane
+     *
+     * @return thread pools
+     */
+    public ThreadPoolExecutor[] getContextPartitionThreadPools();
+
     public Thread makeEventSourceThread(String runtimeURI, String sourceName, Runnable runnable);
 }
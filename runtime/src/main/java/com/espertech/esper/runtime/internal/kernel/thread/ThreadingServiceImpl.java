@@ -12,9 +12,11 @@ package com.espertech.esper.runtime.internal.kernel.thread;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeThreading;
+import com.espertech.esper.common.client.util.ThreadPoolQueueType;
 import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
 import com.espertech.esper.runtime.internal.kernel.service.EPEventServiceImpl;
 import com.espertech.esper.runtime.internal.kernel.service.EPServicesContext;
+import com.espertech.esper.runtime.internal.namedwindow.NamedWindowDispatchServiceImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,16 +33,26 @@ public class ThreadingServiceImpl implements ThreadingService {
     private final boolean isInboundThreading;
     private final boolean isRouteThreading;
     private final boolean isOutboundThreading;
+    private final boolean isNamedWindowDispatchThreading;
+    private final boolean isContextPartitionThreading;
+    private final boolean isRingBuffer;
 
     private BlockingQueue<Runnable> timerQueue;
     private BlockingQueue<Runnable> inboundQueue;
     private BlockingQueue<Runnable> routeQueue;
     private BlockingQueue<Runnable> outboundQueue;
+    private BlockingQueue<Runnable> namedWindowDispatchQueue;
+    private BlockingQueue<Runnable>[] contextPartitionQueues;
 
     private ThreadPoolExecutor timerThreadPool;
     private ThreadPoolExecutor inboundThreadPool;
     private ThreadPoolExecutor routeThreadPool;
     private ThreadPoolExecutor outboundThreadPool;
+    private ThreadPoolExecutor namedWindowDispatchThreadPool;
+    private ThreadPoolExecutor[] contextPartitionThreadPools;
+    private final ThreadLocal<Integer> contextPartitionLane = new ThreadLocal<>();
+
+    private RingBufferBlockingQueue<InboundUnitSendWrappedRecycled> inboundUnitPool;
 
     private EPServicesContext servicesContext;
 
@@ -55,6 +67,9 @@ public class ThreadingServiceImpl implements ThreadingService {
         isInboundThreading = threadingConfig.isThreadPoolInbound();
         isRouteThreading = threadingConfig.isThreadPoolRouteExec();
         isOutboundThreading = threadingConfig.isThreadPoolOutbound();
+        isNamedWindowDispatchThreading = threadingConfig.isThreadPoolNamedWindowDispatch();
+        isContextPartitionThreading = threadingConfig.isThreadPoolContextPartitionExec();
+        isRingBuffer = threadingConfig.getThreadPoolQueueType() == ThreadPoolQueueType.RINGBUFFER;
     }
 
     public boolean isRouteThreading() {
@@ -73,11 +88,22 @@ public class ThreadingServiceImpl implements ThreadingService {
         return isOutboundThreading;
     }
 
+    public boolean isNamedWindowDispatchThreading() {
+        return isNamedWindowDispatchThreading;
+    }
+
+    public boolean isContextPartitionThreading() {
+        return isContextPartitionThreading;
+    }
+
     public void initThreading(EPServicesContext services, EPEventServiceImpl runtime) {
         this.servicesContext = services;
         if (isInboundThreading) {
             inboundQueue = makeQueue(config.getThreadPoolInboundCapacity());
             inboundThreadPool = getThreadPool(services.getRuntimeURI(), "Inbound", inboundQueue, config.getThreadPoolInboundNumThreads());
+            if (isRingBuffer) {
+                inboundUnitPool = new RingBufferBlockingQueue<>(config.getThreadPoolInboundCapacity(), config.getThreadPoolWaitStrategy());
+            }
         }
 
         if (isTimerThreading) {
@@ -94,9 +120,35 @@ public class ThreadingServiceImpl implements ThreadingService {
             outboundQueue = makeQueue(config.getThreadPoolOutboundCapacity());
             outboundThreadPool = getThreadPool(services.getRuntimeURI(), "Outbound", outboundQueue, config.getThreadPoolOutboundNumThreads());
         }
+
+        if (isNamedWindowDispatchThreading) {
+            namedWindowDispatchQueue = makeQueue(config.getThreadPoolNamedWindowDispatchCapacity());
+            namedWindowDispatchThreadPool = getThreadPool(services.getRuntimeURI(), "NamedWindowDispatch", namedWindowDispatchQueue, config.getThreadPoolNamedWindowDispatchNumThreads());
+            if (services.getNamedWindowDispatchService() instanceof NamedWindowDispatchServiceImpl) {
+                NamedWindowDispatchServiceImpl namedWindowDispatchService = (NamedWindowDispatchServiceImpl) services.getNamedWindowDispatchService();
+                namedWindowDispatchService.setDispatchExecutor(this::submitNamedWindowDispatch, services.getDispatchService(), runtime.getThreadWorkQueue());
+            }
+        }
+
+        if (isContextPartitionThreading) {
+            // one single-threaded lane per thread: a context partition always executes on the same lane, preserving its order
+            int numLanes = Math.max(1, config.getThreadPoolContextPartitionExecNumThreads());
+            contextPartitionQueues = new BlockingQueue[numLanes];
+            contextPartitionThreadPools = new ThreadPoolExecutor[numLanes];
+            for (int i = 0; i < numLanes; i++) {
+                contextPartitionQueues[i] = makeQueue(config.getThreadPoolContextPartitionExecCapacity());
+                contextPartitionThreadPools[i] = getThreadPool(services.getRuntimeURI(), "ContextPartitionExec-" + i, contextPartitionQueues[i], 1);
+                // the first unit of the lane marks the lane's thread so that work submitted by the lane never waits
+                final int lane = i;
+                contextPartitionThreadPools[i].execute(() -> contextPartitionLane.set(lane));
+            }
+        }
     }
 
     private BlockingQueue<Runnable> makeQueue(Integer threadPoolTimerExecCapacity) {
+        if (isRingBuffer) {
+            return new RingBufferBlockingQueue<>(threadPoolTimerExecCapacity, config.getThreadPoolWaitStrategy());
+        }
         if ((threadPoolTimerExecCapacity == null) ||
                 (threadPoolTimerExecCapacity <= 0) ||
                 (threadPoolTimerExecCapacity == Integer.MAX_VALUE)) {
@@ -130,6 +182,30 @@ public class ThreadingServiceImpl implements ThreadingService {
         }
     }
 
+    public void submitNamedWindowDispatch(Runnable unit) {
+        try {
+            namedWindowDispatchQueue.put(unit);
+        } catch (InterruptedException e) {
+            log.info("Submit interrupted:" + e);
+        }
+    }
+
+    public boolean submitContextPartition(int agentInstanceId, Runnable unit) {
+        int lane = (agentInstanceId & 0x7fffffff) % contextPartitionQueues.length;
+        BlockingQueue<Runnable> queue = contextPartitionQueues[lane];
+        // lanes must not wait for themselves or for each other as two lanes with full queues, routing to each other, would wait forever
+        Integer currentLane = contextPartitionLane.get();
+        if (currentLane != null) {
+            return currentLane != lane && queue.offer(unit);
+        }
+        try {
+            queue.put(unit);
+        } catch (InterruptedException e) {
+            log.info("Submit interrupted:" + e);
+        }
+        return true;
+    }
+
     public void submitTimerWork(TimerUnit unit) {
         try {
             timerQueue.put(unit);
@@ -170,6 +246,18 @@ public class ThreadingServiceImpl implements ThreadingService {
         return inboundThreadPool;
     }
 
+    public BlockingQueue<Runnable> getNamedWindowDispatchQueue() {
+        return namedWindowDispatchQueue;
+    }
+
+    public ThreadPoolExecutor getNamedWindowDispatchThreadPool() {
+        return namedWindowDispatchThreadPool;
+    }
+
+    public ThreadPoolExecutor[] getContextPartitionThreadPools() {
+        return contextPartitionThreadPools;
+    }
+
     public synchronized void destroy() {
         if (timerThreadPool != null) {
             stopPool(timerThreadPool, timerQueue, "TimerExec");
@@ -183,11 +271,23 @@ public class ThreadingServiceImpl implements ThreadingService {
         if (inboundThreadPool != null) {
             stopPool(inboundThreadPool, inboundQueue, "Inbound");
         }
+        if (namedWindowDispatchThreadPool != null) {
+            stopPool(namedWindowDispatchThreadPool, namedWindowDispatchQueue, "NamedWindowDispatch");
+        }
+        if (contextPartitionThreadPools != null) {
+            for (int i = 0; i < contextPartitionThreadPools.length; i++) {
+                stopPool(contextPartitionThreadPools[i], contextPartitionQueues[i], "ContextPartitionExec-" + i);
+            }
+        }
 
         timerThreadPool = null;
         routeThreadPool = null;
         outboundThreadPool = null;
         inboundThreadPool = null;
+        namedWindowDispatchThreadPool = null;
+        contextPartitionThreadPools = null;
+        contextPartitionQueues = null;
+        inboundUnitPool = null;
     }
 
     public Thread makeEventSourceThread(String runtimeURI, String sourceName, Runnable runnable) {
@@ -201,7 +301,17 @@ public class ThreadingServiceImpl implements ThreadingService {
     }
 
     public void submitInbound(EventBean event, EPRuntimeEventProcessWrapped runtimeEventSender) {
-        submitInbound(new InboundUnitSendWrapped(event, servicesContext, runtimeEventSender));
+        if (inboundUnitPool == null) {
+            submitInbound(new InboundUnitSendWrapped(event, servicesContext, runtimeEventSender));
+            return;
+        }
+
+        InboundUnitSendWrappedRecycled unit = inboundUnitPool.poll();
+        if (unit == null) {
+            unit = new InboundUnitSendWrappedRecycled(servicesContext, inboundUnitPool);
+        }
+        unit.assign(event, runtimeEventSender);
+        submitInbound(unit);
     }
 
     private void stopPool(ThreadPoolExecutor threadPool, BlockingQueue<Runnable> queue, String name) {
@@ -49,6 +49,7 @@ public class MetricReportingServiceImpl implements MetricReportingServiceSPI, Me
 
     private final Map<DeploymentIdNamePair, StatementMetricHandle> statementMetricHandles;
     private final MetricsExecutor metricsExecutor;
+    private final MetricNamedWindowFanOut namedWindowFanOut = new MetricNamedWindowFanOut();
 
     private final CopyOnWriteArraySet<MetricsStatementResultListener> statementOutputHooks = new CopyOnWriteArraySet<>();
 
@@ -105,7 +106,7 @@ public class MetricReportingServiceImpl implements MetricReportingServiceSPI, Me
         MetricExecutionContext metricsExecutionContext = new MetricExecutionContext(filterService, schedulingService, eventServiceSendEventInternal, stmtMetricRepository);
 
         // create all runtime and statement executions
-        metricExecEngine = new MetricExecEngine(this, runtimeURI, schedule, specification.getRuntimeInterval());
+        metricExecEngine = new MetricExecEngine(this, runtimeURI, schedule, specification.getRuntimeInterval(), namedWindowFanOut);
         metricExecStmtGroupDefault = new MetricExecStatement(this, schedule, specification.getStatementInterval(), 0);
 
         int countGroups = 1;
@@ -172,6 +173,10 @@ public class MetricReportingServiceImpl implements MetricReportingServiceSPI, Me
         stmtMetricRepository.accountTimes(metricsHandle, deltaCPU, deltaWall, numInputEvents);
     }
 
+    public void accountNamedWindowFanOut(long deltaWall) {
+        namedWindowFanOut.account(deltaWall);
+    }
+
     public void accountOutput(StatementMetricHandle handle, int numIStream, int numRStream, Object epStatement, Object runtime) {
         stmtMetricRepository.accountOutput(handle, numIStream, numRStream);
         if (!statementOutputHooks.isEmpty()) {
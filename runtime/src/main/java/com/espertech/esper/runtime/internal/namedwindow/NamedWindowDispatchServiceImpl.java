@@ -13,22 +13,39 @@ package com.espertech.esper.runtime.internal.namedwindow;
 import com.espertech.esper.common.client.EPException;
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.hook.exception.ExceptionHandlerExceptionType;
+import com.espertech.esper.common.internal.collection.DualWorkQueue;
+import com.espertech.esper.common.internal.collection.ThreadWorkQueue;
+import com.espertech.esper.common.internal.collection.UniformPair;
 import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
+import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandleComparator;
+import com.espertech.esper.common.internal.context.util.StatementDispatchTLEntry;
+import com.espertech.esper.common.internal.context.util.StatementResultService;
 import com.espertech.esper.common.internal.epl.namedwindow.consume.*;
 import com.espertech.esper.common.internal.epl.table.core.TableManagementService;
 import com.espertech.esper.common.internal.epl.variable.core.VariableManagementService;
 import com.espertech.esper.common.internal.metrics.stmtmetrics.MetricReportingService;
 import com.espertech.esper.common.internal.schedule.SchedulingService;
 import com.espertech.esper.common.internal.settings.ExceptionHandlingService;
+import com.espertech.esper.common.internal.statement.dispatch.DispatchService;
+import com.espertech.esper.common.internal.statement.dispatch.Dispatchable;
 import com.espertech.esper.common.internal.util.ManagedReadWriteLock;
 import com.espertech.esper.common.internal.util.MetricUtil;
+import com.espertech.esper.runtime.internal.kernel.updatedispatch.UpdateDispatchViewBase;
 import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 
 /**
  * This service hold for each named window a dedicated processor and a lock to the named window.
  * This lock is shrared between the named window and on-delete statements.
+ * <p>
+ * When a dispatch executor is provided, results that go to multiple consuming statements are fanned out to the executor,
+ * one unit of work per consuming statement, and the dispatching thread waits for all units to complete.
+ * Units only process consuming views. Each unit hands statement results for listeners, routed events and further named window
+ * dispatches back to the dispatching thread so that these get processed in consumer order as if the dispatch were sequential.
+ * </p>
  */
 public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchService {
     private final SchedulingService schedulingService;
@@ -39,6 +56,10 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
     private final ManagedReadWriteLock eventProcessingRWLock;
     private final MetricReportingService metricReportingService;
 
+    private Executor dispatchExecutor;
+    private DispatchService dispatchService;
+    private ThreadWorkQueue threadWorkQueue;
+
     private ThreadLocal<DispatchesTL> threadLocal = new ThreadLocal<DispatchesTL>() {
         protected synchronized DispatchesTL initialValue() {
             return new DispatchesTL();
@@ -61,6 +82,19 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         this.metricReportingService = metricReportingService;
     }
 
+    /**
+     * Sets the executor for dispatching to multiple consuming statements in parallel.
+     *
+     * @param dispatchExecutor executor
+     * @param dispatchService  listener dispatch service, for handing statement results back to the dispatching thread
+     * @param threadWorkQueue  work queue of routed events, for handing routed events back to the dispatching thread
+     */
+    public void setDispatchExecutor(Executor dispatchExecutor, DispatchService dispatchService, ThreadWorkQueue threadWorkQueue) {
+        this.dispatchExecutor = dispatchExecutor;
+        this.dispatchService = dispatchService;
+        this.threadWorkQueue = threadWorkQueue;
+    }
+
     public void destroy() {
         threadLocal.remove();
     }
@@ -111,7 +145,13 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
                 EventBean[] newData = latch.getDeltaData().getNewData();
                 EventBean[] oldData = latch.getDeltaData().getOldData();
 
-                if (metricReportingService.isMetricsReportingEnabled()) {
+                if (dispatchExecutor != null && latch.getDispatchTo().size() > 1) {
+                    List<FanOutUnit> units = new ArrayList<>(latch.getDispatchTo().size());
+                    for (Map.Entry<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> entry : latch.getDispatchTo().entrySet()) {
+                        units.add(new FanOutUnit(entry.getKey(), entry.getValue(), newData, oldData, null));
+                    }
+                    fanOut(units);
+                } else if (metricReportingService.isMetricsReportingEnabled()) {
                     for (Map.Entry<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> entry : latch.getDispatchTo().entrySet()) {
                         EPStatementAgentInstanceHandle handle = entry.getKey();
                         if (handle.getStatementHandle().getMetricsHandle().isEnabled()) {
@@ -204,8 +244,27 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
                 }
             }
 
-            // Dispatch - with or without metrics reporting
-            if (metricReportingService.isMetricsReportingEnabled()) {
+            // Dispatch - in parallel, or with or without metrics reporting
+            if (dispatchExecutor != null && dispatchesPerStmt.size() > 1) {
+                List<FanOutUnit> units = new ArrayList<>(dispatchesPerStmt.size());
+                for (Map.Entry<EPStatementAgentInstanceHandle, Object> entry : dispatchesPerStmt.entrySet()) {
+                    EPStatementAgentInstanceHandle handle = entry.getKey();
+                    Object perStmtObj = entry.getValue();
+                    if (perStmtObj instanceof NamedWindowConsumerLatch) {
+                        NamedWindowConsumerLatch unit = (NamedWindowConsumerLatch) perStmtObj;
+                        List<NamedWindowConsumerView> items = unit.getDispatchTo().get(handle);
+                        if (items != null) {
+                            units.add(new FanOutUnit(handle, items, unit.getDeltaData().getNewData(), unit.getDeltaData().getOldData(), null));
+                        }
+                    } else {
+                        units.add(new FanOutUnit(handle, null, null, null, getDeltaPerConsumer(perStmtObj, handle)));
+                    }
+                }
+                if (isPrioritized) {
+                    units.sort((o1, o2) -> EPStatementAgentInstanceHandleComparator.INSTANCE.compare(o1.handle, o2.handle));
+                }
+                fanOut(units);
+            } else if (metricReportingService.isMetricsReportingEnabled()) {
                 for (Map.Entry<EPStatementAgentInstanceHandle, Object> entry : dispatchesPerStmt.entrySet()) {
                     EPStatementAgentInstanceHandle handle = entry.getKey();
                     Object perStmtObj = entry.getValue();
@@ -301,6 +360,116 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         }
     }
 
+    private void fanOut(List<FanOutUnit> units) {
+        if (!metricReportingService.isMetricsReportingEnabled()) {
+            fanOutUnits(units);
+            return;
+        }
+        long wallBefore = MetricUtil.getWall();
+        try {
+            fanOutUnits(units);
+        } finally {
+            metricReportingService.accountNamedWindowFanOut(MetricUtil.getWall() - wallBefore);
+        }
+    }
+
+    private void fanOutUnits(List<FanOutUnit> units) {
+        if (!isPrioritized) {
+            fanOut(units, 0, units.size());
+            return;
+        }
+
+        // statements of the same priority run in parallel, higher-priority statements complete first, a preemptive statement ends the dispatch
+        int start = 0;
+        while (start < units.size()) {
+            int priority = units.get(start).handle.getPriority();
+            int end = start;
+            boolean preemptive = false;
+            while (end < units.size() && units.get(end).handle.getPriority() == priority) {
+                preemptive = units.get(end).handle.isPreemptive();
+                end++;
+                if (preemptive) {
+                    break;
+                }
+            }
+            fanOut(units, start, end);
+            if (preemptive) {
+                return;
+            }
+            start = end;
+        }
+    }
+
+    private void fanOut(List<FanOutUnit> units, int start, int end) {
+        // the first unit executes on this thread, the remaining units on the executor
+        CountDownLatch completed = new CountDownLatch(end - start - 1);
+        for (int i = start + 1; i < end; i++) {
+            FanOutUnit unit = units.get(i);
+            unit.completed = completed;
+            dispatchExecutor.execute(unit);
+        }
+        processUnit(units.get(start));
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                completed.await();
+                break;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        // hand over, in consumer order, what the units produced on the executor threads
+        RuntimeException failure = null;
+        DualWorkQueue queues = threadWorkQueue.getThreadQueue();
+        ArrayDeque<NamedWindowConsumerLatch> dispatches = threadLocal.get().getDispatches();
+        for (int i = start + 1; i < end; i++) {
+            FanOutUnit unit = units.get(i);
+            for (StatementResults results : unit.results) {
+                results.handOver();
+            }
+            queues.getFrontQueue().addAll(unit.routedFront);
+            queues.getBackQueue().addAll(unit.routedBack);
+            dispatches.addAll(unit.dispatches);
+            if (failure == null) {
+                failure = unit.failure;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void processUnit(FanOutUnit unit) {
+        EPStatementAgentInstanceHandle handle = unit.handle;
+        if (metricReportingService.isMetricsReportingEnabled() && handle.getStatementHandle().getMetricsHandle().isEnabled()) {
+            long cpuTimeBefore = MetricUtil.getCPUCurrentThread();
+            long wallTimeBefore = MetricUtil.getWall();
+
+            processUnitNoMetrics(unit);
+
+            long wallTimeAfter = MetricUtil.getWall();
+            long cpuTimeAfter = MetricUtil.getCPUCurrentThread();
+            long deltaCPU = cpuTimeAfter - cpuTimeBefore;
+            long deltaWall = wallTimeAfter - wallTimeBefore;
+            metricReportingService.accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, 1);
+        } else {
+            processUnitNoMetrics(unit);
+        }
+    }
+
+    private void processUnitNoMetrics(FanOutUnit unit) {
+        if (unit.deltaPerConsumer != null) {
+            processHandleMultiple(unit.handle, unit.deltaPerConsumer);
+        } else {
+            processHandle(unit.handle, unit.views, unit.newData, unit.oldData);
+        }
+    }
+
     private void processHandleMultiple(EPStatementAgentInstanceHandle handle, Map<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer) {
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().qNamedWindowCPMulti(exceptionHandlingService.getRuntimeURI(), deltaPerConsumer, handle, schedulingService.getTime());
@@ -379,6 +548,98 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         return deltaPerConsumer;
     }
 
+    private class FanOutUnit implements Runnable {
+        private final EPStatementAgentInstanceHandle handle;
+        private final List<NamedWindowConsumerView> views;
+        private final EventBean[] newData;
+        private final EventBean[] oldData;
+        private final Map<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer;
+        private final ArrayDeque<Object> routedFront = new ArrayDeque<>();
+        private final ArrayDeque<Object> routedBack = new ArrayDeque<>();
+        private final ArrayDeque<NamedWindowConsumerLatch> dispatches = new ArrayDeque<>();
+        private final List<StatementResults> results = new ArrayList<>(1);
+        private CountDownLatch completed;
+        private RuntimeException failure;
+
+        FanOutUnit(EPStatementAgentInstanceHandle handle, List<NamedWindowConsumerView> views, EventBean[] newData, EventBean[] oldData, Map<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer) {
+            this.handle = handle;
+            this.views = views;
+            this.newData = newData;
+            this.oldData = oldData;
+            this.deltaPerConsumer = deltaPerConsumer;
+        }
+
+        public void run() {
+            try {
+                processUnit(this);
+            } catch (RuntimeException ex) {
+                failure = ex;
+            }
+
+            try {
+                // statement results for listeners, routed events and further named window dispatches get processed by the dispatching thread
+                ArrayDeque<Dispatchable> dispatchables = dispatchService.getDispatchStateThreadLocal().get();
+                while (!dispatchables.isEmpty()) {
+                    results.add(new StatementResults(dispatchables.poll()));
+                }
+                DualWorkQueue queues = threadWorkQueue.getThreadQueue();
+                routedFront.addAll(queues.getFrontQueue());
+                queues.getFrontQueue().clear();
+                routedBack.addAll(queues.getBackQueue());
+                queues.getBackQueue().clear();
+                ArrayDeque<NamedWindowConsumerLatch> nested = threadLocal.get().getDispatches();
+                dispatches.addAll(nested);
+                nested.clear();
+            } catch (RuntimeException ex) {
+                if (failure == null) {
+                    failure = ex;
+                }
+            } finally {
+                completed.countDown();
+            }
+        }
+    }
+
+    /**
+     * Statement results indicated on an executor thread, taken from the executor thread's thread-local state
+     * for handing them to the dispatching thread.
+     */
+    private class StatementResults {
+        private final Dispatchable dispatchable;
+        private final StatementResultService resultService;
+        private final ArrayDeque<UniformPair<EventBean[]>> results;
+
+        StatementResults(Dispatchable dispatchable) {
+            this.dispatchable = dispatchable;
+            if (dispatchable.getView() instanceof UpdateDispatchViewBase) {
+                resultService = ((UpdateDispatchViewBase) dispatchable.getView()).getStatementResultService();
+                StatementDispatchTLEntry entry = resultService.getDispatchTL().get();
+                results = new ArrayDeque<>(entry.getResults());
+                entry.getResults().clear();
+                entry.setDispatchWaiting(false);
+            } else {
+                resultService = null;
+                results = null;
+            }
+        }
+
+        void handOver() {
+            if (resultService == null) {
+                dispatchService.addExternal(dispatchable);
+                return;
+            }
+            StatementDispatchTLEntry entry = resultService.getDispatchTL().get();
+            entry.getResults().addAll(results);
+            if (!entry.isDispatchWaiting()) {
+                dispatchService.addExternal(dispatchable);
+                entry.setDispatchWaiting(true);
+            } else if (dispatchable != dispatchable.getView()) {
+                // the statement already awaits dispatch on this thread, complete the future so that later dispatches don't wait for it
+                dispatchable.cancelled();
+            }
+        }
+    }
+
     private static class DispatchesTL {
         private final ArrayDeque<NamedWindowConsumerLatch> dispatches = new ArrayDeque<>();
         private final ArrayDeque<NamedWindowConsumerLatch> current = new ArrayDeque<>();
@@ -0,0 +1,485 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.schedulesvcimpl;
+
+import com.espertech.esper.common.client.util.DateTime;
+import com.espertech.esper.common.internal.schedule.ScheduleHandle;
+import com.espertech.esper.common.internal.schedule.ScheduleServiceException;
+import com.espertech.esper.common.internal.schedule.TimeSourceService;
+import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.runtime.internal.metrics.jmx.JmxGetter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Scheduling service based on a hierarchical timing wheel.
+ * <p>
+ * The wheel has 11 levels of 64 buckets each, each level covering 6 bits of the (unsigned-ordered) time value,
+ * so that any long time value can be placed without an overflow list. A bitmask per level tracks occupied buckets,
+ * which lets evaluation skip empty time ranges regardless of how far time advances.
+ * Entries keep time and slot as primitive longs and buckets are intrusive doubly-linked lists.
+ * <p>
+ * Triggered handles are returned ordered by time and, for the same time, by slot, the same as {@link SchedulingServiceImpl}.
+ */
+public final class SchedulingServiceTimingWheelImpl implements SchedulingServiceSPI {
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int BUCKETS_PER_LEVEL = 1 << BITS_PER_LEVEL;
+    private static final int LEVELS = (64 + BITS_PER_LEVEL - 1) / BITS_PER_LEVEL;
+    private static final int MAX_FREE_ENTRIES = 4096;
+
+    private static final Comparator<Entry> TIME_SLOT_COMPARATOR = new Comparator<Entry>() {
+        public int compare(Entry o1, Entry o2) {
+            int result = Long.compare(o1.time, o2.time);
+            return result != 0 ? result : Long.compare(o1.slot, o2.slot);
+        }
+    };
+
+    // Bucket list heads, indexed by level * BUCKETS_PER_LEVEL + bucket
+    private final Entry[] heads = new Entry[LEVELS * BUCKETS_PER_LEVEL];
+
+    // Per-bucket minimum key, valid only if the corresponding flag is set
+    private final long[] minKeys = new long[LEVELS * BUCKETS_PER_LEVEL];
+    private final boolean[] minKeysValid = new boolean[LEVELS * BUCKETS_PER_LEVEL];
+
+    // Per-level bitmask of occupied buckets
+    private final long[] occupied = new long[LEVELS];
+
+    // Map of handle and entry for faster removal
+    private final Map<ScheduleHandle, Entry> handleEntryMap;
+
+    // Wheel position as an unsigned-ordered key, all entries are at or after this position
+    private long wheelKey;
+
+    // Current time - used for evaluation as well as for adding new handles
+    private volatile long currentTime;
+
+    private Entry freeList;
+    private int freeCount;
+    private Entry[] scratch = new Entry[16];
+
+    /**
+     * Constructor.
+     *
+     * @param timeSourceService time source provider
+     */
+    public SchedulingServiceTimingWheelImpl(TimeSourceService timeSourceService) {
+        this.handleEntryMap = new HashMap<ScheduleHandle, Entry>();
+        // initialize time to just before now as there is a check for duplicate external time events
+        this.currentTime = timeSourceService.getTimeMillis() - 1;
+        this.wheelKey = toKey(currentTime);
+    }
+
+    public synchronized void destroy() {
+        log.debug("Destroying scheduling service");
+        handleEntryMap.clear();
+        Arrays.fill(heads, null);
+        Arrays.fill(minKeysValid, false);
+        Arrays.fill(occupied, 0);
+        freeList = null;
+        freeCount = 0;
+    }
+
+    public long getTime() {
+        // note that this.currentTime is volatile
+        return this.currentTime;
+    }
+
+    public synchronized final void setTime(long currentTime) {
+        this.currentTime = currentTime;
+        long key = toKey(currentTime);
+        if (Long.compareUnsigned(key, wheelKey) < 0) {
+            // time moved backwards, re-place all entries relative to the earlier time
+            rebase(key);
+        }
+    }
+
+    public synchronized final void add(long afterTime, ScheduleHandle handle, long slot)
+            throws ScheduleServiceException {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleAdd(currentTime, afterTime, handle, slot);
+        }
+
+        Entry existing = handleEntryMap.get(handle);
+        if (existing != null) {
+            unlink(existing);
+            release(existing);
+        }
+
+        Entry entry = obtain();
+        entry.time = currentTime + afterTime;
+        entry.slot = slot;
+        entry.handle = handle;
+        place(entry);
+        handleEntryMap.put(handle, entry);
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleAdd();
+        }
+    }
+
+    public synchronized final void remove(ScheduleHandle handle, long slot) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleRemove(handle, slot);
+        }
+
+        Entry entry = handleEntryMap.remove(handle);
+        if (entry == null) {
+            // If it already has been removed then that's fine;
+            // Such could be the case when 2 timers fireStatementStopped at the same time, and one stops the other
+            return;
+        }
+        unlink(entry);
+        release(entry);
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleRemove();
+        }
+    }
+
+    public synchronized final void evaluate(Collection<ScheduleHandle> handles) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleEval(currentTime);
+        }
+
+        long targetKey = toKey(currentTime);
+        if (!handleEntryMap.isEmpty()) {
+            advance(targetKey, handles);
+        } else if (Long.compareUnsigned(targetKey, wheelKey) > 0) {
+            wheelKey = targetKey;
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleEval(handles);
+        }
+    }
+
+    public synchronized ScheduleSet take(Set<Integer> statementIds) {
+        List<ScheduleSetEntry> list = new ArrayList<ScheduleSetEntry>();
+        long currentTime = getTime();
+        for (Entry entry : sortedEntries()) {
+            if (statementIds.contains(entry.handle.getStatementId())) {
+                long relative = entry.time - currentTime;
+                list.add(new ScheduleSetEntry(relative, entry.slot, entry.handle));
+            }
+        }
+
+        for (ScheduleSetEntry entry : list) {
+            remove(entry.getHandle(), entry.getScheduleSlot());
+        }
+
+        return new ScheduleSet(list);
+    }
+
+    public void apply(ScheduleSet scheduleSet) {
+        for (ScheduleSetEntry entry : scheduleSet.getList()) {
+            add(entry.getTime(), entry.getHandle(), entry.getScheduleSlot());
+        }
+    }
+
+    public void init() {
+        // no action required
+    }
+
+    @JmxGetter(name = "TimeHandleCount", description = "Number of outstanding time evaluations")
+    public synchronized int getTimeHandleCount() {
+        Set<Long> times = new HashSet<Long>();
+        for (Entry entry : handleEntryMap.values()) {
+            times.add(entry.time);
+        }
+        return times.size();
+    }
+
+    @JmxGetter(name = "FurthestTimeHandle", description = "Furthest outstanding time evaluation")
+    public String getFurthestTimeHandleDate() {
+        Long handle = getFurthestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    @JmxGetter(name = "NearestTimeHandle", description = "Nearest outstanding time evaluation")
+    public String getNearestTimeHandleDate() {
+        Long handle = getNearestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    public synchronized Long getFurthestTimeHandle() {
+        if (handleEntryMap.isEmpty()) {
+            return null;
+        }
+        long furthest = Long.MIN_VALUE;
+        for (Entry entry : handleEntryMap.values()) {
+            furthest = Math.max(furthest, entry.time);
+        }
+        return furthest;
+    }
+
+    public synchronized int getScheduleHandleCount() {
+        return handleEntryMap.size();
+    }
+
+    public synchronized boolean isScheduled(ScheduleHandle handle) {
+        return handleEntryMap.containsKey(handle);
+    }
+
+    public synchronized Long getNearestTimeHandle() {
+        if (handleEntryMap.isEmpty()) {
+            return null;
+        }
+
+        // level zero buckets at or after the wheel position
+        long mask = occupied[0] & (-1L << digit(wheelKey, 0));
+        if (mask != 0) {
+            return fromKey(minKey(Long.numberOfTrailingZeros(mask)));
+        }
+
+        // the first occupied bucket after the wheel position at the lowest level holds the nearest entry
+        for (int level = 1; level < LEVELS; level++) {
+            mask = maskAfter(level);
+            if (mask != 0) {
+                return fromKey(minKey(level * BUCKETS_PER_LEVEL + Long.numberOfTrailingZeros(mask)));
+            }
+        }
+        return null;
+    }
+
+    public synchronized void visitSchedules(ScheduleVisitor visitor) {
+        ScheduleVisit visit = new ScheduleVisit();
+        for (Entry entry : sortedEntries()) {
+            visit.setTimestamp(entry.time);
+            visit.setStatementId(entry.handle.getStatementId());
+            visit.setAgentInstanceId(entry.handle.getAgentInstanceId());
+            visitor.visit(visit);
+        }
+    }
+
+    private void advance(long targetKey, Collection<ScheduleHandle> handles) {
+        while (true) {
+            // fire the first occupied level-zero bucket at or after the wheel position, if not after the target
+            long mask = occupied[0] & (-1L << digit(wheelKey, 0));
+            if (mask != 0) {
+                int bucket = Long.numberOfTrailingZeros(mask);
+                long bucketKey = (wheelKey & ~(long) (BUCKETS_PER_LEVEL - 1)) | bucket;
+                if (Long.compareUnsigned(bucketKey, targetKey) > 0) {
+                    break;
+                }
+                wheelKey = bucketKey;
+                fire(bucket, handles);
+                continue;
+            }
+
+            // cascade the first occupied bucket of the lowest level that has one after the wheel position
+            boolean cascaded = false;
+            for (int level = 1; level < LEVELS; level++) {
+                mask = maskAfter(level);
+                if (mask == 0) {
+                    continue;
+                }
+                int bucket = Long.numberOfTrailingZeros(mask);
+                long bucketStart = (wheelKey & highMask(level)) | ((long) bucket << (level * BITS_PER_LEVEL));
+                if (Long.compareUnsigned(bucketStart, targetKey) > 0) {
+                    break;
+                }
+                wheelKey = bucketStart;
+                cascade(level * BUCKETS_PER_LEVEL + bucket);
+                cascaded = true;
+                break;
+            }
+            if (!cascaded) {
+                break;
+            }
+        }
+
+        if (Long.compareUnsigned(targetKey, wheelKey) > 0) {
+            wheelKey = targetKey;
+        }
+    }
+
+    private void fire(int index, Collection<ScheduleHandle> handles) {
+        int count = 0;
+        for (Entry entry = heads[index]; entry != null; entry = entry.next) {
+            if (count == scratch.length) {
+                scratch = Arrays.copyOf(scratch, count * 2);
+            }
+            scratch[count++] = entry;
+        }
+        heads[index] = null;
+        minKeysValid[index] = false;
+        occupied[0] &= ~(1L << index);
+
+        if (count > 1) {
+            Arrays.sort(scratch, 0, count, TIME_SLOT_COMPARATOR);
+        }
+        for (int i = 0; i < count; i++) {
+            Entry entry = scratch[i];
+            scratch[i] = null;
+            handles.add(entry.handle);
+            handleEntryMap.remove(entry.handle);
+            release(entry);
+        }
+    }
+
+    private void cascade(int index) {
+        Entry entry = heads[index];
+        heads[index] = null;
+        minKeysValid[index] = false;
+        occupied[index / BUCKETS_PER_LEVEL] &= ~(1L << (index % BUCKETS_PER_LEVEL));
+        while (entry != null) {
+            Entry next = entry.next;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void rebase(long key) {
+        List<Entry> entries = new ArrayList<Entry>(handleEntryMap.values());
+        Arrays.fill(heads, null);
+        Arrays.fill(minKeysValid, false);
+        Arrays.fill(occupied, 0);
+        wheelKey = key;
+        for (Entry entry : entries) {
+            place(entry);
+        }
+    }
+
+    private void place(Entry entry) {
+        long key = toKey(entry.time);
+        int index;
+        if (Long.compareUnsigned(key, wheelKey) <= 0) {
+            // due at the current wheel position
+            index = digit(wheelKey, 0);
+        } else {
+            int level = (63 - Long.numberOfLeadingZeros(key ^ wheelKey)) / BITS_PER_LEVEL;
+            index = level * BUCKETS_PER_LEVEL + digit(key, level);
+        }
+
+        Entry head = heads[index];
+        entry.index = index;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+            if (minKeysValid[index] && Long.compareUnsigned(key, minKeys[index]) < 0) {
+                minKeys[index] = key;
+            }
+        } else {
+            minKeys[index] = key;
+            minKeysValid[index] = true;
+            occupied[index / BUCKETS_PER_LEVEL] |= 1L << (index % BUCKETS_PER_LEVEL);
+        }
+        heads[index] = entry;
+    }
+
+    private void unlink(Entry entry) {
+        int index = entry.index;
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            heads[index] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        if (heads[index] == null) {
+            minKeysValid[index] = false;
+            occupied[index / BUCKETS_PER_LEVEL] &= ~(1L << (index % BUCKETS_PER_LEVEL));
+        } else if (minKeysValid[index] && minKeys[index] == toKey(entry.time)) {
+            minKeysValid[index] = false;
+        }
+    }
+
+    private long minKey(int index) {
+        if (!minKeysValid[index]) {
+            long min = -1L;
+            for (Entry entry = heads[index]; entry != null; entry = entry.next) {
+                long key = toKey(entry.time);
+                if (Long.compareUnsigned(key, min) < 0) {
+                    min = key;
+                }
+            }
+            minKeys[index] = min;
+            minKeysValid[index] = true;
+        }
+        return minKeys[index];
+    }
+
+    private long maskAfter(int level) {
+        int current = digit(wheelKey, level);
+        if (current == BUCKETS_PER_LEVEL - 1) {
+            return 0;
+        }
+        return occupied[level] & (-1L << (current + 1));
+    }
+
+    private List<Entry> sortedEntries() {
+        List<Entry> entries = new ArrayList<Entry>(handleEntryMap.values());
+        Collections.sort(entries, TIME_SLOT_COMPARATOR);
+        return entries;
+    }
+
+    private Entry obtain() {
+        Entry entry = freeList;
+        if (entry == null) {
+            return new Entry();
+        }
+        freeList = entry.next;
+        freeCount--;
+        entry.next = null;
+        return entry;
+    }
+
+    private void release(Entry entry) {
+        entry.handle = null;
+        entry.prev = null;
+        if (freeCount >= MAX_FREE_ENTRIES) {
+            entry.next = null;
+            return;
+        }
+        entry.next = freeList;
+        freeList = entry;
+        freeCount++;
+    }
+
+    private static int digit(long key, int level) {
+        return (int) (key >>> (level * BITS_PER_LEVEL)) & (BUCKETS_PER_LEVEL - 1);
+    }
+
+    private static long highMask(int level) {
+        int shift = (level + 1) * BITS_PER_LEVEL;
+        return shift >= 64 ? 0 : -1L << shift;
+    }
+
+    // flip the sign bit so that unsigned order of keys is the signed order of times
+    private static long toKey(long time) {
+        return time ^ Long.MIN_VALUE;
+    }
+
+    private static long fromKey(long key) {
+        return key ^ Long.MIN_VALUE;
+    }
+
+    private final static class Entry {
+        private long time;
+        private long slot;
+        private ScheduleHandle handle;
+        private int index;
+        private Entry prev;
+        private Entry next;
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulingServiceTimingWheelImpl.class);
+}
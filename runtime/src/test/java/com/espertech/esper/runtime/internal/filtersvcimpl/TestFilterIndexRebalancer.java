@@ -0,0 +1,232 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.filterspec.FilterOperator;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.runtime.internal.support.SupportEventBeanFactory;
+import com.espertech.esper.runtime.internal.support.SupportEventTypeFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class TestFilterIndexRebalancer extends TestCase {
+    private EventType eventType;
+    private EventTypeIndex eventTypeIndex;
+    private EventTypeIndexBuilder indexBuilder;
+    private FilterIndexRebalancer rebalancer;
+    private FilterServiceGranularLockFactory lockFactory;
+
+    public void setUp() {
+        lockFactory = new FilterServiceGranularLockFactoryReentrant();
+        eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+        eventTypeIndex = new EventTypeIndex(lockFactory);
+        indexBuilder = new EventTypeIndexBuilder(eventTypeIndex, false);
+        rebalancer = new FilterIndexRebalancer(eventTypeIndex, lockFactory, Long.MAX_VALUE);
+    }
+
+    public void tearDown() {
+        rebalancer.destroy();
+    }
+
+    public void testRebalanceByCardinality() {
+        List<SupportFilterHandle> handles = new ArrayList<>();
+        List<FilterValueSetParam[][]> valueSets = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            FilterValueSetParam[][] valueSet = SupportFilterSpecBuilder.build(eventType, new Object[]{
+                "boolPrimitive", FilterOperator.EQUAL, true,
+                "theString", FilterOperator.EQUAL, "E" + i}).getValueSet(null, null, null, null);
+            SupportFilterHandle handle = new SupportFilterHandle();
+            rebalancer.add(eventType, valueSet, handle, indexBuilder);
+            handles.add(handle);
+            valueSets.add(valueSet);
+        }
+        assertRootLookupable("boolPrimitive");
+
+        assertEquals(1, rebalancer.rebalance());
+        assertRootLookupable("theString");
+        assertEquals(0, rebalancer.rebalance());
+
+        assertMatches(makeEvent("E3", true), handles.get(3));
+        assertMatches(makeEvent("E3", false));
+        assertMatches(makeEvent("X", true));
+
+        // add and remove against the rebuilt tree
+        SupportFilterHandle handleNew = new SupportFilterHandle();
+        FilterValueSetParam[][] valueSetNew = SupportFilterSpecBuilder.build(eventType, new Object[]{
+            "boolPrimitive", FilterOperator.EQUAL, false,
+            "theString", FilterOperator.EQUAL, "E3"}).getValueSet(null, null, null, null);
+        rebalancer.add(eventType, valueSetNew, handleNew, indexBuilder);
+        assertMatches(makeEvent("E3", false), handleNew);
+
+        for (int i = 0; i < handles.size(); i++) {
+            rebalancer.remove(handles.get(i), eventType, valueSets.get(i), indexBuilder);
+        }
+        assertMatches(makeEvent("E3", true));
+        assertMatches(makeEvent("E3", false), handleNew);
+        rebalancer.remove(handleNew, eventType, valueSetNew, indexBuilder);
+        assertTrue(eventTypeIndex.get(eventType).isEmpty());
+    }
+
+    public void testRebalanceBySampling() {
+        // equal cardinality, one property always passes for the events observed
+        List<SupportFilterHandle> handles = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            FilterValueSetParam[][] valueSet = SupportFilterSpecBuilder.build(eventType, new Object[]{
+                "intPrimitive", FilterOperator.EQUAL, i % 2,
+                "theString", FilterOperator.EQUAL, "E" + (i / 2)}).getValueSet(null, null, null, null);
+            SupportFilterHandle handle = new SupportFilterHandle();
+            rebalancer.add(eventType, valueSet, handle, indexBuilder);
+            handles.add(handle);
+        }
+        assertEquals(0, rebalancer.rebalance());
+        assertRootLookupable("intPrimitive");
+
+        for (int i = 0; i < FilterIndexRebalancer.SAMPLE_RATE * FilterIndexRebalancer.MIN_SAMPLES; i++) {
+            SupportBean bean = new SupportBean("E0", i % 2);
+            rebalancer.sample(SupportEventBeanFactory.createObject(bean));
+        }
+        // "intPrimitive" lets half of the filters pass, "theString" lets half of the filters pass
+        assertEquals(0, rebalancer.rebalance());
+
+        for (int i = 0; i < FilterIndexRebalancer.SAMPLE_RATE * FilterIndexRebalancer.MIN_SAMPLES; i++) {
+            SupportBean bean = new SupportBean("X", i % 2);
+            rebalancer.sample(SupportEventBeanFactory.createObject(bean));
+        }
+        // "theString" now lets fewer filters pass
+        assertEquals(1, rebalancer.rebalance());
+        assertRootLookupable("theString");
+
+        SupportBean bean = new SupportBean("E1", 1);
+        assertMatches(SupportEventBeanFactory.createObject(bean), handles.get(3));
+    }
+
+    public void testProcessTimeEvent() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            FilterValueSetParam[][] valueSet = SupportFilterSpecBuilder.build(eventType, new Object[]{
+                "boolPrimitive", FilterOperator.EQUAL, true,
+                "theString", FilterOperator.EQUAL, "E" + i}).getValueSet(null, null, null, null);
+            rebalancer.add(eventType, valueSet, new SupportFilterHandle(), indexBuilder);
+        }
+
+        // interval not passed
+        rebalancer.processTimeEvent();
+        assertRootLookupable("boolPrimitive");
+
+        FilterIndexRebalancer rebalancerInterval = new FilterIndexRebalancer(eventTypeIndex, lockFactory, 1);
+        try {
+            for (int i = 0; i < 10; i++) {
+                FilterValueSetParam[][] valueSet = SupportFilterSpecBuilder.build(eventType, new Object[]{
+                    "boolPrimitive", FilterOperator.EQUAL, true,
+                    "theString", FilterOperator.EQUAL, "F" + i}).getValueSet(null, null, null, null);
+                rebalancerInterval.add(eventType, valueSet, new SupportFilterHandle(), indexBuilder);
+            }
+            Thread.sleep(10);
+            rebalancerInterval.processTimeEvent();
+
+            // rebalances in the background
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!getRootLookupable().equals("theString") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertRootLookupable("theString");
+        } finally {
+            rebalancerInterval.destroy();
+        }
+    }
+
+    public void testChangesWhileRebuilding() {
+        List<SupportFilterHandle> handles = new ArrayList<>();
+        List<FilterValueSetParam[][]> valueSets = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            valueSets.add(makeValueSet(true, "E" + i));
+            handles.add(new SupportFilterHandle());
+        }
+        SupportFilterHandle handleAdded = new SupportFilterHandle();
+        FilterValueSetParam[][] valueSetAdded = makeValueSet(false, "E3");
+        SupportFilterHandle handleAddedRemoved = new SupportFilterHandle();
+        FilterValueSetParam[][] valueSetAddedRemoved = makeValueSet(true, "E4");
+
+        // add and remove filters while the new tree is built, as other threads would
+        FilterIndexRebalancer rebalancerChanges = new FilterIndexRebalancer(eventTypeIndex, lockFactory, Long.MAX_VALUE) {
+            protected FilterHandleSetNode buildTree(Map<FilterHandle, FilterValueSetParam[][]> filters) {
+                FilterHandleSetNode rootNode = super.buildTree(filters);
+                remove(handles.get(5), eventType, valueSets.get(5), indexBuilder);
+                add(eventType, valueSetAdded, handleAdded, indexBuilder);
+                add(eventType, valueSetAddedRemoved, handleAddedRemoved, indexBuilder);
+                remove(handleAddedRemoved, eventType, valueSetAddedRemoved, indexBuilder);
+                assertRootLookupable("boolPrimitive");
+                return rootNode;
+            }
+        };
+        try {
+            for (int i = 0; i < handles.size(); i++) {
+                rebalancerChanges.add(eventType, valueSets.get(i), handles.get(i), indexBuilder);
+            }
+            assertEquals(1, rebalancerChanges.rebalance());
+            assertRootLookupable("theString");
+
+            assertMatches(makeEvent("E5", true));
+            assertMatches(makeEvent("E4", true), handles.get(4));
+            assertMatches(makeEvent("E3", true), handles.get(3));
+            assertMatches(makeEvent("E3", false), handleAdded);
+
+            // the replayed filters can be removed from the new tree
+            for (int i = 0; i < handles.size(); i++) {
+                if (i != 5) {
+                    rebalancerChanges.remove(handles.get(i), eventType, valueSets.get(i), indexBuilder);
+                }
+            }
+            rebalancerChanges.remove(handleAdded, eventType, valueSetAdded, indexBuilder);
+            assertTrue(eventTypeIndex.get(eventType).isEmpty());
+        } finally {
+            rebalancerChanges.destroy();
+        }
+    }
+
+    private FilterValueSetParam[][] makeValueSet(boolean boolPrimitive, String theString) {
+        return SupportFilterSpecBuilder.build(eventType, new Object[]{
+            "boolPrimitive", FilterOperator.EQUAL, boolPrimitive,
+            "theString", FilterOperator.EQUAL, theString}).getValueSet(null, null, null, null);
+    }
+
+    private void assertRootLookupable(String expected) {
+        FilterHandleSetNode root = eventTypeIndex.get(eventType);
+        assertEquals(1, root.getIndizes().size());
+        assertEquals(expected, getRootLookupable());
+    }
+
+    private String getRootLookupable() {
+        FilterParamIndexLookupableBase index = (FilterParamIndexLookupableBase) eventTypeIndex.get(eventType).getIndizes().get(0);
+        return index.getLookupable().getExpression();
+    }
+
+    private void assertMatches(EventBean theEvent, FilterHandle... expected) {
+        List<FilterHandle> matches = new ArrayList<>();
+        eventTypeIndex.matchEvent(theEvent, matches);
+        assertEquals(expected.length, matches.size());
+        for (FilterHandle handle : expected) {
+            assertTrue(matches.contains(handle));
+        }
+    }
+
+    private EventBean makeEvent(String theString, boolean boolPrimitive) {
+        SupportBean bean = new SupportBean(theString, 0);
+        bean.setBoolPrimitive(boolPrimitive);
+        return SupportEventBeanFactory.createObject(bean);
+    }
+}
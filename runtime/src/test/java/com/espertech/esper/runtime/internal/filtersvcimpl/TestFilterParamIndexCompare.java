@@ -127,6 +127,24 @@ public class TestFilterParamIndexCompare extends TestCase {
         verifyDoubleBoxed(index, 7.61, 0);
     }
 
+    public void testMatchLockFreeRead() {
+        FilterParamIndexCompare index = new FilterParamIndexCompare(makeLookupable("longPrimitive"), new ReentrantReadWriteLock(), FilterOperator.LESS, true);
+        assertTrue(index.isLockFreeRead());
+
+        index.put(Long.valueOf(1), testEvaluator);
+        index.put(Long.valueOf(10), testEvaluator);
+
+        verifyLongPrimitive(index, 10, 0);
+        verifyLongPrimitive(index, 9, 1);
+        verifyLongPrimitive(index, 0, 2);
+
+        index.remove(10L);
+        verifyLongPrimitive(index, 0, 1);
+        index.remove(1L);
+        verifyLongPrimitive(index, 0, 0);
+        assertTrue(index.isEmpty());
+    }
+
     private FilterParamIndexCompare makeOne(String field, FilterOperator op) {
         return new FilterParamIndexCompare(makeLookupable(field), new ReentrantReadWriteLock(), op);
     }
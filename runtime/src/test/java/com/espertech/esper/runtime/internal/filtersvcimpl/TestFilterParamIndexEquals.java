@@ -110,6 +110,24 @@ public class TestFilterParamIndexEquals extends TestCase {
         assertEquals(numExpected, testEvaluator.getAndResetCountInvoked());
     }
 
+    public void testLockFreeRead() {
+        FilterParamIndexEquals index = new FilterParamIndexEquals(makeLookupable("theString"), new ReentrantReadWriteLock(), true);
+        assertTrue(index.isLockFreeRead());
+
+        index.put("a", testEvaluator);
+        index.put(null, testEvaluator);
+        assertEquals(2, index.sizeExpensive());
+
+        verifyString(index, "a", 1);
+        verifyString(index, "b", 0);
+        verifyString(index, null, 0);
+
+        assertEquals(testEvaluator, index.get(null));
+        index.remove(null);
+        assertEquals(null, index.get(null));
+        assertEquals(1, index.sizeExpensive());
+    }
+
     private FilterParamIndexEquals makeOne(String property, EventType testEventType) {
         return new FilterParamIndexEquals(makeLookupable(property), new ReentrantReadWriteLock());
     }
@@ -17,6 +17,7 @@ import com.espertech.esper.common.internal.filterspec.FilterOperator;
 import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
 import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 import com.espertech.esper.common.internal.filtersvc.FilterHandleCallback;
+import com.espertech.esper.common.internal.filtersvc.FilterHandleRouter;
 import com.espertech.esper.common.internal.support.SupportBean;
 import com.espertech.esper.common.internal.support.SupportBeanSimple;
 import com.espertech.esper.runtime.internal.support.SupportEventBeanFactory;
@@ -25,10 +26,7 @@ import junit.framework.TestCase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collection;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Vector;
+import java.util.*;
 
 public class TestFilterServiceImpl extends TestCase {
     private EventType eventTypeOne;
@@ -159,6 +157,45 @@ public class TestFilterServiceImpl extends TestCase {
         assertEquals(1, callbackTwo.getAndResetCountInvoked());
     }
 
+    public void testRouter() {
+        FilterValueSetParam[][] spec = SupportFilterSpecBuilder.build(eventTypeOne, new Object[]{
+            "intPrimitive", FilterOperator.GREATER, 100}).getValueSet(null, null, null, null);
+        Map<String, SupportFilterHandle> handles = new HashMap<>();
+        handles.put("A", new SupportFilterHandle());
+        handles.put("B", new SupportFilterHandle());
+        FilterHandleRouter router = new FilterHandleRouter() {
+            public FilterHandle route(EventBean theEvent) {
+                return handles.get(((SupportBean) theEvent.getUnderlying()).getTheString());
+            }
+
+            public int getStatementId() {
+                return 1;
+            }
+
+            public int getAgentInstanceId() {
+                return -1;
+            }
+        };
+        filterService.add(eventTypeOne, spec, router);
+
+        assertRouted(makeTypeOneEvent(101, "A", false, 0), handles.get("A"));
+        assertRouted(makeTypeOneEvent(101, "B", false, 0), handles.get("B"));
+        assertRouted(makeTypeOneEvent(101, "C", false, 0));
+        assertRouted(makeTypeOneEvent(100, "A", false, 0));
+
+        filterService.remove(router, eventTypeOne, spec);
+        assertRouted(makeTypeOneEvent(101, "A", false, 0));
+    }
+
+    private void assertRouted(EventBean theEvent, FilterHandle... expected) {
+        List<FilterHandle> matches = new ArrayList<>();
+        filterService.evaluate(theEvent, matches);
+        // the filter without parameters of the event type also matches
+        matches.remove(filterCallbacks.get(0));
+        matches.remove(filterCallbacks.get(1));
+        assertEquals(Arrays.asList(expected), matches);
+    }
+
     private EventBean makeTypeOneEvent(int intPrimitive, String theString, boolean boolPrimitive, double doubleBoxed) {
         SupportBean bean = new SupportBean();
         bean.setIntPrimitive(intPrimitive);
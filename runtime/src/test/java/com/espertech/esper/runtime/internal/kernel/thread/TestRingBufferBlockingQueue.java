@@ -0,0 +1,143 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.util.ThreadPoolWaitStrategy;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestRingBufferBlockingQueue extends TestCase {
+
+    public void testOfferPoll() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(3, ThreadPoolWaitStrategy.PARK);
+        assertEquals(4, queue.getCapacity());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals(0, (int) queue.peek());
+
+        List<Integer> iterated = new ArrayList<>();
+        for (Integer value : queue) {
+            iterated.add(value);
+        }
+        assertEquals("[0, 1, 2, 3]", iterated.toString());
+
+        assertEquals(0, (int) queue.poll());
+        assertEquals(1, (int) queue.poll());
+        assertTrue(queue.offer(4));
+        assertTrue(queue.offer(5));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, queue.drainTo(drained));
+        assertEquals("[2, 3, 4, 5]", drained.toString());
+        assertTrue(queue.isEmpty());
+
+        assertEquals(RingBufferBlockingQueue.DEFAULT_CAPACITY, new RingBufferBlockingQueue<Integer>(null, ThreadPoolWaitStrategy.PARK).getCapacity());
+    }
+
+    public void testTimeoutAndInterrupt() throws Exception {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(1, ThreadPoolWaitStrategy.YIELD);
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer(1, 10, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer(2, 10, TimeUnit.MILLISECONDS));
+        assertFalse(queue.offer(3, 10, TimeUnit.MILLISECONDS));
+        queue.clear();
+
+        Thread.currentThread().interrupt();
+        try {
+            queue.take();
+            fail();
+        } catch (InterruptedException ex) {
+            // expected
+        }
+    }
+
+    public void testMultipleProducersConsumers() throws Exception {
+        for (ThreadPoolWaitStrategy strategy : ThreadPoolWaitStrategy.values()) {
+            runMultipleProducersConsumers(strategy);
+        }
+    }
+
+    public void testThreadPoolExecutor() throws Exception {
+        RingBufferBlockingQueue<Runnable> queue = new RingBufferBlockingQueue<>(64, ThreadPoolWaitStrategy.PARK);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(2, 2, 1, TimeUnit.SECONDS, queue);
+        pool.prestartAllCoreThreads();
+
+        final CountDownLatch latch = new CountDownLatch(1000);
+        for (int i = 0; i < 1000; i++) {
+            queue.put(new Runnable() {
+                public void run() {
+                    latch.countDown();
+                }
+            });
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private void runMultipleProducersConsumers(ThreadPoolWaitStrategy strategy) throws Exception {
+        final int numProducers = 4;
+        final int numConsumers = 2;
+        final int numPerProducer = 20000;
+        final RingBufferBlockingQueue<Long> queue = new RingBufferBlockingQueue<>(128, strategy);
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong count = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(numProducers + numConsumers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < numProducers; p++) {
+            futures.add(executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    for (long i = 1; i <= numPerProducer; i++) {
+                        queue.put(i);
+                    }
+                    return null;
+                }
+            }));
+        }
+        final long total = (long) numProducers * numPerProducer;
+        for (int c = 0; c < numConsumers; c++) {
+            futures.add(executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    while (count.get() < total) {
+                        Long value = queue.poll(10, TimeUnit.MILLISECONDS);
+                        if (value != null) {
+                            sum.addAndGet(value);
+                            count.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(total, count.get());
+        assertEquals(numProducers * ((long) numPerProducer * (numPerProducer + 1) / 2), sum.get());
+        assertTrue(queue.isEmpty());
+    }
+}
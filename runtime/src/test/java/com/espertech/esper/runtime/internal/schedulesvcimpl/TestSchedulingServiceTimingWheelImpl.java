@@ -0,0 +1,201 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.schedulesvcimpl;
+
+import com.espertech.esper.common.internal.schedule.ScheduleBucket;
+import com.espertech.esper.common.internal.schedule.ScheduleHandle;
+import com.espertech.esper.common.internal.schedule.ScheduleHandleCallback;
+import com.espertech.esper.runtime.internal.schedulesvcimpl.TestSchedulingServiceImpl.SupportScheduleCallback;
+import com.espertech.esper.runtime.internal.timer.TimeSourceServiceImpl;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestSchedulingServiceTimingWheelImpl extends TestCase {
+    private SchedulingServiceTimingWheelImpl service;
+
+    private long slots[][];
+    private SupportScheduleCallback callbacks[];
+
+    public void setUp() {
+        service = new SchedulingServiceTimingWheelImpl(new TimeSourceServiceImpl());
+
+        ScheduleBucket[] buckets = new ScheduleBucket[3];
+        slots = new long[buckets.length][2];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ScheduleBucket(i);
+            slots[i] = new long[2];
+            for (int j = 0; j < slots[i].length; j++) {
+                slots[i][j] = buckets[i].allocateSlot();
+            }
+        }
+
+        callbacks = new SupportScheduleCallback[5];
+        for (int i = 0; i < callbacks.length; i++) {
+            callbacks[i] = new SupportScheduleCallback();
+        }
+    }
+
+    public void testTrigger() {
+        long startTime = 0;
+        service.setTime(0);
+        SupportScheduleCallback.setCallbackOrderNum(0);
+
+        service.add(20, callbacks[3], slots[1][1]);
+        service.add(20, callbacks[2], slots[1][0]);
+        service.add(20, callbacks[1], slots[0][1]);
+        service.add(21, callbacks[0], slots[0][0]);
+        assertTrue(service.isScheduled(callbacks[3]));
+        assertEquals(2, service.getTimeHandleCount());
+        assertEquals(20L, (long) service.getNearestTimeHandle());
+        assertEquals(21L, (long) service.getFurthestTimeHandle());
+
+        startTime += 19;
+        service.setTime(startTime);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 0, 0, 0, 0});
+
+        startTime += 1;
+        service.setTime(startTime);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 1, 2, 3, 0});
+        assertFalse(service.isScheduled(callbacks[3]));
+
+        startTime += 1;
+        service.setTime(startTime);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{4, 0, 0, 0, 0});
+        assertNull(service.getNearestTimeHandle());
+
+        service.add(20, callbacks[0], slots[0][0]);
+        service.add(28, callbacks[0], slots[0][0]);
+        service.remove(callbacks[0], slots[0][0]);
+        service.add(20, callbacks[2], slots[1][0]);
+        service.add(25, callbacks[1], slots[0][1]);
+        service.remove(callbacks[1], slots[0][1]);
+        service.add(21, callbacks[0], slots[0][0]);
+        service.add(21, callbacks[3], slots[1][1]);
+        service.add(20, callbacks[1], slots[0][1]);
+        SupportScheduleCallback.setCallbackOrderNum(0);
+
+        startTime += 20;
+        service.setTime(startTime);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 1, 2, 0, 0});
+
+        startTime += 1;
+        service.setTime(startTime);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{3, 0, 0, 4, 0});
+
+        service.setTime(startTime + Integer.MAX_VALUE);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 0, 0, 0, 0});
+    }
+
+    public void testLargeJumpAndTimeBackwards() {
+        service.setTime(1000);
+        SupportScheduleCallback.setCallbackOrderNum(0);
+
+        service.add(365L * 24 * 60 * 60 * 1000, callbacks[0], slots[0][0]);
+        service.add(5000, callbacks[1], slots[0][1]);
+        service.add(70000, callbacks[2], slots[1][0]);
+        assertEquals(6000L, (long) service.getNearestTimeHandle());
+
+        service.setTime(80000);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 1, 2, 0, 0});
+        assertEquals(1000L + 365L * 24 * 60 * 60 * 1000, (long) service.getNearestTimeHandle());
+
+        // moving time backwards keeps outstanding schedules
+        service.setTime(10);
+        service.add(10, callbacks[3], slots[1][1]);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 0, 0, 0, 0});
+        assertEquals(20L, (long) service.getNearestTimeHandle());
+
+        service.setTime(Long.MAX_VALUE);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{4, 0, 0, 3, 0});
+        assertEquals(0, service.getScheduleHandleCount());
+    }
+
+    public void testTakeApply() {
+        service.setTime(0);
+        service.add(100, callbacks[0], slots[0][0]);
+        service.add(50, callbacks[1], slots[0][1]);
+
+        ScheduleSet set = service.take(Collections.singleton(1));
+        assertEquals(2, set.getList().size());
+        assertEquals(50L, (long) set.getList().get(0).getTime());
+        assertEquals(0, service.getScheduleHandleCount());
+
+        service.apply(set);
+        assertEquals(50L, (long) service.getNearestTimeHandle());
+        assertEquals(100L, (long) service.getFurthestTimeHandle());
+    }
+
+    public void testCompareSortedMap() {
+        Random random = new Random(1);
+        SchedulingServiceImpl expected = new SchedulingServiceImpl(new TimeSourceServiceImpl());
+        long time = -100000;
+        expected.setTime(time);
+        service.setTime(time);
+
+        ScheduleBucket bucket = new ScheduleBucket(0);
+        SupportScheduleCallback[] handles = new SupportScheduleCallback[200];
+        long[] handleSlots = new long[handles.length];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = new SupportScheduleCallback();
+            handleSlots[i] = bucket.allocateSlot();
+        }
+
+        for (int step = 0; step < 20000; step++) {
+            int index = random.nextInt(handles.length);
+            int action = random.nextInt(10);
+            if (action < 5) {
+                long after = random.nextBoolean() ? random.nextInt(100) : random.nextInt(1000000);
+                expected.add(after, handles[index], handleSlots[index]);
+                service.add(after, handles[index], handleSlots[index]);
+            } else if (action < 6) {
+                expected.remove(handles[index], handleSlots[index]);
+                service.remove(handles[index], handleSlots[index]);
+            } else {
+                time += random.nextInt(10) == 0 ? random.nextInt(500000) : random.nextInt(50);
+                expected.setTime(time);
+                service.setTime(time);
+                List<ScheduleHandle> expectedHandles = new ArrayList<ScheduleHandle>();
+                List<ScheduleHandle> actualHandles = new ArrayList<ScheduleHandle>();
+                expected.evaluate(expectedHandles);
+                service.evaluate(actualHandles);
+                assertEquals(expectedHandles, actualHandles);
+            }
+            assertEquals(expected.getScheduleHandleCount(), service.getScheduleHandleCount());
+            assertEquals(expected.getNearestTimeHandle(), service.getNearestTimeHandle());
+        }
+    }
+
+    private void checkCallbacks(Integer[] results) {
+        for (int i = 0; i < callbacks.length; i++) {
+            assertEquals((int) results[i], (int) callbacks[i].clearAndGetOrderTriggered());
+        }
+    }
+
+    private void evaluateSchedule() {
+        Collection<ScheduleHandle> handles = new LinkedList<ScheduleHandle>();
+        service.evaluate(handles);
+
+        for (ScheduleHandle handle : handles) {
+            ScheduleHandleCallback cb = (ScheduleHandleCallback) handle;
+            cb.scheduledTrigger();
+        }
+    }
+}